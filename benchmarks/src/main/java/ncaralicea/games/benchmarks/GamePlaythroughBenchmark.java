@@ -0,0 +1,87 @@
+package ncaralicea.games.benchmarks;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import ncaralicea.games.domain.IStateSpace;
+import ncaralicea.games.domain.tictactoe.TicTacToeGame;
+import ncaralicea.games.domain.tictactoe.TicTacToeMove;
+import ncaralicea.games.domain.tictactoe.TicTacToePlayer;
+import ncaralicea.games.domain.tictactoe.TicTacToeStateSpaceType;
+
+/**
+ * GamePlaythroughBenchmark measures whole games played through the game API (reset, start, makeMove until
+ * the game ends): a scripted game and random games, for every state space implementation.
+ *
+ * The results are in games per second. Run with -prof gc to see the bytes allocated per game.
+ *
+ * @author Nicolae Caralicea
+ *
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class GamePlaythroughBenchmark {
+
+	/**
+	 * the moves of a game won by X on the main diagonal, after 7 moves.
+	 */
+	private static final TicTacToeMove[] SCRIPTED_GAME = {
+		TicTacToeMove.of(0, 0), TicTacToeMove.of(0, 1), TicTacToeMove.of(1, 1), TicTacToeMove.of(0, 2),
+		TicTacToeMove.of(2, 0), TicTacToeMove.of(1, 0), TicTacToeMove.of(2, 2)
+	};
+
+	@Param({"MAP_BASED", "BITBOARD"})
+	public TicTacToeStateSpaceType stateSpaceType;
+
+	private TicTacToeGame game;
+
+	private SplittableRandom random;
+
+	@Setup
+	public void setUp() {
+		this.game = new TicTacToeGame(this.stateSpaceType);
+		this.game.setGamePlayers(new TicTacToePlayer[]{new TicTacToePlayer("X"), new TicTacToePlayer("O")});
+		this.random = new SplittableRandom(20150101L);
+	}
+
+	@Benchmark
+	public boolean scriptedGame() {
+		this.game.reset();
+		this.game.start();
+		for (final TicTacToeMove move : SCRIPTED_GAME) {
+			this.game.makeMove(move);
+		}
+		return this.game.existWinner();
+	}
+
+	@Benchmark
+	public boolean randomGame() {
+		this.game.reset();
+		this.game.start();
+		final IStateSpace<TicTacToeMove, TicTacToePlayer> stateSpace = this.game.getStateSpace();
+		while (!this.game.isGameEnded()) {
+			int cell = stateSpace.nextAvailableCell(0);
+			for (int skip = this.random.nextInt(stateSpace.getAvailableMovesCount()); skip > 0; skip--) {
+				cell = stateSpace.nextAvailableCell(cell + 1);
+			}
+			this.game.makeMove(stateSpace.getMoveAt(cell));
+		}
+		return this.game.existWinner();
+	}
+}
@@ -0,0 +1,105 @@
+package ncaralicea.games.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import ncaralicea.games.domain.MoveResult;
+import ncaralicea.games.domain.tictactoe.TicTacToeGame;
+import ncaralicea.games.domain.tictactoe.TicTacToeGame.TicTacToeGameException;
+import ncaralicea.games.domain.tictactoe.TicTacToeMove;
+import ncaralicea.games.domain.tictactoe.TicTacToePlayer;
+import ncaralicea.games.domain.tictactoe.TicTacToeStateSpaceType;
+
+/**
+ * MoveRejectionBenchmark measures the rejection of invalid moves (an occupied cell, a cell outside of the board,
+ * a move after the game ended) through the makeMove exception against the tryMakeMove result.
+ *
+ * Run with -prof gc to see the bytes allocated per rejection.
+ *
+ * @author Nicolae Caralicea
+ *
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MoveRejectionBenchmark {
+
+	@Param({"MAP_BASED", "BITBOARD"})
+	public TicTacToeStateSpaceType stateSpaceType;
+
+	private final TicTacToeMove occupiedMove = TicTacToeMove.of(1, 1);
+
+	private final TicTacToeMove outOfBoundsMove = TicTacToeMove.of(3, 3);
+
+	private TicTacToeGame game;
+
+	private TicTacToeGame endedGame;
+
+	@Setup
+	public void setUp() {
+		final TicTacToePlayer[] players = new TicTacToePlayer[]{new TicTacToePlayer("X"), new TicTacToePlayer("O")};
+		this.game = new TicTacToeGame(this.stateSpaceType);
+		this.game.setGamePlayers(players);
+		this.game.start();
+		this.game.makeMove(this.occupiedMove);
+		this.endedGame = new TicTacToeGame(this.stateSpaceType);
+		this.endedGame.setGamePlayers(players);
+		this.endedGame.start();
+		for (final int cell : new int[]{0, 3, 1, 4, 2}) {
+			this.endedGame.makeMove(TicTacToeMove.ofCell(cell));
+		}
+	}
+
+	@Benchmark
+	public boolean occupiedByException() {
+		return rejectByException(this.game, this.occupiedMove);
+	}
+
+	@Benchmark
+	public MoveResult occupiedByResult() {
+		return this.game.tryMakeMove(this.occupiedMove);
+	}
+
+	@Benchmark
+	public boolean outOfBoundsByException() {
+		return rejectByException(this.game, this.outOfBoundsMove);
+	}
+
+	@Benchmark
+	public MoveResult outOfBoundsByResult() {
+		return this.game.tryMakeMove(this.outOfBoundsMove);
+	}
+
+	@Benchmark
+	public boolean gameOverByException() {
+		return rejectByException(this.endedGame, this.occupiedMove);
+	}
+
+	@Benchmark
+	public MoveResult gameOverByResult() {
+		return this.endedGame.tryMakeMove(this.occupiedMove);
+	}
+
+	private static boolean rejectByException(final TicTacToeGame game, final TicTacToeMove move) {
+		try {
+			game.makeMove(move);
+			return false;
+		} catch (final TicTacToeGameException e) {
+			return true;
+		}
+	}
+}
@@ -0,0 +1,98 @@
+package ncaralicea.games.benchmarks;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import ncaralicea.games.domain.IStateSpace;
+import ncaralicea.games.domain.mnk.MnkGame;
+import ncaralicea.games.domain.mnk.MnkMove;
+import ncaralicea.games.domain.mnk.MnkPlayer;
+import ncaralicea.games.domain.tictactoe.TicTacToeMovePolicies;
+import ncaralicea.games.domain.tictactoe.TicTacToeSelfPlaySimulator;
+
+/**
+ * SelfPlayBenchmark measures the random game throughput of a single thread: Tic-Tac-Toe games played by the batch
+ * self-play simulator, and 15 X 15 (K = 5) games played through the m,n,k game API.
+ *
+ * The results are in games per second. Run with -prof gc to see the bytes allocated per game.
+ *
+ * @author Nicolae Caralicea
+ *
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SelfPlayBenchmark {
+
+	private static final int SIMULATED_GAMES = 100000;
+
+	private TicTacToeSelfPlaySimulator simulator;
+
+	private MnkGame mnkGame;
+
+	private SplittableRandom random;
+
+	private int[] freeCells;
+
+	private long seed;
+
+	@Setup
+	public void setUp() {
+		this.simulator = new TicTacToeSelfPlaySimulator(1);
+		this.mnkGame = new MnkGame(15, 5);
+		this.mnkGame.setGamePlayers(new MnkPlayer[]{new MnkPlayer("X"), new MnkPlayer("O")});
+		this.random = new SplittableRandom(20150101L);
+		this.freeCells = new int[15 * 15];
+	}
+
+	@TearDown
+	public void tearDown() {
+		this.simulator.close();
+	}
+
+	/**
+	 * Plays a batch of random Tic-Tac-Toe games on a single thread of the self-play simulator.
+	 */
+	@Benchmark
+	@OperationsPerInvocation(SIMULATED_GAMES)
+	public long simulatedTicTacToeGames() {
+		return this.simulator.simulate(SIMULATED_GAMES, TicTacToeMovePolicies.RANDOM, TicTacToeMovePolicies.RANDOM, this.seed++).getWins();
+	}
+
+	/**
+	 * Plays a random 15 X 15 game, taking a random free cell at every move.
+	 */
+	@Benchmark
+	public boolean randomMnkGame() {
+		this.mnkGame.reset();
+		this.mnkGame.start();
+		final IStateSpace<MnkMove, MnkPlayer> stateSpace = this.mnkGame.getStateSpace();
+		int free = 0;
+		for (int cell = stateSpace.nextAvailableCell(0); cell >= 0; cell = stateSpace.nextAvailableCell(cell + 1)) {
+			this.freeCells[free++] = cell;
+		}
+		while (!this.mnkGame.isGameEnded()) {
+			final int index = this.random.nextInt(free);
+			final int cell = this.freeCells[index];
+			this.freeCells[index] = this.freeCells[--free];
+			this.mnkGame.makeMove(stateSpace.getMoveAt(cell));
+		}
+		return this.mnkGame.existWinner();
+	}
+}
@@ -0,0 +1,114 @@
+package ncaralicea.games.benchmarks;
+
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import ncaralicea.games.domain.IStateSpace;
+import ncaralicea.games.domain.tictactoe.TicTacToeGame;
+import ncaralicea.games.domain.tictactoe.TicTacToeMove;
+import ncaralicea.games.domain.tictactoe.TicTacToePlayer;
+import ncaralicea.games.domain.tictactoe.TicTacToeStateSpaceType;
+
+/**
+ * TicTacToeGameBenchmark measures the single calls of the game API on a position in the middle of a game,
+ * for every state space implementation.
+ *
+ * The position has 4 moves made (X at (0, 0) and (2, 2), O at (1, 1) and (0, 2)), so the game is in progress
+ * with 5 free cells. Run with -prof gc to see the bytes allocated per call.
+ *
+ * @author Nicolae Caralicea
+ *
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TicTacToeGameBenchmark {
+
+	@Param({"MAP_BASED", "BITBOARD"})
+	public TicTacToeStateSpaceType stateSpaceType;
+
+	private final TicTacToePlayer playerI = new TicTacToePlayer("X");
+
+	private final TicTacToePlayer playerII = new TicTacToePlayer("O");
+
+	private TicTacToeGame game;
+
+	private IStateSpace<TicTacToeMove, TicTacToePlayer> stateSpace;
+
+	@Setup
+	public void setUp() {
+		this.game = new TicTacToeGame(this.stateSpaceType);
+		this.game.setGamePlayers(new TicTacToePlayer[]{this.playerI, this.playerII});
+		this.game.start();
+		this.game.makeMove(TicTacToeMove.of(0, 0));
+		this.game.makeMove(TicTacToeMove.of(1, 1));
+		this.game.makeMove(TicTacToeMove.of(2, 2));
+		this.game.makeMove(TicTacToeMove.of(0, 2));
+		this.stateSpace = this.game.getStateSpace();
+	}
+
+	/**
+	 * Makes a move and takes it back, so the position stays the same from one invocation to another.
+	 */
+	@Benchmark
+	public boolean makeAndUnmakeMove() {
+		this.game.makeMove(TicTacToeMove.of(2, 0));
+		final boolean ended = this.game.isGameEnded();
+		this.game.unmakeMove();
+		return ended;
+	}
+
+	@Benchmark
+	public boolean isGameEnded() {
+		return this.game.isGameEnded();
+	}
+
+	@Benchmark
+	public Set<TicTacToeMove> generateAvailableMoves() {
+		return this.stateSpace.generateAvailableMoves();
+	}
+
+	/**
+	 * Walks the same available moves as generateAvailableMoves, through the allocation free cursor.
+	 */
+	@Benchmark
+	public void walkAvailableCells(final Blackhole blackhole) {
+		for (int cell = this.stateSpace.nextAvailableCell(0); cell >= 0; cell = this.stateSpace.nextAvailableCell(cell + 1)) {
+			blackhole.consume(this.stateSpace.getMoveAt(cell));
+		}
+	}
+
+	@Benchmark
+	public Set<TicTacToeMove> getExecutedMovesBy() {
+		return this.stateSpace.getExecutedMovesBy(this.playerI);
+	}
+
+	@Benchmark
+	public TicTacToePlayer[][] getPlayerInteractionSnapshotBoard() {
+		return this.game.getPlayerInteractionSnapshotBoard();
+	}
+
+	/**
+	 * Reads the same cells as getPlayerInteractionSnapshotBoard, through the live board view.
+	 */
+	@Benchmark
+	public void forEachBoardCell(final Blackhole blackhole) {
+		this.game.getBoardView().forEachCell((hPos, vPos, player) -> blackhole.consume(player));
+	}
+}
@@ -0,0 +1,138 @@
+package ncaralicea.games.domain;
+
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * AtomicGamePosition publishes the current position of a game shared by many threads.
+ *
+ * The position is immutable (see IGamePosition) and held by an AtomicReference, so reading it never blocks:
+ * a reader gets a consistent position which stays valid for as long as it keeps it. A move is applied by
+ * computing the next position from the current one and publishing it with compare and set. The move is
+ * validated again (and recomputed) only if another move was published in between, so the writers retry only
+ * on a real conflict in the same game.
+ *
+ * @author Nicolae Caralicea
+ *
+ * @param <M>
+ * 		- generic type argument used to represent the board position type.
+ *
+ * @param <P>
+ * 		- generic type argument used to represent the player type.
+ *
+ * @param <S>
+ * 		- generic type argument used to represent the position type.
+ */
+public final class AtomicGamePosition<M extends IBoardPosition, P extends IPlayer, S extends IGamePosition<M, P, S>> {
+
+	private final AtomicReference<S> position;
+
+	/**
+	 * conflicts counts the compare and set failures, which made a move to be validated again.
+	 */
+	private final LongAdder conflicts = new LongAdder();
+
+	/**
+	 * Creates the holder of a game, starting with the position provided as argument.
+	 *
+	 * @param initialPosition
+	 * 		- the initial position.
+	 */
+	public AtomicGamePosition(final S initialPosition) {
+		if (initialPosition == null) {
+			throw new IllegalArgumentException("The initial position should not be null.");
+		}
+		this.position = new AtomicReference<S>(initialPosition);
+	}
+
+	/**
+	 * Gets the current position, without blocking.
+	 *
+	 * @return
+	 * 		- returns the current position.
+	 */
+	public S get() {
+		return this.position.get();
+	}
+
+	/**
+	 * Makes a move on behalf of the player whose turn it is in the current position.
+	 *
+	 * @param move
+	 * 		- the move.
+	 *
+	 * @return
+	 * 		- returns ACCEPTED if the move was made, or the reason it was rejected otherwise.
+	 */
+	public MoveResult tryMakeMove(final M move) {
+		return this.tryMakeMove(move, null);
+	}
+
+	/**
+	 * Makes a move on behalf of the player provided as argument, which is rejected (as WRONG_TURN) if another
+	 * move made it not to be the turn of the player anymore.
+	 *
+	 * @param move
+	 * 		- the move.
+	 * @param player
+	 * 		- the player on whose behalf the move is made, or null for the player whose turn it is.
+	 *
+	 * @return
+	 * 		- returns ACCEPTED if the move was made, or the reason it was rejected otherwise.
+	 */
+	public MoveResult tryMakeMove(final M move, final P player) {
+		while (true) {
+			final S current = this.position.get();
+			final MoveResult result = current.validateMove(move, player);
+			if (!result.isAccepted()) {
+				return result;
+			}
+			if (this.position.compareAndSet(current, current.play(move))) {
+				return MoveResult.ACCEPTED;
+			}
+			this.conflicts.increment();
+		}
+	}
+
+	/**
+	 * Makes a move only if the current position is still the one provided as argument, so a move computed from a
+	 * position (like the one suggested by an AI advisor) is not applied on a position it was not meant for.
+	 *
+	 * @param expectedPosition
+	 * 		- the position the move was computed from.
+	 * @param move
+	 * 		- the move.
+	 *
+	 * @return
+	 * 		- returns true if the move was made, or false if the position changed or the move is rejected.
+	 */
+	public boolean compareAndMakeMove(final S expectedPosition, final M move) {
+		if (this.position.get() != expectedPosition || !expectedPosition.validateMove(move, null).isAccepted()) {
+			return false;
+		}
+		return this.position.compareAndSet(expectedPosition, expectedPosition.play(move));
+	}
+
+	/**
+	 * Replaces the current position (e.g. to start a new game).
+	 *
+	 * @param newPosition
+	 * 		- the new position.
+	 */
+	public void set(final S newPosition) {
+		if (newPosition == null) {
+			throw new IllegalArgumentException("The position should not be null.");
+		}
+		this.position.set(newPosition);
+	}
+
+	/**
+	 * Gets the number of times a move was validated again because another move was published first.
+	 *
+	 * @return
+	 * 		- returns the number of compare and set conflicts so far.
+	 */
+	public long getConflictCount() {
+		return this.conflicts.sum();
+	}
+}
@@ -0,0 +1,38 @@
+package ncaralicea.games.domain;
+
+/**
+ * GameStatus enumerates the states a board game goes through.
+ * 
+ * A game is IN_PROGRESS until an accepted move either makes the player who executed it the winner (WON),
+ * or leaves the game with no winner and no way to continue (DRAW).
+ * 
+ * @author Nicolae Caralicea
+ *
+ */
+public enum GameStatus {
+	
+	/**
+	 * the game has neither a winner nor has ended in a draw yet.
+	 */
+	IN_PROGRESS,
+	
+	/**
+	 * the game ended with a winner.
+	 */
+	WON,
+	
+	/**
+	 * the game ended in a draw (tie).
+	 */
+	DRAW;
+	
+	/**
+	 * Checks if the status is a final one.
+	 * 
+	 * @return
+	 * 		- returns true if the game ended.
+	 */
+	public boolean isEnded() {
+		return this != IN_PROGRESS;
+	}
+}
@@ -0,0 +1,25 @@
+package ncaralicea.games.domain;
+
+/**
+ * IBoardCellVisitor receives the cells of a board, visited through IBoardView.forEachCell.
+ * 
+ * @author Nicolae Caralicea
+ *
+ * @param <P>
+ * 		- generic type argument used to represent the player type.
+ */
+@FunctionalInterface
+public interface IBoardCellVisitor<P extends IPlayer> {
+	
+	/**
+	 * Visits a cell of the board.
+	 * 
+	 * @param hPos
+	 * 		- the horizontal position of the cell.
+	 * @param vPos
+	 * 		- the vertical position of the cell.
+	 * @param player
+	 * 		- the player who took the cell, or null if the cell is free.
+	 */
+	void visit(int hPos, int vPos, P player);
+}
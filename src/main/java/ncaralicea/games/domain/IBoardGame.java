@@ -43,6 +43,46 @@ public interface IBoardGame<T extends IBoardPosition, P extends IPlayer> {
 	 */
 	void makeMove(T position);
 	
+	/**
+	 * Makes a move on the board at the position defined by the position argument, on the current player's behalf,
+	 * reporting a move which is not allowed by the result instead of an exception.
+	 * 
+	 * Rejecting a move allocates nothing and leaves the game unchanged, so this is the method to use for the
+	 * moves coming from untrusted input (duplicate clicks, out of bounds input, moves after the game ended, etc.),
+	 * makeMove being the same check throwing an exception.
+	 * 
+	 * @param position
+	 * 		- the position or move that indicates where on the board something takes place.
+	 * 
+	 * @return
+	 * 		- returns ACCEPTED if the move was made, or the reason it was rejected otherwise.
+	 */
+	MoveResult tryMakeMove(T position);
+	
+	/**
+	 * Makes a move on the board at the position defined by the position argument, on behalf of the player
+	 * provided as argument, which is rejected as WRONG_TURN unless it is the player whose turn it is.
+	 * 
+	 * @param position
+	 * 		- the position or move that indicates where on the board something takes place.
+	 * @param player
+	 * 		- the player submitting the move.
+	 * 
+	 * @return
+	 * 		- returns ACCEPTED if the move was made, or the reason it was rejected otherwise.
+	 */
+	MoveResult tryMakeMove(T position, P player);
+	
+	/**
+	 * Takes back the last move made on the board.
+	 * 
+	 * The game returns exactly to the state it had before that move: the same board, the same player to move,
+	 * and no winner or draw, so game tree searches can walk the alternatives depth-first on a single instance
+	 * by pairing every makeMove with an unmakeMove.
+	 * 
+	 */
+	void unmakeMove();
+	
 	/**
 	 * Checks if the game ended in a draw. 
 	 * 
@@ -67,6 +107,17 @@ public interface IBoardGame<T extends IBoardPosition, P extends IPlayer> {
 	 */
 	boolean isGameEnded();
 	
+	/**
+	 * Gets the status of the game.
+	 * 
+	 * The status is maintained as moves are accepted, so querying it (or any of the isGameDraw, existWinner,
+	 * isGameEnded methods) is a constant time operation.
+	 * 
+	 * @return
+	 * 		- returns the current status of the game.
+	 */
+	GameStatus getGameStatus();
+	
 	/**
 	 * Gets the player who won the game.
 	 *
@@ -97,6 +148,41 @@ public interface IBoardGame<T extends IBoardPosition, P extends IPlayer> {
 	 */
 	P[][] getPlayerInteractionSnapshotBoard();
 	
+	/**
+	 * Gets the read only view of the board, backed by the live state of the game.
+	 * 
+	 * The view is the same object for the whole life of the game, so it can be kept by the callers
+	 * instead of taking a snapshot of the board after every move.
+	 * 
+	 * @return
+	 * 		- returns the board view.
+	 */
+	IBoardView<P> getBoardView();
+	
+	/**
+	 * Gets the state space the game is currently played on.
+	 * 
+	 * It is exposed for read only access (like walking the available moves by cell without allocating anything),
+	 * any change of the game state should go through makeMove/unmakeMove.
+	 * 
+	 * Please note that the game may switch to a new state space when it is reset.
+	 * 
+	 * @return
+	 * 		- returns the current state space of the game.
+	 */
+	IStateSpace<T, P> getStateSpace();
+	
+	/**
+	 * Creates an independent copy of the game, with the same players, moves and status.
+	 * 
+	 * The copy shares no mutable state with the game, so both can be played (or searched) concurrently,
+	 * like the per thread games of a parallel search.
+	 * 
+	 * @return
+	 * 		- returns the copy of the game.
+	 */
+	IBoardGame<T, P> copy();
+	
 	/**
 	 * Resets the game, so at any time the game can be started over by the
 	 * same players after calling this method.
@@ -0,0 +1,67 @@
+package ncaralicea.games.domain;
+
+/**
+ * IBoardView is a read only view of the board of a game, backed by the live state of the game.
+ * 
+ * Unlike the player interaction snapshot board, reading the view allocates nothing, and the view always shows
+ * the current board, so it can be kept and read again after every move. The version changes every time the
+ * board changes, so a reader (like a renderer) can skip the boards it has already seen.
+ * 
+ * Note:
+ * 
+ * 		The view is not thread safe on its own. It should be read by the thread playing the game, or under the
+ * 		same lock as the game.
+ * 		The immutable positions (see IGamePosition) are views as well, which can be read by any thread.
+ * 
+ * @author Nicolae Caralicea
+ *
+ * @param <P>
+ * 		- generic type argument used to represent the player type.
+ */
+public interface IBoardView<P extends IPlayer> {
+	
+	/**
+	 * Gets the player who took a cell.
+	 * 
+	 * @param hPos
+	 * 		- the horizontal position of the cell.
+	 * @param vPos
+	 * 		- the vertical position of the cell.
+	 * 
+	 * @return
+	 * 		- returns the player, or null if the cell is free or outside of the board.
+	 */
+	P cellAt(int hPos, int vPos);
+	
+	/**
+	 * Visits all the cells of the board, row by row (by horizontal position, then by vertical position).
+	 * 
+	 * @param visitor
+	 * 		- the visitor of the cells.
+	 */
+	void forEachCell(IBoardCellVisitor<? super P> visitor);
+	
+	/**
+	 * Gets the minimum position (horizontal or vertical) of the board.
+	 * 
+	 * @return
+	 * 		- returns the minimum position.
+	 */
+	int getMinPosition();
+	
+	/**
+	 * Gets the maximum position (horizontal or vertical) of the board.
+	 * 
+	 * @return
+	 * 		- returns the maximum position.
+	 */
+	int getMaxPosition();
+	
+	/**
+	 * Gets the version of the board, which changes every time a move is made or taken back, or the game is reset.
+	 * 
+	 * @return
+	 * 		- returns the version of the board.
+	 */
+	long getVersion();
+}
@@ -0,0 +1,140 @@
+package ncaralicea.games.domain;
+
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * IGamePosition is an immutable position of a board game: the board, whose turn it is and the status of the game.
+ *
+ * Making a move does not change the position, it returns a new one, so a position can be shared by any number
+ * of threads without locking, and kept as a snapshot for as long as needed. The positions are meant to be
+ * published through an AtomicGamePosition, which applies the moves with compare and set.
+ *
+ * Since a position never changes, its version (see IBoardView) is derived from its state: the positions which
+ * differ have different versions, so a reader still sees the board change when a position is replaced by another
+ * one with as many moves.
+ *
+ * The positions reachable from a position are enumerated lazily by positions, as a stream which can be made
+ * parallel (see PositionSpliterator).
+ *
+ * @author Nicolae Caralicea
+ *
+ * @param <M>
+ * 		- generic type argument used to represent the board position type.
+ *
+ * @param <P>
+ * 		- generic type argument used to represent the player type.
+ *
+ * @param <S>
+ * 		- generic type argument used to represent the position type itself.
+ */
+public interface IGamePosition<M extends IBoardPosition, P extends IPlayer, S extends IGamePosition<M, P, S>> extends IBoardView<P> {
+
+	/**
+	 * Checks if a move can be made from this position.
+	 *
+	 * @param move
+	 * 		- the move.
+	 * @param player
+	 * 		- the player on whose behalf the move is made, or null for the player whose turn it is.
+	 *
+	 * @return
+	 * 		- returns ACCEPTED if the move can be made, or the reason it would be rejected otherwise
+	 * 		(a position is always started, so NOT_STARTED is never returned).
+	 */
+	MoveResult validateMove(M move, P player);
+
+	/**
+	 * Makes a move on behalf of the player whose turn it is.
+	 *
+	 * @param move
+	 * 		- the move.
+	 *
+	 * @return
+	 * 		- returns the position after the move, this position being left unchanged.
+	 *
+	 * @throws IllegalArgumentException
+	 * 		- if the move is rejected by validateMove.
+	 */
+	S play(M move);
+
+	/**
+	 * Gets the status of the game in this position.
+	 *
+	 * @return
+	 * 		- returns the status of the game.
+	 */
+	GameStatus getGameStatus();
+
+	/**
+	 * Gets the player who has to move next.
+	 *
+	 * @return
+	 * 		- returns the player whose turn it is.
+	 */
+	P whoseTurnIs();
+
+	/**
+	 * Gets the winner of the game.
+	 *
+	 * @return
+	 * 		- returns the winner, or null if the game is in progress or ended in a draw.
+	 */
+	P getWinner();
+
+	/**
+	 * Gets the number of moves made to reach this position.
+	 *
+	 * @return
+	 * 		- returns the number of occupied cells.
+	 */
+	int getMovesCount();
+
+	/**
+	 * Visits the positions reached by every legal move from this position, in ascending cell index order.
+	 *
+	 * @param visitor
+	 * 		- receives the next positions (none if the game has ended).
+	 */
+	void forEachNextPosition(Consumer<? super S> visitor);
+
+	/**
+	 * Gets the representative of the positions equal to this one up to a rotation or a reflection of the board:
+	 * the same one for all of them, with the same status and moves count.
+	 *
+	 * @return
+	 * 		- returns the canonical position.
+	 */
+	S getCanonicalPosition();
+
+	/**
+	 * Enumerates lazily all the positions reachable from this one, this one included, every position being
+	 * enumerated once however many move orders reach it.
+	 *
+	 * @return
+	 * 		- returns a sequential stream of the positions, which can be made parallel.
+	 */
+	default Stream<S> positions() {
+		return this.positions(false, Integer.MAX_VALUE);
+	}
+
+	/**
+	 * Enumerates lazily the positions reachable from this one, this one included, every position being
+	 * enumerated once however many move orders reach it.
+	 *
+	 * @param reduceSymmetries
+	 * 		- true to enumerate only the canonical position (see getCanonicalPosition) of the positions equal up to
+	 * 		a rotation or a reflection of the board.
+	 * @param maxMoves
+	 * 		- the number of moves above which the positions are not enumerated anymore, so the enumeration of the
+	 * 		large boards can be limited to their first moves.
+	 *
+	 * @return
+	 * 		- returns a sequential stream of the positions, which can be made parallel.
+	 */
+	@SuppressWarnings("unchecked")
+	default Stream<S> positions(final boolean reduceSymmetries, final int maxMoves) {
+		return StreamSupport.stream(new PositionSpliterator<S>((S) this, reduceSymmetries, maxMoves), false);
+	}
+}
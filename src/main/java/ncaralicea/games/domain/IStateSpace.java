@@ -1,6 +1,7 @@
 package ncaralicea.games.domain;
 
 import java.util.Set;
+import java.util.function.IntConsumer;
 
 /**
  * IStateSpace interface exposes the basic method that are used for manipulating the state of the game.
@@ -12,6 +13,11 @@ import java.util.Set;
  *  
  * 	Please not that here "move" and "position" can be used interchangeably, because a move uniquely
  *	defines a position on the board.
+ *
+ *	Every position on the board is also identified by its cell index, the positions being numbered in row major
+ *	order: the cell index of (hPos, vPos) is (hPos - min) * size + (vPos - min), where size is the number of 
+ *	positions on a row. The cell based methods are meant for the hot paths (like game tree searches), since 
+ *	they neither allocate collections nor moves.
  * 
  * @author Nicolae Caralicea
  *
@@ -53,10 +59,28 @@ public interface IStateSpace<M extends IBoardPosition, P extends IPlayer> {
 	 * 
 	 * @param player
 	 * 		- the player argument on which behalf the move is done.
-	 *  
+	 * 
+	 * @throws IllegalArgumentException
+	 * 		- if the move is outside of the board, or the player is one more than the state space supports
+	 * 		(two for Tic-Tac-Toe).
 	 */
 	void addMoveFor(M move, P player);
 	
+	/**
+	 * Removes a move previously added, so its position on the board becomes available again.
+	 * 
+	 * @param move
+	 * 		- the move to be removed.
+	 */
+	void removeMove(M move);
+	
+	/**
+	 * Removes all the moves, so the state space can be reused by a new game without being allocated again.
+	 * 
+	 * The state space is left as a new one would be, the players being numbered again from their next moves.
+	 */
+	void clear();
+	
 	/**
 	 * Generates all the available moves (empty cells) on the board.
 	 * 
@@ -65,6 +89,52 @@ public interface IStateSpace<M extends IBoardPosition, P extends IPlayer> {
 	 */
 	Set<M> generateAvailableMoves();
 	
+	/**
+	 * Gets the number of available moves (empty cells) on the board.
+	 * 
+	 * @return
+	 * 		- returns the number of available moves.
+	 */
+	int getAvailableMovesCount();
+	
+	/**
+	 * Gets the first available move (empty cell) starting with the cell provided as argument.
+	 * 
+	 * It is the cursor used to walk the available moves without allocating anything:
+	 * 
+	 * 		for (int cell = stateSpace.nextAvailableCell(0); cell >= 0; cell = stateSpace.nextAvailableCell(cell + 1))
+	 * 
+	 * @param fromCell
+	 * 		- the cell index the search starts with.
+	 * 
+	 * @return
+	 * 		- returns the cell index of the first empty cell not lower than fromCell, or -1 if there is no such cell.
+	 */
+	int nextAvailableCell(int fromCell);
+	
+	/**
+	 * Visits the available moves (empty cells) on the board in ascending cell index order.
+	 * 
+	 * @param cellVisitor
+	 * 		- the visitor receiving the cell index of every available move.
+	 */
+	default void forEachAvailableMove(final IntConsumer cellVisitor) {
+		for (int cell = this.nextAvailableCell(0); cell >= 0; cell = this.nextAvailableCell(cell + 1)) {
+			cellVisitor.accept(cell);
+		}
+	}
+	
+	/**
+	 * Gets the move/position identified by the cell index provided as argument.
+	 * 
+	 * @param cell
+	 * 		- the cell index.
+	 * 
+	 * @return
+	 * 		- returns the move at the cell.
+	 */
+	M getMoveAt(int cell);
+	
 	/**
 	 * Checks if a move has been already executed.
 	 * 
@@ -92,6 +162,18 @@ public interface IStateSpace<M extends IBoardPosition, P extends IPlayer> {
 	 */
 	P getPlayerAt(int hPos, int vPos);
 	
+	/**
+	 * Gets the 64-bit Zobrist hash of the position (see ZobristKeys), side to move included.
+	 * 
+	 * It is maintained in constant time by addMoveFor and removeMove, so positions can be keyed by a single long
+	 * (transposition tables, session dedup, analytics). The players are numbered in the order they made their 
+	 * first move, and the side to move changes with every added or removed move.
+	 * 
+	 * @return
+	 * 		- returns the hash of the position.
+	 */
+	long positionHash();
+	
 	/**
 	 * Gets the minimum position on the board (usually is is zero).
 	 * 
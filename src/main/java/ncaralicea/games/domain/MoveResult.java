@@ -0,0 +1,53 @@
+package ncaralicea.games.domain;
+
+/**
+ * MoveResult enumerates the outcomes of submitting a move through IBoardGame.tryMakeMove.
+ * 
+ * A rejected move leaves the game unchanged. The checks are done in the order of the constants below
+ * (after ACCEPTED), so a move submitted after the game ended is reported as GAME_OVER even if its cell is taken.
+ * 
+ * @author Nicolae Caralicea
+ *
+ */
+public enum MoveResult {
+	
+	/**
+	 * the move was made.
+	 */
+	ACCEPTED,
+	
+	/**
+	 * the game was not started.
+	 */
+	NOT_STARTED,
+	
+	/**
+	 * the game already ended, with a winner or in a draw.
+	 */
+	GAME_OVER,
+	
+	/**
+	 * the move was submitted on behalf of a player whose turn it is not.
+	 */
+	WRONG_TURN,
+	
+	/**
+	 * the position of the move is outside of the board boundaries.
+	 */
+	OUT_OF_BOUNDS,
+	
+	/**
+	 * the position of the move was already taken.
+	 */
+	OCCUPIED;
+	
+	/**
+	 * Checks if the move was made.
+	 * 
+	 * @return
+	 * 		- returns true if the result is ACCEPTED.
+	 */
+	public boolean isAccepted() {
+		return this == ACCEPTED;
+	}
+}
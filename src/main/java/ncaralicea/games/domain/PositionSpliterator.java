@@ -0,0 +1,149 @@
+package ncaralicea.games.domain;
+
+import java.util.ArrayDeque;
+import java.util.Set;
+import java.util.Spliterator;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+
+/**
+ * PositionSpliterator enumerates the positions reachable from a starting position (see IGamePosition.positions).
+ *
+ * The positions are walked depth first: a position is claimed when it is first reached, by adding it to a set
+ * of visited positions, and it is enumerated when popped out of the stack of claimed positions, its next positions
+ * being claimed then. So every position is enumerated once, the transpositions (the same position reached by
+ * different move orders) being dropped as soon as they are reached again, and the positions are generated only
+ * as fast as they are consumed.
+ *
+ * A split hands over the bottom half of the stack, the positions closest to the start, whose subtrees are the
+ * largest. A stack holding a single position is split by expanding the position first: its next positions are
+ * claimed and the position is kept to be enumerated before the rest. The visited set is shared by all the parts
+ * of a split, and is concurrent, so the parts claim every position only once wherever they run.
+ *
+ * Note:
+ *
+ * 		The positions with less than MIN_SPLIT_MOVES moves left (empty cells, or moves before maxMoves) are not
+ * 		split anymore, their subtrees being too small to be worth a task of their own.
+ *
+ * 		The visited set keeps all the enumerated positions, so the memory grows with the number of positions:
+ * 		the enumeration of the large boards is to be limited by maxMoves.
+ *
+ * @author Nicolae Caralicea
+ *
+ * @param <S>
+ * 		- generic type argument used to represent the position type.
+ */
+final class PositionSpliterator<S extends IGamePosition<?, ?, S>> implements Spliterator<S> {
+
+	/**
+	 * the number of moves left below which a position is not split anymore.
+	 */
+	static final int MIN_SPLIT_MOVES = 4;
+
+	private final Set<S> visited;
+
+	private final boolean reduceSymmetries;
+
+	private final int maxMoves;
+
+	/**
+	 * pending holds the claimed positions whose next positions are not claimed yet, the top of the stack first.
+	 */
+	private final ArrayDeque<S> pending;
+
+	/**
+	 * expanded holds the positions expanded by trySplit, enumerated before the pending ones.
+	 */
+	private final ArrayDeque<S> expanded = new ArrayDeque<S>();
+
+	/**
+	 * Creates the enumeration of the positions reachable from the start position.
+	 *
+	 * @param start
+	 * 		- the start position.
+	 * @param reduceSymmetries
+	 * 		- true to enumerate only the canonical position of the positions equal up to a symmetry of the board.
+	 * @param maxMoves
+	 * 		- the number of moves above which the positions are not enumerated anymore.
+	 */
+	PositionSpliterator(final S start, final boolean reduceSymmetries, final int maxMoves) {
+		this(ConcurrentHashMap.<S>newKeySet(), reduceSymmetries, maxMoves, new ArrayDeque<S>());
+		if (start.getMovesCount() <= maxMoves) {
+			this.claim(start);
+		}
+	}
+
+	private PositionSpliterator(final Set<S> visited, final boolean reduceSymmetries, final int maxMoves, final ArrayDeque<S> pending) {
+		this.visited = visited;
+		this.reduceSymmetries = reduceSymmetries;
+		this.maxMoves = maxMoves;
+		this.pending = pending;
+	}
+
+	public boolean tryAdvance(final Consumer<? super S> action) {
+		S position = this.expanded.poll();
+		if (position == null) {
+			position = this.pending.poll();
+			if (position == null) {
+				return false;
+			}
+			this.expand(position);
+		}
+		action.accept(position);
+		return true;
+	}
+
+	public void forEachRemaining(final Consumer<? super S> action) {
+		while (this.tryAdvance(action)) {
+			// every position is enumerated by tryAdvance
+		}
+	}
+
+	public Spliterator<S> trySplit() {
+		while (this.pending.size() == 1 && this.movesLeft(this.pending.peek()) >= MIN_SPLIT_MOVES) {
+			final S position = this.pending.poll();
+			this.expand(position);
+			this.expanded.add(position);
+		}
+		if (this.pending.size() < 2 || this.movesLeft(this.pending.peekLast()) < MIN_SPLIT_MOVES) {
+			return null;
+		}
+		final ArrayDeque<S> bottom = new ArrayDeque<S>();
+		for (int count = this.pending.size() / 2; count > 0; count--) {
+			bottom.addFirst(this.pending.pollLast());
+		}
+		return new PositionSpliterator<S>(this.visited, this.reduceSymmetries, this.maxMoves, bottom);
+	}
+
+	public long estimateSize() {
+		return this.pending.isEmpty() ? this.expanded.size() : Long.MAX_VALUE;
+	}
+
+	public int characteristics() {
+		return DISTINCT | NONNULL | IMMUTABLE;
+	}
+
+	/**
+	 * Claims the next positions of a position.
+	 */
+	private void expand(final S position) {
+		if (position.getMovesCount() < this.maxMoves) {
+			position.forEachNextPosition(this::claim);
+		}
+	}
+
+	private void claim(final S position) {
+		final S key = this.reduceSymmetries ? position.getCanonicalPosition() : position;
+		if (this.visited.add(key)) {
+			this.pending.push(key);
+		}
+	}
+
+	/**
+	 * Gets the number of moves which can still be made from a position: its empty cells, bounded by maxMoves.
+	 */
+	private int movesLeft(final S position) {
+		final int size = position.getMaxPosition() - position.getMinPosition() + 1;
+		return Math.min(size * size, this.maxMoves) - position.getMovesCount();
+	}
+}
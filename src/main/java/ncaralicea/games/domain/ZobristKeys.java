@@ -0,0 +1,85 @@
+package ncaralicea.games.domain;
+
+import java.util.SplittableRandom;
+
+/**
+ * ZobristKeys holds the random keys used to hash board positions into a single long.
+ * 
+ * The hash of a position is the XOR of the key of every (player, cell) pair on the board, plus the side to move
+ * key when the second player is to move, so a state space can maintain it in constant time: adding or removing
+ * a move XORs the key of the move and the side to move key into the hash.
+ * 
+ * The keys are drawn from a fixed seed, so the hashes are the same from one run to another. The keys of the
+ * first two players are precomputed; any further player gets keys mixed on the fly from its index.
+ * 
+ * @author Nicolae Caralicea
+ *
+ */
+public final class ZobristKeys {
+
+	private static final long SEED = 0x2545F4914F6CDD1DL;
+	
+	private static final int PRECOMPUTED_PLAYERS = 2;
+	
+	private final int cells;
+	
+	private final long[] pieceKeys;
+	
+	private final long sideToMoveKey;
+	
+	/**
+	 * Creates the keys of a board.
+	 * 
+	 * @param cells
+	 * 		- the number of cells of the board.
+	 */
+	public ZobristKeys(final int cells) {
+		final SplittableRandom random = new SplittableRandom(SEED);
+		this.cells = cells;
+		this.pieceKeys = new long[PRECOMPUTED_PLAYERS * cells];
+		for (int i = 0; i < this.pieceKeys.length; i++) {
+			this.pieceKeys[i] = random.nextLong();
+		}
+		this.sideToMoveKey = random.nextLong();
+	}
+	
+	/**
+	 * Gets the key of a player's move on a cell.
+	 * 
+	 * @param playerIndex
+	 * 		- the index of the player (0 for the player who moves first).
+	 * @param cell
+	 * 		- the cell index.
+	 * @return
+	 * 		- returns the key.
+	 */
+	public long getPieceKey(final int playerIndex, final int cell) {
+		if (playerIndex < PRECOMPUTED_PLAYERS) {
+			return this.pieceKeys[playerIndex * this.cells + cell];
+		}
+		long mixed = SEED + (playerIndex * (long) this.cells + cell) * 0x9E3779B97F4A7C15L;
+		mixed = (mixed ^ (mixed >>> 30)) * 0xBF58476D1CE4E5B9L;
+		mixed = (mixed ^ (mixed >>> 27)) * 0x94D049BB133111EBL;
+		return mixed ^ (mixed >>> 31);
+	}
+	
+	/**
+	 * Gets the key XORed into the hash every time the side to move changes.
+	 * 
+	 * @return
+	 * 		- returns the side to move key.
+	 */
+	public long getSideToMoveKey() {
+		return this.sideToMoveKey;
+	}
+	
+	/**
+	 * Gets the number of cells the keys were created for.
+	 * 
+	 * @return
+	 * 		- returns the number of cells.
+	 */
+	public int getCells() {
+		return this.cells;
+	}
+}
@@ -0,0 +1,109 @@
+package ncaralicea.games.domain.mnk;
+
+import java.util.Arrays;
+
+/**
+ * MnkBitboard is an immutable set of cells of an m,n,k board, one bit per cell, used by MnkPosition.
+ *
+ * The bits are split into chunks of CHUNK_WORDS longs (512 cells). Setting a cell copies the chunk array and
+ * the chunk holding the cell only, all the other chunks being shared with the original bitboard, so a move on
+ * the largest board (64 X 64) copies about 100 bytes instead of the whole board.
+ *
+ * Bitboards are compared by value (the cells set).
+ *
+ * @author Nicolae Caralicea
+ *
+ */
+final class MnkBitboard {
+
+	private static final int CHUNK_WORDS = 8;
+
+	private final long[][] chunks;
+
+	private MnkBitboard(final long[][] chunks) {
+		this.chunks = chunks;
+	}
+
+	/**
+	 * Creates a bitboard with no cell set.
+	 *
+	 * @param cells
+	 * 		- the number of cells of the board.
+	 *
+	 * @return
+	 * 		- returns the empty bitboard.
+	 */
+	static MnkBitboard empty(final int cells) {
+		final int words = (cells + Long.SIZE - 1) / Long.SIZE;
+		final long[][] chunks = new long[(words + CHUNK_WORDS - 1) / CHUNK_WORDS][];
+		for (int chunk = 0; chunk < chunks.length; chunk++) {
+			chunks[chunk] = new long[Math.min(CHUNK_WORDS, words - chunk * CHUNK_WORDS)];
+		}
+		return new MnkBitboard(chunks);
+	}
+
+	/**
+	 * Creates a bitboard out of the words of its bits.
+	 *
+	 * @param words
+	 * 		- the bits, 64 cells per word, as many words as empty would create.
+	 *
+	 * @return
+	 * 		- returns the bitboard, which does not share the words provided as argument.
+	 */
+	static MnkBitboard of(final long[] words) {
+		final long[][] chunks = new long[(words.length + CHUNK_WORDS - 1) / CHUNK_WORDS][];
+		for (int chunk = 0; chunk < chunks.length; chunk++) {
+			chunks[chunk] = Arrays.copyOfRange(words, chunk * CHUNK_WORDS, Math.min(words.length, (chunk + 1) * CHUNK_WORDS));
+		}
+		return new MnkBitboard(chunks);
+	}
+
+	/**
+	 * Checks if a cell is set.
+	 *
+	 * @param cell
+	 * 		- the cell index.
+	 *
+	 * @return
+	 * 		- returns true if the cell is set.
+	 */
+	boolean get(final int cell) {
+		final int word = cell >>> 6;
+		return (this.chunks[word / CHUNK_WORDS][word % CHUNK_WORDS] & (1L << cell)) != 0;
+	}
+
+	/**
+	 * Sets a cell, leaving this bitboard unchanged.
+	 *
+	 * @param cell
+	 * 		- the cell index.
+	 *
+	 * @return
+	 * 		- returns the bitboard with the cell set, sharing all the chunks but the one of the cell.
+	 */
+	MnkBitboard with(final int cell) {
+		final int word = cell >>> 6;
+		final long[][] chunks = this.chunks.clone();
+		final long[] chunk = chunks[word / CHUNK_WORDS].clone();
+		chunk[word % CHUNK_WORDS] |= 1L << cell;
+		chunks[word / CHUNK_WORDS] = chunk;
+		return new MnkBitboard(chunks);
+	}
+
+	@Override
+	public int hashCode() {
+		return Arrays.deepHashCode(this.chunks);
+	}
+
+	@Override
+	public boolean equals(final Object obj) {
+		if (this == obj) {
+			return true;
+		}
+		if (obj == null || getClass() != obj.getClass()) {
+			return false;
+		}
+		return Arrays.deepEquals(this.chunks, ((MnkBitboard) obj).chunks);
+	}
+}
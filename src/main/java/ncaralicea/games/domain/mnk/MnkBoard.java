@@ -0,0 +1,79 @@
+package ncaralicea.games.domain.mnk;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import ncaralicea.games.domain.ZobristKeys;
+
+/**
+ * MnkBoard holds what does not change between the games played on a board of a certain size:
+ * the preallocated moves (indexed by cell) and the Zobrist keys.
+ *
+ * The boards are built once per size and shared, since they are immutable.
+ *
+ * @author Nicolae Caralicea
+ *
+ */
+final class MnkBoard {
+
+	private static final ConcurrentMap<Integer, MnkBoard> BOARDS = new ConcurrentHashMap<Integer, MnkBoard>();
+
+	private final int size;
+
+	private final MnkMove[] moves;
+
+	private final ZobristKeys zobristKeys;
+
+	private MnkBoard(final int size) {
+		this.size = size;
+		this.moves = new MnkMove[size * size];
+		for (int cell = 0; cell < this.moves.length; cell++) {
+			this.moves[cell] = new MnkMove(cell / size, cell % size);
+		}
+		this.zobristKeys = new ZobristKeys(size * size);
+	}
+
+	/**
+	 * Gets the shared board of the size provided as argument.
+	 *
+	 * @param size
+	 * 		- the number of positions on a row (and column).
+	 * @return
+	 * 		- returns the board.
+	 */
+	static MnkBoard of(final int size) {
+		if (size < 1 || size > MnkGame.MAX_SIZE) {
+			throw new IllegalArgumentException("The board size should be between 1 and " + MnkGame.MAX_SIZE + ": " + size);
+		}
+		return BOARDS.computeIfAbsent(size, MnkBoard::new);
+	}
+
+	int getSize() {
+		return this.size;
+	}
+
+	int getCells() {
+		return this.moves.length;
+	}
+
+	MnkMove getMove(final int cell) {
+		return this.moves[cell];
+	}
+
+	ZobristKeys getZobristKeys() {
+		return this.zobristKeys;
+	}
+
+	/**
+	 * Gets the cell index of the position provided as arguments.
+	 *
+	 * @return
+	 * 		- returns the cell index, or -1 if the position is outside of the board.
+	 */
+	int cellIndexOf(final int hPos, final int vPos) {
+		if (hPos < 0 || hPos >= this.size || vPos < 0 || vPos >= this.size) {
+			return -1;
+		}
+		return hPos * this.size + vPos;
+	}
+}
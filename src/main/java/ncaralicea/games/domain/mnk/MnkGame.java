@@ -0,0 +1,342 @@
+package ncaralicea.games.domain.mnk;
+
+import ncaralicea.games.domain.GameStatus;
+import ncaralicea.games.domain.IBoardCellVisitor;
+import ncaralicea.games.domain.IBoardGame;
+import ncaralicea.games.domain.IBoardView;
+import ncaralicea.games.domain.IStateSpace;
+import ncaralicea.games.domain.MoveResult;
+
+/**
+ * MnkGame is the m,n,k game played on an N X N board: two players take turns placing a stone on an empty cell,
+ * and the first one to get K stones in a row (horizontally, vertically or diagonally) wins.
+ *
+ * Tic-Tac-Toe is the 3,3,3 game, and Gomoku the 15,15,5 one.
+ *
+ * Note:
+ *
+ * 		The win is detected incrementally (see MnkWinDetector), so the cost of a move depends on K only,
+ * 		not on the size of the board.
+ *
+ * @author Nicolae Caralicea
+ *
+ */
+public class MnkGame implements IBoardGame<MnkMove, MnkPlayer> {
+
+	/**
+	 * the maximum number of positions on a row (and column) of the board.
+	 */
+	public static final int MAX_SIZE = 64;
+
+	private final MnkBoard board;
+
+	/**
+	 * winLength holds the number of stones in a row needed to win (K).
+	 */
+	private final int winLength;
+
+	/**
+	 * stones holds the player index + 1 of the stone placed on every cell, 0 for the empty cells,
+	 * so the win detection does not go through the state space.
+	 */
+	private final byte[] stones;
+
+	/**
+	 * moveStack holds the cells of the accepted moves in the order they were made (the first movesCounter elements),
+	 * so they can be taken back by unmakeMove.
+	 */
+	private final int[] moveStack;
+
+	private MnkPlayer[] players;
+
+	private MnkPlayer winner;
+
+	private final MnkStateSpace stateSpace;
+
+	private GameStatus status = GameStatus.IN_PROGRESS;
+
+	/**
+	 * movesCounter is used to indicate the current player, and counts the occupied cells of the board.
+	 */
+	private int movesCounter;
+
+	private boolean isStarted = false;
+
+	/**
+	 * the version of the board view.
+	 */
+	private long version;
+
+	private final BoardView boardView = new BoardView();
+
+	/**
+	 * Creates an N X N game won by K stones in a row.
+	 *
+	 * @param size
+	 * 		- the number of positions on a row (and column) of the board (N).
+	 * @param winLength
+	 * 		- the number of stones in a row needed to win (K).
+	 *
+	 * @throws IllegalArgumentException
+	 * 		- if the size is not between 1 and MAX_SIZE, or the win length is not between 1 and the size.
+	 */
+	public MnkGame(final int size, final int winLength) {
+		this.board = MnkBoard.of(size);
+		if (winLength < 1 || winLength > size) {
+			throw new IllegalArgumentException("The win length should be between 1 and the board size: " + winLength);
+		}
+		this.winLength = winLength;
+		this.stones = new byte[this.board.getCells()];
+		this.moveStack = new int[this.board.getCells()];
+		this.stateSpace = new MnkStateSpace(this.board);
+	}
+
+	/**
+	 * Sets the players of the game, the first one having the first move.
+	 *
+	 * @param players
+	 * 		- the two players of the game, with different display names.
+	 */
+	public void setGamePlayers(final MnkPlayer[] players) {
+		if (validateSetPlayersPreconditions(players)) {
+			this.players = players;
+		} else {
+			throw new MnkGameException("Can not set the players for the game! Player setting preconditions failed.");
+		}
+	}
+
+	/**
+	 * Creates a copy of the game, by replaying the accepted moves.
+	 */
+	public MnkGame copy() {
+		final MnkGame copy = new MnkGame(this.board.getSize(), this.winLength);
+		copy.players = this.players != null ? this.players.clone() : null;
+		if (this.isStarted) {
+			copy.isStarted = true;
+			for (int i = 0; i < this.movesCounter; i++) {
+				copy.makeMove(this.board.getMove(this.moveStack[i]));
+			}
+		}
+		return copy;
+	}
+
+	public void reset() {
+		for (int i = 0; i < this.movesCounter; i++) {
+			this.stones[this.moveStack[i]] = 0;
+		}
+		this.stateSpace.clear();
+		this.movesCounter = 0;
+		this.status = GameStatus.IN_PROGRESS;
+		this.winner = null;
+		this.isStarted = false;
+		this.version++;
+	}
+
+	public void start() {
+		if (this.validateSetPlayersPreconditions(this.players) && !this.isStarted) {
+			this.reset();
+			this.isStarted = true;
+		} else {
+			throw new MnkGameException("The game can not be started. The game start preconditions failed.");
+		}
+	}
+
+	public void makeMove(final MnkMove move) {
+		final MoveResult result = this.tryMakeMove(move);
+		if (!result.isAccepted()) {
+			throw new MnkGameException("Can not make the move! Move preconditions failed: " + result + ".");
+		}
+	}
+
+	public MoveResult tryMakeMove(final MnkMove move) {
+		return this.tryMakeMove(move, null);
+	}
+
+	/**
+	 * Makes a move on behalf of the player provided as argument (or of the player whose turn it is, if null).
+	 */
+	public MoveResult tryMakeMove(final MnkMove move, final MnkPlayer player) {
+		if (!this.isStarted) {
+			return MoveResult.NOT_STARTED;
+		} else if (this.isGameEnded()) {
+			return MoveResult.GAME_OVER;
+		} else if (player != null && !player.equals(this.whoseTurnIs())) {
+			return MoveResult.WRONG_TURN;
+		}
+		final int cell = move != null ? this.board.cellIndexOf(move.getHorizontalPosition(), move.getVerticalPosition()) : -1;
+		if (cell < 0) {
+			return MoveResult.OUT_OF_BOUNDS;
+		} else if (this.stones[cell] != 0) {
+			return MoveResult.OCCUPIED;
+		}
+		this.acceptMove(move, cell);
+		return MoveResult.ACCEPTED;
+	}
+
+	/**
+	 * Takes back the last accepted move.
+	 */
+	public void unmakeMove() {
+		if (this.isStarted && this.movesCounter > 0) {
+			this.movesCounter--;
+			final int cell = this.moveStack[this.movesCounter];
+			this.stones[cell] = 0;
+			this.stateSpace.removeMove(this.board.getMove(cell));
+			this.status = GameStatus.IN_PROGRESS;
+			this.winner = null;
+			this.version++;
+		} else {
+			throw new MnkGameException("Can not unmake the move! There is no move to be taken back.");
+		}
+	}
+
+	/**
+	 * Accepts the move on the current player's behalf, updating the status of the game.
+	 *
+	 * Only the lines through the cell of the move are checked, since any other line would have ended
+	 * the game before.
+	 */
+	private void acceptMove(final MnkMove move, final int cell) {
+		final int playerIndex = this.movesCounter % 2;
+		final MnkPlayer player = this.players[playerIndex];
+		this.stateSpace.addMoveFor(move, player);
+		this.stones[cell] = (byte) (playerIndex + 1);
+		this.moveStack[this.movesCounter] = cell;
+		this.movesCounter++;
+		this.version++;
+		if (MnkWinDetector.isWinningAt(this.stones, this.board.getSize(), cell, this.winLength)) {
+			this.status = GameStatus.WON;
+			this.winner = player;
+		} else if (this.movesCounter == this.stones.length) {
+			this.status = GameStatus.DRAW;
+		}
+	}
+
+	public boolean isGameDraw() {
+		return this.status == GameStatus.DRAW;
+	}
+
+	public boolean existWinner() {
+		return this.status == GameStatus.WON;
+	}
+
+	public boolean isGameEnded() {
+		return this.status.isEnded();
+	}
+
+	public GameStatus getGameStatus() {
+		return this.status;
+	}
+
+	public MnkPlayer getWinner() {
+		if (existWinner()) {
+			return this.winner;
+		} else {
+			throw new MnkGameException("The game has no winner. It either ended in a draw or is not over yet.");
+		}
+	}
+
+	public MnkPlayer whoseTurnIs() {
+		return this.players[this.movesCounter % 2];
+	}
+
+	/**
+	 * Gets the player interaction snapshot board, sized after the board of the game.
+	 */
+	public MnkPlayer[][] getPlayerInteractionSnapshotBoard() {
+		final int size = this.board.getSize();
+		final MnkPlayer[][] snapshot = new MnkPlayer[size][size];
+		for (int cell = 0; cell < this.stones.length; cell++) {
+			if (this.stones[cell] != 0) {
+				snapshot[cell / size][cell % size] = this.players[this.stones[cell] - 1];
+			}
+		}
+		return snapshot;
+	}
+
+	public IBoardView<MnkPlayer> getBoardView() {
+		return this.boardView;
+	}
+
+	public IStateSpace<MnkMove, MnkPlayer> getStateSpace() {
+		return this.stateSpace;
+	}
+
+	/**
+	 * Gets the number of positions on a row (and column) of the board (N).
+	 *
+	 * @return
+	 * 		- returns the board size.
+	 */
+	public int getSize() {
+		return this.board.getSize();
+	}
+
+	/**
+	 * Gets the number of stones in a row needed to win (K).
+	 *
+	 * @return
+	 * 		- returns the win length.
+	 */
+	public int getWinLength() {
+		return this.winLength;
+	}
+
+	private boolean validateSetPlayersPreconditions(final MnkPlayer[] players) {
+		return players != null && players.length == 2 && players[0] != null && players[1] != null
+				&& players[0].getDisplayName() != null
+				&& players[1].getDisplayName() != null
+				&& !players[0].getDisplayName().equals(players[1].getDisplayName());
+	}
+
+	/**
+	 * BoardView reads the cells from the stones of the game.
+	 */
+	private final class BoardView implements IBoardView<MnkPlayer> {
+
+		public MnkPlayer cellAt(final int hPos, final int vPos) {
+			final int cell = MnkGame.this.board.cellIndexOf(hPos, vPos);
+			return cell >= 0 ? this.playerAt(cell) : null;
+		}
+
+		public void forEachCell(final IBoardCellVisitor<? super MnkPlayer> visitor) {
+			final int size = MnkGame.this.board.getSize();
+			for (int cell = 0; cell < MnkGame.this.stones.length; cell++) {
+				visitor.visit(MnkStateSpace.MIN + cell / size, MnkStateSpace.MIN + cell % size, this.playerAt(cell));
+			}
+		}
+
+		public int getMinPosition() {
+			return MnkStateSpace.MIN;
+		}
+
+		public int getMaxPosition() {
+			return MnkStateSpace.MIN + MnkGame.this.board.getSize() - 1;
+		}
+
+		public long getVersion() {
+			return MnkGame.this.version;
+		}
+
+		private MnkPlayer playerAt(final int cell) {
+			final int stone = MnkGame.this.stones[cell];
+			return stone != 0 ? MnkGame.this.players[stone - 1] : null;
+		}
+	}
+
+	/**
+	 * MnkGameException is the unchecked exception thrown when an operation is not allowed by the rules
+	 * or the state of the game.
+	 *
+	 * @author Nicolae Caralicea
+	 *
+	 */
+	public static class MnkGameException extends RuntimeException {
+
+		private static final long serialVersionUID = -1837463925417406823L;
+
+		public MnkGameException(final String s) {
+			super(s);
+		}
+	}
+}
@@ -0,0 +1,68 @@
+package ncaralicea.games.domain.mnk;
+
+import ncaralicea.games.domain.IBoardPosition;
+
+/**
+ * MnkMove is used to indicate the position where a certain move will be placed on an m,n,k board.
+ *
+ * Moves are immutable and do not depend on the board size, so the moves of every board size are
+ * preallocated once (see MnkBoard) and returned by the state space cursor without allocating anything.
+ *
+ * @author Nicolae Caralicea
+ *
+ */
+public class MnkMove implements IBoardPosition {
+
+	private final int atHPos;
+
+	private final int atVPos;
+
+	/**
+	 * The constructor class containing the 2 position arguments.
+	 *
+	 * @param atHPos
+	 * 		- the horizontal position.
+	 * @param atVPos
+	 * 		- the vertical position.
+	 */
+	public MnkMove(final int atHPos, final int atVPos) {
+		this.atHPos = atHPos;
+		this.atVPos = atVPos;
+	}
+
+	public int getHorizontalPosition() {
+		return this.atHPos;
+	}
+
+	public int getVerticalPosition() {
+		return this.atVPos;
+	}
+
+	/**
+	 * hashCode is required, because this class is supposed to be used as key in a map.
+	 */
+	@Override
+	public int hashCode() {
+		return 31 * (31 + this.atHPos) + this.atVPos;
+	}
+
+	/**
+	 * equals is required, because this class is supposed to be used as key in a map.
+	 */
+	@Override
+	public boolean equals(final Object obj) {
+		if (this == obj) {
+			return true;
+		}
+		if (obj == null || getClass() != obj.getClass()) {
+			return false;
+		}
+		final MnkMove other = (MnkMove) obj;
+		return this.atHPos == other.atHPos && this.atVPos == other.atVPos;
+	}
+
+	@Override
+	public String toString() {
+		return "(" + this.atHPos + ", " + this.atVPos + ")";
+	}
+}
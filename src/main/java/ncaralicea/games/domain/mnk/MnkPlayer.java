@@ -0,0 +1,50 @@
+package ncaralicea.games.domain.mnk;
+
+import ncaralicea.games.domain.IPlayer;
+
+/**
+ * MnkPlayer represents a player of the m,n,k game.
+ *
+ * @author Nicolae Caralicea
+ *
+ */
+public class MnkPlayer implements IPlayer {
+
+	private final String displayName;
+
+	public MnkPlayer(final String displayName) {
+		this.displayName = displayName;
+	}
+
+	public String getDisplayName() {
+		return this.displayName;
+	}
+
+	/**
+	 * hashCode is required, because this class is supposed to be used as key in a map.
+	 */
+	@Override
+	public int hashCode() {
+		return this.displayName == null ? 0 : this.displayName.hashCode();
+	}
+
+	/**
+	 * equals is required, because this class is supposed to be used as key in a map.
+	 */
+	@Override
+	public boolean equals(final Object obj) {
+		if (this == obj) {
+			return true;
+		}
+		if (obj == null || getClass() != obj.getClass()) {
+			return false;
+		}
+		final MnkPlayer other = (MnkPlayer) obj;
+		return this.displayName == null ? other.displayName == null : this.displayName.equals(other.displayName);
+	}
+
+	@Override
+	public String toString() {
+		return this.displayName;
+	}
+}
@@ -0,0 +1,322 @@
+package ncaralicea.games.domain.mnk;
+
+import java.util.function.Consumer;
+
+import ncaralicea.games.domain.GameStatus;
+import ncaralicea.games.domain.IBoardCellVisitor;
+import ncaralicea.games.domain.IGamePosition;
+import ncaralicea.games.domain.MoveResult;
+import ncaralicea.games.domain.ZobristKeys;
+
+/**
+ * MnkPosition is an immutable position of the m,n,k game.
+ *
+ * The stones of every player are held by an immutable bitboard (see MnkBitboard), so a move copies only a small
+ * chunk of the mover's stones and shares the rest of the board, the opponent's stones, the players and the
+ * preallocated moves with the position it was made from.
+ *
+ * Positions are compared by value (the board size, the win length, the players and the stones).
+ *
+ * @author Nicolae Caralicea
+ *
+ */
+public final class MnkPosition implements IGamePosition<MnkMove, MnkPlayer, MnkPosition> {
+
+	/**
+	 * the number of rotations and reflections of the board, the identity included (see sourceCell).
+	 */
+	private static final int TRANSFORMS = 8;
+
+	private static final int IDENTITY = 0;
+
+	private final MnkBoard board;
+
+	private final int winLength;
+
+	private final MnkPlayer[] players;
+
+	/**
+	 * firstStones and secondStones hold the cells taken by the player who moved first and by the other one.
+	 */
+	private final MnkBitboard firstStones;
+
+	private final MnkBitboard secondStones;
+
+	private final int movesCount;
+
+	private final GameStatus status;
+
+	/**
+	 * hash is the Zobrist hash of the stones and the side to move (see ZobristKeys), used as the version.
+	 */
+	private final long hash;
+
+	private MnkPosition(final MnkBoard board, final int winLength, final MnkPlayer[] players, final MnkBitboard firstStones,
+			final MnkBitboard secondStones, final int movesCount, final GameStatus status, final long hash) {
+		this.board = board;
+		this.winLength = winLength;
+		this.players = players;
+		this.firstStones = firstStones;
+		this.secondStones = secondStones;
+		this.movesCount = movesCount;
+		this.status = status;
+		this.hash = hash;
+	}
+
+	/**
+	 * Gets the empty position of an N X N game won by K stones in a row.
+	 *
+	 * @param size
+	 * 		- the number of positions on a row (and column) of the board (N).
+	 * @param winLength
+	 * 		- the number of stones in a row needed to win (K).
+	 * @param players
+	 * 		- the two players of the game, with different display names, the first one having the first move.
+	 *
+	 * @return
+	 * 		- returns the initial position.
+	 *
+	 * @throws IllegalArgumentException
+	 * 		- if the size, the win length or the players are not valid (see MnkGame).
+	 */
+	public static MnkPosition start(final int size, final int winLength, final MnkPlayer[] players) {
+		final MnkBoard board = MnkBoard.of(size);
+		if (winLength < 1 || winLength > size) {
+			throw new IllegalArgumentException("The win length should be between 1 and the board size: " + winLength);
+		}
+		if (players == null || players.length != 2 || players[0] == null || players[1] == null
+				|| players[0].getDisplayName() == null || players[1].getDisplayName() == null
+				|| players[0].getDisplayName().equals(players[1].getDisplayName())) {
+			throw new IllegalArgumentException("The position needs two players with different display names.");
+		}
+		final MnkBitboard empty = MnkBitboard.empty(board.getCells());
+		return new MnkPosition(board, winLength, players.clone(), empty, empty, 0, GameStatus.IN_PROGRESS, 0L);
+	}
+
+	public MoveResult validateMove(final MnkMove move, final MnkPlayer player) {
+		if (this.status.isEnded()) {
+			return MoveResult.GAME_OVER;
+		} else if (player != null && !player.equals(this.whoseTurnIs())) {
+			return MoveResult.WRONG_TURN;
+		}
+		final int cell = move != null ? this.board.cellIndexOf(move.getHorizontalPosition(), move.getVerticalPosition()) : -1;
+		if (cell < 0) {
+			return MoveResult.OUT_OF_BOUNDS;
+		} else if (this.firstStones.get(cell) || this.secondStones.get(cell)) {
+			return MoveResult.OCCUPIED;
+		}
+		return MoveResult.ACCEPTED;
+	}
+
+	public MnkPosition play(final MnkMove move) {
+		final MoveResult result = this.validateMove(move, null);
+		if (!result.isAccepted()) {
+			throw new IllegalArgumentException("Can not play the move " + move + ": " + result + ".");
+		}
+		return this.playAt(this.board.cellIndexOf(move.getHorizontalPosition(), move.getVerticalPosition()));
+	}
+
+	public void forEachNextPosition(final Consumer<? super MnkPosition> visitor) {
+		if (!this.status.isEnded()) {
+			for (int cell = 0; cell < this.board.getCells(); cell++) {
+				if (!this.firstStones.get(cell) && !this.secondStones.get(cell)) {
+					visitor.accept(this.playAt(cell));
+				}
+			}
+		}
+	}
+
+	/**
+	 * Gets the canonical position: among the 8 rotations and reflections of the board, the one whose first
+	 * differing cell (in cell index order) is taken by the first player rather than by the second one, or by
+	 * the second player rather than empty.
+	 */
+	public MnkPosition getCanonicalPosition() {
+		int best = IDENTITY;
+		for (int transform = 1; transform < TRANSFORMS; transform++) {
+			if (this.compareTransformed(transform, best) < 0) {
+				best = transform;
+			}
+		}
+		if (best == IDENTITY) {
+			return this;
+		}
+		final int words = (this.board.getCells() + Long.SIZE - 1) / Long.SIZE;
+		final long[] firstWords = new long[words];
+		final long[] secondWords = new long[words];
+		final ZobristKeys keys = this.board.getZobristKeys();
+		long hash = this.movesCount % 2 != 0 ? keys.getSideToMoveKey() : 0L;
+		for (int cell = 0; cell < this.board.getCells(); cell++) {
+			final int source = this.sourceCell(cell, best);
+			if (this.firstStones.get(source)) {
+				firstWords[cell >>> 6] |= 1L << cell;
+				hash ^= keys.getPieceKey(0, cell);
+			} else if (this.secondStones.get(source)) {
+				secondWords[cell >>> 6] |= 1L << cell;
+				hash ^= keys.getPieceKey(1, cell);
+			}
+		}
+		return new MnkPosition(this.board, this.winLength, this.players, MnkBitboard.of(firstWords), MnkBitboard.of(secondWords),
+				this.movesCount, this.status, hash);
+	}
+
+	/**
+	 * Makes a move on an empty cell on behalf of the player whose turn it is.
+	 */
+	private MnkPosition playAt(final int cell) {
+		final boolean firstToMove = this.movesCount % 2 == 0;
+		final MnkBitboard moverStones = (firstToMove ? this.firstStones : this.secondStones).with(cell);
+		final int movesCount = this.movesCount + 1;
+		final GameStatus status;
+		if (MnkWinDetector.isWinningAt(moverStones, this.board.getSize(), cell, this.winLength)) {
+			status = GameStatus.WON;
+		} else if (movesCount == this.board.getCells()) {
+			status = GameStatus.DRAW;
+		} else {
+			status = GameStatus.IN_PROGRESS;
+		}
+		return new MnkPosition(this.board, this.winLength, this.players, firstToMove ? moverStones : this.firstStones,
+				firstToMove ? this.secondStones : moverStones, movesCount, status, this.hash
+				^ this.board.getZobristKeys().getPieceKey(firstToMove ? 0 : 1, cell) ^ this.board.getZobristKeys().getSideToMoveKey());
+	}
+
+	public GameStatus getGameStatus() {
+		return this.status;
+	}
+
+	public MnkPlayer whoseTurnIs() {
+		return this.players[this.movesCount % 2];
+	}
+
+	public MnkPlayer getWinner() {
+		return this.status == GameStatus.WON ? this.players[(this.movesCount + 1) % 2] : null;
+	}
+
+	public int getMovesCount() {
+		return this.movesCount;
+	}
+
+	/**
+	 * Gets the number of positions on a row (and column) of the board (N).
+	 *
+	 * @return
+	 * 		- returns the board size.
+	 */
+	public int getSize() {
+		return this.board.getSize();
+	}
+
+	/**
+	 * Gets the number of stones in a row needed to win (K).
+	 *
+	 * @return
+	 * 		- returns the win length.
+	 */
+	public int getWinLength() {
+		return this.winLength;
+	}
+
+	public MnkPlayer cellAt(final int hPos, final int vPos) {
+		final int cell = this.board.cellIndexOf(hPos, vPos);
+		return cell >= 0 ? this.playerAt(cell) : null;
+	}
+
+	public void forEachCell(final IBoardCellVisitor<? super MnkPlayer> visitor) {
+		final int size = this.board.getSize();
+		for (int cell = 0; cell < this.board.getCells(); cell++) {
+			visitor.visit(MnkStateSpace.MIN + cell / size, MnkStateSpace.MIN + cell % size, this.playerAt(cell));
+		}
+	}
+
+	public int getMinPosition() {
+		return MnkStateSpace.MIN;
+	}
+
+	public int getMaxPosition() {
+		return MnkStateSpace.MIN + this.board.getSize() - 1;
+	}
+
+	/**
+	 * Gets the version of the position: the Zobrist hash of its stones and side to move, so two different
+	 * positions have different versions, but for a 64-bit hash collision.
+	 */
+	public long getVersion() {
+		return this.hash;
+	}
+
+	@Override
+	public int hashCode() {
+		return 31 * (31 * this.firstStones.hashCode() + this.secondStones.hashCode()) + this.players[0].hashCode();
+	}
+
+	@Override
+	public boolean equals(final Object obj) {
+		if (this == obj) {
+			return true;
+		}
+		if (obj == null || getClass() != obj.getClass()) {
+			return false;
+		}
+		final MnkPosition other = (MnkPosition) obj;
+		return this.board == other.board && this.winLength == other.winLength && this.firstStones.equals(other.firstStones)
+				&& this.secondStones.equals(other.secondStones) && this.players[0].equals(other.players[0])
+				&& this.players[1].equals(other.players[1]);
+	}
+
+	/**
+	 * Compares the boards transformed by two rotations or reflections, cell by cell.
+	 *
+	 * @return
+	 * 		- returns a negative number if the first transform gives the lower board, zero if they give the same
+	 * 		board, a positive number otherwise.
+	 */
+	private int compareTransformed(final int transform, final int otherTransform) {
+		for (int cell = 0; cell < this.board.getCells(); cell++) {
+			final int difference = this.rank(this.sourceCell(cell, transform)) - this.rank(this.sourceCell(cell, otherTransform));
+			if (difference != 0) {
+				return difference;
+			}
+		}
+		return 0;
+	}
+
+	/**
+	 * Gets the cell of this board which a rotation or a reflection moves to the cell provided as argument.
+	 *
+	 * The bit 0 of the transform flips the rows, the bit 1 flips the columns and the bit 2 swaps the rows with
+	 * the columns, which gives the 8 symmetries of a square.
+	 */
+	private int sourceCell(final int cell, final int transform) {
+		final int size = this.board.getSize();
+		int hPos = cell / size;
+		int vPos = cell % size;
+		if ((transform & 1) != 0) {
+			hPos = size - 1 - hPos;
+		}
+		if ((transform & 2) != 0) {
+			vPos = size - 1 - vPos;
+		}
+		return (transform & 4) != 0 ? vPos * size + hPos : hPos * size + vPos;
+	}
+
+	/**
+	 * Orders the content of a cell: taken by the first player, by the second one, then empty.
+	 */
+	private int rank(final int cell) {
+		if (this.firstStones.get(cell)) {
+			return 0;
+		} else if (this.secondStones.get(cell)) {
+			return 1;
+		}
+		return 2;
+	}
+
+	private MnkPlayer playerAt(final int cell) {
+		if (this.firstStones.get(cell)) {
+			return this.players[0];
+		} else if (this.secondStones.get(cell)) {
+			return this.players[1];
+		}
+		return null;
+	}
+}
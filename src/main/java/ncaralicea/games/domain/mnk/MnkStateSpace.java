@@ -0,0 +1,225 @@
+package ncaralicea.games.domain.mnk;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+
+import ncaralicea.games.domain.IStateSpace;
+import ncaralicea.games.domain.ZobristKeys;
+
+/**
+ * MnkStateSpace is the state space of an N X N board.
+ *
+ * The owner of every cell is kept in a flat array indexed by cell (the player slot + 1, or 0 for an empty cell),
+ * and the occupied cells are mirrored into a bit set, so the available moves are walked a 64 cells word at a time.
+ * The players are numbered in the order they made their first move.
+ *
+ * @author Nicolae Caralicea
+ *
+ */
+public class MnkStateSpace implements IStateSpace<MnkMove, MnkPlayer> {
+
+	/**
+	 * minimum value for the horizontal/vertical position.
+	 */
+	public static final int MIN = 0;
+
+	private static final int MAX_PLAYERS = Byte.MAX_VALUE;
+
+	private final MnkBoard board;
+
+	/**
+	 * the slot + 1 of the player owning every cell, 0 for the empty cells.
+	 */
+	private final byte[] owners;
+
+	/**
+	 * the occupied cells as a bit set.
+	 */
+	private final long[] occupiedWords;
+
+	private MnkPlayer[] players = new MnkPlayer[2];
+
+	private int playersCount;
+
+	private int occupiedCount;
+
+	/**
+	 * the Zobrist hash of the position.
+	 */
+	private long hash;
+
+	/**
+	 * Creates the state space of an empty board.
+	 *
+	 * @param size
+	 * 		- the number of positions on a row (and column).
+	 */
+	public MnkStateSpace(final int size) {
+		this(MnkBoard.of(size));
+	}
+
+	MnkStateSpace(final MnkBoard board) {
+		this.board = board;
+		this.owners = new byte[board.getCells()];
+		this.occupiedWords = new long[(board.getCells() + 63) >>> 6];
+	}
+
+	public Set<MnkMove> getExecutedMoves() {
+		final Set<MnkMove> movesSet = new HashSet<MnkMove>();
+		for (int cell = 0; cell < this.owners.length; cell++) {
+			if (this.owners[cell] != 0) {
+				movesSet.add(this.board.getMove(cell));
+			}
+		}
+		return movesSet;
+	}
+
+	public Set<MnkMove> getExecutedMovesBy(final MnkPlayer player) {
+		final Set<MnkMove> movesSet = new HashSet<MnkMove>();
+		final int owner = this.indexOf(player) + 1;
+		if (owner > 0) {
+			for (int cell = 0; cell < this.owners.length; cell++) {
+				if (this.owners[cell] == owner) {
+					movesSet.add(this.board.getMove(cell));
+				}
+			}
+		}
+		return movesSet;
+	}
+
+	/**
+	 * Adds a move for a player, replacing the previous owner of the cell (if any).
+	 *
+	 * @throws IllegalArgumentException
+	 * 		- if the move is outside of the board.
+	 */
+	public void addMoveFor(final MnkMove move, final MnkPlayer player) {
+		final int cell = this.board.cellIndexOf(move.getHorizontalPosition(), move.getVerticalPosition());
+		if (cell < 0) {
+			throw new IllegalArgumentException("The move is outside of the board: " + move);
+		}
+		final ZobristKeys keys = this.board.getZobristKeys();
+		final int slot = this.acquire(player);
+		final int previousOwner = this.owners[cell];
+		if (previousOwner != 0) {
+			this.hash ^= keys.getPieceKey(previousOwner - 1, cell);
+		} else {
+			this.occupiedWords[cell >>> 6] |= 1L << cell;
+			this.occupiedCount++;
+		}
+		this.owners[cell] = (byte) (slot + 1);
+		this.hash ^= keys.getPieceKey(slot, cell) ^ keys.getSideToMoveKey();
+	}
+
+	public void removeMove(final MnkMove move) {
+		final int cell = this.board.cellIndexOf(move.getHorizontalPosition(), move.getVerticalPosition());
+		if (cell >= 0 && this.owners[cell] != 0) {
+			final ZobristKeys keys = this.board.getZobristKeys();
+			this.hash ^= keys.getPieceKey(this.owners[cell] - 1, cell) ^ keys.getSideToMoveKey();
+			this.owners[cell] = 0;
+			this.occupiedWords[cell >>> 6] &= ~(1L << cell);
+			this.occupiedCount--;
+		}
+	}
+
+	/**
+	 * Generates all the available moves on the board (nextAvailableCell does not allocate).
+	 */
+	public Set<MnkMove> generateAvailableMoves() {
+		final Set<MnkMove> movesSet = new HashSet<MnkMove>();
+		for (int cell = this.nextAvailableCell(0); cell >= 0; cell = this.nextAvailableCell(cell + 1)) {
+			movesSet.add(this.board.getMove(cell));
+		}
+		return movesSet;
+	}
+
+	public int getAvailableMovesCount() {
+		return this.owners.length - this.occupiedCount;
+	}
+
+	public int nextAvailableCell(final int fromCell) {
+		if (fromCell < 0 || fromCell >= this.owners.length) {
+			return -1;
+		}
+		int wordIndex = fromCell >>> 6;
+		long freeCells = ~this.occupiedWords[wordIndex] & (-1L << fromCell);
+		while (freeCells == 0) {
+			if (++wordIndex == this.occupiedWords.length) {
+				return -1;
+			}
+			freeCells = ~this.occupiedWords[wordIndex];
+		}
+		final int cell = (wordIndex << 6) + Long.numberOfTrailingZeros(freeCells);
+		return cell < this.owners.length ? cell : -1;
+	}
+
+	public MnkMove getMoveAt(final int cell) {
+		return this.board.getMove(cell);
+	}
+
+	public boolean isMoveDefinedAt(final int hPos, final int vPos) {
+		final int cell = this.board.cellIndexOf(hPos, vPos);
+		return cell >= 0 && this.owners[cell] != 0;
+	}
+
+	public MnkPlayer getPlayerAt(final int hPos, final int vPos) {
+		final int cell = this.board.cellIndexOf(hPos, vPos);
+		return cell >= 0 && this.owners[cell] != 0 ? this.players[this.owners[cell] - 1] : null;
+	}
+
+	public void clear() {
+		Arrays.fill(this.owners, (byte) 0);
+		Arrays.fill(this.occupiedWords, 0L);
+		Arrays.fill(this.players, 0, this.playersCount, null);
+		this.playersCount = 0;
+		this.occupiedCount = 0;
+		this.hash = 0;
+	}
+
+	public long positionHash() {
+		return this.hash;
+	}
+
+	public int getMinPosition() {
+		return MIN;
+	}
+
+	public int getMaxPosition() {
+		return this.board.getSize() - 1;
+	}
+
+	/**
+	 * Gets the number of positions on a row (and column) of the board.
+	 *
+	 * @return
+	 * 		- returns the board size.
+	 */
+	public int getSize() {
+		return this.board.getSize();
+	}
+
+	private int indexOf(final MnkPlayer player) {
+		for (int index = 0; index < this.playersCount; index++) {
+			if (this.players[index].equals(player)) {
+				return index;
+			}
+		}
+		return -1;
+	}
+
+	private int acquire(final MnkPlayer player) {
+		final int index = this.indexOf(player);
+		if (index >= 0) {
+			return index;
+		}
+		if (this.playersCount == MAX_PLAYERS) {
+			throw new IllegalArgumentException("The state space supports at most " + MAX_PLAYERS + " players.");
+		}
+		if (this.playersCount == this.players.length) {
+			this.players = Arrays.copyOf(this.players, this.playersCount * 2);
+		}
+		this.players[this.playersCount] = player;
+		return this.playersCount++;
+	}
+}
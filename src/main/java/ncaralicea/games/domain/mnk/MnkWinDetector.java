@@ -0,0 +1,105 @@
+package ncaralicea.games.domain.mnk;
+
+/**
+ * MnkWinDetector checks for K stones in a row on an N X N board.
+ *
+ * The check is incremental: a line can only have been completed by the last placed stone, so only the
+ * four directions (horizontal, vertical and the two diagonals) through that stone are counted, at most
+ * K - 1 cells each way. The cost of a move does not grow with the area of the board.
+ *
+ * The board is a flat array indexed by cell in row major order, holding a non zero value per player
+ * on the occupied cells.
+ *
+ * @author Nicolae Caralicea
+ *
+ */
+public final class MnkWinDetector {
+
+	/**
+	 * the horizontal and vertical steps of the four line directions.
+	 */
+	private static final int[] H_STEPS = {0, 1, 1, 1};
+
+	private static final int[] V_STEPS = {1, 0, 1, -1};
+
+	/**
+	 * the occupancy checks of the two board representations, which capture nothing, so a check allocates nothing.
+	 */
+	private static final StoneCheck<byte[]> BYTE_STONES = (stones, cell, stone) -> stones[cell] == stone;
+
+	private static final StoneCheck<MnkBitboard> BITBOARD_STONES = (stones, cell, stone) -> stones.get(cell);
+
+	private MnkWinDetector() {
+	}
+
+	/**
+	 * Checks if the stone at the cell provided as argument completes a line of winLength stones.
+	 *
+	 * @param stones
+	 * 		- the board, indexed by cell.
+	 * @param size
+	 * 		- the number of positions on a row (and column).
+	 * @param cell
+	 * 		- the cell of the last placed stone.
+	 * @param winLength
+	 * 		- the number of stones in a row needed to win.
+	 * @return
+	 * 		- returns true if the stone is part of a line of at least winLength stones of the same player.
+	 */
+	public static boolean isWinningAt(final byte[] stones, final int size, final int cell, final int winLength) {
+		final byte stone = stones[cell];
+		return stone != 0 && isWinningAt(stones, BYTE_STONES, stone, size, cell, winLength);
+	}
+
+	/**
+	 * Checks if the stone at the cell provided as argument completes a line of winLength stones, the stones
+	 * of the player being held by an immutable bitboard (see MnkPosition).
+	 */
+	static boolean isWinningAt(final MnkBitboard stones, final int size, final int cell, final int winLength) {
+		return stones.get(cell) && isWinningAt(stones, BITBOARD_STONES, 1, size, cell, winLength);
+	}
+
+	/**
+	 * Checks if the stone at the cell provided as argument completes a line of winLength stones, the cells
+	 * taken by the same player being told by the occupancy check.
+	 */
+	private static <T> boolean isWinningAt(final T stones, final StoneCheck<T> sameStone, final int stone, final int size,
+			final int cell, final int winLength) {
+		final int hPos = cell / size;
+		final int vPos = cell % size;
+		for (int direction = 0; direction < H_STEPS.length; direction++) {
+			final int hStep = H_STEPS[direction];
+			final int vStep = V_STEPS[direction];
+			final int count = 1 + countRun(stones, sameStone, stone, size, hPos, vPos, hStep, vStep, winLength - 1)
+					+ countRun(stones, sameStone, stone, size, hPos, vPos, -hStep, -vStep, winLength - 1);
+			if (count >= winLength) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Counts the stones of the player next to the position in one direction, up to the limit.
+	 */
+	private static <T> int countRun(final T stones, final StoneCheck<T> sameStone, final int stone, final int size,
+			final int hPos, final int vPos, final int hStep, final int vStep, final int limit) {
+		int count = 0;
+		int h = hPos + hStep;
+		int v = vPos + vStep;
+		while (count < limit && h >= 0 && h < size && v >= 0 && v < size && sameStone.isStoneAt(stones, h * size + v, stone)) {
+			count++;
+			h += hStep;
+			v += vStep;
+		}
+		return count;
+	}
+
+	/**
+	 * StoneCheck tells if a cell holds a stone of the player.
+	 */
+	private interface StoneCheck<T> {
+
+		boolean isStoneAt(T stones, int cell, int stone);
+	}
+}
@@ -0,0 +1,243 @@
+package ncaralicea.games.domain.tictactoe;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+import ncaralicea.games.domain.GameStatus;
+
+/**
+ * TicTacToeBatchEvaluator classifies large arrays of positions at once: the outcome (in progress, won by one of
+ * the players, or drawn) and the number of legal moves of every board.
+ *
+ * The boards are given as an int array of packed boards (see TicTacToeSymmetry.pack: the occupancy mask of the
+ * first player in the bits 0 - 8, the one of the second player in the bits 9 - 17), and the results are written
+ * into byte arrays at the same indexes, so the data is laid out as a structure of arrays.
+ *
+ * The inner loop has no branch and no table lookup: the winning lines of both players are found at once by shifting
+ * the packed board onto itself (a row is full if a cell, the next one and the one after are all taken, and the same
+ * for the columns and the diagonals with larger shifts), and the outcome is assembled arithmetically from 0/1 flags.
+ * So the loop is a plain sequence of shifts, ands and adds over ints, which the JIT compiler can unroll and
+ * vectorize. The boards are copied into small int blocks, and the outcomes and the legal moves are computed by
+ * separate passes over them before being narrowed into the byte arrays: the JIT compiler gives up on vectorizing a
+ * loop whose body is too large, whose arrays are read at different indexes, or which narrows the result of an
+ * unsigned shift into a byte.
+ *
+ * Note:
+ *
+ * 		The boards are not validated: they are expected to be reachable positions (see TicTacToeCodec). A board
+ * 		with a line of both players is reported as won by the first player.
+ *
+ * @author Nicolae Caralicea
+ *
+ */
+public final class TicTacToeBatchEvaluator {
+
+	/**
+	 * the outcome of a game in progress.
+	 */
+	public static final byte IN_PROGRESS = 0;
+
+	/**
+	 * the outcome of a game won by the first player.
+	 */
+	public static final byte FIRST_PLAYER_WON = 1;
+
+	/**
+	 * the outcome of a game won by the second player.
+	 */
+	public static final byte SECOND_PLAYER_WON = 2;
+
+	/**
+	 * the outcome of a game ended in a draw.
+	 */
+	public static final byte DRAW = 3;
+
+	/**
+	 * the number of boards evaluated by a task of evaluateParallel, below which the range is not split anymore.
+	 */
+	public static final int CHUNK_SIZE = 1 << 14;
+
+	private static final int CELLS = TicTacToeWinDetector.CELLS;
+
+	private static final int MASK = (1 << CELLS) - 1;
+
+	/**
+	 * the number of boards evaluated into the int blocks of evaluate before being narrowed into the result arrays.
+	 */
+	private static final int BLOCK_SIZE = 256;
+
+	/**
+	 * the first cell of every row (0, 3, 6), for both players.
+	 */
+	private static final int ROW_STARTS = 0x049 | (0x049 << CELLS);
+
+	/**
+	 * the cells of the first row (0, 1, 2), where the columns start, for both players.
+	 */
+	private static final int COLUMN_STARTS = 0x007 | (0x007 << CELLS);
+
+	/**
+	 * the cell 0 where the main diagonal starts, and the cell 2 shifted to 0 where the secondary one starts, for
+	 * both players.
+	 */
+	private static final int DIAGONAL_STARTS = 0x001 | (0x001 << CELLS);
+
+	private TicTacToeBatchEvaluator() {
+	}
+
+	/**
+	 * Evaluates a range of boards on the calling thread.
+	 *
+	 * @param boards
+	 * 		- the packed boards.
+	 * @param from
+	 * 		- the index of the first board to be evaluated.
+	 * @param to
+	 * 		- the index after the last board to be evaluated.
+	 * @param outcomes
+	 * 		- receives the outcome of every board (IN_PROGRESS, FIRST_PLAYER_WON, SECOND_PLAYER_WON or DRAW).
+	 * @param legalMoves
+	 * 		- receives the number of legal moves of every board (0 for the ended games).
+	 */
+	public static void evaluate(final int[] boards, final int from, final int to, final byte[] outcomes, final byte[] legalMoves) {
+		checkRange(boards, from, to, outcomes, legalMoves);
+		final int[] boardBlock = new int[Math.min(BLOCK_SIZE, to - from)];
+		final int[] outcomeBlock = new int[boardBlock.length];
+		final int[] legalMovesBlock = new int[boardBlock.length];
+		for (int start = from; start < to; start += BLOCK_SIZE) {
+			final int length = Math.min(BLOCK_SIZE, to - start);
+			// the loops below read and write their arrays at the same index, which the JIT compiler vectorizes
+			System.arraycopy(boards, start, boardBlock, 0, length);
+			for (int i = 0; i < length; i++) {
+				outcomeBlock[i] = outcome(boardBlock[i]);
+			}
+			for (int i = 0; i < length; i++) {
+				// the halves of a packed board are disjoint, so its bits are the occupied cells; the mask is all ones
+				// only for the games in progress
+				legalMovesBlock[i] = (CELLS - Integer.bitCount(boardBlock[i])) & ((outcomeBlock[i] - 1) >> 31);
+			}
+			for (int i = 0; i < length; i++) {
+				outcomes[start + i] = (byte) outcomeBlock[i];
+				legalMoves[start + i] = (byte) legalMovesBlock[i];
+			}
+		}
+	}
+
+	/**
+	 * Evaluates all the boards, split into chunks run on the common ForkJoin pool.
+	 *
+	 * @param boards
+	 * 		- the packed boards.
+	 * @param outcomes
+	 * 		- receives the outcome of every board.
+	 * @param legalMoves
+	 * 		- receives the number of legal moves of every board.
+	 */
+	public static void evaluateParallel(final int[] boards, final byte[] outcomes, final byte[] legalMoves) {
+		evaluateParallel(ForkJoinPool.commonPool(), boards, outcomes, legalMoves);
+	}
+
+	/**
+	 * Evaluates all the boards, split into chunks of CHUNK_SIZE boards run on the pool provided as argument.
+	 *
+	 * @param pool
+	 * 		- the pool running the chunks.
+	 * @param boards
+	 * 		- the packed boards.
+	 * @param outcomes
+	 * 		- receives the outcome of every board.
+	 * @param legalMoves
+	 * 		- receives the number of legal moves of every board.
+	 */
+	public static void evaluateParallel(final ForkJoinPool pool, final int[] boards, final byte[] outcomes, final byte[] legalMoves) {
+		checkRange(boards, 0, boards.length, outcomes, legalMoves);
+		pool.invoke(new EvaluateTask(boards, 0, boards.length, outcomes, legalMoves));
+	}
+
+	/**
+	 * Gets the game status of an outcome.
+	 *
+	 * @param outcome
+	 * 		- the outcome.
+	 *
+	 * @return
+	 * 		- returns the game status.
+	 */
+	public static GameStatus toGameStatus(final byte outcome) {
+		switch (outcome) {
+			case IN_PROGRESS:
+				return GameStatus.IN_PROGRESS;
+			case FIRST_PLAYER_WON:
+			case SECOND_PLAYER_WON:
+				return GameStatus.WON;
+			case DRAW:
+				return GameStatus.DRAW;
+			default:
+				throw new IllegalArgumentException("Unknown outcome: " + outcome);
+		}
+	}
+
+	/**
+	 * Gets the outcome of a packed board without branching: the winning lines of both players are found at once, by
+	 * shifting the packed board onto itself and keeping only the starting cells of the lines of each half.
+	 *
+	 * @return
+	 * 		- returns the outcome.
+	 */
+	private static int outcome(final int board) {
+		final int lines = (board & (board >>> 1) & (board >>> 2) & ROW_STARTS)
+				| (board & (board >>> 3) & (board >>> 6) & COLUMN_STARTS)
+				| (((board & (board >>> 4) & (board >>> 8)) | ((board >>> 2) & (board >>> 4) & (board >>> 6))) & DIAGONAL_STARTS);
+		// lines is a non negative int, so its negation is negative exactly when it is not zero
+		final int firstWon = -(lines & MASK) >>> 31;
+		final int anyWon = -lines >>> 31;
+		final int secondWon = anyWon & ~firstWon;
+		// the occupied mask is MASK only when the board is full
+		final int full = ((((board | (board >>> CELLS)) & MASK) + 1) >>> CELLS) & ~anyWon;
+		return firstWon + 2 * secondWon + 3 * full;
+	}
+
+	private static void checkRange(final int[] boards, final int from, final int to, final byte[] outcomes, final byte[] legalMoves) {
+		if (from < 0 || from > to || to > boards.length || outcomes.length < to || legalMoves.length < to) {
+			throw new IllegalArgumentException("The range [" + from + ", " + to + ") does not fit the arrays: " + boards.length
+					+ " boards, " + outcomes.length + " outcomes, " + legalMoves.length + " legal moves.");
+		}
+	}
+
+	/**
+	 * EvaluateTask evaluates a range of boards, splitting it in halves down to CHUNK_SIZE boards.
+	 */
+	private static final class EvaluateTask extends RecursiveAction {
+
+		private static final long serialVersionUID = 2754313425101762918L;
+
+		private final int[] boards;
+
+		private final int from;
+
+		private final int to;
+
+		private final byte[] outcomes;
+
+		private final byte[] legalMoves;
+
+		private EvaluateTask(final int[] boards, final int from, final int to, final byte[] outcomes, final byte[] legalMoves) {
+			this.boards = boards;
+			this.from = from;
+			this.to = to;
+			this.outcomes = outcomes;
+			this.legalMoves = legalMoves;
+		}
+
+		@Override
+		protected void compute() {
+			if (this.to - this.from <= CHUNK_SIZE) {
+				evaluate(this.boards, this.from, this.to, this.outcomes, this.legalMoves);
+			} else {
+				final int middle = (this.from + this.to) >>> 1;
+				invokeAll(new EvaluateTask(this.boards, this.from, middle, this.outcomes, this.legalMoves),
+						new EvaluateTask(this.boards, middle, this.to, this.outcomes, this.legalMoves));
+			}
+		}
+	}
+}
@@ -0,0 +1,238 @@
+package ncaralicea.games.domain.tictactoe;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import ncaralicea.games.domain.IStateSpace;
+
+/**
+ * TicTacToeBitboardStateSpace is a bitboard based alternative to the map based TicTacToeStateSpace.
+ * 
+ * Every player owns a 9-bit occupancy mask (one bit per cell of the 3X3 board), and both masks are packed
+ * into a single int, so recording or probing a move costs a couple of bit operations and allocates nothing.
+ * 
+ * Note:
+ * 
+ *		The cell of the position (hPos, vPos) is mapped to the bit (hPos - MIN) * 3 + (vPos - MIN).
+ *		The bits 0-8 hold the moves of the first player that moved, the bits 9-17 the ones of the second player.
+ * 
+ * @author Nicolae Caralicea
+ *
+ */
+public class TicTacToeBitboardStateSpace implements IStateSpace<TicTacToeMove, TicTacToePlayer> {
+
+	/**
+	 * minimum value for the horizontal/vertical position.
+	 */
+	public static final int MIN = TicTacToeStateSpace.MIN;
+
+	/**
+	 * maximum value for the horizontal/vertical position.
+	 */
+	public static final int MAX = TicTacToeStateSpace.MAX;
+	
+	/**
+	 * the number of bits a player occupancy mask takes inside the packed board.
+	 */
+	private static final int PLAYER_BITS = TicTacToeWinDetector.CELLS;
+	
+	/**
+	 * the mask that selects a single player occupancy mask.
+	 */
+	private static final int PLAYER_MASK = (1 << PLAYER_BITS) - 1;
+	
+	/**
+	 * holds the occupancy masks of both players.
+	 */
+	private int board;
+	
+	/**
+	 * numbers the players in the order they made their first move, so the index of a player 
+	 * selects its occupancy mask inside the packed board, and its Zobrist keys.
+	 */
+	private final TicTacToePlayerSlots playerSlots = new TicTacToePlayerSlots();
+	
+	/**
+	 * the Zobrist hash of the position.
+	 */
+	private long hash;
+
+	public Set<TicTacToeMove> generateAvailableMoves() {
+		return this.collectMoves(~this.getOccupiedCells() & PLAYER_MASK);
+	}
+	
+	public int getAvailableMovesCount() {
+		return PLAYER_BITS - Integer.bitCount(this.getOccupiedCells());
+	}
+	
+	public int nextAvailableCell(final int fromCell) {
+		return TicTacToeStateSpace.nextFreeCell(this.getOccupiedCells(), fromCell);
+	}
+	
+	public TicTacToeMove getMoveAt(final int cell) {
+		return TicTacToeMove.ofCell(cell);
+	}
+
+	public boolean isMoveDefinedAt(final int hPos, final int vPos) {
+		return this.getSlotAt(hPos, vPos) >= 0;
+	}
+	
+	public void addMoveFor(final TicTacToeMove move, final TicTacToePlayer player) {
+		final int cell = move.getCellIndex();
+		if (cell < 0) {
+			throw new IllegalArgumentException(String.format("The move (%d, %d) is outside of the board.", 
+					move.getHorizontalPosition(), move.getVerticalPosition()));
+		}
+		final int bit = 1 << cell;
+		final int slot = this.playerSlots.acquire(player);
+		final int replacedSlot = this.getSlotAtCell(cell);
+		if (replacedSlot >= 0) {
+			this.hash ^= TicTacToeStateSpace.ZOBRIST_KEYS.getPieceKey(replacedSlot, cell);
+		}
+		this.board = (this.board & ~(bit | bit << PLAYER_BITS)) | bit << (slot * PLAYER_BITS);
+		this.hash ^= TicTacToeStateSpace.ZOBRIST_KEYS.getPieceKey(slot, cell) ^ TicTacToeStateSpace.ZOBRIST_KEYS.getSideToMoveKey();
+	}
+	
+	public void removeMove(final TicTacToeMove move) {
+		final int cell = move.getCellIndex();
+		final int removedSlot = cell >= 0 ? this.getSlotAtCell(cell) : -1;
+		if (removedSlot >= 0) {
+			final int bit = 1 << cell;
+			this.board &= ~(bit | bit << PLAYER_BITS);
+			this.hash ^= TicTacToeStateSpace.ZOBRIST_KEYS.getPieceKey(removedSlot, cell) ^ TicTacToeStateSpace.ZOBRIST_KEYS.getSideToMoveKey();
+		}
+	}
+	
+	public void clear() {
+		this.board = 0;
+		this.playerSlots.clear();
+		this.hash = 0;
+	}
+	
+	public long positionHash() {
+		return this.hash;
+	}
+
+	public Set<TicTacToeMove> getExecutedMoves() {
+		return this.collectMoves(this.getOccupiedCells());
+	}
+
+	public Set<TicTacToeMove> getExecutedMovesBy(final TicTacToePlayer player) {
+		final int slot = this.playerSlots.indexOf(player);
+		return this.collectMoves(slot >= 0 ? this.getOccupancyMask(slot) : 0);
+	}
+
+	public TicTacToePlayer getPlayerAt(final int i, final int j) {
+		final int slot = this.getSlotAt(i, j);
+		return slot >= 0 ? this.playerSlots.get(slot) : null;
+	}
+
+	public int getMinPosition() {
+		return MIN;
+	}
+
+	public int getMaxPosition() {
+		return MAX;
+	}
+	
+	/**
+	 * Gets the packed board: the occupancy mask of the first player that moved in the bits 0 - 8,
+	 * and the one of the other player in the bits 9 - 17 (see TicTacToeSymmetry).
+	 * 
+	 * @return
+	 * 		- returns the packed board.
+	 */
+	public int getPackedBoard() {
+		return this.board;
+	}
+	
+	/**
+	 * Gets the occupancy mask of the player that made its first move as the slot-th player.
+	 * 
+	 * @param slot
+	 * 		- 0 for the player who moved first, 1 for the other one.
+	 * 
+	 * @return
+	 * 		- returns the 9-bit occupancy mask of the player.
+	 */
+	public int getOccupancyMask(final int slot) {
+		return (this.board >>> (slot * PLAYER_BITS)) & PLAYER_MASK;
+	}
+
+	/**
+	 * Gets the cells taken by any of the players.
+	 * 
+	 * @return
+	 * 		- returns the mask of the occupied cells.
+	 */
+	private int getOccupiedCells() {
+		return this.getOccupancyMask(0) | this.getOccupancyMask(1);
+	}
+	
+	/**
+	 * Gets the player slot owning the cell at the position provided as arguments.
+	 * 
+	 * @param hPos
+	 * 		- the horizontal position.
+	 * 
+	 * @param vPos
+	 * 		- the vertical position.
+	 * 
+	 * @return
+	 * 		- returns the slot of the player owning the cell, or -1 if the cell is empty or outside of the board.
+	 */
+	private int getSlotAt(final int hPos, final int vPos) {
+		if (isOutOfBounds(hPos, vPos)) {
+			return -1;
+		}
+		return this.getSlotAtCell(TicTacToeWinDetector.cellIndexOf(hPos, vPos));
+	}
+	
+	/**
+	 * Gets the player slot owning the cell provided as argument.
+	 * 
+	 * @param cell
+	 * 		- the cell index.
+	 * 
+	 * @return
+	 * 		- returns the slot of the player owning the cell, or -1 if the cell is empty.
+	 */
+	private int getSlotAtCell(final int cell) {
+		final int bit = 1 << cell;
+		if ((this.getOccupancyMask(0) & bit) != 0) {
+			return 0;
+		} else if ((this.getOccupancyMask(1) & bit) != 0) {
+			return 1;
+		} else {
+			return -1;
+		}
+	}
+
+	/**
+	 * Builds the set of moves selected by the occupancy mask provided as argument.
+	 * 
+	 * @param mask
+	 * 		- the occupancy mask.
+	 * 
+	 * @return
+	 * 		- returns a set with a move for every bit set inside the mask.
+	 */
+	private Set<TicTacToeMove> collectMoves(final int mask) {
+		final Set<TicTacToeMove> movesSet = new HashSet<TicTacToeMove>();
+		for (int cell = 0; cell < PLAYER_BITS; cell++) {
+			if ((mask & (1 << cell)) != 0) {
+				movesSet.add(TicTacToeMove.ofCell(cell));
+			}
+		}
+		return movesSet;
+	}
+
+	private static boolean isOutOfBounds(final int hPos, final int vPos) {
+		return hPos < MIN || hPos > MAX || vPos < MIN || vPos > MAX;
+	}
+	
+	private static int cellBit(final int hPos, final int vPos) {
+		return 1 << TicTacToeWinDetector.cellIndexOf(hPos, vPos);
+	}
+	
+}
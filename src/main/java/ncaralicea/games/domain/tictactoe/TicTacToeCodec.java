@@ -0,0 +1,387 @@
+package ncaralicea.games.domain.tictactoe;
+
+import java.nio.ByteBuffer;
+
+import ncaralicea.games.domain.IStateSpace;
+
+/**
+ * TicTacToeCodec encodes moves and boards into a few bytes, for sending them to clients and storing them,
+ * instead of the TicTacToePlayer[][] board snapshot.
+ *
+ * 		move		- one byte holding the cell index (0 - 8), see TicTacToeWinDetector.
+ * 		moves		- the moves made in a game, in order: one byte holding their number, followed by one nibble per move
+ * 					  (the first move in the low nibble of the second byte), so 6 bytes at most.
+ * 		board		- the cells read as a base 3 number, the cell i being the digit i: 0 for a free cell, 1 for a cell
+ * 					  taken by the first player, and 2 for a cell taken by the second one. The code is at most 3^9 - 1 =
+ * 					  19682, so it fits in a short. The side to move is implied by the number of stones: the first player
+ * 					  is to move when both players have the same number of stones.
+ *
+ * The moves encode the whole game, including the order of the moves (needed for unmakeMove), while the board only
+ * encodes the position. The ByteBuffer variants read and write at the current position of the buffer, so the
+ * codes can go straight into a network or file buffer.
+ *
+ * A decoded board is replayed on the game by making the moves in an order which never ends the game early, so the
+ * game ends up in the same status as the encoded one. Boards which can not be reached by playing are rejected.
+ *
+ * @author Nicolae Caralicea
+ *
+ */
+public final class TicTacToeCodec {
+
+	/**
+	 * the greatest board code (3^9 - 1).
+	 */
+	public static final int MAX_BOARD_CODE = 19682;
+
+	/**
+	 * the greatest length of the encoded moves of a game.
+	 */
+	public static final int MAX_MOVES_LENGTH = 1 + (TicTacToeWinDetector.CELLS + 1) / 2;
+
+	private static final int CELLS = TicTacToeWinDetector.CELLS;
+
+	private static final int MASK = (1 << CELLS) - 1;
+
+	/**
+	 * the base 3 number having the digit 1 at every cell of the occupancy mask, by occupancy mask.
+	 */
+	private static final short[] BASE3 = new short[1 << CELLS];
+
+	static {
+		for (int mask = 1; mask <= MASK; mask++) {
+			final int cell = Integer.numberOfTrailingZeros(mask);
+			BASE3[mask] = (short) (BASE3[mask & (mask - 1)] + pow3(cell));
+		}
+	}
+
+	private TicTacToeCodec() {
+	}
+
+	/**
+	 * Encodes a move.
+	 *
+	 * @param move
+	 * 		- the move, which has to be within the board boundaries.
+	 *
+	 * @return
+	 * 		- returns the code of the move.
+	 */
+	public static byte encodeMove(final TicTacToeMove move) {
+		if (move.getCellIndex() < 0) {
+			throw new IllegalArgumentException("The move is outside of the board: " + move);
+		}
+		return (byte) move.getCellIndex();
+	}
+
+	/**
+	 * Decodes a move.
+	 *
+	 * @param code
+	 * 		- the code of the move.
+	 *
+	 * @return
+	 * 		- returns the shared move.
+	 */
+	public static TicTacToeMove decodeMove(final byte code) {
+		if (code < 0 || code >= CELLS) {
+			throw new IllegalArgumentException("Invalid move code: " + code);
+		}
+		return TicTacToeMove.ofCell(code);
+	}
+
+	/**
+	 * Encodes the moves made in a game.
+	 *
+	 * @param game
+	 * 		- the game.
+	 *
+	 * @return
+	 * 		- returns the code of the moves.
+	 */
+	public static byte[] encodeMoves(final TicTacToeGame game) {
+		final byte[] code = new byte[1 + (game.getAcceptedMovesCount() + 1) / 2];
+		putMoves(ByteBuffer.wrap(code), game);
+		return code;
+	}
+
+	/**
+	 * Writes the code of the moves made in a game at the current position of the buffer.
+	 *
+	 * @param buffer
+	 * 		- the buffer, which advances by the length of the code.
+	 * @param game
+	 * 		- the game.
+	 */
+	public static void putMoves(final ByteBuffer buffer, final TicTacToeGame game) {
+		final int count = game.getAcceptedMovesCount();
+		buffer.put((byte) count);
+		for (int i = 0; i < count; i += 2) {
+			final int high = i + 1 < count ? game.getAcceptedMove(i + 1).getCellIndex() << 4 : 0;
+			buffer.put((byte) (high | game.getAcceptedMove(i).getCellIndex()));
+		}
+	}
+
+	/**
+	 * Decodes the moves of a game, replaying them on the game provided as argument.
+	 *
+	 * @param code
+	 * 		- the code of the moves.
+	 * @param game
+	 * 		- the game, having its players set. It is restarted before replaying the moves.
+	 */
+	public static void decodeMoves(final byte[] code, final TicTacToeGame game) {
+		getMoves(ByteBuffer.wrap(code), game);
+	}
+
+	/**
+	 * Reads the code of the moves of a game at the current position of the buffer, replaying them on the game
+	 * provided as argument.
+	 *
+	 * @param buffer
+	 * 		- the buffer, which advances by the length of the code.
+	 * @param game
+	 * 		- the game, having its players set. It is restarted before replaying the moves.
+	 */
+	public static void getMoves(final ByteBuffer buffer, final TicTacToeGame game) {
+		final int count = buffer.get();
+		if (count < 0 || count > CELLS) {
+			throw new IllegalArgumentException("Invalid number of moves: " + count);
+		}
+		restart(game);
+		for (int i = 0; i < count; i += 2) {
+			final int pair = buffer.get();
+			game.makeMove(decodeMove((byte) (pair & 0xF)));
+			if (i + 1 < count) {
+				game.makeMove(decodeMove((byte) (pair >>> 4 & 0xF)));
+			}
+		}
+	}
+
+	/**
+	 * Encodes the board of a game.
+	 *
+	 * @param game
+	 * 		- the game.
+	 *
+	 * @return
+	 * 		- returns the code of the board (0 - MAX_BOARD_CODE).
+	 */
+	public static int encodeBoard(final TicTacToeGame game) {
+		return BASE3[game.getOccupancyMask(0)] + 2 * BASE3[game.getOccupancyMask(1)];
+	}
+
+	/**
+	 * Encodes the board of a state space.
+	 *
+	 * @param stateSpace
+	 * 		- the state space, holding the moves of two players at most.
+	 * @param firstPlayer
+	 * 		- the player who moved first, any other player being the second one.
+	 *
+	 * @return
+	 * 		- returns the code of the board (0 - MAX_BOARD_CODE).
+	 */
+	public static int encodeBoard(final IStateSpace<TicTacToeMove, TicTacToePlayer> stateSpace, final TicTacToePlayer firstPlayer) {
+		int firstMask = 0;
+		int secondMask = 0;
+		TicTacToePlayer secondPlayer = null;
+		for (int cell = 0; cell < CELLS; cell++) {
+			final TicTacToeMove move = TicTacToeMove.ofCell(cell);
+			final TicTacToePlayer player = stateSpace.getPlayerAt(move.getHorizontalPosition(), move.getVerticalPosition());
+			if (player == null) {
+				continue;
+			} else if (player.equals(firstPlayer)) {
+				firstMask |= 1 << cell;
+			} else if (secondPlayer == null || player.equals(secondPlayer)) {
+				secondPlayer = player;
+				secondMask |= 1 << cell;
+			} else {
+				throw new IllegalArgumentException("The board holds the moves of more than two players.");
+			}
+		}
+		return BASE3[firstMask] + 2 * BASE3[secondMask];
+	}
+
+	/**
+	 * Decodes a board, replaying it on the game provided as argument.
+	 *
+	 * @param code
+	 * 		- the code of the board.
+	 * @param game
+	 * 		- the game, having its players set. It is restarted before replaying the board.
+	 */
+	public static void decodeBoard(final int code, final TicTacToeGame game) {
+		final int packedBoard = toPackedBoard(code);
+		int firstMask = packedBoard & MASK;
+		int secondMask = packedBoard >>> CELLS;
+		final int lastCell = findLastCell(firstMask, secondMask);
+		if (lastCell >= 0) {
+			if (Integer.bitCount(firstMask) > Integer.bitCount(secondMask)) {
+				firstMask &= ~(1 << lastCell);
+			} else {
+				secondMask &= ~(1 << lastCell);
+			}
+		}
+		restart(game);
+		while ((firstMask | secondMask) != 0) {
+			game.makeMove(TicTacToeMove.ofCell(Integer.numberOfTrailingZeros(firstMask)));
+			firstMask &= firstMask - 1;
+			if (secondMask != 0) {
+				game.makeMove(TicTacToeMove.ofCell(Integer.numberOfTrailingZeros(secondMask)));
+				secondMask &= secondMask - 1;
+			}
+		}
+		if (lastCell >= 0) {
+			game.makeMove(TicTacToeMove.ofCell(lastCell));
+		}
+	}
+
+	/**
+	 * Decodes a board into a state space.
+	 *
+	 * @param code
+	 * 		- the code of the board.
+	 * @param stateSpace
+	 * 		- the state space, which has to be empty.
+	 * @param firstPlayer
+	 * 		- the player who moved first.
+	 * @param secondPlayer
+	 * 		- the player who moved second.
+	 */
+	public static void decodeBoard(final int code, final IStateSpace<TicTacToeMove, TicTacToePlayer> stateSpace,
+			final TicTacToePlayer firstPlayer, final TicTacToePlayer secondPlayer) {
+		if (stateSpace.getAvailableMovesCount() != CELLS) {
+			throw new IllegalArgumentException("The board can only be decoded into an empty state space.");
+		}
+		final int packedBoard = toPackedBoard(code);
+		int firstMask = packedBoard & MASK;
+		int secondMask = packedBoard >>> CELLS;
+		while (firstMask != 0) {
+			stateSpace.addMoveFor(TicTacToeMove.ofCell(Integer.numberOfTrailingZeros(firstMask)), firstPlayer);
+			firstMask &= firstMask - 1;
+			if (secondMask != 0) {
+				stateSpace.addMoveFor(TicTacToeMove.ofCell(Integer.numberOfTrailingZeros(secondMask)), secondPlayer);
+				secondMask &= secondMask - 1;
+			}
+		}
+	}
+
+	/**
+	 * Writes the code of the board of a game at the current position of the buffer, as a short.
+	 *
+	 * @param buffer
+	 * 		- the buffer, which advances by 2 bytes.
+	 * @param game
+	 * 		- the game.
+	 */
+	public static void putBoard(final ByteBuffer buffer, final TicTacToeGame game) {
+		buffer.putShort((short) encodeBoard(game));
+	}
+
+	/**
+	 * Reads the code of a board at the current position of the buffer, replaying it on the game provided as
+	 * argument.
+	 *
+	 * @param buffer
+	 * 		- the buffer, which advances by 2 bytes.
+	 * @param game
+	 * 		- the game, having its players set. It is restarted before replaying the board.
+	 */
+	public static void getBoard(final ByteBuffer buffer, final TicTacToeGame game) {
+		decodeBoard(buffer.getShort(), game);
+	}
+
+	/**
+	 * Checks if the first player is to move on a board.
+	 *
+	 * @param code
+	 * 		- the code of the board.
+	 *
+	 * @return
+	 * 		- returns true if both players have the same number of stones.
+	 */
+	public static boolean isFirstPlayerToMove(final int code) {
+		final int packedBoard = toPackedBoard(code);
+		return Integer.bitCount(packedBoard & MASK) == Integer.bitCount(packedBoard >>> CELLS);
+	}
+
+	/**
+	 * Converts a board code to a packed board: the occupancy mask of the first player in the bits 0 - 8, and the
+	 * one of the second player in the bits 9 - 17 (see TicTacToeSymmetry).
+	 *
+	 * @param code
+	 * 		- the code of the board.
+	 *
+	 * @return
+	 * 		- returns the packed board.
+	 */
+	public static int toPackedBoard(final int code) {
+		if (code < 0 || code > MAX_BOARD_CODE) {
+			throw new IllegalArgumentException("Invalid board code: " + code);
+		}
+		int firstMask = 0;
+		int secondMask = 0;
+		int digits = code;
+		for (int cell = 0; cell < CELLS; cell++, digits /= 3) {
+			final int digit = digits % 3;
+			if (digit == 1) {
+				firstMask |= 1 << cell;
+			} else if (digit == 2) {
+				secondMask |= 1 << cell;
+			}
+		}
+		final int stonesAhead = Integer.bitCount(firstMask) - Integer.bitCount(secondMask);
+		if (stonesAhead != 0 && stonesAhead != 1) {
+			throw new IllegalArgumentException("The board can not be reached by playing: " + code);
+		}
+		return firstMask | secondMask << CELLS;
+	}
+
+	/**
+	 * Converts a packed board (see toPackedBoard) to a board code.
+	 *
+	 * @param packedBoard
+	 * 		- the packed board.
+	 *
+	 * @return
+	 * 		- returns the code of the board.
+	 */
+	public static int fromPackedBoard(final int packedBoard) {
+		return BASE3[packedBoard & MASK] + 2 * BASE3[packedBoard >>> CELLS & MASK];
+	}
+
+	/**
+	 * Finds the cell to be taken last when replaying a board, so that the game does not end before all the
+	 * stones are placed: a cell of the winning line if the player who moved last won, or -1 otherwise.
+	 */
+	private static int findLastCell(final int firstMask, final int secondMask) {
+		final boolean firstMovedLast = Integer.bitCount(firstMask) > Integer.bitCount(secondMask);
+		final int lastMoverMask = firstMovedLast ? firstMask : secondMask;
+		final int otherMask = firstMovedLast ? secondMask : firstMask;
+		if (TicTacToeWinDetector.isWinning(otherMask)) {
+			throw new IllegalArgumentException("The board can not be reached by playing: the player who did not move last won.");
+		} else if (!TicTacToeWinDetector.isWinning(lastMoverMask)) {
+			return -1;
+		}
+		for (int cells = lastMoverMask; cells != 0; cells &= cells - 1) {
+			final int cell = Integer.numberOfTrailingZeros(cells);
+			if (!TicTacToeWinDetector.isWinning(lastMoverMask & ~(1 << cell))) {
+				return cell;
+			}
+		}
+		throw new IllegalArgumentException("The board can not be reached by playing: the game was won before the last move.");
+	}
+
+	private static void restart(final TicTacToeGame game) {
+		game.reset();
+		game.start();
+	}
+
+	private static int pow3(final int exponent) {
+		int power = 1;
+		for (int i = 0; i < exponent; i++) {
+			power *= 3;
+		}
+		return power;
+	}
+}
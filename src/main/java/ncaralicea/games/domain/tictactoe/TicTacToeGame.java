@@ -1,9 +1,13 @@
 package ncaralicea.games.domain.tictactoe;
 
-import java.util.Set;
+import java.util.Arrays;
 
+import ncaralicea.games.domain.GameStatus;
+import ncaralicea.games.domain.IBoardCellVisitor;
 import ncaralicea.games.domain.IBoardGame;
+import ncaralicea.games.domain.IBoardView;
 import ncaralicea.games.domain.IStateSpace;
+import ncaralicea.games.domain.MoveResult;
 
 /**
  * This is a basic implementation of the Tic-Tac-Toe game based on a 3X3 grid board.
@@ -39,14 +43,17 @@ public class TicTacToeGame implements IBoardGame<TicTacToeMove, TicTacToePlayer>
 	private IStateSpace<TicTacToeMove, TicTacToePlayer> stateSpace;
 	
 	/**
-	 * Indicates if there is a winner in the game or not.
+	 * Indicates if the game is still in progress, or if it ended with a winner or in a draw.
+	 * It is updated once per accepted move, so the game status queries do not have to inspect the board.
 	 */
-	private boolean isWinner = false;
+	private GameStatus status = GameStatus.IN_PROGRESS;
 	
 	/**
 	 * movesCounter is used to indicate the current player.
 	 * after every moving successfully operation on the board the player's turn
 	 * is round-robin-fashion changed by simply incrementing this counter.
+	 * 
+	 * Since every accepted move takes a free cell, it also counts the occupied cells of the board.
 	 */
 	private int movesCounter;
 	
@@ -54,6 +61,51 @@ public class TicTacToeGame implements IBoardGame<TicTacToeMove, TicTacToePlayer>
 	 * isStarted is used to indicate if the game started or not.
 	 */
 	private boolean isStarted = false;
+	
+	/**
+	 * stateSpaceType selects the state space implementation the game is played on.
+	 */
+	private final TicTacToeStateSpaceType stateSpaceType;
+	
+	/**
+	 * occupancyMasks holds the cells taken by every player as bit masks (see TicTacToeWinDetector),
+	 * indexed the same way as the players array.
+	 */
+	private final int[] occupancyMasks = new int[2];
+	
+	/**
+	 * moveStack holds the accepted moves in the order they were made (the first movesCounter elements), 
+	 * so they can be taken back by unmakeMove. A game can not last longer than the number of cells,
+	 * hence the bounded array.
+	 */
+	private final TicTacToeMove[] moveStack = new TicTacToeMove[TicTacToeWinDetector.CELLS];
+	
+	/**
+	 * counts the changes of the board, for the board view.
+	 */
+	private long version;
+	
+	/**
+	 * boardView is the read only view of the board, reading the occupancy masks.
+	 */
+	private final BoardView boardView = new BoardView();
+
+	/**
+	 * Creates a game played on the map based state space.
+	 */
+	public TicTacToeGame() {
+		this(TicTacToeStateSpaceType.MAP_BASED);
+	}
+	
+	/**
+	 * Creates a game played on the state space selected by the argument.
+	 * 
+	 * @param stateSpaceType
+	 * 		- the state space implementation to be used by the game (null selects the map based one).
+	 */
+	public TicTacToeGame(final TicTacToeStateSpaceType stateSpaceType) {
+		this.stateSpaceType = stateSpaceType != null ? stateSpaceType : TicTacToeStateSpaceType.MAP_BASED;
+	}
 
 	/**
 	 * Sets the players of the game.
@@ -73,69 +125,80 @@ public class TicTacToeGame implements IBoardGame<TicTacToeMove, TicTacToePlayer>
 		}
 	}
 
+	/**
+	 * Creates a copy of the game played on the same state space type, by replaying the accepted moves.
+	 */
+	public TicTacToeGame copy() {
+		final TicTacToeGame copy = new TicTacToeGame(this.stateSpaceType);
+		copy.players = this.players != null ? this.players.clone() : null;
+		if (this.isStarted) {
+			copy.reset();
+			copy.isStarted = true;
+			for (int i = 0; i < this.movesCounter; i++) {
+				copy.makeMove(this.moveStack[i]);
+			}
+		}
+		return copy;
+	}
+
+	/**
+	 * Resets the game in place: the state space is cleared rather than allocated again, so a game can be reused
+	 * (see GamePool) without producing garbage.
+	 */
 	public void reset() {
-		this.stateSpace = new TicTacToeStateSpace();
+		if (this.stateSpace != null) {
+			this.stateSpace.clear();
+		} else {
+			this.stateSpace = this.stateSpaceType.newStateSpace();
+		}
 		this.movesCounter = 0;
-		this.isWinner = false;
+		this.occupancyMasks[0] = 0;
+		this.occupancyMasks[1] = 0;
+		Arrays.fill(this.moveStack, null);
+		this.status = GameStatus.IN_PROGRESS;
 		this.winner = null;
 		this.isStarted = false;
+		this.version++;
 	}
 
-	/**
-	 * Check if the move is a valid one or not.
-	 * 
-	 * The position of a valid move has to meet the following criteria:
-	 * 
-	 *		- should be defined within the boundaries of the board, and 
-	 *		- there should not have been another move already executed at the same position
-	 * 		  as the one defined inside the move argument.
-	 * 
-	 * @param move
-	 * 		- the move argument contains the position on the board of the move.
-	 * @return
-	 * 		- returns true if the move is a valid move, or else otherwise.
-	 */
-	private boolean isMoveValid(TicTacToeMove move) {
-		return !this.isOutOfBounds(move) && this.isMoveAvailable(move);
-	}
-	
 	/**
 	 * Check if the position of the move is available.
 	 * (there is not other move already executed before at the same position)
+	 * 
+	 * The occupancy masks are checked, so no state space lookup is needed.
 	 *  
 	 * @param move
 	 * 		- the move argument containing the position of the board where the move is intended
-	 * 			to take place.
+	 * 			to take place (within the board boundaries).
 	 * @return
 	 */
 	private boolean isMoveAvailable(final TicTacToeMove move) {
-		return !this.stateSpace.getExecutedMoves().contains(move);
-	}
-	
-	/**
-	 * Checks if there are still available moves that can be executed on the board.
-	 * 
-	 * @return
-	 * 		- return true if there are still cells on the board for other move operations, or false otherwise.
-	 */
-	private boolean areAvailableMovesOnBoard() {
-		return this.stateSpace.generateAvailableMoves().size() > 0;
+		return ((this.occupancyMasks[0] | this.occupancyMasks[1]) & (1 << move.getCellIndex())) == 0;
 	}
 	
 	/**
 	 * Accepts the move, so the state space of the game will be impacted by the
 	 * current player's move operation.
 	 *
-	 * The winner of the game is checked and set here, too.
+	 * The status of the game is updated here, too. Only the winning lines passing through the cell
+	 * of the move are checked, since any other line would have ended the game before, and the game
+	 * ends in a draw when the move takes the last free cell without winning.
 	 * 
 	 * @param move
 	 * 		- the move argument indicates where on the board the move is executed.
 	 */
 	private void acceptMove(final TicTacToeMove move) {
-		final TicTacToePlayer player = whoseTurnIs();
+		final int playerIndex = this.movesCounter % 2;
+		final TicTacToePlayer player = this.players[playerIndex];
+		final int cell = move.getCellIndex();
 		this.stateSpace.addMoveFor(move, player);
-		if (this.hasPlayerWon(player)) {
+		this.occupancyMasks[playerIndex] |= 1 << cell;
+		this.moveStack[this.movesCounter] = move;
+		this.version++;
+		if (TicTacToeWinDetector.isWinningAt(this.occupancyMasks[playerIndex], cell)) {
 			declareWinner(player);
+		} else if (this.movesCounter + 1 == TicTacToeWinDetector.CELLS) {
+			declareDraw();
 		}
 	}
 	
@@ -145,137 +208,24 @@ public class TicTacToeGame implements IBoardGame<TicTacToeMove, TicTacToePlayer>
 	 * @param player
 	 */
 	private void declareWinner(final TicTacToePlayer player) {
-		this.isWinner = true;
+		this.status = GameStatus.WON;
 		this.winner = player;
 	}
 	
 	/**
-	 * Transfer the turn to the other player in a round-robin-fashion.
-	 */
-	private void transferPlayerTurn() {
-		this.movesCounter++;
-	}
-	
-	/**
-	 * Checks if the player provided as argument has won the game.
-	 *  
-	 * @param player
-	 * 		- the player against which the check is done.
-	 * @return
-	 * 		- returns true if the player has won the game.
-	 */
-	private boolean hasPlayerWon(final TicTacToePlayer player) {
-		final Set<TicTacToeMove> playerMoves = this.stateSpace.getExecutedMovesBy(player);
-		if (this.existVerticalLineIn(playerMoves) || this.existHorizontalLineIn(playerMoves) ||
-				this.existDiagonalLineIn(playerMoves)) {
-			return true;
-		} else {
-			return false;
-		}
-	}
-	
-	/**
-	 * Checks if there is at least one "vertical line" in the set of moves.
-	 * It stops searching at the first encounter.
-	 * 
-	 * @param moves
-	 * 		- set of moves.
-	 * @return
-	 * 		- returns true if there is at least one "vertical line" or false if otherwise.
-	 */
-	private boolean existVerticalLineIn(final Set<TicTacToeMove> moves) {
-		boolean result = false;
-		
-		for (int column = this.stateSpace.getMinPosition(); column <=  this.stateSpace.getMaxPosition(); column++) {
-			if (isVerticalLine(moves, column)) {
-				result = true;
-				break;
-			}
-			
-		}
-		return result;
-	}
-
-	/**
-	 * Checks in the set of moves if the line given by the fixed column is a vertical line.
-	 * 
-	 * @param moves
-	 * 		- set of moves.
-	 * @param forFixedColumn
-	 * 		- the column that selects the vertical line for each we do the check. 
-	 * @return
-	 * 	- returns true for a "vertical line" or false if otherwise.
+	 * Declares the game ended in a draw.
 	 */
-	private boolean isVerticalLine(final Set<TicTacToeMove> moves, int forFixedColumn) {
-		boolean result = true;
-
-		for (int line = this.stateSpace.getMinPosition(); line <= this.stateSpace.getMaxPosition(); line++) {
-			result = result && TicTacToeStateSpace.isMoveIntoSet(line, forFixedColumn, moves);
-		}
-		return result;
+	private void declareDraw() {
+		this.status = GameStatus.DRAW;
 	}
 	
 	/**
-	 * Checks if there is at least one "horizontal line" in the set of moves.
-	 * It stops searching at the first encounter.
-	 * 
-	 * @param moves
-	 * 		- set of moves.
-	 * @return
-	 * 		- returns true if there is at least one "horizontal line" or false if otherwise.
-	 */
-	private boolean existHorizontalLineIn(final Set<TicTacToeMove> moves) {
-		boolean result = false;
-		
-		for (int line = this.stateSpace.getMinPosition(); line <= this.stateSpace.getMaxPosition(); line++) {
-			if (this.isHorizontalLine(moves, line)) {
-				result = true;
-				break;
-			}
-			
-		}
-		return result;
-	}
-
-	/**
-	 * Checks in the set of moves if the line given by the fixed line is a horizontal line.
-	 * 
-	 * @param moves
-	 * 		- set of moves.
-	 * @param forFixedLine
-	 * 		- the line that selects the horizontal line for each we do the check. 
-	 * @return
-	 * 		- returns true for a "horizontal line" or false if otherwise.
+	 * Transfer the turn to the other player in a round-robin-fashion.
 	 */
-	private boolean isHorizontalLine(final Set<TicTacToeMove> moves, final int forFixedLine) {
-		boolean result = true;
-
-		for (int column = this.stateSpace.getMinPosition(); column <= this.stateSpace.getMaxPosition(); column++) {
-			result = result && TicTacToeStateSpace.isMoveIntoSet(forFixedLine, column, moves);
-		}
-		return result;
+	private void transferPlayerTurn() {
+		this.movesCounter++;
 	}
 	
-	/**
-	 * Check if there is a "diagonal line" in the set of moves.
-	 * 
-	 * @param moves
-	 * 		- set of moves.
-	 * @return
-	 * 		- returns true if there is a diagonal or false otherwise.
-	 */
-	private boolean existDiagonalLineIn(final Set<TicTacToeMove> moves) {
-		boolean resultMainDiagonal = true;
-		boolean resultSecondDiagonal = true;
-
-		for (int index = this.stateSpace.getMinPosition(); index <= this.stateSpace.getMaxPosition(); index++) {
-			resultMainDiagonal = resultMainDiagonal && TicTacToeStateSpace.isMoveIntoSet(index, index, moves);
-			resultSecondDiagonal = resultSecondDiagonal && TicTacToeStateSpace.isMoveIntoSet(index, index % 2, moves);
-		}
-		
-		return resultMainDiagonal || resultSecondDiagonal;
-	}
-
 	/**
 	 * Checks if the move argument contains a position that is within the board boundaries.
 	 * 
@@ -293,21 +243,57 @@ public class TicTacToeGame implements IBoardGame<TicTacToeMove, TicTacToePlayer>
 	}
 
 	public void makeMove(final TicTacToeMove move) {
-		if (this.validateMovePreconditions(move)) {
+		final MoveResult result = this.tryMakeMove(move);
+		if (!result.isAccepted()) {
+			throw new TicTacToeGameException("Can not make the move! Move preconditions failed: " + result + ".");
+		}
+	}
+	
+	public MoveResult tryMakeMove(final TicTacToeMove move) {
+		return this.tryMakeMove(move, null);
+	}
+	
+	public MoveResult tryMakeMove(final TicTacToeMove move, final TicTacToePlayer player) {
+		final MoveResult result = this.validateMovePreconditions(move, player);
+		if (result.isAccepted()) {
 			this.acceptMove(move);
 			this.transferPlayerTurn();
+		}
+		return result;
+	}
+	
+	/**
+	 * Takes back the last accepted move.
+	 * 
+	 * Since no move is accepted once the game ended, the game was in progress with no winner before the
+	 * last move, which is the state restored here.
+	 */
+	public void unmakeMove() {
+		if (this.isStarted && this.movesCounter > 0) {
+			this.movesCounter--;
+			final TicTacToeMove move = this.moveStack[this.movesCounter];
+			this.moveStack[this.movesCounter] = null;
+			this.occupancyMasks[this.movesCounter % 2] &= ~(1 << move.getCellIndex());
+			this.stateSpace.removeMove(move);
+			this.status = GameStatus.IN_PROGRESS;
+			this.winner = null;
+			this.version++;
 		} else {
-			throw new TicTacToeGameException("Can not make the move! Move preconditions failed.");
+			throw new TicTacToeGameException("Can not unmake the move! There is no move to be taken back.");
 		}
 	}
 	
 	public boolean isGameDraw() {
-		return !this.existWinner() && !this.areAvailableMovesOnBoard();
+		return this.status == GameStatus.DRAW;
 	}
 
 	public boolean isGameEnded() {
-		return this.isGameDraw() || this.existWinner(); 
-	};
+		return this.status.isEnded(); 
+	}
+	
+	public GameStatus getGameStatus() {
+		return this.status;
+	}
 
 	public TicTacToePlayer getWinner() {
 		if (existWinner()) {
@@ -322,7 +308,7 @@ public class TicTacToeGame implements IBoardGame<TicTacToeMove, TicTacToePlayer>
 	}
 
 	public boolean existWinner() {
-		return isWinner;
+		return this.status == GameStatus.WON;
 	}
 
 	public void start() {
@@ -340,11 +326,24 @@ public class TicTacToeGame implements IBoardGame<TicTacToeMove, TicTacToePlayer>
 	 * 
 	 * @param move
 	 * 		- the move.
+	 * @param player
+	 * 		- the player submitting the move, or null for the player whose turn it is.
 	 * @return
-	 * 		- return true if all the preconditions for the move are fulfilled.
+	 * 		- return ACCEPTED if all the preconditions for the move are fulfilled, or the first one failed otherwise.
 	 */
-	private boolean validateMovePreconditions(final TicTacToeMove move) {
-		return this.isStarted && !this.isGameEnded() && this.isMoveValid(move);		
+	private MoveResult validateMovePreconditions(final TicTacToeMove move, final TicTacToePlayer player) {
+		if (!this.isStarted) {
+			return MoveResult.NOT_STARTED;
+		} else if (this.isGameEnded()) {
+			return MoveResult.GAME_OVER;
+		} else if (player != null && !player.equals(this.whoseTurnIs())) {
+			return MoveResult.WRONG_TURN;
+		} else if (move == null || this.isOutOfBounds(move)) {
+			return MoveResult.OUT_OF_BOUNDS;
+		} else if (!this.isMoveAvailable(move)) {
+			return MoveResult.OCCUPIED;
+		}
+		return MoveResult.ACCEPTED;
 	}
 	
 	/**
@@ -362,35 +361,153 @@ public class TicTacToeGame implements IBoardGame<TicTacToeMove, TicTacToePlayer>
 				&& !players[0].getDisplayName().equals(players[1].getDisplayName());
 	}
 
+	/**
+	 * Gets the player interaction snapshot board, sized after the boundaries of the board
+	 * (the element [0][0] holds the minimum position of the board).
+	 * 
+	 * Note:
+	 * 
+	 * 		The snapshot is a new array on every call, getBoardView reads the same cells without allocating anything.
+	 */
 	public TicTacToePlayer[][] getPlayerInteractionSnapshotBoard() {
-		//TODO: validate that this.stateSpace.getMinPosition() == 0 and this.stateSpace.getMaxPosition() == 2, 
-		// or otherwise adjust the array index values to avoid array out of bound exceptions.
-		final TicTacToePlayer[][] boardPlayerInteractSnapshot = new TicTacToePlayer[3][3];
-		for (int i = this.stateSpace.getMinPosition(); i <= this.stateSpace.getMaxPosition(); i++) {
-			for (int j = this.stateSpace.getMinPosition(); j <= this.stateSpace.getMaxPosition(); j++) {				
-				if (this.stateSpace.isMoveDefinedAt(i, j)) {
-					boardPlayerInteractSnapshot[i][j] = this.stateSpace.getPlayerAt(i, j);
-				} else {
-					boardPlayerInteractSnapshot[i][j] = null;
-				}
-			}
-		}
+		final TicTacToePlayer[][] boardPlayerInteractSnapshot = new TicTacToePlayer[TicTacToeWinDetector.SIZE][TicTacToeWinDetector.SIZE];
+		this.boardView.forEachCell((hPos, vPos, player) -> 
+				boardPlayerInteractSnapshot[hPos - TicTacToeStateSpace.MIN][vPos - TicTacToeStateSpace.MIN] = player);
 		return boardPlayerInteractSnapshot;
 	}
 	
+	public IBoardView<TicTacToePlayer> getBoardView() {
+		return this.boardView;
+	}
+	
+	public IStateSpace<TicTacToeMove, TicTacToePlayer> getStateSpace() {
+		return this.stateSpace;
+	}
+	
+	/**
+	 * Gets the cells taken by the player to move, as an occupancy mask (see TicTacToeWinDetector).
+	 * 
+	 * @return
+	 * 		- returns the occupancy mask of the player to move.
+	 */
+	int getMoverOccupancyMask() {
+		return this.occupancyMasks[this.movesCounter % 2];
+	}
+
+	/**
+	 * Gets the cells taken by the player who moved last, as an occupancy mask (see TicTacToeWinDetector).
+	 * 
+	 * @return
+	 * 		- returns the occupancy mask of the opponent of the player to move.
+	 */
+	int getOpponentOccupancyMask() {
+		return this.occupancyMasks[(this.movesCounter + 1) % 2];
+	}
+	
+	/**
+	 * Gets the cells taken by a player, as an occupancy mask (see TicTacToeWinDetector).
+	 * 
+	 * @param playerIndex
+	 * 		- the index of the player (0 for the player who moved first).
+	 * 
+	 * @return
+	 * 		- returns the occupancy mask of the player.
+	 */
+	int getOccupancyMask(final int playerIndex) {
+		return this.occupancyMasks[playerIndex];
+	}
+
+	/**
+	 * Gets the players of the game.
+	 *
+	 * @return
+	 * 		- returns the players, or null if they were not set.
+	 */
+	TicTacToePlayer[] getGamePlayers() {
+		return this.players;
+	}
+	
+	/**
+	 * Gets the number of accepted moves.
+	 * 
+	 * @return
+	 * 		- returns the number of moves made so far.
+	 */
+	int getAcceptedMovesCount() {
+		return this.movesCounter;
+	}
+	
+	/**
+	 * Gets an accepted move.
+	 * 
+	 * @param index
+	 * 		- the index of the move, in the order the moves were made.
+	 * 
+	 * @return
+	 * 		- returns the move.
+	 */
+	TicTacToeMove getAcceptedMove(final int index) {
+		return this.moveStack[index];
+	}
+	
 	private boolean validateStartPreconditions() {
 		return this.validateSetPlayersPreconditions(this.players) && !this.isStarted;
 	}
 	
+	/**
+	 * BoardView reads the cells from the occupancy masks of the game, so it works the same on every state space,
+	 * and before the game is started (as an empty board).
+	 */
+	private final class BoardView implements IBoardView<TicTacToePlayer> {
+		
+		public TicTacToePlayer cellAt(final int hPos, final int vPos) {
+			if (!TicTacToeMove.isOnBoard(hPos, vPos)) {
+				return null;
+			}
+			return this.playerAt(TicTacToeWinDetector.cellIndexOf(hPos, vPos));
+		}
+		
+		public void forEachCell(final IBoardCellVisitor<? super TicTacToePlayer> visitor) {
+			for (int cell = 0; cell < TicTacToeWinDetector.CELLS; cell++) {
+				visitor.visit(TicTacToeStateSpace.MIN + cell / TicTacToeWinDetector.SIZE, 
+						TicTacToeStateSpace.MIN + cell % TicTacToeWinDetector.SIZE, this.playerAt(cell));
+			}
+		}
+		
+		public int getMinPosition() {
+			return TicTacToeStateSpace.MIN;
+		}
+		
+		public int getMaxPosition() {
+			return TicTacToeStateSpace.MAX;
+		}
+		
+		public long getVersion() {
+			return TicTacToeGame.this.version;
+		}
+		
+		private TicTacToePlayer playerAt(final int cell) {
+			final int bit = 1 << cell;
+			if ((TicTacToeGame.this.occupancyMasks[0] & bit) != 0) {
+				return TicTacToeGame.this.players[0];
+			} else if ((TicTacToeGame.this.occupancyMasks[1] & bit) != 0) {
+				return TicTacToeGame.this.players[1];
+			}
+			return null;
+		}
+	}
+	
 	/**
 	 * 
 	 * TicTacToeGameException is a custom unchecked exception used as a wrapper exception for any
 	 * exception thrown while playing the Tic-Tac_Toe game.
 	 * 
+	 * It is a static nested class, so it does not hold a reference to the game it was thrown by.
+	 * 
 	 * @author Nicole Caralicea
 	 *
 	 */
-	public class TicTacToeGameException extends RuntimeException {
+	public static class TicTacToeGameException extends RuntimeException {
 		
 		private static final long serialVersionUID = 5332275207460791418L;
 		
@@ -0,0 +1,425 @@
+package ncaralicea.games.domain.tictactoe;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+import ncaralicea.games.domain.GameStatus;
+import ncaralicea.games.domain.MoveResult;
+import ncaralicea.games.domain.tictactoe.TicTacToeGame.TicTacToeGameException;
+
+/**
+ * TicTacToeGameStore holds many Tic-Tac-Toe games off the heap, in a direct ByteBuffer, every game being a fixed
+ * record of RECORD_SIZE bytes addressed by an int handle.
+ *
+ * A record is made of two longs:
+ *
+ * 		- the state: bits 0 - 8 and 9 - 17 hold the occupancy masks of the first and second player (see
+ * 		TicTacToeWinDetector), bits 18 - 19 the ordinal of the status, bit 20 is set while the game is live,
+ * 		and bits 24 - 59 hold the cells of the moves in the order they were made, a nibble each.
+ * 		- the version of the board, incremented every time the board changes (see IBoardView).
+ *
+ * The whole game takes 16 bytes, and the garbage collector never sees it, so millions of idle games can be kept
+ * live. The players are not stored: they are identified by their index (0 for the player who moved first),
+ * which the caller maps to its own players.
+ *
+ * The operations are the ones of IBoardGame, taking the handle of the game as first argument. The records of
+ * the released games are linked into a free list (through their state long) and handed out again first.
+ *
+ * Note:
+ *
+ * 		Like a TicTacToeGame, a game must be played by one thread at a time, while different games can be played
+ * 		by different threads at the same time, since their records do not overlap. Creating and releasing games
+ * 		is synchronized.
+ *
+ * @author Nicolae Caralicea
+ *
+ */
+public final class TicTacToeGameStore {
+
+	/**
+	 * the number of bytes of a game record.
+	 */
+	public static final int RECORD_SIZE = 2 * Long.BYTES;
+
+	/**
+	 * the maximum number of games of a store.
+	 */
+	public static final int MAX_CAPACITY = Integer.MAX_VALUE / RECORD_SIZE;
+
+	private static final int SECOND_PLAYER_SHIFT = TicTacToeWinDetector.CELLS;
+
+	private static final int STATUS_SHIFT = 2 * TicTacToeWinDetector.CELLS;
+
+	private static final long LIVE_BIT = 1L << 20;
+
+	private static final int HISTORY_SHIFT = 24;
+
+	private static final int FREE_LINK_SHIFT = 32;
+
+	private static final long MASKS = (1L << STATUS_SHIFT) - 1;
+
+	private static final int CELLS_MASK = (1 << TicTacToeWinDetector.CELLS) - 1;
+
+	private static final GameStatus[] STATUSES = GameStatus.values();
+
+	private static final int NO_GAME = -1;
+
+	private final ByteBuffer records;
+
+	private final int capacity;
+
+	/**
+	 * usedRecords is the number of records handed out at least once, the next ones never being used yet.
+	 */
+	private int usedRecords;
+
+	/**
+	 * freeHead is the handle of the last released game, or NO_GAME.
+	 */
+	private int freeHead = NO_GAME;
+
+	private int liveGames;
+
+	/**
+	 * Creates a store.
+	 *
+	 * @param capacity
+	 * 		- the maximum number of live games, RECORD_SIZE bytes being allocated off the heap for every one.
+	 */
+	public TicTacToeGameStore(final int capacity) {
+		if (capacity < 1 || capacity > MAX_CAPACITY) {
+			throw new IllegalArgumentException("The capacity should be between 1 and " + MAX_CAPACITY + ": " + capacity);
+		}
+		this.capacity = capacity;
+		this.records = ByteBuffer.allocateDirect(capacity * RECORD_SIZE).order(ByteOrder.nativeOrder());
+	}
+
+	/**
+	 * Creates a started game, with no move made.
+	 *
+	 * @return
+	 * 		- returns the handle of the game.
+	 *
+	 * @throws IllegalStateException
+	 * 		- if the store is full.
+	 */
+	public synchronized int newGame() {
+		final int handle;
+		if (this.freeHead != NO_GAME) {
+			handle = this.freeHead;
+			this.freeHead = (int) (this.records.getLong(handle * RECORD_SIZE) >> FREE_LINK_SHIFT);
+		} else if (this.usedRecords < this.capacity) {
+			handle = this.usedRecords++;
+		} else {
+			throw new IllegalStateException("The store is full: " + this.capacity + " games.");
+		}
+		this.setState(handle, LIVE_BIT);
+		this.liveGames++;
+		return handle;
+	}
+
+	/**
+	 * Releases a game, so its record can be reused by a new game.
+	 *
+	 * @param handle
+	 * 		- the handle of the game, which must not be used anymore.
+	 */
+	public synchronized void release(final int handle) {
+		this.getState(handle);
+		this.setState(handle, (long) this.freeHead << FREE_LINK_SHIFT);
+		this.freeHead = handle;
+		this.liveGames--;
+	}
+
+	/**
+	 * Resets a game to its start, with no move made.
+	 *
+	 * @param handle
+	 * 		- the handle of the game.
+	 */
+	public void reset(final int handle) {
+		this.getState(handle);
+		this.setState(handle, LIVE_BIT);
+	}
+
+	/**
+	 * Makes a move on behalf of the player whose turn it is.
+	 *
+	 * @param handle
+	 * 		- the handle of the game.
+	 * @param move
+	 * 		- the move.
+	 *
+	 * @throws TicTacToeGameException
+	 * 		- if the move is rejected.
+	 */
+	public void makeMove(final int handle, final TicTacToeMove move) {
+		final MoveResult result = this.tryMakeMove(handle, move);
+		if (!result.isAccepted()) {
+			throw new TicTacToeGameException("Can not make the move! Move preconditions failed: " + result + ".");
+		}
+	}
+
+	/**
+	 * Makes a move on behalf of the player whose turn it is, reporting a rejected move by the result.
+	 *
+	 * @param handle
+	 * 		- the handle of the game.
+	 * @param move
+	 * 		- the move.
+	 *
+	 * @return
+	 * 		- returns ACCEPTED if the move was made, or the reason it was rejected otherwise.
+	 */
+	public MoveResult tryMakeMove(final int handle, final TicTacToeMove move) {
+		return this.tryMakeMove(handle, move, -1);
+	}
+
+	/**
+	 * Makes a move on behalf of the player provided as argument, reporting a rejected move by the result.
+	 *
+	 * @param handle
+	 * 		- the handle of the game.
+	 * @param move
+	 * 		- the move.
+	 * @param playerIndex
+	 * 		- the index of the player making the move (0 for the player who moved first), or -1 for the player
+	 * 		whose turn it is.
+	 *
+	 * @return
+	 * 		- returns ACCEPTED if the move was made, or the reason it was rejected otherwise.
+	 */
+	public MoveResult tryMakeMove(final int handle, final TicTacToeMove move, final int playerIndex) {
+		final long state = this.getState(handle);
+		final int movesCount = Long.bitCount(state & MASKS);
+		if (STATUSES[statusOrdinal(state)].isEnded()) {
+			return MoveResult.GAME_OVER;
+		} else if (playerIndex >= 0 && playerIndex != movesCount % 2) {
+			return MoveResult.WRONG_TURN;
+		} else if (move == null || move.getCellIndex() < 0) {
+			return MoveResult.OUT_OF_BOUNDS;
+		}
+		final int cell = move.getCellIndex();
+		if ((state & ((1L << cell) | (1L << (cell + SECOND_PLAYER_SHIFT)))) != 0) {
+			return MoveResult.OCCUPIED;
+		}
+		final int moverShift = (movesCount % 2) * SECOND_PLAYER_SHIFT;
+		final int moverMask = (int) (state >>> moverShift) & CELLS_MASK | (1 << cell);
+		final GameStatus status;
+		if (TicTacToeWinDetector.isWinningAt(moverMask, cell)) {
+			status = GameStatus.WON;
+		} else if (movesCount + 1 == TicTacToeWinDetector.CELLS) {
+			status = GameStatus.DRAW;
+		} else {
+			status = GameStatus.IN_PROGRESS;
+		}
+		this.setState(handle, (state & ~(3L << STATUS_SHIFT)) | (1L << (cell + moverShift))
+				| ((long) status.ordinal() << STATUS_SHIFT) | ((long) cell << (HISTORY_SHIFT + 4 * movesCount)));
+		return MoveResult.ACCEPTED;
+	}
+
+	/**
+	 * Takes back the last move.
+	 *
+	 * @param handle
+	 * 		- the handle of the game.
+	 *
+	 * @throws TicTacToeGameException
+	 * 		- if no move was made.
+	 */
+	public void unmakeMove(final int handle) {
+		final long state = this.getState(handle);
+		final int movesCount = Long.bitCount(state & MASKS);
+		if (movesCount == 0) {
+			throw new TicTacToeGameException("Can not unmake the move! There is no move to be taken back.");
+		}
+		final int historyShift = HISTORY_SHIFT + 4 * (movesCount - 1);
+		final int cell = (int) (state >>> historyShift) & 0xF;
+		this.setState(handle, state & ~(3L << STATUS_SHIFT) & ~(0xFL << historyShift)
+				& ~(1L << (cell + ((movesCount - 1) % 2) * SECOND_PLAYER_SHIFT)));
+	}
+
+	/**
+	 * Gets the status of a game.
+	 *
+	 * @param handle
+	 * 		- the handle of the game.
+	 *
+	 * @return
+	 * 		- returns the status of the game.
+	 */
+	public GameStatus getGameStatus(final int handle) {
+		return STATUSES[statusOrdinal(this.getState(handle))];
+	}
+
+	/**
+	 * Gets the player who has to move next.
+	 *
+	 * @param handle
+	 * 		- the handle of the game.
+	 *
+	 * @return
+	 * 		- returns the index of the player whose turn it is (0 for the player who moved first).
+	 */
+	public int whoseTurnIs(final int handle) {
+		return this.getMovesCount(handle) % 2;
+	}
+
+	/**
+	 * Gets the winner of a game.
+	 *
+	 * @param handle
+	 * 		- the handle of the game.
+	 *
+	 * @return
+	 * 		- returns the index of the winner, or -1 if the game has no winner.
+	 */
+	public int getWinner(final int handle) {
+		final long state = this.getState(handle);
+		return STATUSES[statusOrdinal(state)] == GameStatus.WON ? (Long.bitCount(state & MASKS) + 1) % 2 : -1;
+	}
+
+	/**
+	 * Gets the number of moves made in a game.
+	 *
+	 * @param handle
+	 * 		- the handle of the game.
+	 *
+	 * @return
+	 * 		- returns the number of moves.
+	 */
+	public int getMovesCount(final int handle) {
+		return Long.bitCount(this.getState(handle) & MASKS);
+	}
+
+	/**
+	 * Gets a move of a game.
+	 *
+	 * @param handle
+	 * 		- the handle of the game.
+	 * @param index
+	 * 		- the index of the move, in the order the moves were made.
+	 *
+	 * @return
+	 * 		- returns the move.
+	 */
+	public TicTacToeMove getMove(final int handle, final int index) {
+		final long state = this.getState(handle);
+		if (index < 0 || index >= Long.bitCount(state & MASKS)) {
+			throw new IndexOutOfBoundsException("There is no move " + index + " in the game " + handle + ".");
+		}
+		return TicTacToeMove.ofCell((int) (state >>> (HISTORY_SHIFT + 4 * index)) & 0xF);
+	}
+
+	/**
+	 * Gets the cells taken by a player, as an occupancy mask (see TicTacToeWinDetector).
+	 *
+	 * @param handle
+	 * 		- the handle of the game.
+	 * @param playerIndex
+	 * 		- the index of the player (0 for the player who moved first).
+	 *
+	 * @return
+	 * 		- returns the occupancy mask of the player.
+	 */
+	public int getOccupancyMask(final int handle, final int playerIndex) {
+		return (int) (this.getState(handle) >>> (playerIndex * SECOND_PLAYER_SHIFT)) & CELLS_MASK;
+	}
+
+	/**
+	 * Gets the player who took a cell.
+	 *
+	 * @param handle
+	 * 		- the handle of the game.
+	 * @param hPos
+	 * 		- the horizontal position of the cell.
+	 * @param vPos
+	 * 		- the vertical position of the cell.
+	 *
+	 * @return
+	 * 		- returns the index of the player, or -1 if the cell is free or outside of the board.
+	 */
+	public int cellAt(final int handle, final int hPos, final int vPos) {
+		final long state = this.getState(handle);
+		if (!TicTacToeMove.isOnBoard(hPos, vPos)) {
+			return -1;
+		}
+		final int cell = TicTacToeWinDetector.cellIndexOf(hPos, vPos);
+		if ((state & (1L << cell)) != 0) {
+			return 0;
+		}
+		return (state & (1L << (cell + SECOND_PLAYER_SHIFT))) != 0 ? 1 : -1;
+	}
+
+	/**
+	 * Gets the version of the board of a game, which changes every time a move is made or taken back, or the game
+	 * is reset (see IBoardView).
+	 *
+	 * @param handle
+	 * 		- the handle of the game.
+	 *
+	 * @return
+	 * 		- returns the version of the board.
+	 */
+	public long getVersion(final int handle) {
+		this.getState(handle);
+		return this.records.getLong(handle * RECORD_SIZE + Long.BYTES);
+	}
+
+	/**
+	 * Gets the number of live games.
+	 *
+	 * @return
+	 * 		- returns the number of games created and not released.
+	 */
+	public synchronized int getLiveGames() {
+		return this.liveGames;
+	}
+
+	/**
+	 * Gets the maximum number of live games.
+	 *
+	 * @return
+	 * 		- returns the capacity of the store.
+	 */
+	public int getCapacity() {
+		return this.capacity;
+	}
+
+	/**
+	 * Gets the number of bytes allocated off the heap by the store.
+	 *
+	 * @return
+	 * 		- returns the size of the records buffer.
+	 */
+	public long getOffHeapBytes() {
+		return this.records.capacity();
+	}
+
+	/**
+	 * Reads the state long of a live game.
+	 */
+	private long getState(final int handle) {
+		if (handle < 0 || handle >= this.capacity) {
+			throw new IllegalArgumentException("There is no game with the handle " + handle + ".");
+		}
+		final long state = this.records.getLong(handle * RECORD_SIZE);
+		if ((state & LIVE_BIT) == 0) {
+			throw new IllegalArgumentException("There is no live game with the handle " + handle + ".");
+		}
+		return state;
+	}
+
+	/**
+	 * Writes the state long of a game, incrementing the version of its board.
+	 */
+	private void setState(final int handle, final long state) {
+		final int offset = handle * RECORD_SIZE;
+		this.records.putLong(offset, state);
+		this.records.putLong(offset + Long.BYTES, this.records.getLong(offset + Long.BYTES) + 1);
+	}
+
+	private static int statusOrdinal(final long state) {
+		return (int) (state >>> STATUS_SHIFT) & 3;
+	}
+}
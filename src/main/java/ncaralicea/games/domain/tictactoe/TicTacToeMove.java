@@ -5,11 +5,28 @@ import ncaralicea.games.domain.IBoardPosition;
 /**
  * TicTacToeMove class is used to indicate the position where a certain move will be placed on the board. 
  * 
+ * Moves are immutable, so the nine moves within the board boundaries are preallocated and shared: 
+ * the of(hPos, vPos) and ofCell(cell) factories return them without allocating anything.
+ * 
  * @author Nicalae Caralicea
  *
  */
 public class TicTacToeMove implements IBoardPosition {
 
+	/**
+	 * the shared moves within the board boundaries, indexed by cell.
+	 */
+	private static final TicTacToeMove[] MOVES = new TicTacToeMove[TicTacToeWinDetector.CELLS];
+	
+	static {
+		for (int hPos = TicTacToeStateSpace.MIN; hPos <= TicTacToeStateSpace.MAX; hPos++) {
+			for (int vPos = TicTacToeStateSpace.MIN; vPos <= TicTacToeStateSpace.MAX; vPos++) {
+				final TicTacToeMove move = new TicTacToeMove(hPos, vPos);
+				MOVES[move.getCellIndex()] = move;
+			}
+		}
+	}
+	
 	/**
 	 * Represents the horizontal position on the board.
 	 */
@@ -20,6 +37,16 @@ public class TicTacToeMove implements IBoardPosition {
 	 */
 	private final int atVPos;
 	
+	/**
+	 * Represents the cell index (0 - 8) of the position, or -1 if the position is outside of the board.
+	 */
+	private final int cellIndex;
+	
+	/**
+	 * The hash code is cached, because moves are probed as map keys very often.
+	 */
+	private final int hash;
+	
 	/**
 	 * The constructor class containing the 2 position arguments.
 	 * 
@@ -31,6 +58,41 @@ public class TicTacToeMove implements IBoardPosition {
 	public TicTacToeMove(final int atHPos, final int atVPos) {		
 		this.atHPos = atHPos;
 		this.atVPos = atVPos;		
+		this.cellIndex = isOnBoard(atHPos, atVPos) ? TicTacToeWinDetector.cellIndexOf(atHPos, atVPos) : -1;
+		this.hash = computeHashCode(atHPos, atVPos);
+	}
+	
+	/**
+	 * Gets the move for the position provided as arguments.
+	 * 
+	 * The shared instance is returned for the positions within the board boundaries, so only moves
+	 * outside of the board (which are going to be rejected anyway) are allocated.
+	 * 
+	 * @param atHPos
+	 * 		- the horizontal position.
+	 * @param atVPos
+	 * 		- the vertical position.
+	 * @return
+	 * 		- returns the move.
+	 */
+	public static TicTacToeMove of(final int atHPos, final int atVPos) {
+		if (isOnBoard(atHPos, atVPos)) {
+			return MOVES[TicTacToeWinDetector.cellIndexOf(atHPos, atVPos)];
+		} else {
+			return new TicTacToeMove(atHPos, atVPos);
+		}
+	}
+	
+	/**
+	 * Gets the shared move for the cell provided as argument.
+	 * 
+	 * @param cell
+	 * 		- the cell index (0 - 8).
+	 * @return
+	 * 		- returns the move.
+	 */
+	public static TicTacToeMove ofCell(final int cell) {
+		return MOVES[cell];
 	}
 
 	/**
@@ -47,16 +109,25 @@ public class TicTacToeMove implements IBoardPosition {
 		return this.atVPos;
 	}
 	
+	/**
+	 * Gets the cell index of the move.
+	 * 
+	 * The cells are numbered in row major order, so this is the bit of the move inside the
+	 * occupancy masks used by TicTacToeWinDetector and TicTacToeBitboardStateSpace.
+	 * 
+	 * @return
+	 * 		- returns the cell index (0 - 8), or -1 if the move is outside of the board.
+	 */
+	public int getCellIndex() {
+		return this.cellIndex;
+	}
+	
 	/**
 	 * hashCode is required, because this class is supposed to be used as key in a map. 
 	 */
 	@Override
 	public int hashCode() {
-		final int prime = 31;
-		int result = 1;
-		result = prime * result + atHPos;
-		result = prime * result + atVPos;
-		return result;
+		return this.hash;
 	}
 
 	/**
@@ -78,4 +149,16 @@ public class TicTacToeMove implements IBoardPosition {
 		return true;
 	}
 	
+	private static int computeHashCode(final int atHPos, final int atVPos) {
+		final int prime = 31;
+		int result = 1;
+		result = prime * result + atHPos;
+		result = prime * result + atVPos;
+		return result;
+	}
+	
+	static boolean isOnBoard(final int atHPos, final int atVPos) {
+		return atHPos >= TicTacToeStateSpace.MIN && atHPos <= TicTacToeStateSpace.MAX
+				&& atVPos >= TicTacToeStateSpace.MIN && atVPos <= TicTacToeStateSpace.MAX;
+	}
 }
@@ -0,0 +1,71 @@
+package ncaralicea.games.domain.tictactoe;
+
+import java.util.SplittableRandom;
+
+/**
+ * TicTacToeMovePolicies holds the built-in move policies of the self-play simulator.
+ *
+ * @author Nicolae Caralicea
+ *
+ */
+public final class TicTacToeMovePolicies {
+
+	private static final int FULL_BOARD = (1 << TicTacToeWinDetector.CELLS) - 1;
+
+	/**
+	 * the index of the n-th set bit of every 9 bit mask, at [mask * CELLS + n].
+	 */
+	private static final byte[] NTH_BIT = new byte[(FULL_BOARD + 1) * TicTacToeWinDetector.CELLS];
+
+	static {
+		for (int mask = 0; mask <= FULL_BOARD; mask++) {
+			int n = 0;
+			for (int cell = 0; cell < TicTacToeWinDetector.CELLS; cell++) {
+				if ((mask & (1 << cell)) != 0) {
+					NTH_BIT[mask * TicTacToeWinDetector.CELLS + n++] = (byte) cell;
+				}
+			}
+		}
+	}
+
+	/**
+	 * plays a free cell uniformly at random.
+	 */
+	public static final TicTacToeMovePolicy RANDOM = (moverMask, opponentMask, random) ->
+			randomCellOf(~(moverMask | opponentMask) & FULL_BOARD, random);
+
+	/**
+	 * plays the free cell with the lowest index, which is a fully scripted (deterministic) player.
+	 */
+	public static final TicTacToeMovePolicy FIRST_FREE = (moverMask, opponentMask, random) ->
+			Integer.numberOfTrailingZeros(~(moverMask | opponentMask));
+
+	/**
+	 * plays one of the best moves at random, as known by the tablebase (see TicTacToeTablebase): it never loses,
+	 * wins as fast as possible, and loses (when it can not be avoided) as late as possible.
+	 */
+	public static final TicTacToeMovePolicy PERFECT = (moverMask, opponentMask, random) ->
+			randomCellOf(TicTacToeTablebase.getBestMovesMask(TicTacToeTablebase.getInstance().probe(moverMask, opponentMask)), random);
+
+	private TicTacToeMovePolicies() {
+	}
+
+	/**
+	 * Picks one of the cells of the mask uniformly at random, with a table lookup.
+	 *
+	 * @param mask
+	 * 		- the candidate cells, as a 9 bit mask.
+	 * @param random
+	 * 		- the random generator.
+	 *
+	 * @return
+	 * 		- returns the cell index, or -1 if the mask is empty.
+	 */
+	public static int randomCellOf(final int mask, final SplittableRandom random) {
+		final int count = Integer.bitCount(mask);
+		if (count == 0) {
+			return -1;
+		}
+		return NTH_BIT[mask * TicTacToeWinDetector.CELLS + (count == 1 ? 0 : random.nextInt(count))];
+	}
+}
@@ -0,0 +1,36 @@
+package ncaralicea.games.domain.tictactoe;
+
+import java.util.SplittableRandom;
+
+/**
+ * TicTacToeMovePolicy chooses the moves of a player in the games played by TicTacToeSelfPlaySimulator.
+ *
+ * The position is given as occupancy masks (see TicTacToeWinDetector), so a policy can be evaluated without
+ * going through a game instance. See TicTacToeMovePolicies for the built-in policies.
+ *
+ * Note:
+ *
+ * 		A policy is shared by the worker threads of the simulator, so it should be stateless (or thread safe),
+ * 		and should draw its random numbers from the generator it is given.
+ *
+ * @author Nicolae Caralicea
+ *
+ */
+public interface TicTacToeMovePolicy {
+
+	/**
+	 * Chooses the cell of the next move.
+	 *
+	 * @param moverMask
+	 * 		- the cells taken by the player to move.
+	 * @param opponentMask
+	 * 		- the cells taken by the opponent.
+	 * @param random
+	 * 		- the random generator of the worker thread.
+	 *
+	 * @return
+	 * 		- returns the cell index (0 - 8) of the move. A cell already taken, or outside of the board,
+	 * 		  forfeits the game.
+	 */
+	int chooseCell(int moverMask, int opponentMask, SplittableRandom random);
+}
@@ -0,0 +1,86 @@
+package ncaralicea.games.domain.tictactoe;
+
+import java.util.Arrays;
+
+/**
+ * TicTacToePlayerSlots numbers the players of a state space in the order they made their first move,
+ * so the player who moved first gets the index 0. A Tic-Tac-Toe state space holds at most two players.
+ * 
+ * @author Nicolae Caralicea
+ *
+ */
+final class TicTacToePlayerSlots {
+
+	private final TicTacToePlayer[] players = new TicTacToePlayer[2];
+	
+	private int count;
+	
+	/**
+	 * Gets the index of the player.
+	 * 
+	 * @param player
+	 * 		- the player argument.
+	 * @return
+	 * 		- returns the index of the player, or -1 if the player has not made any move yet.
+	 */
+	int indexOf(final TicTacToePlayer player) {
+		for (int index = 0; index < this.count; index++) {
+			if (this.players[index].equals(player)) {
+				return index;
+			}
+		}
+		return -1;
+	}
+	
+	/**
+	 * Gets the index of the player, giving it the next index if the player makes its first move.
+	 * 
+	 * @param player
+	 * 		- the player argument.
+	 * @return
+	 * 		- returns the index of the player.
+	 * @throws IllegalArgumentException
+	 * 		- if the player would be the third one.
+	 */
+	int acquire(final TicTacToePlayer player) {
+		final int index = this.indexOf(player);
+		if (index >= 0) {
+			return index;
+		}
+		if (this.count == this.players.length) {
+			throw new IllegalArgumentException("The Tic-Tac-Toe state spaces support only two players.");
+		}
+		this.players[this.count] = player;
+		return this.count++;
+	}
+	
+	/**
+	 * Gets the player with the index provided as argument.
+	 * 
+	 * @param index
+	 * 		- the index.
+	 * @return
+	 * 		- returns the player.
+	 */
+	TicTacToePlayer get(final int index) {
+		return this.players[index];
+	}
+	
+	/**
+	 * Gets the number of numbered players.
+	 * 
+	 * @return
+	 * 		- returns the number of players.
+	 */
+	int size() {
+		return this.count;
+	}
+	
+	/**
+	 * Forgets all the players.
+	 */
+	void clear() {
+		Arrays.fill(this.players, 0, this.count, null);
+		this.count = 0;
+	}
+}
@@ -0,0 +1,248 @@
+package ncaralicea.games.domain.tictactoe;
+
+import java.util.function.Consumer;
+
+import ncaralicea.games.domain.GameStatus;
+import ncaralicea.games.domain.IBoardCellVisitor;
+import ncaralicea.games.domain.IGamePosition;
+import ncaralicea.games.domain.MoveResult;
+
+/**
+ * TicTacToePosition is an immutable Tic-Tac-Toe position, the whole state of the game being packed into a long:
+ *
+ * 		- bits 0 - 8: the occupancy mask of the first player (see TicTacToeWinDetector).
+ * 		- bits 9 - 17: the occupancy mask of the second player.
+ * 		- bits 18 - 19: the ordinal of the status of the game.
+ *
+ * The number of moves, whose turn it is and the winner all follow from the masks and the status, so a move
+ * allocates nothing else than the new position object. The players are shared by all the positions of a game.
+ *
+ * Positions are compared by value (the players and the packed state).
+ *
+ * @author Nicolae Caralicea
+ *
+ */
+public final class TicTacToePosition implements IGamePosition<TicTacToeMove, TicTacToePlayer, TicTacToePosition> {
+
+	private static final int SECOND_PLAYER_SHIFT = TicTacToeWinDetector.CELLS;
+
+	private static final int STATUS_SHIFT = 2 * TicTacToeWinDetector.CELLS;
+
+	private static final int CELLS_MASK = (1 << TicTacToeWinDetector.CELLS) - 1;
+
+	private static final GameStatus[] STATUSES = GameStatus.values();
+
+	private final TicTacToePlayer[] players;
+
+	private final long packed;
+
+	private TicTacToePosition(final TicTacToePlayer[] players, final long packed) {
+		this.players = players;
+		this.packed = packed;
+	}
+
+	/**
+	 * Gets the empty position of a game played by the players provided as argument.
+	 *
+	 * @param players
+	 * 		- the two players of the game, with different display names, the first one having the first move.
+	 *
+	 * @return
+	 * 		- returns the initial position.
+	 *
+	 * @throws IllegalArgumentException
+	 * 		- if the players are not valid.
+	 */
+	public static TicTacToePosition start(final TicTacToePlayer[] players) {
+		if (players == null || players.length != 2 || players[0] == null || players[1] == null
+				|| players[0].getDisplayName() == null || players[1].getDisplayName() == null
+				|| players[0].getDisplayName().equals(players[1].getDisplayName())) {
+			throw new IllegalArgumentException("The position needs two players with different display names.");
+		}
+		return new TicTacToePosition(players.clone(), 0L);
+	}
+
+	/**
+	 * Takes a snapshot of the board of a game.
+	 *
+	 * @param game
+	 * 		- the game, whose players were set.
+	 *
+	 * @return
+	 * 		- returns the position of the game.
+	 *
+	 * @throws IllegalArgumentException
+	 * 		- if the players of the game are not set.
+	 */
+	public static TicTacToePosition of(final TicTacToeGame game) {
+		final TicTacToePosition start = start(game.getGamePlayers());
+		return new TicTacToePosition(start.players, pack(game.getOccupancyMask(0), game.getOccupancyMask(1), game.getGameStatus()));
+	}
+
+	public MoveResult validateMove(final TicTacToeMove move, final TicTacToePlayer player) {
+		if (this.getGameStatus().isEnded()) {
+			return MoveResult.GAME_OVER;
+		} else if (player != null && !player.equals(this.whoseTurnIs())) {
+			return MoveResult.WRONG_TURN;
+		} else if (move == null || move.getCellIndex() < 0) {
+			return MoveResult.OUT_OF_BOUNDS;
+		} else if (((this.getOccupancyMask(0) | this.getOccupancyMask(1)) & (1 << move.getCellIndex())) != 0) {
+			return MoveResult.OCCUPIED;
+		}
+		return MoveResult.ACCEPTED;
+	}
+
+	public TicTacToePosition play(final TicTacToeMove move) {
+		final MoveResult result = this.validateMove(move, null);
+		if (!result.isAccepted()) {
+			throw new IllegalArgumentException("Can not play the move " + move + ": " + result + ".");
+		}
+		final int cell = move.getCellIndex();
+		final int moverIndex = this.getMovesCount() % 2;
+		final int moverMask = this.getOccupancyMask(moverIndex) | (1 << cell);
+		final int opponentMask = this.getOccupancyMask(1 - moverIndex);
+		final GameStatus status;
+		if (TicTacToeWinDetector.isWinningAt(moverMask, cell)) {
+			status = GameStatus.WON;
+		} else if ((moverMask | opponentMask) == CELLS_MASK) {
+			status = GameStatus.DRAW;
+		} else {
+			status = GameStatus.IN_PROGRESS;
+		}
+		return new TicTacToePosition(this.players, moverIndex == 0
+				? pack(moverMask, opponentMask, status) : pack(opponentMask, moverMask, status));
+	}
+
+	public void forEachNextPosition(final Consumer<? super TicTacToePosition> visitor) {
+		if (!this.getGameStatus().isEnded()) {
+			final int occupied = this.getOccupancyMask(0) | this.getOccupancyMask(1);
+			for (int cell = 0; cell < TicTacToeWinDetector.CELLS; cell++) {
+				if ((occupied & (1 << cell)) == 0) {
+					visitor.accept(this.play(TicTacToeMove.ofCell(cell)));
+				}
+			}
+		}
+	}
+
+	public TicTacToePosition getCanonicalPosition() {
+		final int board = TicTacToeSymmetry.pack(this.getOccupancyMask(0), this.getOccupancyMask(1));
+		final int canonical = TicTacToeSymmetry.canonicalize(board);
+		if (TicTacToeSymmetry.getTransform(canonical) == TicTacToeSymmetry.IDENTITY) {
+			return this;
+		}
+		final int canonicalBoard = TicTacToeSymmetry.getCanonicalBoard(canonical);
+		return new TicTacToePosition(this.players, pack(canonicalBoard & CELLS_MASK, canonicalBoard >>> SECOND_PLAYER_SHIFT, this.getGameStatus()));
+	}
+
+	public GameStatus getGameStatus() {
+		return STATUSES[(int) (this.packed >>> STATUS_SHIFT)];
+	}
+
+	public TicTacToePlayer whoseTurnIs() {
+		return this.players[this.getMovesCount() % 2];
+	}
+
+	public TicTacToePlayer getWinner() {
+		return this.getGameStatus() == GameStatus.WON ? this.players[(this.getMovesCount() + 1) % 2] : null;
+	}
+
+	public int getMovesCount() {
+		return Long.bitCount(this.packed & ((1L << STATUS_SHIFT) - 1));
+	}
+
+	/**
+	 * Gets the cells taken by a player, as an occupancy mask (see TicTacToeWinDetector).
+	 *
+	 * @param playerIndex
+	 * 		- the index of the player (0 for the player who moved first).
+	 *
+	 * @return
+	 * 		- returns the occupancy mask of the player.
+	 */
+	public int getOccupancyMask(final int playerIndex) {
+		return (int) (this.packed >>> (playerIndex * SECOND_PLAYER_SHIFT)) & CELLS_MASK;
+	}
+
+	/**
+	 * Gets the whole state of the position packed into a long (see the class comment).
+	 *
+	 * @return
+	 * 		- returns the packed state.
+	 */
+	public long toPackedLong() {
+		return this.packed;
+	}
+
+	public TicTacToePlayer cellAt(final int hPos, final int vPos) {
+		if (!TicTacToeMove.isOnBoard(hPos, vPos)) {
+			return null;
+		}
+		return this.playerAt(TicTacToeWinDetector.cellIndexOf(hPos, vPos));
+	}
+
+	public void forEachCell(final IBoardCellVisitor<? super TicTacToePlayer> visitor) {
+		for (int cell = 0; cell < TicTacToeWinDetector.CELLS; cell++) {
+			visitor.visit(TicTacToeStateSpace.MIN + cell / TicTacToeWinDetector.SIZE,
+					TicTacToeStateSpace.MIN + cell % TicTacToeWinDetector.SIZE, this.playerAt(cell));
+		}
+	}
+
+	public int getMinPosition() {
+		return TicTacToeStateSpace.MIN;
+	}
+
+	public int getMaxPosition() {
+		return TicTacToeStateSpace.MAX;
+	}
+
+	/**
+	 * Gets the version of the position: its packed state, so two different positions have different versions.
+	 */
+	public long getVersion() {
+		return this.packed;
+	}
+
+	@Override
+	public int hashCode() {
+		return 31 * (31 + this.players[0].hashCode()) + Long.hashCode(this.packed);
+	}
+
+	@Override
+	public boolean equals(final Object obj) {
+		if (this == obj) {
+			return true;
+		}
+		if (obj == null || getClass() != obj.getClass()) {
+			return false;
+		}
+		final TicTacToePosition other = (TicTacToePosition) obj;
+		return this.packed == other.packed && this.players[0].equals(other.players[0]) && this.players[1].equals(other.players[1]);
+	}
+
+	@Override
+	public String toString() {
+		final StringBuilder builder = new StringBuilder(TicTacToeWinDetector.CELLS + TicTacToeWinDetector.SIZE);
+		for (int cell = 0; cell < TicTacToeWinDetector.CELLS; cell++) {
+			if (cell > 0 && cell % TicTacToeWinDetector.SIZE == 0) {
+				builder.append('/');
+			}
+			final int bit = 1 << cell;
+			builder.append((this.getOccupancyMask(0) & bit) != 0 ? 'X' : (this.getOccupancyMask(1) & bit) != 0 ? 'O' : '.');
+		}
+		return builder.append(' ').append(this.getGameStatus()).toString();
+	}
+
+	private TicTacToePlayer playerAt(final int cell) {
+		final int bit = 1 << cell;
+		if ((this.getOccupancyMask(0) & bit) != 0) {
+			return this.players[0];
+		} else if ((this.getOccupancyMask(1) & bit) != 0) {
+			return this.players[1];
+		}
+		return null;
+	}
+
+	private static long pack(final int firstMask, final int secondMask, final GameStatus status) {
+		return firstMask | ((long) secondMask << SECOND_PLAYER_SHIFT) | ((long) status.ordinal() << STATUS_SHIFT);
+	}
+}
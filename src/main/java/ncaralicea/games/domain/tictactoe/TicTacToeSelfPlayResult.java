@@ -0,0 +1,137 @@
+package ncaralicea.games.domain.tictactoe;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * TicTacToeSelfPlayResult holds the aggregate outcome of a batch of games played by TicTacToeSelfPlaySimulator.
+ *
+ * The wins and losses are counted from the point of view of the first player (the one who moves first).
+ *
+ * @author Nicolae Caralicea
+ *
+ */
+public class TicTacToeSelfPlayResult {
+
+	private final long wins;
+
+	private final long draws;
+
+	private final long losses;
+
+	private final long forfeits;
+
+	private final long[] lengthHistogram;
+
+	private final int threads;
+
+	private final long elapsedNanos;
+
+	TicTacToeSelfPlayResult(final long wins, final long draws, final long losses, final long forfeits,
+			final long[] lengthHistogram, final int threads, final long elapsedNanos) {
+		this.wins = wins;
+		this.draws = draws;
+		this.losses = losses;
+		this.forfeits = forfeits;
+		this.lengthHistogram = lengthHistogram;
+		this.threads = threads;
+		this.elapsedNanos = elapsedNanos;
+	}
+
+	/**
+	 * Gets the number of games played.
+	 *
+	 * @return
+	 * 		- returns the number of games.
+	 */
+	public long getGames() {
+		return this.wins + this.draws + this.losses;
+	}
+
+	/**
+	 * Gets the number of games won by the first player.
+	 *
+	 * @return
+	 * 		- returns the number of wins.
+	 */
+	public long getWins() {
+		return this.wins;
+	}
+
+	/**
+	 * Gets the number of games ended in a draw.
+	 *
+	 * @return
+	 * 		- returns the number of draws.
+	 */
+	public long getDraws() {
+		return this.draws;
+	}
+
+	/**
+	 * Gets the number of games lost by the first player (won by the second one).
+	 *
+	 * @return
+	 * 		- returns the number of losses.
+	 */
+	public long getLosses() {
+		return this.losses;
+	}
+
+	/**
+	 * Gets the number of games ended by an illegal move, which are counted as lost by the player who made it, too.
+	 *
+	 * @return
+	 * 		- returns the number of forfeited games.
+	 */
+	public long getForfeits() {
+		return this.forfeits;
+	}
+
+	/**
+	 * Gets the number of games of every length.
+	 *
+	 * @return
+	 * 		- returns the number of games, indexed by the number of moves made (0 - 9).
+	 */
+	public long[] getLengthHistogram() {
+		return this.lengthHistogram.clone();
+	}
+
+	/**
+	 * Gets the number of worker threads which played the games.
+	 *
+	 * @return
+	 * 		- returns the number of threads.
+	 */
+	public int getThreads() {
+		return this.threads;
+	}
+
+	/**
+	 * Gets the wall clock duration of the simulation.
+	 *
+	 * @return
+	 * 		- returns the duration in nanoseconds.
+	 */
+	public long getElapsedNanos() {
+		return this.elapsedNanos;
+	}
+
+	/**
+	 * Gets the number of games played per second.
+	 *
+	 * @return
+	 * 		- returns the game rate.
+	 */
+	public double getGamesPerSecond() {
+		return this.elapsedNanos > 0 ? this.getGames() * (double) TimeUnit.SECONDS.toNanos(1) / this.elapsedNanos : 0;
+	}
+
+	@Override
+	public String toString() {
+		return String.format("TicTacToeSelfPlayResult[games=%d, wins=%d, draws=%d, losses=%d, forfeits=%d, lengths=%s, threads=%d, %.0f games/s]",
+				this.getGames(), this.wins, this.draws, this.losses, this.forfeits, Arrays.toString(this.lengthHistogram),
+				this.threads, this.getGamesPerSecond());
+	}
+}
@@ -0,0 +1,171 @@
+package ncaralicea.games.domain.tictactoe;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+
+/**
+ * TicTacToeSelfPlaySimulator plays large batches of games between two move policies, for generating training data
+ * and soak testing the rules.
+ *
+ * The games are not played through TicTacToeGame: every worker thread keeps the position as two occupancy masks
+ * (see TicTacToeWinDetector), which are simply cleared between games, and an illegal move ends the game as
+ * forfeited instead of throwing an exception. So a game allocates nothing and costs a few table lookups per move.
+ *
+ * The games are split evenly between the worker threads, every worker drawing its random numbers from its own
+ * generator split from the seed, so a batch is reproducible for a given seed and number of threads.
+ *
+ * @author Nicolae Caralicea
+ *
+ */
+public class TicTacToeSelfPlaySimulator implements AutoCloseable {
+
+	private static final int MAX_LENGTH = TicTacToeWinDetector.CELLS;
+
+	private final ForkJoinPool pool;
+
+	/**
+	 * Creates a simulator playing on as many threads as there are available processors.
+	 */
+	public TicTacToeSelfPlaySimulator() {
+		this(Runtime.getRuntime().availableProcessors());
+	}
+
+	/**
+	 * Creates a simulator.
+	 *
+	 * @param parallelism
+	 * 		- the number of worker threads.
+	 */
+	public TicTacToeSelfPlaySimulator(final int parallelism) {
+		if (parallelism < 1) {
+			throw new IllegalArgumentException("The parallelism should be at least 1: " + parallelism);
+		}
+		this.pool = new ForkJoinPool(parallelism);
+	}
+
+	/**
+	 * Plays a batch of games.
+	 *
+	 * @param games
+	 * 		- the number of games to be played.
+	 * @param firstPlayerPolicy
+	 * 		- the policy of the player who moves first.
+	 * @param secondPlayerPolicy
+	 * 		- the policy of the player who moves second.
+	 * @param seed
+	 * 		- the seed of the random generators.
+	 *
+	 * @return
+	 * 		- returns the aggregate outcome of the games.
+	 */
+	public TicTacToeSelfPlayResult simulate(final long games, final TicTacToeMovePolicy firstPlayerPolicy,
+			final TicTacToeMovePolicy secondPlayerPolicy, final long seed) {
+		final long start = System.nanoTime();
+		final int threads = this.pool.getParallelism();
+		final SplittableRandom random = new SplittableRandom(seed);
+		final List<Worker> workers = new ArrayList<Worker>(threads);
+		for (int i = 0; i < threads; i++) {
+			final long workerGames = games / threads + (i < games % threads ? 1 : 0);
+			workers.add(new Worker(workerGames, firstPlayerPolicy, secondPlayerPolicy, random.split()));
+		}
+
+		final long[] totals = new long[4];
+		final long[] lengthHistogram = new long[MAX_LENGTH + 1];
+		try {
+			for (final Future<Worker> future : this.pool.invokeAll(workers)) {
+				final Worker worker = future.get();
+				for (int i = 0; i < totals.length; i++) {
+					totals[i] += worker.totals[i];
+				}
+				for (int i = 0; i < lengthHistogram.length; i++) {
+					lengthHistogram[i] += worker.lengthHistogram[i];
+				}
+			}
+		} catch (final InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new IllegalStateException("The simulation was interrupted.", e);
+		} catch (final ExecutionException e) {
+			throw new IllegalStateException("The simulation failed.", e.getCause());
+		}
+		return new TicTacToeSelfPlayResult(totals[Worker.WINS], totals[Worker.DRAWS], totals[Worker.LOSSES],
+				totals[Worker.FORFEITS], lengthHistogram, threads, System.nanoTime() - start);
+	}
+
+	/**
+	 * Shuts down the worker threads.
+	 */
+	public void close() {
+		this.pool.shutdown();
+	}
+
+	/**
+	 * Worker plays its share of the games, keeping its counters local until it is done.
+	 */
+	private static final class Worker implements Callable<Worker> {
+
+		private static final int WINS = 0;
+
+		private static final int DRAWS = 1;
+
+		private static final int LOSSES = 2;
+
+		private static final int FORFEITS = 3;
+
+		private final long games;
+
+		private final TicTacToeMovePolicy[] policies;
+
+		private final SplittableRandom random;
+
+		private final long[] totals = new long[4];
+
+		private final long[] lengthHistogram = new long[MAX_LENGTH + 1];
+
+		private Worker(final long games, final TicTacToeMovePolicy firstPlayerPolicy,
+				final TicTacToeMovePolicy secondPlayerPolicy, final SplittableRandom random) {
+			this.games = games;
+			this.policies = new TicTacToeMovePolicy[]{firstPlayerPolicy, secondPlayerPolicy};
+			this.random = random;
+		}
+
+		public Worker call() {
+			for (long game = 0; game < this.games; game++) {
+				this.playGame();
+			}
+			return this;
+		}
+
+		private void playGame() {
+			int moverMask = 0;
+			int opponentMask = 0;
+			int moves = 0;
+			while (true) {
+				final int side = moves & 1;
+				final int cell = this.policies[side].chooseCell(moverMask, opponentMask, this.random);
+				if (cell < 0 || cell >= MAX_LENGTH || ((moverMask | opponentMask) & (1 << cell)) != 0) {
+					this.totals[FORFEITS]++;
+					this.totals[side == 0 ? LOSSES : WINS]++;
+					break;
+				}
+				moverMask |= 1 << cell;
+				moves++;
+				if (TicTacToeWinDetector.isWinningAt(moverMask, cell)) {
+					this.totals[side == 0 ? WINS : LOSSES]++;
+					break;
+				} else if (moves == MAX_LENGTH) {
+					this.totals[DRAWS]++;
+					break;
+				}
+				final int swap = moverMask;
+				moverMask = opponentMask;
+				opponentMask = swap;
+			}
+			this.lengthHistogram[moves]++;
+		}
+	}
+}
@@ -6,10 +6,13 @@ import java.util.Map;
 import java.util.Set;
 
 import ncaralicea.games.domain.IStateSpace;
+import ncaralicea.games.domain.ZobristKeys;
 
 /**
  * TicTacToeStateSpace is the class responsible for the state space values for the Tic-Tac-Toe game.
  * 
+ * Like TicTacToeBitboardStateSpace, it rejects the moves outside of the board and a third player.
+ * 
  * @author Nicolae Caralicea
  *
  */
@@ -24,26 +27,78 @@ public class TicTacToeStateSpace implements IStateSpace<TicTacToeMove, TicTacToe
 	 * maximum value for the horizontal/vertical position.
 	 */
 	public static final int MAX = 2;
+	
+	/**
+	 * the Zobrist keys of the board, shared by the Tic-Tac-Toe state spaces.
+	 */
+	static final ZobristKeys ZOBRIST_KEYS = new ZobristKeys(TicTacToeWinDetector.CELLS);
 
 	/**
 	 * records all the moves done by players.
 	 */
 	private final Map<TicTacToeMove, TicTacToePlayer> pastMovesMap = new HashMap<TicTacToeMove, TicTacToePlayer>();
 
+	/**
+	 * mirrors the cells taken by the recorded moves as a bit mask, so the available moves can be
+	 * counted and walked without probing the map.
+	 */
+	private int occupiedCells;
+	
+	/**
+	 * numbers the players in the order they made their first move, selecting their Zobrist keys.
+	 */
+	private final TicTacToePlayerSlots playerSlots = new TicTacToePlayerSlots();
+	
+	/**
+	 * the Zobrist hash of the position.
+	 */
+	private long hash;
+	
+	/**
+	 * Generates all the available moves on the board, out of the occupied cells.
+	 */
 	public Set<TicTacToeMove> generateAvailableMoves() {
 		final Set<TicTacToeMove> movesSet = new HashSet<TicTacToeMove>();
-		for (int m = MIN; m <= MAX; m++) {
-			for (int n = MIN; n <= MAX; n++) {
-				if (!isMoveDefinedAt(m, n)) {
-					movesSet.add(new TicTacToeMove(m, n));
-				}
-			}
+		for (int cell = this.nextAvailableCell(0); cell >= 0; cell = this.nextAvailableCell(cell + 1)) {
+			movesSet.add(TicTacToeMove.ofCell(cell));
 		}
 		return movesSet;
 	}
 	
+	public int getAvailableMovesCount() {
+		return TicTacToeWinDetector.CELLS - Integer.bitCount(this.occupiedCells);
+	}
+	
+	public int nextAvailableCell(final int fromCell) {
+		return nextFreeCell(this.occupiedCells, fromCell);
+	}
+	
+	public TicTacToeMove getMoveAt(final int cell) {
+		return TicTacToeMove.ofCell(cell);
+	}
+	
+	/**
+	 * Gets the first free cell of the occupancy mask starting with the cell provided as argument.
+	 * 
+	 * @param occupied
+	 * 		- the mask of the occupied cells.
+	 * 
+	 * @param fromCell
+	 * 		- the cell index the search starts with.
+	 * 
+	 * @return
+	 * 		- returns the cell index of the first free cell not lower than fromCell, or -1 if there is no such cell.
+	 */
+	static int nextFreeCell(final int occupied, final int fromCell) {
+		if (fromCell >= TicTacToeWinDetector.CELLS) {
+			return -1;
+		}
+		final int free = ~occupied & ((1 << TicTacToeWinDetector.CELLS) - 1) & (fromCell > 0 ? -1 << fromCell : -1);
+		return free != 0 ? Integer.numberOfTrailingZeros(free) : -1;
+	}
+	
 	public boolean isMoveDefinedAt(final int hPos, final int vPos) {
-		return this.pastMovesMap.containsKey(new TicTacToeMove(hPos, vPos));
+		return this.pastMovesMap.containsKey(TicTacToeMove.of(hPos, vPos));
 	}
 
 	/**
@@ -62,7 +117,7 @@ public class TicTacToeStateSpace implements IStateSpace<TicTacToeMove, TicTacToe
 	 * 		- returns true if the into set already contains the position/move defined by the hPos, and vPos arguments. 
 	 */
 	public static boolean isMoveIntoSet(final int hPos, final int vPos, final Set<TicTacToeMove> into) {
-		return into.contains(new TicTacToeMove(hPos, vPos));
+		return into.contains(TicTacToeMove.of(hPos, vPos));
 	}
 	
 	/**
@@ -82,7 +137,38 @@ public class TicTacToeStateSpace implements IStateSpace<TicTacToeMove, TicTacToe
 	}
 	
 	public void addMoveFor(final TicTacToeMove move, final TicTacToePlayer player) {
-		this.pastMovesMap.put(move, player);
+		final int cell = move.getCellIndex();
+		if (cell < 0) {
+			throw new IllegalArgumentException(String.format("The move (%d, %d) is outside of the board.", 
+					move.getHorizontalPosition(), move.getVerticalPosition()));
+		}
+		final int slot = this.playerSlots.acquire(player);
+		final TicTacToePlayer replacedPlayer = this.pastMovesMap.put(move, player);
+		if (replacedPlayer != null) {
+			this.hash ^= ZOBRIST_KEYS.getPieceKey(this.playerSlots.indexOf(replacedPlayer), cell);
+		}
+		this.occupiedCells |= 1 << cell;
+		this.hash ^= ZOBRIST_KEYS.getPieceKey(slot, cell) ^ ZOBRIST_KEYS.getSideToMoveKey();
+	}
+	
+	public void removeMove(final TicTacToeMove move) {
+		final TicTacToePlayer removedPlayer = this.pastMovesMap.remove(move);
+		if (removedPlayer != null) {
+			final int cell = move.getCellIndex();
+			this.occupiedCells &= ~(1 << cell);
+			this.hash ^= ZOBRIST_KEYS.getPieceKey(this.playerSlots.indexOf(removedPlayer), cell) ^ ZOBRIST_KEYS.getSideToMoveKey();
+		}
+	}
+	
+	public void clear() {
+		this.pastMovesMap.clear();
+		this.occupiedCells = 0;
+		this.playerSlots.clear();
+		this.hash = 0;
+	}
+	
+	public long positionHash() {
+		return this.hash;
 	}
 
 	public Set<TicTacToeMove> getExecutedMoves() {
@@ -100,7 +186,7 @@ public class TicTacToeStateSpace implements IStateSpace<TicTacToeMove, TicTacToe
 	}
 
 	public TicTacToePlayer getPlayerAt(final int i, final int j) {
-		return pastMovesMap.get(new TicTacToeMove(i, j));
+		return pastMovesMap.get(TicTacToeMove.of(i, j));
 	}
 
 	public int getMinPosition() {
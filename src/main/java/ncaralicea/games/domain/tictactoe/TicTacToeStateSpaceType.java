@@ -0,0 +1,42 @@
+package ncaralicea.games.domain.tictactoe;
+
+import ncaralicea.games.domain.IStateSpace;
+
+/**
+ * TicTacToeStateSpaceType enumerates the state space implementations a TicTacToeGame can be played on.
+ * 
+ * All of them have the same observable behavior, they only differ in the way the moves are recorded.
+ * 
+ * @author Nicolae Caralicea
+ *
+ */
+public enum TicTacToeStateSpaceType {
+	
+	/**
+	 * the moves are recorded into a map keyed by the move (TicTacToeStateSpace).
+	 */
+	MAP_BASED {
+		@Override
+		public IStateSpace<TicTacToeMove, TicTacToePlayer> newStateSpace() {
+			return new TicTacToeStateSpace();
+		}
+	},
+	
+	/**
+	 * the moves are recorded into per player occupancy bit masks (TicTacToeBitboardStateSpace).
+	 */
+	BITBOARD {
+		@Override
+		public IStateSpace<TicTacToeMove, TicTacToePlayer> newStateSpace() {
+			return new TicTacToeBitboardStateSpace();
+		}
+	};
+	
+	/**
+	 * Creates a new, empty state space of this type.
+	 * 
+	 * @return
+	 * 		- returns the new state space.
+	 */
+	public abstract IStateSpace<TicTacToeMove, TicTacToePlayer> newStateSpace();
+}
@@ -0,0 +1,212 @@
+package ncaralicea.games.domain.tictactoe;
+
+/**
+ * TicTacToeSymmetry maps positions to their canonical form under the 8 symmetries of the square board
+ * (the 4 rotations, and the 4 reflections), so rotated and reflected boards share one key.
+ * 
+ * It works on packed boards: the occupancy mask (see TicTacToeWinDetector) of the first player in the bits
+ * 0 - 8, and the one of the second player in the bits 9 - 17, which is the layout of the 
+ * TicTacToeBitboardStateSpace packed board. Every transform is precomputed as a table over the 512 possible
+ * occupancy masks, so canonicalizing a board is a few table lookups and allocates nothing.
+ * 
+ * The transforms are numbered 0 - 7: 0 is the identity, 1 - 3 the clockwise rotations by 90, 180 and 270
+ * degrees, and 4 - 7 the same rotations applied after the reflection over the main diagonal.
+ * 
+ * canonicalize returns both the canonical board and the transform mapping the board to it, packed into an int,
+ * so a move found for the canonical board is mapped back with transformCell(cell, inverse(transform)).
+ * 
+ * @author Nicolae Caralicea
+ *
+ */
+public final class TicTacToeSymmetry {
+
+	/**
+	 * the number of symmetries of the square board.
+	 */
+	public static final int TRANSFORMS = 8;
+	
+	/**
+	 * the identity transform.
+	 */
+	public static final int IDENTITY = 0;
+	
+	private static final int CELLS = TicTacToeWinDetector.CELLS;
+	
+	private static final int SIZE = TicTacToeWinDetector.SIZE;
+	
+	private static final int MASK = (1 << CELLS) - 1;
+	
+	/**
+	 * the bits of the packed board holding the canonical board returned by canonicalize, 
+	 * the transform being held by the bits above them.
+	 */
+	private static final int BOARD_BITS = 2 * CELLS;
+	
+	/**
+	 * the cell every cell is mapped to, by transform.
+	 */
+	private static final int[][] CELL_MAPS = new int[TRANSFORMS][CELLS];
+	
+	/**
+	 * the occupancy mask every occupancy mask is mapped to, by transform.
+	 */
+	private static final short[][] MASK_MAPS = new short[TRANSFORMS][1 << CELLS];
+	
+	private static final int[] INVERSES = new int[TRANSFORMS];
+	
+	static {
+		for (int transform = 0; transform < TRANSFORMS; transform++) {
+			for (int cell = 0; cell < CELLS; cell++) {
+				int row = cell / SIZE;
+				int column = cell % SIZE;
+				if (transform >= 4) {
+					final int swap = row;
+					row = column;
+					column = swap;
+				}
+				for (int rotation = 0; rotation < transform % 4; rotation++) {
+					final int rotatedRow = column;
+					column = SIZE - 1 - row;
+					row = rotatedRow;
+				}
+				CELL_MAPS[transform][cell] = row * SIZE + column;
+			}
+			for (int mask = 1; mask <= MASK; mask++) {
+				final int cell = Integer.numberOfTrailingZeros(mask);
+				MASK_MAPS[transform][mask] = (short) (MASK_MAPS[transform][mask & (mask - 1)] | 1 << CELL_MAPS[transform][cell]);
+			}
+		}
+		for (int transform = 0; transform < TRANSFORMS; transform++) {
+			for (int candidate = 0; candidate < TRANSFORMS; candidate++) {
+				boolean isInverse = true;
+				for (int cell = 0; cell < CELLS; cell++) {
+					isInverse = isInverse && CELL_MAPS[candidate][CELL_MAPS[transform][cell]] == cell;
+				}
+				if (isInverse) {
+					INVERSES[transform] = candidate;
+				}
+			}
+		}
+	}
+	
+	private TicTacToeSymmetry() {
+	}
+	
+	/**
+	 * Packs the occupancy masks of the players into a board.
+	 * 
+	 * @param firstMask
+	 * 		- the occupancy mask of the first player.
+	 * @param secondMask
+	 * 		- the occupancy mask of the second player.
+	 * @return
+	 * 		- returns the packed board.
+	 */
+	public static int pack(final int firstMask, final int secondMask) {
+		return firstMask | secondMask << CELLS;
+	}
+	
+	/**
+	 * Transforms a cell.
+	 * 
+	 * @param cell
+	 * 		- the cell index.
+	 * @param transform
+	 * 		- the transform (0 - 7).
+	 * @return
+	 * 		- returns the cell the cell is mapped to.
+	 */
+	public static int transformCell(final int cell, final int transform) {
+		return CELL_MAPS[transform][cell];
+	}
+	
+	/**
+	 * Transforms an occupancy mask.
+	 * 
+	 * @param mask
+	 * 		- the occupancy mask.
+	 * @param transform
+	 * 		- the transform (0 - 7).
+	 * @return
+	 * 		- returns the occupancy mask the mask is mapped to.
+	 */
+	public static int transformMask(final int mask, final int transform) {
+		return MASK_MAPS[transform][mask];
+	}
+	
+	/**
+	 * Transforms a packed board.
+	 * 
+	 * @param board
+	 * 		- the packed board.
+	 * @param transform
+	 * 		- the transform (0 - 7).
+	 * @return
+	 * 		- returns the packed board the board is mapped to.
+	 */
+	public static int transformBoard(final int board, final int transform) {
+		final short[] maskMap = MASK_MAPS[transform];
+		return maskMap[board & MASK] | maskMap[(board >>> CELLS) & MASK] << CELLS;
+	}
+	
+	/**
+	 * Gets the transform undoing the transform provided as argument.
+	 * 
+	 * @param transform
+	 * 		- the transform (0 - 7).
+	 * @return
+	 * 		- returns the inverse transform.
+	 */
+	public static int inverse(final int transform) {
+		return INVERSES[transform];
+	}
+	
+	/**
+	 * Maps a packed board to its canonical form: the smallest packed board among its 8 transforms.
+	 * 
+	 * @param board
+	 * 		- the packed board.
+	 * @return
+	 * 		- returns the canonical board and the transform mapping the board to it, packed together
+	 * 		  (see getCanonicalBoard and getTransform).
+	 */
+	public static int canonicalize(final int board) {
+		final int first = board & MASK;
+		final int second = (board >>> CELLS) & MASK;
+		int best = board;
+		int bestTransform = IDENTITY;
+		for (int transform = 1; transform < TRANSFORMS; transform++) {
+			final short[] maskMap = MASK_MAPS[transform];
+			final int candidate = maskMap[first] | maskMap[second] << CELLS;
+			if (candidate < best) {
+				best = candidate;
+				bestTransform = transform;
+			}
+		}
+		return best | bestTransform << BOARD_BITS;
+	}
+	
+	/**
+	 * Gets the canonical board out of the result of canonicalize.
+	 * 
+	 * @param canonical
+	 * 		- the result of canonicalize.
+	 * @return
+	 * 		- returns the canonical packed board.
+	 */
+	public static int getCanonicalBoard(final int canonical) {
+		return canonical & ((1 << BOARD_BITS) - 1);
+	}
+	
+	/**
+	 * Gets the transform out of the result of canonicalize.
+	 * 
+	 * @param canonical
+	 * 		- the result of canonicalize.
+	 * @return
+	 * 		- returns the transform mapping the original board to the canonical one.
+	 */
+	public static int getTransform(final int canonical) {
+		return canonical >>> BOARD_BITS;
+	}
+}
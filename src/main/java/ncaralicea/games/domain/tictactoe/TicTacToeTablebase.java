@@ -0,0 +1,295 @@
+package ncaralicea.games.domain.tictactoe;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+
+import ncaralicea.games.domain.IStateSpace;
+
+/**
+ * TicTacToeTablebase holds the perfect play result of every reachable Tic-Tac-Toe position (5478 of them), 
+ * so selecting the best move is a table lookup.
+ * 
+ * Positions are keyed relative to the player to move: every cell is a base 3 digit (0 for an empty cell, 1 for
+ * a cell of the player to move, 2 for a cell of the opponent), the cell index selecting the power of 3, so the
+ * table is directly indexed by a number lower than 3^9. Every entry is packed into a short:
+ * 
+ * 		bit 15			- set for the reachable positions
+ * 		bits 13 - 14	- the value for the player to move + 1 (0 loss, 1 draw, 2 win)
+ * 		bits 9 - 12		- the number of plies until the game ends with perfect play
+ * 		bits 0 - 8		- the mask of the best moves (cells)
+ * 
+ * The best moves are the moves keeping the value of the position: the quickest wins, the slowest losses,
+ * or any move keeping the draw. The value, the distance and the best moves of an entry are meaningful only for
+ * the reachable positions: isReachable(entry) is to be checked before reading them. The table ships as the 
+ * tictactoe.tb resource, written by TicTacToeTablebaseGenerator.
+ * 
+ * @author Nicolae Caralicea
+ *
+ */
+public final class TicTacToeTablebase {
+	
+	/**
+	 * the player to move loses with perfect play.
+	 */
+	public static final int LOSS = -1;
+	
+	/**
+	 * the game ends in a draw with perfect play.
+	 */
+	public static final int DRAW = 0;
+	
+	/**
+	 * the player to move wins with perfect play.
+	 */
+	public static final int WIN = 1;
+	
+	/**
+	 * the entry returned by the probes of unreachable positions (an entry, not a value: isReachable is false).
+	 */
+	public static final int UNREACHABLE_ENTRY = 0;
+	
+	/**
+	 * the name of the tablebase resource, relative to this class.
+	 */
+	static final String RESOURCE_NAME = "tictactoe.tb";
+	
+	/**
+	 * the first int of the resource ("TTTB").
+	 */
+	static final int MAGIC = 0x54545442;
+	
+	/**
+	 * the format version, the second int of the resource.
+	 */
+	static final int VERSION = 1;
+	
+	/**
+	 * the number of entries (3^9).
+	 */
+	static final int ENTRIES = 19683;
+	
+	/**
+	 * the base 3 value of every occupancy mask (the sum of 3^cell for the cells of the mask).
+	 */
+	private static final int[] TERNARY = new int[1 << TicTacToeWinDetector.CELLS];
+	
+	static {
+		for (int mask = 1; mask < TERNARY.length; mask++) {
+			final int cell = Integer.numberOfTrailingZeros(mask);
+			int power = 1;
+			for (int i = 0; i < cell; i++) {
+				power *= 3;
+			}
+			TERNARY[mask] = TERNARY[mask & (mask - 1)] + power;
+		}
+	}
+	
+	private final short[] entries;
+	
+	private TicTacToeTablebase(final short[] entries) {
+		this.entries = entries;
+	}
+	
+	/**
+	 * Gets the tablebase shipped as resource, loading it on the first call.
+	 * 
+	 * @return
+	 * 		- returns the shared tablebase.
+	 */
+	public static TicTacToeTablebase getInstance() {
+		return Holder.INSTANCE;
+	}
+	
+	/**
+	 * Loads a tablebase.
+	 * 
+	 * @param in
+	 * 		- the stream to read the tablebase from (it is not closed).
+	 * @return
+	 * 		- returns the tablebase.
+	 * @throws IOException
+	 * 		- if the stream could not be read or does not hold a tablebase.
+	 */
+	public static TicTacToeTablebase load(final InputStream in) throws IOException {
+		final ByteArrayOutputStream bytes = new ByteArrayOutputStream(8 + 2 * ENTRIES + 4);
+		final byte[] chunk = new byte[8192];
+		for (int read = in.read(chunk); read >= 0; read = in.read(chunk)) {
+			bytes.write(chunk, 0, read);
+		}
+		final ByteBuffer buffer = ByteBuffer.wrap(bytes.toByteArray());
+		if (buffer.remaining() != 12 + 2 * ENTRIES || buffer.getInt() != MAGIC || buffer.getInt() != VERSION 
+				|| buffer.getInt() != ENTRIES) {
+			throw new IOException("The stream does not hold a Tic-Tac-Toe tablebase.");
+		}
+		final short[] entries = new short[ENTRIES];
+		buffer.asShortBuffer().get(entries);
+		return new TicTacToeTablebase(entries);
+	}
+	
+	/**
+	 * Creates a tablebase from the entries provided as argument.
+	 * 
+	 * @param entries
+	 * 		- the packed entries, indexed by position.
+	 * @return
+	 * 		- returns the tablebase.
+	 */
+	static TicTacToeTablebase of(final short[] entries) {
+		return new TicTacToeTablebase(entries.clone());
+	}
+	
+	/**
+	 * Gets the entry of the position given by the occupancy masks of the players.
+	 * 
+	 * @param moverMask
+	 * 		- the occupancy mask of the player to move.
+	 * @param opponentMask
+	 * 		- the occupancy mask of the opponent.
+	 * @return
+	 * 		- returns the packed entry, or UNREACHABLE_ENTRY if the position can not be reached (overlapping masks,
+	 * 		or cells outside of the board).
+	 */
+	public int probe(final int moverMask, final int opponentMask) {
+		if ((moverMask & opponentMask) != 0 || ((moverMask | opponentMask) & ~0x1FF) != 0) {
+			return UNREACHABLE_ENTRY;
+		}
+		return this.entries[indexOf(moverMask, opponentMask)] & 0xFFFF;
+	}
+	
+	/**
+	 * Gets the entry of the current position of the game.
+	 * 
+	 * @param game
+	 * 		- the game.
+	 * @return
+	 * 		- returns the packed entry.
+	 */
+	public int probe(final TicTacToeGame game) {
+		return this.probe(game.getMoverOccupancyMask(), game.getOpponentOccupancyMask());
+	}
+	
+	/**
+	 * Gets the entry of the position recorded by a state space.
+	 * 
+	 * @param stateSpace
+	 * 		- the state space.
+	 * @param playerToMove
+	 * 		- the player to move.
+	 * @return
+	 * 		- returns the packed entry, or UNREACHABLE_ENTRY if the position can not be reached.
+	 */
+	public int probe(final IStateSpace<TicTacToeMove, TicTacToePlayer> stateSpace, final TicTacToePlayer playerToMove) {
+		int moverMask = 0;
+		int opponentMask = 0;
+		for (int cell = 0; cell < TicTacToeWinDetector.CELLS; cell++) {
+			final TicTacToeMove move = TicTacToeMove.ofCell(cell);
+			final TicTacToePlayer player = stateSpace.getPlayerAt(move.getHorizontalPosition(), move.getVerticalPosition());
+			if (player != null) {
+				if (player.equals(playerToMove)) {
+					moverMask |= 1 << cell;
+				} else {
+					opponentMask |= 1 << cell;
+				}
+			}
+		}
+		return this.probe(moverMask, opponentMask);
+	}
+	
+	/**
+	 * Gets a best move for the current position of the game.
+	 * 
+	 * @param game
+	 * 		- the game.
+	 * @return
+	 * 		- returns the best move with the lowest cell index, or null if the game has ended.
+	 */
+	public TicTacToeMove getBestMove(final TicTacToeGame game) {
+		final int bestMoves = getBestMovesMask(this.probe(game));
+		return bestMoves != 0 ? TicTacToeMove.ofCell(Integer.numberOfTrailingZeros(bestMoves)) : null;
+	}
+	
+	/**
+	 * Checks if an entry belongs to a reachable position.
+	 * 
+	 * @param entry
+	 * 		- the packed entry.
+	 * @return
+	 * 		- returns true for a reachable position.
+	 */
+	public static boolean isReachable(final int entry) {
+		return (entry & 0x8000) != 0;
+	}
+	
+	/**
+	 * Gets the value of the position for the player to move. The entry must be reachable (see isReachable).
+	 * 
+	 * @param entry
+	 * 		- the packed entry.
+	 * @return
+	 * 		- returns WIN, DRAW or LOSS.
+	 */
+	public static int getValue(final int entry) {
+		return ((entry >>> 13) & 0x3) - 1;
+	}
+
+	/**
+	 * Gets the number of plies until the game ends with perfect play. The entry must be reachable (see isReachable).
+	 * 
+	 * @param entry
+	 * 		- the packed entry.
+	 * @return
+	 * 		- returns the distance to the end of the game (0 when the game has ended).
+	 */
+	public static int getDistanceToEnd(final int entry) {
+		return (entry >>> 9) & 0xF;
+	}
+	
+	/**
+	 * Gets the best moves of the position. The entry must be reachable (see isReachable), the mask of
+	 * UNREACHABLE_ENTRY being empty.
+	 * 
+	 * @param entry
+	 * 		- the packed entry.
+	 * @return
+	 * 		- returns the mask of the best cells (0 when the game has ended).
+	 */
+	public static int getBestMovesMask(final int entry) {
+		return entry & 0x1FF;
+	}
+	
+	/**
+	 * Packs an entry.
+	 */
+	static short toEntry(final int value, final int distanceToEnd, final int bestMovesMask) {
+		return (short) (0x8000 | (value + 1) << 13 | distanceToEnd << 9 | bestMovesMask);
+	}
+	
+	/**
+	 * Gets the index of the position inside the table.
+	 */
+	static int indexOf(final int moverMask, final int opponentMask) {
+		return TERNARY[moverMask] + 2 * TERNARY[opponentMask];
+	}
+	
+	/**
+	 * Lazily loads the shipped tablebase.
+	 */
+	private static final class Holder {
+		
+		private static final TicTacToeTablebase INSTANCE = loadResource();
+		
+		private static TicTacToeTablebase loadResource() {
+			try (final InputStream in = TicTacToeTablebase.class.getResourceAsStream(RESOURCE_NAME)) {
+				if (in == null) {
+					throw new IOException("The resource " + RESOURCE_NAME + " is missing.");
+				}
+				return load(in);
+			} catch (final IOException e) {
+				throw new UncheckedIOException(e);
+			}
+		}
+	}
+}
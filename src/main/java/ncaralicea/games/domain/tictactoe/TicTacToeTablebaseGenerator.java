@@ -0,0 +1,132 @@
+package ncaralicea.games.domain.tictactoe;
+
+import java.io.DataOutputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * TicTacToeTablebaseGenerator solves every reachable Tic-Tac-Toe position and writes the tablebase resource
+ * loaded by TicTacToeTablebase.
+ * 
+ * The resource is regenerated with:
+ * 
+ * 		java ncaralicea.games.domain.tictactoe.TicTacToeTablebaseGenerator src/main/resources/ncaralicea/games/domain/tictactoe/tictactoe.tb
+ * 
+ * @author Nicolae Caralicea
+ *
+ */
+public final class TicTacToeTablebaseGenerator {
+
+	private static final int FULL_BOARD = (1 << TicTacToeWinDetector.CELLS) - 1;
+	
+	private final short[] entries = new short[TicTacToeTablebase.ENTRIES];
+	
+	private TicTacToeTablebaseGenerator() {
+	}
+	
+	/**
+	 * Solves all the positions reachable from the empty board.
+	 * 
+	 * @return
+	 * 		- returns the packed entries, indexed by position.
+	 */
+	public static short[] generate() {
+		final TicTacToeTablebaseGenerator generator = new TicTacToeTablebaseGenerator();
+		generator.solve(0, 0);
+		return generator.entries;
+	}
+	
+	/**
+	 * Writes the entries in the tablebase resource format.
+	 * 
+	 * @param entries
+	 * 		- the packed entries.
+	 * @param out
+	 * 		- the stream to write to (it is not closed).
+	 * @throws IOException
+	 * 		- if the stream can not be written.
+	 */
+	public static void write(final short[] entries, final OutputStream out) throws IOException {
+		final DataOutputStream data = new DataOutputStream(out);
+		data.writeInt(TicTacToeTablebase.MAGIC);
+		data.writeInt(TicTacToeTablebase.VERSION);
+		data.writeInt(entries.length);
+		for (final short entry : entries) {
+			data.writeShort(entry);
+		}
+		data.flush();
+	}
+	
+	public static void main(final String[] args) throws IOException {
+		if (args.length != 1) {
+			System.err.println("Usage: TicTacToeTablebaseGenerator <output file>");
+			System.exit(1);
+		}
+		try (final OutputStream out = new FileOutputStream(args[0])) {
+			write(generate(), out);
+		}
+	}
+	
+	/**
+	 * Solves the position, and recursively all the positions reachable from it.
+	 * 
+	 * @param moverMask
+	 * 		- the occupancy mask of the player to move.
+	 * @param opponentMask
+	 * 		- the occupancy mask of the opponent.
+	 * @return
+	 * 		- returns the packed entry of the position.
+	 */
+	private int solve(final int moverMask, final int opponentMask) {
+		final int index = TicTacToeTablebase.indexOf(moverMask, opponentMask);
+		if (this.entries[index] != 0) {
+			return this.entries[index];
+		}
+		
+		final int occupied = moverMask | opponentMask;
+		if (TicTacToeWinDetector.isWinning(opponentMask)) {
+			this.entries[index] = TicTacToeTablebase.toEntry(TicTacToeTablebase.LOSS, 0, 0);
+		} else if (occupied == FULL_BOARD) {
+			this.entries[index] = TicTacToeTablebase.toEntry(TicTacToeTablebase.DRAW, 0, 0);
+		} else {
+			int bestValue = Integer.MIN_VALUE;
+			int bestDistance = 0;
+			int bestMoves = 0;
+			for (int cell = 0; cell < TicTacToeWinDetector.CELLS; cell++) {
+				if ((occupied & (1 << cell)) != 0) {
+					continue;
+				}
+				final int child = this.solve(opponentMask, moverMask | 1 << cell);
+				final int value = -TicTacToeTablebase.getValue(child);
+				final int distance = TicTacToeTablebase.getDistanceToEnd(child) + 1;
+				final int order = compare(value, distance, bestValue, bestDistance);
+				if (order > 0) {
+					bestValue = value;
+					bestDistance = distance;
+					bestMoves = 1 << cell;
+				} else if (order == 0) {
+					bestMoves |= 1 << cell;
+				}
+			}
+			this.entries[index] = TicTacToeTablebase.toEntry(bestValue, bestDistance, bestMoves);
+		}
+		return this.entries[index];
+	}
+	
+	/**
+	 * Compares two outcomes from the point of view of the player to move: a higher value is better, 
+	 * a quicker win is better, and a slower loss is better.
+	 */
+	private static int compare(final int value, final int distance, final int otherValue, final int otherDistance) {
+		if (value != otherValue) {
+			return value > otherValue ? 1 : -1;
+		} else if (value == TicTacToeTablebase.WIN) {
+			return Integer.compare(otherDistance, distance);
+		} else if (value == TicTacToeTablebase.LOSS) {
+			return Integer.compare(distance, otherDistance);
+		} else {
+			return 0;
+		}
+	}
+}
@@ -0,0 +1,143 @@
+package ncaralicea.games.domain.tictactoe;
+
+/**
+ * TicTacToeWinDetector detects the winning lines of the 3X3 Tic-Tac-Toe board on player occupancy masks.
+ * 
+ * An occupancy mask holds one bit per cell, the cell of the position (hPos, vPos) being mapped to the
+ * bit (hPos - MIN) * 3 + (vPos - MIN).
+ * 
+ * The eight winning lines are precomputed as masks, and they are also indexed by cell, so after a move only
+ * the two to four lines passing through the cell of the move have to be tested.
+ * 
+ * @author Nicolae Caralicea
+ *
+ */
+public final class TicTacToeWinDetector {
+
+	/**
+	 * the number of cells on a row/column of the board.
+	 */
+	public static final int SIZE = TicTacToeStateSpace.MAX - TicTacToeStateSpace.MIN + 1;
+	
+	/**
+	 * the number of cells of the board.
+	 */
+	public static final int CELLS = SIZE * SIZE;
+	
+	/**
+	 * the masks of the eight winning lines: the three horizontal lines, the three vertical lines,
+	 * the main diagonal and the secondary diagonal.
+	 */
+	private static final int[] WIN_MASKS = new int[]{
+		0x007, 0x038, 0x1C0,
+		0x049, 0x092, 0x124,
+		0x111, 0x054
+	};
+	
+	/**
+	 * the winning line masks passing through every cell, indexed by cell.
+	 */
+	private static final int[][] WIN_MASKS_BY_CELL = new int[CELLS][];
+	
+	static {
+		for (int cell = 0; cell < CELLS; cell++) {
+			int count = 0;
+			for (final int mask : WIN_MASKS) {
+				if ((mask & (1 << cell)) != 0) {
+					count++;
+				}
+			}
+			WIN_MASKS_BY_CELL[cell] = new int[count];
+			count = 0;
+			for (final int mask : WIN_MASKS) {
+				if ((mask & (1 << cell)) != 0) {
+					WIN_MASKS_BY_CELL[cell][count++] = mask;
+				}
+			}
+		}
+	}
+	
+	private TicTacToeWinDetector() {
+	}
+	
+	/**
+	 * Gets the cell index of the position provided as arguments.
+	 * 
+	 * @param hPos
+	 * 		- the horizontal position.
+	 * 
+	 * @param vPos
+	 * 		- the vertical position.
+	 * 
+	 * @return
+	 * 		- returns the cell index (0 - 8) of the position.
+	 */
+	public static int cellIndexOf(final int hPos, final int vPos) {
+		return (hPos - TicTacToeStateSpace.MIN) * SIZE + (vPos - TicTacToeStateSpace.MIN);
+	}
+	
+	/**
+	 * Checks if the occupancy mask contains at least one winning line.
+	 * 
+	 * @param occupancy
+	 * 		- the occupancy mask of a player.
+	 * 
+	 * @return
+	 * 		- returns true if the mask contains a winning line.
+	 */
+	public static boolean isWinning(final int occupancy) {
+		for (final int mask : WIN_MASKS) {
+			if ((occupancy & mask) == mask) {
+				return true;
+			}
+		}
+		return false;
+	}
+	
+	/**
+	 * Checks if the occupancy mask contains a winning line passing through the cell provided as argument.
+	 * 
+	 * Only the lines through the cell are tested, so this is the check to be done right after a move
+	 * has been placed on the cell.
+	 * 
+	 * @param occupancy
+	 * 		- the occupancy mask of a player.
+	 * 
+	 * @param cell
+	 * 		- the cell index of the last placed move.
+	 * 
+	 * @return
+	 * 		- returns true if a winning line passes through the cell.
+	 */
+	public static boolean isWinningAt(final int occupancy, final int cell) {
+		for (final int mask : WIN_MASKS_BY_CELL[cell]) {
+			if ((occupancy & mask) == mask) {
+				return true;
+			}
+		}
+		return false;
+	}
+	
+	/**
+	 * Gets the number of winning lines.
+	 * 
+	 * @return
+	 * 		- returns 8.
+	 */
+	public static int getWinMasksCount() {
+		return WIN_MASKS.length;
+	}
+	
+	/**
+	 * Gets a winning line mask.
+	 * 
+	 * @param index
+	 * 		- the index (0 - 7) of the winning line.
+	 * 
+	 * @return
+	 * 		- returns the mask of the winning line.
+	 */
+	public static int getWinMask(final int index) {
+		return WIN_MASKS[index];
+	}
+}
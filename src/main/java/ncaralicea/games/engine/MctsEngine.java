@@ -0,0 +1,399 @@
+package ncaralicea.games.engine;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import ncaralicea.games.domain.IBoardGame;
+import ncaralicea.games.domain.IBoardPosition;
+import ncaralicea.games.domain.IPlayer;
+import ncaralicea.games.domain.IStateSpace;
+
+/**
+ * MctsEngine is an anytime Monte Carlo tree search (UCT) engine for two player board games exposed through IBoardGame,
+ * meant for the boards too large to be solved by NegamaxEngine.
+ *
+ * Every search runs a number of workers in parallel (see MctsMode), each one on its own copy of the game: it walks
+ * down the tree with makeMove, picking the moves by their upper confidence bound, plays the rest of the game at random,
+ * and takes all the moves back with unmakeMove. The search stops when its time budget or its playout budget (whichever
+ * comes first) is spent, and the most visited root move is played.
+ *
+ * The workers run on a ForkJoinPool owned by the engine (one thread per worker), unless an executor is provided.
+ *
+ * Note:
+ *
+ * 		The engine is not thread safe, and the game must not be changed while a search runs.
+ *
+ * @author Nicolae Caralicea
+ *
+ * @param <M>
+ * 		- generic type argument used to represent the board position type.
+ *
+ * @param <P>
+ * 		- generic type argument used to represent the player type.
+ */
+public class MctsEngine<M extends IBoardPosition, P extends IPlayer> implements AutoCloseable {
+
+	/**
+	 * the default time budget of a search, in milliseconds.
+	 */
+	public static final long DEFAULT_TIME_BUDGET_MILLIS = 1000;
+
+	/**
+	 * the exploration constant of the upper confidence bound.
+	 */
+	private static final double EXPLORATION = Math.sqrt(2);
+
+	/**
+	 * the number of visits of a node before its moves are listed, so the leaves visited only once
+	 * do not cost a list of moves.
+	 */
+	private static final int EXPANSION_VISITS = 1;
+
+	private final IBoardGame<M, P> game;
+
+	private MctsMode mode = MctsMode.TREE_PARALLEL;
+
+	private int parallelism = Runtime.getRuntime().availableProcessors();
+
+	private long timeBudgetNanos = TimeUnit.MILLISECONDS.toNanos(DEFAULT_TIME_BUDGET_MILLIS);
+
+	private long playoutBudget = Long.MAX_VALUE;
+
+	private SplittableRandom random = new SplittableRandom();
+
+	private ExecutorService executor;
+
+	private ForkJoinPool ownedPool;
+
+	/**
+	 * Creates an engine for the game.
+	 *
+	 * @param game
+	 * 		- the game to be searched.
+	 */
+	public MctsEngine(final IBoardGame<M, P> game) {
+		this.game = game;
+	}
+
+	/**
+	 * Searches the current position of the game.
+	 *
+	 * @return
+	 * 		- returns the most visited move and the playout statistics of the search.
+	 */
+	public MctsResult<M> search() {
+		final long start = System.nanoTime();
+		if (this.game.isGameEnded()) {
+			return new MctsResult<M>(null, 0, 0, new long[0], 0);
+		}
+
+		final long deadline = start + this.timeBudgetNanos;
+		final AtomicLong claimedPlayouts = new AtomicLong();
+		final MctsNode sharedRoot = this.mode == MctsMode.TREE_PARALLEL ? new MctsNode() : null;
+		final List<Worker> workers = new ArrayList<Worker>(this.parallelism);
+		for (int i = 0; i < this.parallelism; i++) {
+			final MctsNode root = sharedRoot != null ? sharedRoot : new MctsNode();
+			workers.add(new Worker(this.game.copy(), root, this.random.split(), deadline, claimedPlayouts));
+		}
+
+		final long[] threadPlayouts = new long[workers.size()];
+		try {
+			final List<Future<Long>> futures = this.getExecutor().invokeAll(workers);
+			for (int i = 0; i < threadPlayouts.length; i++) {
+				threadPlayouts[i] = futures.get(i).get();
+			}
+		} catch (final InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new IllegalStateException("The search was interrupted.", e);
+		} catch (final ExecutionException e) {
+			throw new IllegalStateException("The search failed.", e.getCause());
+		}
+
+		return this.collectResult(workers, threadPlayouts, System.nanoTime() - start);
+	}
+
+	/**
+	 * Finds the best move for the player to move.
+	 *
+	 * @return
+	 * 		- returns the best move, or null if the game has already ended.
+	 */
+	public M findBestMove() {
+		return this.search().getBestMove();
+	}
+
+	/**
+	 * Sets how the workers share the search.
+	 *
+	 * @param mode
+	 * 		- the parallel mode.
+	 */
+	public void setMode(final MctsMode mode) {
+		this.mode = mode;
+	}
+
+	/**
+	 * Sets the number of workers searching in parallel (by default, the number of available processors).
+	 *
+	 * @param parallelism
+	 * 		- the number of workers.
+	 */
+	public void setParallelism(final int parallelism) {
+		if (parallelism < 1) {
+			throw new IllegalArgumentException("The parallelism should be at least 1: " + parallelism);
+		}
+		if (this.ownedPool != null && this.ownedPool.getParallelism() != parallelism) {
+			this.ownedPool.shutdown();
+			this.ownedPool = null;
+		}
+		this.parallelism = parallelism;
+	}
+
+	/**
+	 * Limits the duration of the searches.
+	 *
+	 * @param timeBudget
+	 * 		- the maximum duration of a search.
+	 * @param unit
+	 * 		- the time unit of the budget.
+	 */
+	public void setTimeBudget(final long timeBudget, final TimeUnit unit) {
+		this.timeBudgetNanos = unit.toNanos(timeBudget);
+	}
+
+	/**
+	 * Limits the number of playouts of the searches (summed up over all the workers).
+	 *
+	 * @param playoutBudget
+	 * 		- the maximum number of playouts of a search.
+	 */
+	public void setPlayoutBudget(final long playoutBudget) {
+		this.playoutBudget = playoutBudget;
+	}
+
+	/**
+	 * Seeds the random playouts, the workers getting independent generators split from it.
+	 *
+	 * @param seed
+	 * 		- the seed.
+	 */
+	public void setSeed(final long seed) {
+		this.random = new SplittableRandom(seed);
+	}
+
+	/**
+	 * Sets the executor running the workers, instead of the pool owned by the engine.
+	 *
+	 * It should be able to run the workers of a search concurrently (at least parallelism threads), since
+	 * a worker waiting for a thread may find its time budget already spent.
+	 *
+	 * @param executor
+	 * 		- the executor, or null to use the pool owned by the engine.
+	 */
+	public void setExecutor(final ExecutorService executor) {
+		this.executor = executor;
+	}
+
+	/**
+	 * Shuts down the pool owned by the engine (an executor provided by the caller is left running).
+	 */
+	public void close() {
+		if (this.ownedPool != null) {
+			this.ownedPool.shutdown();
+			this.ownedPool = null;
+		}
+	}
+
+	private ExecutorService getExecutor() {
+		if (this.executor != null) {
+			return this.executor;
+		}
+		if (this.ownedPool == null) {
+			this.ownedPool = new ForkJoinPool(this.parallelism);
+		}
+		return this.ownedPool;
+	}
+
+	/**
+	 * Sums up the visits and the scores of the root moves over the roots of the workers (a single shared root
+	 * in the tree parallel mode), and picks the most visited move.
+	 */
+	private MctsResult<M> collectResult(final List<Worker> workers, final long[] threadPlayouts, final long elapsedNanos) {
+		final IStateSpace<M, P> stateSpace = this.game.getStateSpace();
+		final int size = stateSpace.getMaxPosition() - stateSpace.getMinPosition() + 1;
+		final long[] visits = new long[size * size];
+		final long[] scores = new long[size * size];
+		MctsNode previousRoot = null;
+		for (final Worker worker : workers) {
+			final MctsNode.Expansion expansion = worker.root.getExpansion();
+			if (worker.root == previousRoot || expansion == null) {
+				continue;
+			}
+			previousRoot = worker.root;
+			for (int i = 0; i < expansion.size(); i++) {
+				final MctsNode child = expansion.peekChild(i);
+				if (child != null) {
+					final long stats = child.getStats();
+					visits[expansion.getCell(i)] += MctsNode.visitsOf(stats);
+					scores[expansion.getCell(i)] += MctsNode.scoreOf(stats);
+				}
+			}
+		}
+
+		int bestCell = stateSpace.nextAvailableCell(0);
+		for (int cell = 0; cell < visits.length; cell++) {
+			if (visits[cell] > visits[bestCell]) {
+				bestCell = cell;
+			}
+		}
+		final double value = visits[bestCell] > 0 ? scores[bestCell] / (2.0 * visits[bestCell]) : 0;
+		return new MctsResult<M>(stateSpace.getMoveAt(bestCell), visits[bestCell], value, threadPlayouts, elapsedNanos);
+	}
+
+	/**
+	 * Worker runs the playouts of a search on its own copy of the game.
+	 */
+	private final class Worker implements Callable<Long> {
+
+		private final IBoardGame<M, P> game;
+
+		private final IStateSpace<M, P> stateSpace;
+
+		private final MctsNode root;
+
+		private final SplittableRandom random;
+
+		private final long deadline;
+
+		private final AtomicLong claimedPlayouts;
+
+		/**
+		 * the nodes of the current path, indexed by depth.
+		 */
+		private final MctsNode[] path;
+
+		/**
+		 * the free cells of the current playout.
+		 */
+		private final int[] freeCells;
+
+		private Worker(final IBoardGame<M, P> game, final MctsNode root, final SplittableRandom random,
+				final long deadline, final AtomicLong claimedPlayouts) {
+			this.game = game;
+			this.stateSpace = game.getStateSpace();
+			this.root = root;
+			this.random = random;
+			this.deadline = deadline;
+			this.claimedPlayouts = claimedPlayouts;
+			final int cells = this.stateSpace.getAvailableMovesCount();
+			this.path = new MctsNode[cells + 1];
+			this.freeCells = new int[cells];
+		}
+
+		public Long call() {
+			long playouts = 0;
+			while (System.nanoTime() < this.deadline && this.claimedPlayouts.getAndIncrement() < MctsEngine.this.playoutBudget) {
+				this.iterate();
+				playouts++;
+			}
+			return playouts;
+		}
+
+		/**
+		 * Runs a playout: selects a leaf (expanding the nodes visited often enough), finishes the game at random,
+		 * and adds the result to the nodes on the path.
+		 */
+		private void iterate() {
+			MctsNode node = this.root;
+			node.addVisit();
+			int depth = 0;
+			while (!this.game.isGameEnded()) {
+				MctsNode.Expansion expansion = node.getExpansion();
+				if (expansion == null) {
+					if (depth > 0 && MctsNode.visitsOf(node.getStats()) <= EXPANSION_VISITS) {
+						break;
+					}
+					expansion = node.expand(this.stateSpace);
+				}
+				final int index = select(node, expansion);
+				this.game.makeMove(this.stateSpace.getMoveAt(expansion.getCell(index)));
+				node = expansion.getChild(index);
+				node.addVisit();
+				this.path[++depth] = node;
+			}
+
+			final int moves = depth + this.playOut();
+			final boolean won = this.game.existWinner();
+			final int winnerSide = (moves - 1) & 1;
+			for (int d = 1; d <= depth; d++) {
+				this.path[d].addScore(!won ? 1 : ((d - 1) & 1) == winnerSide ? 2 : 0);
+				this.path[d] = null;
+			}
+			for (int i = 0; i < moves; i++) {
+				this.game.unmakeMove();
+			}
+		}
+
+		/**
+		 * Plays random moves until the game ends.
+		 *
+		 * @return
+		 * 		- returns the number of moves made.
+		 */
+		private int playOut() {
+			if (this.game.isGameEnded()) {
+				return 0;
+			}
+			int free = 0;
+			for (int cell = this.stateSpace.nextAvailableCell(0); cell >= 0; cell = this.stateSpace.nextAvailableCell(cell + 1)) {
+				this.freeCells[free++] = cell;
+			}
+			int moves = 0;
+			while (!this.game.isGameEnded()) {
+				final int index = this.random.nextInt(free);
+				final int cell = this.freeCells[index];
+				this.freeCells[index] = this.freeCells[--free];
+				this.game.makeMove(this.stateSpace.getMoveAt(cell));
+				moves++;
+			}
+			return moves;
+		}
+	}
+
+	/**
+	 * Selects the move with the highest upper confidence bound, the moves never tried first.
+	 *
+	 * The visits still running (counted on the way down, but with no result yet) lower the bound, so the
+	 * threads sharing a tree spread over its branches (virtual loss).
+	 */
+	private static int select(final MctsNode node, final MctsNode.Expansion expansion) {
+		final double logVisits = Math.log(Math.max(1, MctsNode.visitsOf(node.getStats())));
+		int best = 0;
+		double bestBound = Double.NEGATIVE_INFINITY;
+		for (int i = 0; i < expansion.size(); i++) {
+			final MctsNode child = expansion.peekChild(i);
+			if (child == null) {
+				return i;
+			}
+			final long stats = child.getStats();
+			final long visits = MctsNode.visitsOf(stats);
+			if (visits == 0) {
+				return i;
+			}
+			final double bound = MctsNode.scoreOf(stats) / (2.0 * visits) + EXPLORATION * Math.sqrt(logVisits / visits);
+			if (bound > bestBound) {
+				bestBound = bound;
+				best = i;
+			}
+		}
+		return best;
+	}
+}
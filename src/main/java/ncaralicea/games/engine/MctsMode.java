@@ -0,0 +1,23 @@
+package ncaralicea.games.engine;
+
+/**
+ * MctsMode selects how the threads of a Monte Carlo tree search share the work.
+ *
+ * @author Nicolae Caralicea
+ *
+ */
+public enum MctsMode {
+
+	/**
+	 * every thread grows its own tree from the root, and the visits of the root moves are summed up at the end.
+	 * The threads share nothing while searching.
+	 */
+	ROOT_PARALLEL,
+
+	/**
+	 * the threads grow a single shared tree, updating the statistics of its nodes lock-free. A thread counts a visit
+	 * on its way down and adds the result on its way up, so the pending visits act as a virtual loss steering the
+	 * other threads to different branches.
+	 */
+	TREE_PARALLEL
+}
@@ -0,0 +1,119 @@
+package ncaralicea.games.engine;
+
+import java.util.concurrent.atomic.AtomicLongFieldUpdater;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
+
+import ncaralicea.games.domain.IStateSpace;
+
+/**
+ * MctsNode is a node of the Monte Carlo search tree, shared lock-free by the search threads.
+ *
+ * The visits (high 32 bits) and the score (low 32 bits) are packed into a single long updated atomically,
+ * so they are always read consistently. The score is counted in half points from the point of view of the
+ * player who made the move leading to the node: 2 for a win, 1 for a draw, 0 for a loss.
+ *
+ * The children are created lazily: the moves of a node are listed when it is expanded, and the child of a
+ * move is created the first time the move is selected.
+ *
+ * @author Nicolae Caralicea
+ *
+ */
+final class MctsNode {
+
+	private static final AtomicLongFieldUpdater<MctsNode> STATS =
+			AtomicLongFieldUpdater.newUpdater(MctsNode.class, "stats");
+
+	private static final AtomicReferenceFieldUpdater<MctsNode, Expansion> EXPANSION =
+			AtomicReferenceFieldUpdater.newUpdater(MctsNode.class, Expansion.class, "expansion");
+
+	private static final long VISIT = 1L << 32;
+
+	private volatile long stats;
+
+	private volatile Expansion expansion;
+
+	void addVisit() {
+		STATS.addAndGet(this, VISIT);
+	}
+
+	void addScore(final int score) {
+		STATS.addAndGet(this, score);
+	}
+
+	long getStats() {
+		return this.stats;
+	}
+
+	Expansion getExpansion() {
+		return this.expansion;
+	}
+
+	/**
+	 * Lists the moves of the position the node stands for, unless another thread did it first.
+	 *
+	 * @param stateSpace
+	 * 		- the state space, at the position of the node.
+	 * @return
+	 * 		- returns the expansion of the node.
+	 */
+	Expansion expand(final IStateSpace<?, ?> stateSpace) {
+		final int[] cells = new int[stateSpace.getAvailableMovesCount()];
+		int count = 0;
+		for (int cell = stateSpace.nextAvailableCell(0); cell >= 0; cell = stateSpace.nextAvailableCell(cell + 1)) {
+			cells[count++] = cell;
+		}
+		final Expansion created = new Expansion(cells);
+		return EXPANSION.compareAndSet(this, null, created) ? created : this.expansion;
+	}
+
+	static long visitsOf(final long stats) {
+		return stats >>> 32;
+	}
+
+	static long scoreOf(final long stats) {
+		return stats & 0xFFFFFFFFL;
+	}
+
+	/**
+	 * Expansion holds the moves of a node (by cell) and their children.
+	 */
+	static final class Expansion {
+
+		private final int[] cells;
+
+		private final AtomicReferenceArray<MctsNode> children;
+
+		private Expansion(final int[] cells) {
+			this.cells = cells;
+			this.children = new AtomicReferenceArray<MctsNode>(cells.length);
+		}
+
+		int size() {
+			return this.cells.length;
+		}
+
+		int getCell(final int index) {
+			return this.cells[index];
+		}
+
+		/**
+		 * Gets the child of the move, or null if the move was never selected.
+		 */
+		MctsNode peekChild(final int index) {
+			return this.children.get(index);
+		}
+
+		/**
+		 * Gets the child of the move, creating it unless another thread did it first.
+		 */
+		MctsNode getChild(final int index) {
+			final MctsNode child = this.children.get(index);
+			if (child != null) {
+				return child;
+			}
+			final MctsNode created = new MctsNode();
+			return this.children.compareAndSet(index, null, created) ? created : this.children.get(index);
+		}
+	}
+}
@@ -0,0 +1,141 @@
+package ncaralicea.games.engine;
+
+import java.util.concurrent.TimeUnit;
+
+import ncaralicea.games.domain.IBoardPosition;
+
+/**
+ * MctsResult holds the outcome of a Monte Carlo tree search: the most visited move, how good it looked, and
+ * how many playouts every thread made, so the scaling of the search with the number of threads can be measured.
+ *
+ * @author Nicolae Caralicea
+ *
+ * @param <M>
+ * 		- generic type argument used to represent the board position type.
+ */
+public class MctsResult<M extends IBoardPosition> {
+
+	private final M bestMove;
+
+	private final long bestMoveVisits;
+
+	private final double bestMoveValue;
+
+	private final long[] threadPlayouts;
+
+	private final long playouts;
+
+	private final long elapsedNanos;
+
+	MctsResult(final M bestMove, final long bestMoveVisits, final double bestMoveValue, final long[] threadPlayouts,
+			final long elapsedNanos) {
+		this.bestMove = bestMove;
+		this.bestMoveVisits = bestMoveVisits;
+		this.bestMoveValue = bestMoveValue;
+		this.threadPlayouts = threadPlayouts;
+		long sum = 0;
+		for (final long threadPlayout : threadPlayouts) {
+			sum += threadPlayout;
+		}
+		this.playouts = sum;
+		this.elapsedNanos = elapsedNanos;
+	}
+
+	/**
+	 * Gets the most visited move of the root.
+	 *
+	 * @return
+	 * 		- returns the best move, or null if the game had already ended.
+	 */
+	public M getBestMove() {
+		return this.bestMove;
+	}
+
+	/**
+	 * Gets the number of visits of the best move, summed up over all the threads.
+	 *
+	 * @return
+	 * 		- returns the number of visits.
+	 */
+	public long getBestMoveVisits() {
+		return this.bestMoveVisits;
+	}
+
+	/**
+	 * Gets the average result of the playouts through the best move, for the player to move.
+	 *
+	 * @return
+	 * 		- returns a value between 0 (always lost) and 1 (always won), draws counting as 0.5.
+	 */
+	public double getBestMoveValue() {
+		return this.bestMoveValue;
+	}
+
+	/**
+	 * Gets the number of playouts made by all the threads.
+	 *
+	 * @return
+	 * 		- returns the number of playouts.
+	 */
+	public long getPlayouts() {
+		return this.playouts;
+	}
+
+	/**
+	 * Gets the number of playouts made by every thread.
+	 *
+	 * @return
+	 * 		- returns the playouts, indexed by thread.
+	 */
+	public long[] getThreadPlayouts() {
+		return this.threadPlayouts.clone();
+	}
+
+	/**
+	 * Gets the number of threads of the search.
+	 *
+	 * @return
+	 * 		- returns the number of threads.
+	 */
+	public int getThreads() {
+		return this.threadPlayouts.length;
+	}
+
+	/**
+	 * Gets the wall clock duration of the search.
+	 *
+	 * @return
+	 * 		- returns the duration in nanoseconds.
+	 */
+	public long getElapsedNanos() {
+		return this.elapsedNanos;
+	}
+
+	/**
+	 * Gets the number of playouts per second made by all the threads.
+	 *
+	 * @return
+	 * 		- returns the playout rate.
+	 */
+	public double getPlayoutsPerSecond() {
+		return this.elapsedNanos > 0 ? this.playouts * (double) TimeUnit.SECONDS.toNanos(1) / this.elapsedNanos : 0;
+	}
+
+	/**
+	 * Gets the average number of playouts per second made by a thread, which stays flat as long as the search
+	 * scales linearly with the number of threads.
+	 *
+	 * @return
+	 * 		- returns the playout rate per thread.
+	 */
+	public double getPlayoutsPerSecondPerThread() {
+		return this.threadPlayouts.length > 0 ? this.getPlayoutsPerSecond() / this.threadPlayouts.length : 0;
+	}
+
+	@Override
+	public String toString() {
+		return String.format("MctsResult[bestMove=%s, visits=%d, value=%.3f, playouts=%d, threads=%d, %.0f playouts/s/thread]",
+				this.bestMove, this.bestMoveVisits, this.bestMoveValue, this.playouts, this.getThreads(),
+				this.getPlayoutsPerSecondPerThread());
+	}
+}
@@ -0,0 +1,315 @@
+package ncaralicea.games.engine;
+
+import java.util.Arrays;
+
+import ncaralicea.games.domain.IBoardGame;
+import ncaralicea.games.domain.IBoardPosition;
+import ncaralicea.games.domain.IPlayer;
+import ncaralicea.games.domain.IStateSpace;
+
+/**
+ * NegamaxEngine is a perfect play engine for two player board games exposed through IBoardGame.
+ * 
+ * It searches the game tree with negamax and alpha-beta pruning, directly on the game instance: every move
+ * is made with makeMove and taken back with unmakeMove, so the game is left unchanged when a search returns.
+ * The available moves are walked by cell through the state space cursor, so the search allocates nothing
+ * but the result of the query.
+ * 
+ * The positions are keyed by the Zobrist hash the state space maintains along the moves, and their results are
+ * kept into a transposition table which survives between searches, so repeated queries on positions already
+ * solved are answered from the table. The moves are ordered with the best move found before for the position
+ * first, then by a history heuristic (the moves which caused cutoffs before are tried first).
+ * 
+ * Note:
+ * 
+ * 		The engine is not thread safe, and the game must not be changed while a search runs.
+ * 
+ * @author Nicolae Caralicea
+ *
+ * @param <M>
+ * 		- generic type argument used to represent the board position type.
+ *  
+ * @param <P>
+ * 		- generic type argument used to represent the player type.
+ */
+public class NegamaxEngine<M extends IBoardPosition, P extends IPlayer> {
+
+	/**
+	 * the default log2 of the number of transposition table entries.
+	 */
+	public static final int DEFAULT_TABLE_SIZE_BITS = 16;
+	
+	private static final int INFINITY = SearchResult.WIN_SCORE + 1;
+	
+	private final IBoardGame<M, P> game;
+	
+	private final TranspositionTable table;
+	
+	private IStateSpace<M, P> stateSpace;
+	
+	private int cells;
+	
+	/**
+	 * the moves of every ply, preallocated so the search does not allocate them.
+	 */
+	private int[][] moveBuffers;
+	
+	private int[] history;
+	
+	private int rootBestCell;
+	
+	private int maxDepth = Integer.MAX_VALUE;
+	
+	private long nodes;
+	
+	private long totalNodes;
+	
+	/**
+	 * Creates an engine for the game with a transposition table of the default size.
+	 * 
+	 * @param game
+	 * 		- the game to be searched.
+	 */
+	public NegamaxEngine(final IBoardGame<M, P> game) {
+		this(game, DEFAULT_TABLE_SIZE_BITS);
+	}
+
+	/**
+	 * Creates an engine for the game.
+	 * 
+	 * @param game
+	 * 		- the game to be searched.
+	 * @param tableSizeBits
+	 * 		- the log2 of the number of transposition table entries.
+	 */
+	public NegamaxEngine(final IBoardGame<M, P> game, final int tableSizeBits) {
+		this.game = game;
+		this.table = new TranspositionTable(tableSizeBits);
+	}
+	
+	/**
+	 * Searches the current position of the game.
+	 * 
+	 * @return
+	 * 		- returns the best move, the value of the position and the number of visited nodes.
+	 */
+	public SearchResult<M> search() {
+		this.prepare();
+		this.nodes = 0;
+		if (this.game.isGameEnded()) {
+			return new SearchResult<M>(null, this.game.existWinner() ? -SearchResult.WIN_SCORE : 0, 0);
+		}
+		
+		final long hash = this.stateSpace.positionHash();
+		final int depth = Math.min(this.maxDepth, this.stateSpace.getAvailableMovesCount());
+		final long entry = this.table.probe(hash);
+		if (entry != TranspositionTable.MISSING && TranspositionTable.boundOf(entry) == TranspositionTable.EXACT 
+				&& TranspositionTable.depthOf(entry) >= depth && TranspositionTable.bestCellOf(entry) >= 0) {
+			this.nodes = 1;
+			this.totalNodes++;
+			return new SearchResult<M>(this.stateSpace.getMoveAt(TranspositionTable.bestCellOf(entry)), 
+					TranspositionTable.scoreOf(entry), this.nodes);
+		}
+		
+		this.rootBestCell = -1;
+		final int score = this.negamax(0, depth, -INFINITY, INFINITY, hash);
+		this.totalNodes += this.nodes;
+		return new SearchResult<M>(this.stateSpace.getMoveAt(this.rootBestCell), score, this.nodes);
+	}
+	
+	/**
+	 * Finds the best move for the player to move.
+	 * 
+	 * @return
+	 * 		- returns the best move, or null if the game has already ended.
+	 */
+	public M findBestMove() {
+		return this.search().getBestMove();
+	}
+	
+	/**
+	 * Evaluates the current position of the game for the player to move.
+	 * 
+	 * @return
+	 * 		- returns the score of the position (see SearchResult).
+	 */
+	public int evaluate() {
+		return this.search().getScore();
+	}
+	
+	/**
+	 * Limits the depth of the searches, the positions at the depth limit being scored as draws.
+	 * 
+	 * @param maxDepth
+	 * 		- the maximum number of plies to be searched.
+	 */
+	public void setMaxDepth(final int maxDepth) {
+		this.maxDepth = maxDepth;
+	}
+	
+	/**
+	 * Gets the number of nodes visited by all the searches of the engine.
+	 * 
+	 * @return
+	 * 		- returns the node count.
+	 */
+	public long getTotalNodes() {
+		return this.totalNodes;
+	}
+	
+	/**
+	 * Forgets everything learned by the previous searches.
+	 */
+	public void clear() {
+		this.table.clear();
+		if (this.history != null) {
+			Arrays.fill(this.history, 0);
+		}
+	}
+	
+	/**
+	 * Searches the position reached at the ply provided as argument, the game being in progress.
+	 * 
+	 * @return
+	 * 		- returns the score of the position for the player to move.
+	 */
+	private int negamax(final int ply, final int depth, int alpha, final int beta, final long hash) {
+		this.nodes++;
+		int tableCell = -1;
+		final long entry = this.table.probe(hash);
+		if (entry != TranspositionTable.MISSING) {
+			tableCell = TranspositionTable.bestCellOf(entry);
+			if (ply > 0 && TranspositionTable.depthOf(entry) >= depth) {
+				final int score = fromTable(TranspositionTable.scoreOf(entry), ply);
+				final int bound = TranspositionTable.boundOf(entry);
+				if (bound == TranspositionTable.EXACT || (bound == TranspositionTable.LOWER_BOUND && score >= beta)
+						|| (bound == TranspositionTable.UPPER_BOUND && score <= alpha)) {
+					return score;
+				}
+			}
+		}
+		if (depth == 0) {
+			return 0;
+		}
+		
+		final int alphaOrig = alpha;
+		final int[] moves = this.moveBuffers[ply];
+		final int count = this.orderMoves(moves, tableCell);
+		int best = -INFINITY;
+		int bestCell = -1;
+		for (int i = 0; i < count; i++) {
+			final int cell = moves[i];
+			this.game.makeMove(this.stateSpace.getMoveAt(cell));
+			final int score;
+			if (this.game.existWinner()) {
+				this.nodes++;
+				score = SearchResult.WIN_SCORE - (ply + 1);
+			} else if (this.game.isGameEnded()) {
+				this.nodes++;
+				score = 0;
+			} else {
+				score = -this.negamax(ply + 1, depth - 1, -beta, -alpha, this.stateSpace.positionHash());
+			}
+			this.game.unmakeMove();
+			
+			if (score > best) {
+				best = score;
+				bestCell = cell;
+				if (score > alpha) {
+					alpha = score;
+					if (alpha >= beta) {
+						this.rewardCutoff(cell, depth);
+						break;
+					}
+				}
+			}
+		}
+		
+		final int bound = best <= alphaOrig ? TranspositionTable.UPPER_BOUND 
+				: best >= beta ? TranspositionTable.LOWER_BOUND : TranspositionTable.EXACT;
+		this.table.store(hash, toTable(best, ply), depth, bound, bestCell);
+		if (ply == 0) {
+			this.rootBestCell = bestCell;
+		}
+		return best;
+	}
+	
+	/**
+	 * Fills the buffer with the available moves, the best move known for the position first, and the
+	 * rest sorted by their history score.
+	 * 
+	 * @return
+	 * 		- returns the number of moves.
+	 */
+	private int orderMoves(final int[] moves, final int firstCell) {
+		int count = 0;
+		for (int cell = this.stateSpace.nextAvailableCell(0); cell >= 0; cell = this.stateSpace.nextAvailableCell(cell + 1)) {
+			if (cell == firstCell) {
+				moves[count] = moves[0];
+				moves[0] = cell;
+			} else {
+				moves[count] = cell;
+			}
+			count++;
+		}
+		final int sortFrom = firstCell >= 0 && count > 0 && moves[0] == firstCell ? 1 : 0;
+		for (int i = sortFrom + 1; i < count; i++) {
+			final int cell = moves[i];
+			int j = i - 1;
+			while (j >= sortFrom && this.history[moves[j]] < this.history[cell]) {
+				moves[j + 1] = moves[j];
+				j--;
+			}
+			moves[j + 1] = cell;
+		}
+		return count;
+	}
+	
+	private void rewardCutoff(final int cell, final int depth) {
+		this.history[cell] += depth * depth;
+		if (this.history[cell] > 1 << 24) {
+			for (int i = 0; i < this.history.length; i++) {
+				this.history[i] >>= 1;
+			}
+		}
+	}
+	
+	/**
+	 * Binds the engine to the current state space of the game, (re)building the per board size structures
+	 * when the board size changed.
+	 */
+	private void prepare() {
+		this.stateSpace = this.game.getStateSpace();
+		final int size = this.stateSpace.getMaxPosition() - this.stateSpace.getMinPosition() + 1;
+		if (this.history == null || this.cells != size * size) {
+			this.cells = size * size;
+			this.moveBuffers = new int[this.cells + 1][this.cells];
+			this.history = new int[this.cells];
+			this.table.clear();
+		}
+	}
+	
+	/**
+	 * Converts a score relative to the root into a score relative to the position stored in the table,
+	 * so the distance of the wins and losses does not depend on the ply the position was reached at.
+	 */
+	private static int toTable(final int score, final int ply) {
+		if (score >= SearchResult.WIN_BOUND) {
+			return score + ply;
+		} else if (score <= -SearchResult.WIN_BOUND) {
+			return score - ply;
+		} else {
+			return score;
+		}
+	}
+	
+	private static int fromTable(final int score, final int ply) {
+		if (score >= SearchResult.WIN_BOUND) {
+			return score - ply;
+		} else if (score <= -SearchResult.WIN_BOUND) {
+			return score + ply;
+		} else {
+			return score;
+		}
+	}
+}
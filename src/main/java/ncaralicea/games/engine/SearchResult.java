@@ -0,0 +1,107 @@
+package ncaralicea.games.engine;
+
+import ncaralicea.games.domain.IBoardPosition;
+
+/**
+ * SearchResult holds the outcome of a search: the best move found, the value of the position for the player to
+ * move, and the number of nodes the search visited.
+ * 
+ * The score is 0 for a draw, WIN_SCORE - n for a win of the player to move in n plies, and -(WIN_SCORE - n)
+ * for a loss in n plies. Scores within a depth limited search which did not reach the end of the game are 0, too.
+ * 
+ * @author Nicolae Caralicea
+ *
+ * @param <M>
+ * 		- generic type argument used to represent the board position type.
+ */
+public class SearchResult<M extends IBoardPosition> {
+
+	/**
+	 * the score of a win on the current move, wins further away score one point less for every ply.
+	 */
+	public static final int WIN_SCORE = 100000;
+	
+	/**
+	 * scores at least this far from 0 are wins or losses.
+	 */
+	static final int WIN_BOUND = WIN_SCORE - 10000;
+	
+	private final M bestMove;
+	
+	private final int score;
+	
+	private final long nodes;
+	
+	SearchResult(final M bestMove, final int score, final long nodes) {
+		this.bestMove = bestMove;
+		this.score = score;
+		this.nodes = nodes;
+	}
+
+	/**
+	 * Gets the best move.
+	 * 
+	 * @return
+	 * 		- returns the best move, or null if the game has already ended.
+	 */
+	public M getBestMove() {
+		return this.bestMove;
+	}
+
+	/**
+	 * Gets the value of the position for the player to move.
+	 * 
+	 * @return
+	 * 		- returns the score.
+	 */
+	public int getScore() {
+		return this.score;
+	}
+
+	/**
+	 * Gets the number of nodes (positions) visited by the search.
+	 * 
+	 * @return
+	 * 		- returns the node count.
+	 */
+	public long getNodes() {
+		return this.nodes;
+	}
+	
+	/**
+	 * Checks if the player to move wins with perfect play.
+	 * 
+	 * @return
+	 * 		- returns true for a won position.
+	 */
+	public boolean isWin() {
+		return this.score >= WIN_BOUND;
+	}
+	
+	/**
+	 * Checks if the player to move loses against perfect play.
+	 * 
+	 * @return
+	 * 		- returns true for a lost position.
+	 */
+	public boolean isLoss() {
+		return this.score <= -WIN_BOUND;
+	}
+	
+	/**
+	 * Gets the number of plies until the game ends with a win or a loss.
+	 * 
+	 * @return
+	 * 		- returns the number of plies, or -1 if the position is not won or lost.
+	 */
+	public int getPliesToEnd() {
+		return this.isWin() || this.isLoss() ? WIN_SCORE - Math.abs(this.score) : -1;
+	}
+	
+	@Override
+	public String toString() {
+		return String.format("SearchResult [bestMove=(%s), score=%d, nodes=%d]", 
+				this.bestMove != null ? this.bestMove.getHorizontalPosition() + ", " + this.bestMove.getVerticalPosition() : "", 
+				this.score, this.nodes);
+	}
+}
@@ -0,0 +1,131 @@
+package ncaralicea.games.engine;
+
+import java.util.Arrays;
+
+/**
+ * TranspositionTable caches search results keyed by a 64-bit position hash.
+ * 
+ * The table is a fixed size, always-replace, open addressing array: the low bits of the hash select the slot,
+ * and the full hash is stored next to the entry, so a probe never returns the result of another position
+ * sharing the same slot.
+ * 
+ * Every entry is packed into a single long, so probing and storing allocate nothing:
+ * 
+ * 		bits 0 - 31		- the score
+ * 		bits 32 - 44	- the searched depth
+ * 		bits 45 - 46	- the bound type (EXACT, LOWER_BOUND, UPPER_BOUND)
+ * 		bits 47 - 63	- the best cell + 1 (0 when there is no best cell)
+ * 
+ * The depth and the best cell fit the largest m,n,k board (64 X 64, so 4096 cells and at most 4096 plies).
+ * 
+ * @author Nicolae Caralicea
+ *
+ */
+class TranspositionTable {
+	
+	/**
+	 * the value returned by probe when the table has no entry for the position.
+	 */
+	static final long MISSING = 0L;
+	
+	/**
+	 * the score is the exact value of the position.
+	 */
+	static final int EXACT = 1;
+	
+	/**
+	 * the score is a lower bound of the value of the position (the search failed high).
+	 */
+	static final int LOWER_BOUND = 2;
+	
+	/**
+	 * the score is an upper bound of the value of the position (the search failed low).
+	 */
+	static final int UPPER_BOUND = 3;
+
+	private static final int DEPTH_SHIFT = 32;
+	
+	private static final int DEPTH_MASK = (1 << 13) - 1;
+	
+	private static final int BOUND_SHIFT = 45;
+	
+	private static final int BOUND_MASK = 3;
+	
+	private static final int BEST_CELL_SHIFT = 47;
+
+	private final long[] keys;
+	
+	private final long[] entries;
+	
+	private final int mask;
+	
+	/**
+	 * Creates a table of 2^sizeBits entries.
+	 * 
+	 * @param sizeBits
+	 * 		- the log2 of the number of entries.
+	 */
+	TranspositionTable(final int sizeBits) {
+		this.keys = new long[1 << sizeBits];
+		this.entries = new long[1 << sizeBits];
+		this.mask = (1 << sizeBits) - 1;
+	}
+	
+	/**
+	 * Gets the entry stored for the position.
+	 * 
+	 * @param key
+	 * 		- the position hash.
+	 * @return
+	 * 		- returns the packed entry, or MISSING if there is no entry for the position.
+	 */
+	long probe(final long key) {
+		final int slot = (int) (key ^ (key >>> 32)) & this.mask;
+		return this.keys[slot] == key ? this.entries[slot] : MISSING;
+	}
+	
+	/**
+	 * Stores the search result of a position, replacing whatever the slot held before.
+	 * 
+	 * @param key
+	 * 		- the position hash.
+	 * @param score
+	 * 		- the score.
+	 * @param depth
+	 * 		- the searched depth.
+	 * @param bound
+	 * 		- the bound type.
+	 * @param bestCell
+	 * 		- the best cell, or -1 if there is none.
+	 */
+	void store(final long key, final int score, final int depth, final int bound, final int bestCell) {
+		final int slot = (int) (key ^ (key >>> 32)) & this.mask;
+		this.keys[slot] = key;
+		this.entries[slot] = (score & 0xFFFFFFFFL) | ((long) depth & DEPTH_MASK) << DEPTH_SHIFT | (long) bound << BOUND_SHIFT 
+				| ((long) bestCell + 1) << BEST_CELL_SHIFT;
+	}
+	
+	/**
+	 * Removes all the entries.
+	 */
+	void clear() {
+		Arrays.fill(this.keys, 0L);
+		Arrays.fill(this.entries, MISSING);
+	}
+	
+	static int scoreOf(final long entry) {
+		return (int) entry;
+	}
+	
+	static int depthOf(final long entry) {
+		return (int) (entry >>> DEPTH_SHIFT) & DEPTH_MASK;
+	}
+
+	static int boundOf(final long entry) {
+		return (int) (entry >>> BOUND_SHIFT) & BOUND_MASK;
+	}
+	
+	static int bestCellOf(final long entry) {
+		return (int) (entry >>> BEST_CELL_SHIFT) - 1;
+	}
+}
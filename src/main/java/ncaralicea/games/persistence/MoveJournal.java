@@ -0,0 +1,398 @@
+package ncaralicea.games.persistence;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import ncaralicea.games.domain.IBoardGame;
+import ncaralicea.games.domain.IBoardPosition;
+import ncaralicea.games.domain.IPlayer;
+
+/**
+ * MoveJournal is an append-only journal of the accepted moves, so the games can be rebuilt after a restart by
+ * replaying their moves (event sourcing) instead of serializing them.
+ *
+ * Every move is a fixed size record of 16 bytes: the game id (8 bytes), the index of the move in its game
+ * (2 bytes), the cell index of the move (2 bytes), and a check (4 bytes) which is never 0. The records are written
+ * into memory mapped segment files (journal-&lt;n&gt;.seg) of a fixed size, preallocated with zeros, so appending a
+ * record is a few stores into memory. A new segment is started when the current one is full. Reading the records
+ * back stops at the first record whose check does not match, which is either the zeros after the last record or
+ * a record torn by a crash.
+ *
+ * The records are written to the page cache right away, so they survive the process being killed, and forced
+ * to the disk:
+ *
+ * 		- every time syncBatchSize records were appended since the last sync (group commit), if set.
+ * 		- periodically, if scheduleSync was called.
+ * 		- when a segment is full, when sync is called, and when the journal is closed.
+ *
+ * Opening a journal over a directory which already holds segments continues after their last valid record.
+ * The journal can be appended to from many threads, the appends being serialized.
+ *
+ * @author Nicolae Caralicea
+ *
+ */
+public class MoveJournal implements AutoCloseable {
+
+	/**
+	 * the size of a record in bytes.
+	 */
+	public static final int RECORD_SIZE = 16;
+
+	/**
+	 * the default size of a segment in bytes.
+	 */
+	public static final int DEFAULT_SEGMENT_SIZE = 64 * 1024 * 1024;
+
+	/**
+	 * the greatest move index (and cell index) a record can hold.
+	 */
+	public static final int MAX_INDEX = 0xFFFF;
+
+	private static final String SEGMENT_PREFIX = "journal-";
+
+	private static final String SEGMENT_SUFFIX = ".seg";
+
+	private final Path directory;
+
+	private final int segmentSize;
+
+	private long segmentNumber;
+
+	private FileChannel channel;
+
+	private MappedByteBuffer segment;
+
+	private int syncBatchSize;
+
+	private long appendedRecords;
+
+	private long unsyncedRecords;
+
+	private long syncs;
+
+	private boolean closed;
+
+	/**
+	 * Opens a journal with segments of the default size.
+	 *
+	 * @param directory
+	 * 		- the directory of the segment files, which is created if missing.
+	 *
+	 * @throws IOException
+	 * 		- if the segments can not be opened.
+	 */
+	public MoveJournal(final Path directory) throws IOException {
+		this(directory, DEFAULT_SEGMENT_SIZE);
+	}
+
+	/**
+	 * Opens a journal.
+	 *
+	 * @param directory
+	 * 		- the directory of the segment files, which is created if missing.
+	 * @param segmentSize
+	 * 		- the size of a new segment in bytes, rounded down to a whole number of records.
+	 *
+	 * @throws IOException
+	 * 		- if the segments can not be opened.
+	 */
+	public MoveJournal(final Path directory, final int segmentSize) throws IOException {
+		if (segmentSize < RECORD_SIZE) {
+			throw new IllegalArgumentException("The segment size should be at least " + RECORD_SIZE + " bytes: " + segmentSize);
+		}
+		this.directory = Files.createDirectories(directory);
+		this.segmentSize = segmentSize - segmentSize % RECORD_SIZE;
+		final List<Path> segments = listSegments(directory);
+		if (segments.isEmpty()) {
+			this.openSegment(0);
+		} else {
+			final Path lastSegment = segments.get(segments.size() - 1);
+			this.openSegment(parseSegmentNumber(lastSegment));
+			while (this.segment.remaining() >= RECORD_SIZE && readRecord(this.segment, null)) {
+				// skips the records appended before
+			}
+		}
+	}
+
+	/**
+	 * Sets the number of appended records after which the journal is forced to the disk, so that many appends
+	 * share the cost of a sync.
+	 *
+	 * @param syncBatchSize
+	 * 		- the number of records, or 0 to leave the syncing to scheduleSync, sync and close.
+	 */
+	public synchronized void setSyncBatchSize(final int syncBatchSize) {
+		if (syncBatchSize < 0) {
+			throw new IllegalArgumentException("The sync batch size should not be negative: " + syncBatchSize);
+		}
+		this.syncBatchSize = syncBatchSize;
+	}
+
+	/**
+	 * Appends a move record.
+	 *
+	 * @param gameId
+	 * 		- the id of the game.
+	 * @param moveIndex
+	 * 		- the index of the move in its game (0 for the first move).
+	 * @param cell
+	 * 		- the cell index of the move.
+	 *
+	 * @return
+	 * 		- returns the number of records appended by this journal so far, this one included.
+	 *
+	 * @throws UncheckedIOException
+	 * 		- if a new segment can not be started, or the journal can not be synced.
+	 */
+	public synchronized long append(final long gameId, final int moveIndex, final int cell) {
+		if (this.closed) {
+			throw new IllegalStateException("The journal is closed.");
+		} else if (moveIndex < 0 || moveIndex > MAX_INDEX || cell < 0 || cell > MAX_INDEX) {
+			throw new IllegalArgumentException("The move index and the cell should be within 0 - " + MAX_INDEX + ": " + moveIndex + ", " + cell);
+		}
+		if (this.segment.remaining() < RECORD_SIZE) {
+			this.roll();
+		}
+		this.segment.putLong(gameId).putShort((short) moveIndex).putShort((short) cell).putInt(check(gameId, moveIndex, cell));
+		this.appendedRecords++;
+		if (++this.unsyncedRecords >= this.syncBatchSize && this.syncBatchSize > 0) {
+			this.sync();
+		}
+		return this.appendedRecords;
+	}
+
+	/**
+	 * Forces the records appended since the last sync to the disk.
+	 */
+	public synchronized void sync() {
+		if (this.unsyncedRecords > 0 && !this.closed) {
+			this.segment.force();
+			this.unsyncedRecords = 0;
+			this.syncs++;
+		}
+	}
+
+	/**
+	 * Syncs the journal periodically.
+	 *
+	 * @param scheduler
+	 * 		- the scheduler running the syncs.
+	 * @param period
+	 * 		- the period of the syncs.
+	 * @param unit
+	 * 		- the time unit of the period.
+	 *
+	 * @return
+	 * 		- returns the scheduled syncs, which can be cancelled.
+	 */
+	public ScheduledFuture<?> scheduleSync(final ScheduledExecutorService scheduler, final long period, final TimeUnit unit) {
+		return scheduler.scheduleAtFixedRate(this::sync, period, period, unit);
+	}
+
+	/**
+	 * Gets the number of records appended by this journal (not counting the ones found when it was opened).
+	 *
+	 * @return
+	 * 		- returns the number of records.
+	 */
+	public synchronized long getAppendedRecords() {
+		return this.appendedRecords;
+	}
+
+	/**
+	 * Gets the number of times the journal was forced to the disk.
+	 *
+	 * @return
+	 * 		- returns the number of syncs.
+	 */
+	public synchronized long getSyncCount() {
+		return this.syncs;
+	}
+
+	/**
+	 * Syncs and closes the journal.
+	 */
+	public synchronized void close() {
+		if (!this.closed) {
+			this.sync();
+			this.closed = true;
+			try {
+				this.channel.close();
+			} catch (final IOException e) {
+				throw new UncheckedIOException("The journal segment can not be closed.", e);
+			}
+		}
+	}
+
+	/**
+	 * Reads back all the records of a journal, in the order they were appended.
+	 *
+	 * @param directory
+	 * 		- the directory of the segment files.
+	 * @param consumer
+	 * 		- the consumer of the records.
+	 *
+	 * @return
+	 * 		- returns the number of records read.
+	 *
+	 * @throws IOException
+	 * 		- if the segments can not be read.
+	 */
+	public static long replay(final Path directory, final MoveRecordConsumer consumer) throws IOException {
+		long records = 0;
+		for (final Path segmentPath : listSegments(directory)) {
+			try (FileChannel segmentChannel = FileChannel.open(segmentPath, StandardOpenOption.READ)) {
+				final MappedByteBuffer segment = segmentChannel.map(MapMode.READ_ONLY, 0, segmentChannel.size());
+				while (segment.remaining() >= RECORD_SIZE && readRecord(segment, consumer)) {
+					records++;
+				}
+			}
+		}
+		return records;
+	}
+
+	/**
+	 * Rebuilds the games of a journal, by replaying their moves on new games.
+	 *
+	 * A record of a move the game already has is skipped, so a move appended again after a restart does no harm.
+	 *
+	 * @param directory
+	 * 		- the directory of the segment files.
+	 * @param gameFactory
+	 * 		- creates the games.
+	 * @param players
+	 * 		- the players of every game, the first one having the first move.
+	 *
+	 * @return
+	 * 		- returns the games, by game id.
+	 *
+	 * @throws IOException
+	 * 		- if the segments can not be read.
+	 * @throws IllegalStateException
+	 * 		- if a move is missing from the journal.
+	 */
+	public static <M extends IBoardPosition, P extends IPlayer, G extends IBoardGame<M, P>> Map<Long, G> recoverGames(
+			final Path directory, final Supplier<G> gameFactory, final P[] players) throws IOException {
+		final Map<Long, RecoveredGame<G>> recovered = new HashMap<Long, RecoveredGame<G>>();
+		replay(directory, (gameId, moveIndex, cell) -> {
+			RecoveredGame<G> game = recovered.get(gameId);
+			if (game == null) {
+				game = new RecoveredGame<G>(gameFactory.get());
+				game.game.setGamePlayers(players);
+				game.game.start();
+				recovered.put(gameId, game);
+			}
+			if (moveIndex > game.moves) {
+				throw new IllegalStateException("The move " + game.moves + " of the game " + gameId + " is missing from the journal.");
+			} else if (moveIndex == game.moves) {
+				game.game.makeMove(game.game.getStateSpace().getMoveAt(cell));
+				game.moves++;
+			}
+		});
+		final Map<Long, G> games = new HashMap<Long, G>(recovered.size() * 4 / 3 + 1);
+		for (final Map.Entry<Long, RecoveredGame<G>> entry : recovered.entrySet()) {
+			games.put(entry.getKey(), entry.getValue().game);
+		}
+		return games;
+	}
+
+	private void roll() {
+		this.sync();
+		try {
+			this.channel.close();
+			this.openSegment(this.segmentNumber + 1);
+		} catch (final IOException e) {
+			throw new UncheckedIOException("The next journal segment can not be started.", e);
+		}
+	}
+
+	private void openSegment(final long number) throws IOException {
+		this.segmentNumber = number;
+		this.channel = FileChannel.open(this.directory.resolve(segmentName(number)), StandardOpenOption.CREATE,
+				StandardOpenOption.READ, StandardOpenOption.WRITE);
+		this.segment = this.channel.map(MapMode.READ_WRITE, 0, Math.max(this.segmentSize, this.channel.size()));
+	}
+
+	/**
+	 * Reads the record at the position of the segment, advancing past it if it is valid.
+	 *
+	 * @return
+	 * 		- returns false if there is no valid record at the position.
+	 */
+	private static boolean readRecord(final ByteBuffer segment, final MoveRecordConsumer consumer) {
+		final int position = segment.position();
+		final long gameId = segment.getLong(position);
+		final int moveIndex = segment.getShort(position + 8) & MAX_INDEX;
+		final int cell = segment.getShort(position + 10) & MAX_INDEX;
+		if (segment.getInt(position + 12) != check(gameId, moveIndex, cell)) {
+			return false;
+		}
+		segment.position(position + RECORD_SIZE);
+		if (consumer != null) {
+			consumer.accept(gameId, moveIndex, cell);
+		}
+		return true;
+	}
+
+	/**
+	 * Computes the check of a record, which is never 0, so the zeros after the last record are never valid.
+	 */
+	private static int check(final long gameId, final int moveIndex, final int cell) {
+		final long hash = (gameId ^ (long) moveIndex << 40 ^ (long) cell << 20) * 0x9E3779B97F4A7C15L;
+		return (int) (hash >>> 32) | 1;
+	}
+
+	private static List<Path> listSegments(final Path directory) throws IOException {
+		final List<Path> segments = new ArrayList<Path>();
+		if (Files.isDirectory(directory)) {
+			try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory, SEGMENT_PREFIX + "*" + SEGMENT_SUFFIX)) {
+				for (final Path segment : stream) {
+					segments.add(segment);
+				}
+			}
+		}
+		// the segment numbers are zero padded, so the names sort in the order of the segments
+		Collections.sort(segments);
+		return segments;
+	}
+
+	private static String segmentName(final long number) {
+		return String.format("%s%019d%s", SEGMENT_PREFIX, number, SEGMENT_SUFFIX);
+	}
+
+	private static long parseSegmentNumber(final Path segment) {
+		final String name = segment.getFileName().toString();
+		return Long.parseLong(name.substring(SEGMENT_PREFIX.length(), name.length() - SEGMENT_SUFFIX.length()));
+	}
+
+	/**
+	 * RecoveredGame keeps the number of moves replayed on a game.
+	 */
+	private static final class RecoveredGame<G> {
+
+		private final G game;
+
+		private int moves;
+
+		private RecoveredGame(final G game) {
+			this.game = game;
+		}
+	}
+}
@@ -0,0 +1,23 @@
+package ncaralicea.games.persistence;
+
+/**
+ * MoveRecordConsumer receives the move records read back from a MoveJournal, in the order they were appended.
+ * 
+ * @author Nicolae Caralicea
+ *
+ */
+@FunctionalInterface
+public interface MoveRecordConsumer {
+	
+	/**
+	 * Receives a move record.
+	 * 
+	 * @param gameId
+	 * 		- the id of the game.
+	 * @param moveIndex
+	 * 		- the index of the move in its game (0 for the first move).
+	 * @param cell
+	 * 		- the cell index of the move.
+	 */
+	void accept(long gameId, int moveIndex, int cell);
+}
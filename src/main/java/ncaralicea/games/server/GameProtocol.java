@@ -0,0 +1,113 @@
+package ncaralicea.games.server;
+
+import ncaralicea.games.domain.GameStatus;
+import ncaralicea.games.domain.IBoardView;
+import ncaralicea.games.domain.tictactoe.TicTacToeGame.TicTacToeGameException;
+import ncaralicea.games.domain.tictactoe.TicTacToeMove;
+import ncaralicea.games.domain.tictactoe.TicTacToePlayer;
+import ncaralicea.games.session.GameSessionException;
+import ncaralicea.games.session.GameSessionManager;
+
+/**
+ * GameProtocol is the line based text protocol of GameServer, playing the games hosted by a session manager.
+ * 
+ * Every request is one line, answered by one line starting either with OK or with ERR (followed by the reason).
+ * The requests of a connection are answered in order, so a client may send several requests without waiting
+ * for the responses (pipelining).
+ * 
+ * 		NEW						- creates a game, answering OK &lt;id&gt;.
+ * 		MOVE &lt;id&gt; &lt;h&gt; &lt;v&gt;		- makes a move for the player whose turn it is, answering OK &lt;status&gt;, or
+ * 								  ERR &lt;result&gt; if the move was rejected (see MoveResult).
+ * 		STATUS &lt;id&gt;				- answers OK &lt;status&gt;.
+ * 		BOARD &lt;id&gt;				- answers OK &lt;board&gt;, the board being the rows separated by '/', every cell being 
+ * 								  either the display name of the player who took it or '.'.
+ * 		END &lt;id&gt;				- removes the game, answering OK.
+ * 
+ * The protocol keeps no state of its own, so it can be shared by all the connections.
+ * 
+ * @author Nicolae Caralicea
+ *
+ */
+public class GameProtocol {
+	
+	private static final String OK = "OK";
+	
+	private static final String ERR = "ERR ";
+	
+	private final GameSessionManager<TicTacToeMove, TicTacToePlayer> sessionManager;
+	
+	private final TicTacToePlayer[] players;
+	
+	/**
+	 * Creates the protocol.
+	 * 
+	 * @param sessionManager
+	 * 		- the session manager hosting the games.
+	 * @param players
+	 * 		- the players of every new game, the first one having the first move.
+	 */
+	public GameProtocol(final GameSessionManager<TicTacToeMove, TicTacToePlayer> sessionManager, final TicTacToePlayer[] players) {
+		this.sessionManager = sessionManager;
+		this.players = players.clone();
+	}
+	
+	/**
+	 * Answers a request.
+	 * 
+	 * @param request
+	 * 		- the request line, without the line terminator.
+	 * 
+	 * @return
+	 * 		- returns the response line, without the line terminator.
+	 */
+	public String handle(final String request) {
+		final String[] tokens = request.trim().split(" +");
+		try {
+			switch (tokens[0]) {
+			case "NEW":
+				checkArguments(tokens, 0);
+				return OK + " " + this.sessionManager.createSession(this.players);
+			case "MOVE":
+				checkArguments(tokens, 3);
+				final long sessionId = Long.parseLong(tokens[1]);
+				final TicTacToeMove move = TicTacToeMove.of(Integer.parseInt(tokens[2]), Integer.parseInt(tokens[3]));
+				return this.sessionManager.tryMakeMove(sessionId, move,
+						(result, gameStatus) -> result.isAccepted() ? OK + " " + gameStatus : ERR + result);
+			case "STATUS":
+				checkArguments(tokens, 1);
+				final GameStatus status = this.sessionManager.getGameStatus(Long.parseLong(tokens[1]));
+				return OK + " " + status;
+			case "BOARD":
+				checkArguments(tokens, 1);
+				return OK + " " + this.sessionManager.withSession(Long.parseLong(tokens[1]), game -> formatBoard(game.getBoardView()));
+			case "END":
+				checkArguments(tokens, 1);
+				if (!this.sessionManager.removeSession(Long.parseLong(tokens[1]))) {
+					return ERR + "There is no session with the id " + tokens[1] + ".";
+				}
+				return OK;
+			default:
+				return ERR + "Unknown request: " + request;
+			}
+		} catch (final GameSessionException | TicTacToeGameException | IllegalArgumentException e) {
+			return ERR + e.getMessage();
+		}
+	}
+	
+	private static void checkArguments(final String[] tokens, final int count) {
+		if (tokens.length != count + 1) {
+			throw new IllegalArgumentException(tokens[0] + " takes " + count + " arguments.");
+		}
+	}
+	
+	private static String formatBoard(final IBoardView<TicTacToePlayer> boardView) {
+		final StringBuilder board = new StringBuilder();
+		boardView.forEachCell((hPos, vPos, player) -> {
+			if (vPos == boardView.getMinPosition() && hPos != boardView.getMinPosition()) {
+				board.append('/');
+			}
+			board.append(player != null ? player.getDisplayName() : ".");
+		});
+		return board.toString();
+	}
+}
@@ -0,0 +1,121 @@
+package ncaralicea.games.server;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * GameServer serves the GameProtocol over TCP, on the loopback interface.
+ * 
+ * The requests are answered on the thread which reads them, the session manager behind the protocol being
+ * safe to use concurrently, so there are no hand-offs between threads. The responses are flushed when there
+ * are no more pipelined requests to answer, so a batch of requests is answered with a batch of responses.
+ * 
+ * A failure to accept or to set up a connection closes that connection only, the server going on serving the
+ * others: the failures are counted and the last one is kept (see getErrorCount and getLastError). After a failed
+ * accept (like running out of file descriptors), the server waits ACCEPT_RETRY_MILLIS before accepting again.
+ * 
+ * @author Nicolae Caralicea
+ *
+ */
+public abstract class GameServer implements AutoCloseable {
+	
+	/**
+	 * the maximum number of pending connections, so that connection storms are not refused.
+	 */
+	static final int BACKLOG = 16384;
+	
+	/**
+	 * the maximum length of a request line.
+	 */
+	static final int MAX_REQUEST_LENGTH = 1024;
+	
+	/**
+	 * the time the server waits before accepting again after a failed accept.
+	 */
+	static final long ACCEPT_RETRY_MILLIS = 100;
+	
+	protected final GameProtocol protocol;
+	
+	private final LongAdder errors = new LongAdder();
+	
+	private volatile Exception lastError;
+	
+	protected GameServer(final GameProtocol protocol) {
+		this.protocol = protocol;
+	}
+	
+	/**
+	 * Starts a server.
+	 * 
+	 * @param mode
+	 * 		- the way the server serves its connections.
+	 * @param protocol
+	 * 		- the protocol answering the requests.
+	 * @param port
+	 * 		- the port to listen on, or 0 for any free port (see getPort).
+	 * 
+	 * @return
+	 * 		- returns the server, accepting connections.
+	 * 
+	 * @throws IOException
+	 * 		- if the server can not listen on the port.
+	 */
+	public static GameServer start(final GameServerMode mode, final GameProtocol protocol, final int port) throws IOException {
+		final InetAddress address = InetAddress.getLoopbackAddress();
+		switch (mode) {
+		case THREAD_PER_CONNECTION:
+			return new ThreadPerConnectionGameServer(protocol, address, port);
+		case NIO_SELECTOR:
+			return new SelectorGameServer(protocol, address, port);
+		default:
+			throw new IllegalArgumentException("Unsupported server mode: " + mode);
+		}
+	}
+	
+	/**
+	 * Gets the way the server serves its connections.
+	 * 
+	 * @return
+	 * 		- returns the mode of the server.
+	 */
+	public abstract GameServerMode getMode();
+	
+	/**
+	 * Gets the port the server listens on.
+	 * 
+	 * @return
+	 * 		- returns the port.
+	 */
+	public abstract int getPort();
+	
+	/**
+	 * Stops accepting connections and closes the open ones.
+	 */
+	public abstract void close();
+	
+	/**
+	 * Gets the number of connections which could not be accepted or set up, and of the event loop failures.
+	 * 
+	 * @return
+	 * 		- returns the number of errors.
+	 */
+	public long getErrorCount() {
+		return this.errors.sum();
+	}
+	
+	/**
+	 * Gets the last error of the server.
+	 * 
+	 * @return
+	 * 		- returns the last error, or null if there was none.
+	 */
+	public Exception getLastError() {
+		return this.lastError;
+	}
+	
+	protected void reportError(final Exception error) {
+		this.lastError = error;
+		this.errors.increment();
+	}
+}
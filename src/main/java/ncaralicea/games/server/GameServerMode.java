@@ -0,0 +1,21 @@
+package ncaralicea.games.server;
+
+/**
+ * GameServerMode enumerates the ways GameServer serves its connections.
+ * 
+ * @author Nicolae Caralicea
+ *
+ */
+public enum GameServerMode {
+	
+	/**
+	 * every connection is served by its own thread, blocking on the socket: a virtual thread when the runtime
+	 * supports them (Java 21 or later), or a pooled platform thread otherwise.
+	 */
+	THREAD_PER_CONNECTION,
+	
+	/**
+	 * all the connections are served by a single thread, running a non-blocking selector event loop.
+	 */
+	NIO_SELECTOR
+}
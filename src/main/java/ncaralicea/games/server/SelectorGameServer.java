@@ -0,0 +1,215 @@
+package ncaralicea.games.server;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.StandardSocketOptions;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedSelectorException;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * SelectorGameServer serves all the connections on a single thread, running a non-blocking selector event loop.
+ * 
+ * Every connection has a request buffer and a response buffer. The complete request lines read are answered
+ * right away, and their responses are written together once the request buffer holds no complete line any more.
+ * While some of its responses could not be written, a connection waits for being writable instead of readable,
+ * so a client which does not read its responses is not answered any further (as with blocking sockets).
+ * 
+ * @author Nicolae Caralicea
+ *
+ */
+class SelectorGameServer extends GameServer {
+	
+	private static final int BUFFER_SIZE = 4096;
+	
+	private final Selector selector;
+	
+	private final ServerSocketChannel serverChannel;
+	
+	private final Thread eventLoop;
+	
+	private volatile boolean closed;
+	
+	/**
+	 * the time (System.nanoTime) until which the server does not accept, after a failed accept, or 0.
+	 */
+	private long acceptPausedUntil;
+	
+	SelectorGameServer(final GameProtocol protocol, final InetAddress address, final int port) throws IOException {
+		super(protocol);
+		this.selector = Selector.open();
+		this.serverChannel = ServerSocketChannel.open();
+		this.serverChannel.bind(new InetSocketAddress(address, port), BACKLOG);
+		this.serverChannel.configureBlocking(false);
+		this.serverChannel.register(this.selector, SelectionKey.OP_ACCEPT);
+		this.eventLoop = new Thread(this::run, "game-server-event-loop");
+		this.eventLoop.setDaemon(true);
+		this.eventLoop.start();
+	}
+	
+	public GameServerMode getMode() {
+		return GameServerMode.NIO_SELECTOR;
+	}
+	
+	public int getPort() {
+		return this.serverChannel.socket().getLocalPort();
+	}
+	
+	public void close() {
+		this.closed = true;
+		this.selector.wakeup();
+		try {
+			this.eventLoop.join();
+		} catch (final InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+	
+	private void run() {
+		try {
+			while (!this.closed) {
+				this.selector.select(this.acceptPausedUntil != 0 ? ACCEPT_RETRY_MILLIS : 0);
+				for (final SelectionKey key : this.selector.selectedKeys()) {
+					if (!key.isValid()) {
+						continue;
+					} else if (key.isAcceptable()) {
+						this.accept(key);
+					} else {
+						this.serve(key);
+					}
+				}
+				this.selector.selectedKeys().clear();
+				this.resumeAccepting();
+			}
+		} catch (final IOException | ClosedSelectorException e) {
+			if (!this.closed) {
+				this.reportError(e);
+			}
+		} finally {
+			for (final SelectionKey key : this.selector.keys()) {
+				closeQuietly(key.channel());
+			}
+			closeQuietly(this.selector);
+		}
+	}
+	
+	/**
+	 * Accepts the pending connections. A connection which can not be set up is closed, and a failed accept stops
+	 * the accepting for ACCEPT_RETRY_MILLIS, the other connections being served meanwhile.
+	 */
+	private void accept(final SelectionKey key) {
+		while (true) {
+			final SocketChannel channel;
+			try {
+				channel = this.serverChannel.accept();
+			} catch (final IOException e) {
+				this.reportError(e);
+				key.interestOps(0);
+				this.acceptPausedUntil = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(ACCEPT_RETRY_MILLIS);
+				return;
+			}
+			if (channel == null) {
+				return;
+			}
+			try {
+				channel.configureBlocking(false);
+				channel.setOption(StandardSocketOptions.TCP_NODELAY, true);
+				channel.register(this.selector, SelectionKey.OP_READ, new Connection());
+			} catch (final IOException e) {
+				this.reportError(e);
+				closeQuietly(channel);
+			}
+		}
+	}
+	
+	private void resumeAccepting() {
+		if (this.acceptPausedUntil != 0 && System.nanoTime() - this.acceptPausedUntil >= 0) {
+			this.acceptPausedUntil = 0;
+			this.serverChannel.keyFor(this.selector).interestOps(SelectionKey.OP_ACCEPT);
+		}
+	}
+	
+	private void serve(final SelectionKey key) {
+		final SocketChannel channel = (SocketChannel) key.channel();
+		final Connection connection = (Connection) key.attachment();
+		try {
+			if (key.isReadable()) {
+				if (channel.read(connection.requests) < 0 || !this.answer(connection)) {
+					closeQuietly(channel);
+					return;
+				}
+			}
+			connection.responses.flip();
+			channel.write(connection.responses);
+			final boolean pending = connection.responses.hasRemaining();
+			connection.responses.compact();
+			key.interestOps(pending ? SelectionKey.OP_WRITE : SelectionKey.OP_READ);
+		} catch (final IOException e) {
+			closeQuietly(channel);
+		}
+	}
+	
+	/**
+	 * Answers the complete request lines read so far, keeping the incomplete last one for the next read.
+	 * 
+	 * @return
+	 * 		- returns false if the connection sent a request too long to be answered.
+	 */
+	private boolean answer(final Connection connection) {
+		final ByteBuffer requests = connection.requests;
+		requests.flip();
+		int lineStart = requests.position();
+		for (int i = lineStart; i < requests.limit(); i++) {
+			if (requests.get(i) == '\n') {
+				int lineEnd = i;
+				if (lineEnd > lineStart && requests.get(lineEnd - 1) == '\r') {
+					lineEnd--;
+				}
+				final String request = new String(requests.array(), lineStart, lineEnd - lineStart, StandardCharsets.US_ASCII);
+				connection.respond(this.protocol.handle(request));
+				lineStart = i + 1;
+			}
+		}
+		requests.position(lineStart);
+		requests.compact();
+		return requests.position() <= MAX_REQUEST_LENGTH;
+	}
+	
+	private static void closeQuietly(final AutoCloseable closeable) {
+		try {
+			closeable.close();
+		} catch (final Exception e) {
+			// nothing left to do.
+		}
+	}
+	
+	/**
+	 * Connection holds the buffers of a connection, both in write mode between the events.
+	 */
+	private static final class Connection {
+		
+		private final ByteBuffer requests = ByteBuffer.allocate(BUFFER_SIZE);
+		
+		private ByteBuffer responses = ByteBuffer.allocate(BUFFER_SIZE);
+		
+		private void respond(final String response) {
+			final int length = response.length() + 1;
+			if (this.responses.remaining() < length) {
+				final ByteBuffer grown = ByteBuffer.allocate(Math.max(this.responses.capacity() * 2, this.responses.position() + length));
+				this.responses.flip();
+				grown.put(this.responses);
+				this.responses = grown;
+			}
+			for (int i = 0; i < response.length(); i++) {
+				this.responses.put((byte) response.charAt(i));
+			}
+			this.responses.put((byte) '\n');
+		}
+	}
+}
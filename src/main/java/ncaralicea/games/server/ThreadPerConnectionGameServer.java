@@ -0,0 +1,188 @@
+package ncaralicea.games.server;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * ThreadPerConnectionGameServer serves every connection on its own thread, which blocks on reading the socket.
+ * 
+ * The threads are virtual when the runtime supports them (Java 21 or later, looked up by reflection since the
+ * project is built for older runtimes), so that thousands of connections cost thousands of small heap objects
+ * rather than thousands of kernel threads. On older runtimes they are pooled platform threads.
+ * 
+ * @author Nicolae Caralicea
+ *
+ */
+class ThreadPerConnectionGameServer extends GameServer {
+	
+	/**
+	 * the stack size of the platform threads, which only need a few frames to serve a connection.
+	 */
+	private static final long PLATFORM_THREAD_STACK_SIZE = 256 * 1024;
+	
+	private final ServerSocket serverSocket;
+	
+	private final ExecutorService executor;
+	
+	private final Set<Socket> connections = ConcurrentHashMap.newKeySet();
+	
+	private final Thread acceptor;
+	
+	private volatile boolean closed;
+	
+	ThreadPerConnectionGameServer(final GameProtocol protocol, final InetAddress address, final int port) throws IOException {
+		super(protocol);
+		this.serverSocket = new ServerSocket(port, BACKLOG, address);
+		this.executor = newConnectionExecutor();
+		this.acceptor = new Thread(this::accept, "game-server-acceptor");
+		this.acceptor.setDaemon(true);
+		this.acceptor.start();
+	}
+	
+	/**
+	 * Checks if the connections are served by virtual threads.
+	 * 
+	 * @return
+	 * 		- returns true if the runtime supports virtual threads.
+	 */
+	static boolean isVirtualThreadSupported() {
+		try {
+			Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+			return true;
+		} catch (final NoSuchMethodException e) {
+			return false;
+		}
+	}
+	
+	public GameServerMode getMode() {
+		return GameServerMode.THREAD_PER_CONNECTION;
+	}
+	
+	public int getPort() {
+		return this.serverSocket.getLocalPort();
+	}
+	
+	public void close() {
+		this.closed = true;
+		closeQuietly(this.serverSocket);
+		for (final Socket socket : this.connections) {
+			closeQuietly(socket);
+		}
+		this.executor.shutdownNow();
+	}
+	
+	private void accept() {
+		while (!this.closed) {
+			final Socket socket;
+			try {
+				socket = this.serverSocket.accept();
+			} catch (final IOException e) {
+				if (!this.closed) {
+					this.reportError(e);
+					this.pauseAccepting();
+				}
+				continue;
+			}
+			try {
+				socket.setTcpNoDelay(true);
+				this.connections.add(socket);
+				this.executor.execute(() -> this.serve(socket));
+			} catch (final IOException | RejectedExecutionException e) {
+				this.connections.remove(socket);
+				closeQuietly(socket);
+				if (!this.closed) {
+					this.reportError(e);
+				}
+			}
+		}
+	}
+	
+	private void pauseAccepting() {
+		try {
+			Thread.sleep(ACCEPT_RETRY_MILLIS);
+		} catch (final InterruptedException e) {
+			Thread.currentThread().interrupt();
+			this.closed = true;
+		}
+	}
+	
+	private void serve(final Socket socket) {
+		try (BufferedReader reader = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.US_ASCII));
+				Writer writer = new BufferedWriter(new OutputStreamWriter(socket.getOutputStream(), StandardCharsets.US_ASCII))) {
+			final StringBuilder line = new StringBuilder(MAX_REQUEST_LENGTH);
+			for (String request = readRequest(reader, line); request != null; request = readRequest(reader, line)) {
+				writer.write(this.protocol.handle(request));
+				writer.write('\n');
+				if (!reader.ready()) {
+					writer.flush();
+				}
+			}
+		} catch (final IOException e) {
+			// the connection was reset by the client or closed by the server.
+		} finally {
+			this.connections.remove(socket);
+			closeQuietly(socket);
+		}
+	}
+	
+	/**
+	 * Reads a request line, buffering at most MAX_REQUEST_LENGTH characters of it.
+	 * 
+	 * @return
+	 * 		- returns the request without the line terminator, or null at the end of the stream or if the request
+	 * 		is too long (which closes the connection).
+	 */
+	private static String readRequest(final BufferedReader reader, final StringBuilder line) throws IOException {
+		line.setLength(0);
+		for (int c = reader.read(); c >= 0; c = reader.read()) {
+			if (c == '\n') {
+				if (line.length() > 0 && line.charAt(line.length() - 1) == '\r') {
+					line.setLength(line.length() - 1);
+				}
+				return line.length() <= MAX_REQUEST_LENGTH ? line.toString() : null;
+			}
+			// one character more than the limit is kept, since it may be the carriage return of the terminator
+			if (line.length() > MAX_REQUEST_LENGTH) {
+				return null;
+			}
+			line.append((char) c);
+		}
+		return null;
+	}
+	
+	private static ExecutorService newConnectionExecutor() {
+		if (isVirtualThreadSupported()) {
+			try {
+				return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+			} catch (final ReflectiveOperationException e) {
+				throw new IllegalStateException("The virtual thread executor can not be created.", e);
+			}
+		}
+		return Executors.newCachedThreadPool(runnable -> {
+			final Thread thread = new Thread(null, runnable, "game-server-connection", PLATFORM_THREAD_STACK_SIZE);
+			thread.setDaemon(true);
+			return thread;
+		});
+	}
+	
+	private static void closeQuietly(final AutoCloseable closeable) {
+		try {
+			closeable.close();
+		} catch (final Exception e) {
+			// nothing left to do.
+		}
+	}
+}
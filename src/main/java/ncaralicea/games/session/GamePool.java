@@ -0,0 +1,190 @@
+package ncaralicea.games.session;
+
+import java.util.ArrayDeque;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+import ncaralicea.games.domain.IBoardGame;
+
+/**
+ * GamePool hands out and reclaims game instances, so a server starting many short games reuses them instead of
+ * allocating a game (and its state space) for every one.
+ *
+ * A released game is reset in place (see IBoardGame.reset) and kept first in a small cache of the releasing thread,
+ * which is reached without any synchronization, then in a bounded pool shared by all the threads. A game released
+ * when both are full is left to the garbage collector. A game is taken from the cache of the acquiring thread first,
+ * then from the shared pool, and only created by the factory when both are empty (a miss).
+ *
+ * Note:
+ *
+ * 		The players of the last game are kept by a reset game, so a game of the same players can be started right
+ * 		away. A game must not be used anymore once released.
+ *
+ * @author Nicolae Caralicea
+ *
+ * @param <G>
+ * 		- generic type argument used to represent the game type.
+ */
+public class GamePool<G extends IBoardGame<?, ?>> {
+
+	/**
+	 * the default number of games kept by the cache of every thread.
+	 */
+	public static final int DEFAULT_THREAD_CAPACITY = 4;
+
+	private final Supplier<? extends G> gameFactory;
+
+	private final int threadCapacity;
+
+	private final ArrayBlockingQueue<G> sharedGames;
+
+	private final ThreadLocal<ArrayDeque<G>> threadGames;
+
+	private final LongAdder threadHits = new LongAdder();
+
+	private final LongAdder sharedHits = new LongAdder();
+
+	private final LongAdder misses = new LongAdder();
+
+	private final LongAdder discards = new LongAdder();
+
+	/**
+	 * Creates a pool keeping DEFAULT_THREAD_CAPACITY games per thread.
+	 *
+	 * @param gameFactory
+	 * 		- creates the games when the pool is empty.
+	 * @param sharedCapacity
+	 * 		- the maximum number of games kept by the pool shared by all the threads.
+	 */
+	public GamePool(final Supplier<? extends G> gameFactory, final int sharedCapacity) {
+		this(gameFactory, sharedCapacity, DEFAULT_THREAD_CAPACITY);
+	}
+
+	/**
+	 * Creates a pool.
+	 *
+	 * @param gameFactory
+	 * 		- creates the games when the pool is empty.
+	 * @param sharedCapacity
+	 * 		- the maximum number of games kept by the pool shared by all the threads.
+	 * @param threadCapacity
+	 * 		- the maximum number of games kept by the cache of every thread (0 for no thread caches).
+	 */
+	public GamePool(final Supplier<? extends G> gameFactory, final int sharedCapacity, final int threadCapacity) {
+		if (sharedCapacity < 1 || threadCapacity < 0) {
+			throw new IllegalArgumentException("The shared capacity should be positive and the thread capacity not negative: "
+					+ sharedCapacity + ", " + threadCapacity);
+		}
+		this.gameFactory = gameFactory;
+		this.threadCapacity = threadCapacity;
+		this.sharedGames = new ArrayBlockingQueue<G>(sharedCapacity);
+		this.threadGames = ThreadLocal.withInitial(() -> new ArrayDeque<G>(Math.max(1, threadCapacity)));
+	}
+
+	/**
+	 * Gets a game which is reset, either reused or new.
+	 *
+	 * @return
+	 * 		- returns the game.
+	 */
+	public G acquire() {
+		G game = this.threadGames.get().pollLast();
+		if (game != null) {
+			this.threadHits.increment();
+			return game;
+		}
+		game = this.sharedGames.poll();
+		if (game != null) {
+			this.sharedHits.increment();
+			return game;
+		}
+		this.misses.increment();
+		return this.gameFactory.get();
+	}
+
+	/**
+	 * Gives a game back to the pool, resetting it.
+	 *
+	 * @param game
+	 * 		- the game, which must not be used anymore by the caller.
+	 */
+	public void release(final G game) {
+		if (game == null) {
+			throw new IllegalArgumentException("The released game should not be null.");
+		}
+		game.reset();
+		final ArrayDeque<G> games = this.threadGames.get();
+		if (games.size() < this.threadCapacity) {
+			games.addLast(game);
+		} else if (!this.sharedGames.offer(game)) {
+			this.discards.increment();
+		}
+	}
+
+	/**
+	 * Gets the number of games taken from the cache of the acquiring thread.
+	 *
+	 * @return
+	 * 		- returns the number of thread cache hits.
+	 */
+	public long getThreadHitCount() {
+		return this.threadHits.sum();
+	}
+
+	/**
+	 * Gets the number of games taken from the shared pool.
+	 *
+	 * @return
+	 * 		- returns the number of shared pool hits.
+	 */
+	public long getSharedHitCount() {
+		return this.sharedHits.sum();
+	}
+
+	/**
+	 * Gets the number of games reused, from the thread caches or from the shared pool.
+	 *
+	 * @return
+	 * 		- returns the number of hits.
+	 */
+	public long getHitCount() {
+		return this.getThreadHitCount() + this.getSharedHitCount();
+	}
+
+	/**
+	 * Gets the number of games created because the pool was empty.
+	 *
+	 * @return
+	 * 		- returns the number of misses.
+	 */
+	public long getMissCount() {
+		return this.misses.sum();
+	}
+
+	/**
+	 * Gets the number of released games dropped because the pool was full.
+	 *
+	 * @return
+	 * 		- returns the number of discarded games.
+	 */
+	public long getDiscardCount() {
+		return this.discards.sum();
+	}
+
+	/**
+	 * Gets the number of games kept by the shared pool (the thread caches are not counted).
+	 *
+	 * @return
+	 * 		- returns the number of shared games.
+	 */
+	public int getSharedCount() {
+		return this.sharedGames.size();
+	}
+
+	@Override
+	public String toString() {
+		return String.format("GamePool[threadHits=%d, sharedHits=%d, misses=%d, discards=%d, shared=%d]", this.getThreadHitCount(),
+				this.getSharedHitCount(), this.getMissCount(), this.getDiscardCount(), this.getSharedCount());
+	}
+}
@@ -0,0 +1,70 @@
+package ncaralicea.games.session;
+
+import ncaralicea.games.domain.IBoardGame;
+import ncaralicea.games.domain.IBoardPosition;
+import ncaralicea.games.domain.IPlayer;
+
+/**
+ * GameSession wraps a game hosted by GameSessionManager.
+ *
+ * The session itself is the lock of its game: every access to the game is made while holding it, so the moves
+ * of a game are serialized, and the moves of different games never contend.
+ *
+ * @author Nicolae Caralicea
+ *
+ * @param <M>
+ * 		- generic type argument used to represent the board position type.
+ *
+ * @param <P>
+ * 		- generic type argument used to represent the player type.
+ */
+final class GameSession<M extends IBoardPosition, P extends IPlayer> {
+
+	private final long id;
+
+	/**
+	 * the game, guarded by the session.
+	 */
+	private final IBoardGame<M, P> game;
+
+	/**
+	 * the time of the last access, from the clock of the manager.
+	 */
+	private volatile long lastAccessNanos;
+
+	/**
+	 * set (while holding the session) when the session is removed, so the threads which looked the session
+	 * up just before do not use it anymore.
+	 */
+	private boolean closed;
+
+	GameSession(final long id, final IBoardGame<M, P> game, final long nowNanos) {
+		this.id = id;
+		this.game = game;
+		this.lastAccessNanos = nowNanos;
+	}
+
+	long getId() {
+		return this.id;
+	}
+
+	IBoardGame<M, P> getGame() {
+		return this.game;
+	}
+
+	long getLastAccessNanos() {
+		return this.lastAccessNanos;
+	}
+
+	void touch(final long nowNanos) {
+		this.lastAccessNanos = nowNanos;
+	}
+
+	boolean isClosed() {
+		return this.closed;
+	}
+
+	void close() {
+		this.closed = true;
+	}
+}
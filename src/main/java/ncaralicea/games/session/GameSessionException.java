@@ -0,0 +1,17 @@
+package ncaralicea.games.session;
+
+/**
+ * GameSessionException is the unchecked exception thrown by GameSessionManager when a session can not be found
+ * (it never existed, was removed, or expired).
+ *
+ * @author Nicolae Caralicea
+ *
+ */
+public class GameSessionException extends RuntimeException {
+
+	private static final long serialVersionUID = 3140569257791234861L;
+
+	public GameSessionException(final String s) {
+		super(s);
+	}
+}
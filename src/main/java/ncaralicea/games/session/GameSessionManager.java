@@ -0,0 +1,405 @@
+package ncaralicea.games.session;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+import ncaralicea.games.domain.GameStatus;
+import ncaralicea.games.domain.IBoardGame;
+import ncaralicea.games.domain.IBoardPosition;
+import ncaralicea.games.domain.IPlayer;
+import ncaralicea.games.domain.MoveResult;
+
+/**
+ * GameSessionManager hosts many games played concurrently, each one identified by a session id.
+ *
+ * The sessions are kept in a ConcurrentHashMap, so creating and looking them up does not lock, and every session
+ * is the lock of its own game, so the moves of unrelated games never contend. The sessions not accessed for longer
+ * than the idle timeout are expired, either on demand (expireIdleSessions) or periodically (scheduleExpiry).
+ *
+ * The manager counts the live sessions and records the latency of every operation with LongAdder based counters,
+ * which stay cheap under contention.
+ *
+ * Note:
+ *
+ * 		The games must only be accessed through the manager (withSession for anything else than the built-in
+ * 		operations), since the manager holds the session lock while doing so.
+ *
+ * @author Nicolae Caralicea
+ *
+ * @param <M>
+ * 		- generic type argument used to represent the board position type.
+ *
+ * @param <P>
+ * 		- generic type argument used to represent the player type.
+ */
+public class GameSessionManager<M extends IBoardPosition, P extends IPlayer> {
+
+	/**
+	 * Operation enumerates the operations whose latency is recorded.
+	 */
+	public enum Operation {
+		CREATE, LOOKUP, MOVE, REMOVE, EXPIRE
+	}
+
+	private final ConcurrentMap<Long, GameSession<M, P>> sessions = new ConcurrentHashMap<Long, GameSession<M, P>>();
+
+	private final AtomicLong sessionIds = new AtomicLong();
+
+	private final Supplier<? extends IBoardGame<M, P>> gameFactory;
+
+	private final long idleTimeoutNanos;
+
+	private final LongSupplier nanoClock;
+
+	private final Map<Operation, LatencyRecorder> latencies = new EnumMap<Operation, LatencyRecorder>(Operation.class);
+
+	private final LongAdder expiredSessions = new LongAdder();
+
+	/**
+	 * Creates a session manager.
+	 *
+	 * @param gameFactory
+	 * 		- creates the game of every new session.
+	 * @param idleTimeout
+	 * 		- the time a session may stay without being accessed before it expires.
+	 * @param unit
+	 * 		- the time unit of the idle timeout.
+	 */
+	public GameSessionManager(final Supplier<? extends IBoardGame<M, P>> gameFactory, final long idleTimeout, final TimeUnit unit) {
+		this(gameFactory, idleTimeout, unit, System::nanoTime);
+	}
+
+	/**
+	 * Creates a session manager whose sessions are timed by the clock provided as argument.
+	 *
+	 * @param gameFactory
+	 * 		- creates the game of every new session.
+	 * @param idleTimeout
+	 * 		- the time a session may stay without being accessed before it expires.
+	 * @param unit
+	 * 		- the time unit of the idle timeout.
+	 * @param nanoClock
+	 * 		- gives the current time in nanoseconds, the way System.nanoTime does.
+	 */
+	public GameSessionManager(final Supplier<? extends IBoardGame<M, P>> gameFactory, final long idleTimeout, final TimeUnit unit,
+			final LongSupplier nanoClock) {
+		this.gameFactory = gameFactory;
+		this.nanoClock = nanoClock;
+		this.idleTimeoutNanos = unit.toNanos(idleTimeout);
+		for (final Operation operation : Operation.values()) {
+			this.latencies.put(operation, new LatencyRecorder());
+		}
+	}
+
+	/**
+	 * Creates a session with a new game, started by the players provided as argument.
+	 *
+	 * @param players
+	 * 		- the players of the game, the first one having the first move.
+	 *
+	 * @return
+	 * 		- returns the id of the session.
+	 */
+	public long createSession(final P[] players) {
+		final long start = System.nanoTime();
+		final IBoardGame<M, P> game = this.gameFactory.get();
+		game.setGamePlayers(players);
+		game.start();
+		final long id = this.sessionIds.incrementAndGet();
+		this.sessions.put(id, new GameSession<M, P>(id, game, this.nanoClock.getAsLong()));
+		this.record(Operation.CREATE, start);
+		return id;
+	}
+
+	/**
+	 * Makes a move in the game of the session, on behalf of the player whose turn it is.
+	 *
+	 * @param sessionId
+	 * 		- the id of the session.
+	 * @param move
+	 * 		- the move.
+	 *
+	 * @return
+	 * 		- returns the status of the game after the move.
+	 *
+	 * @throws GameSessionException
+	 * 		- if there is no such session.
+	 */
+	public GameStatus makeMove(final long sessionId, final M move) {
+		final long start = System.nanoTime();
+		try {
+			final GameSession<M, P> session = this.getSession(sessionId);
+			synchronized (session) {
+				this.checkOpen(session);
+				session.touch(this.nanoClock.getAsLong());
+				session.getGame().makeMove(move);
+				return session.getGame().getGameStatus();
+			}
+		} finally {
+			this.record(Operation.MOVE, start);
+		}
+	}
+
+	/**
+	 * Submits a move in the game of the session, on behalf of the player whose turn it is, reporting a rejected
+	 * move by the result instead of an exception (see IBoardGame.tryMakeMove).
+	 *
+	 * @param sessionId
+	 * 		- the id of the session.
+	 * @param move
+	 * 		- the move.
+	 *
+	 * @return
+	 * 		- returns ACCEPTED if the move was made, or the reason it was rejected otherwise.
+	 *
+	 * @throws GameSessionException
+	 * 		- if there is no such session.
+	 */
+	public MoveResult tryMakeMove(final long sessionId, final M move) {
+		return this.tryMakeMove(sessionId, move, (result, status) -> result);
+	}
+
+	/**
+	 * Submits a move in the game of the session, on behalf of the player whose turn it is, and builds a reply out
+	 * of the result of the move and the status of the game after it, both taken while holding the session lock.
+	 *
+	 * @param sessionId
+	 * 		- the id of the session.
+	 * @param move
+	 * 		- the move.
+	 * @param reply
+	 * 		- builds the reply out of the result of the move and the status of the game.
+	 *
+	 * @return
+	 * 		- returns the reply.
+	 *
+	 * @throws GameSessionException
+	 * 		- if there is no such session.
+	 */
+	public <R> R tryMakeMove(final long sessionId, final M move, final BiFunction<MoveResult, GameStatus, R> reply) {
+		final long start = System.nanoTime();
+		try {
+			final GameSession<M, P> session = this.getSession(sessionId);
+			synchronized (session) {
+				this.checkOpen(session);
+				session.touch(this.nanoClock.getAsLong());
+				final MoveResult result = session.getGame().tryMakeMove(move);
+				return reply.apply(result, session.getGame().getGameStatus());
+			}
+		} finally {
+			this.record(Operation.MOVE, start);
+		}
+	}
+
+	/**
+	 * Runs a function on the game of the session, while holding the lock of the session, so the function sees
+	 * (and may change) the game consistently.
+	 *
+	 * @param sessionId
+	 * 		- the id of the session.
+	 * @param function
+	 * 		- the function, which should not keep any reference to the game.
+	 *
+	 * @return
+	 * 		- returns the result of the function.
+	 *
+	 * @throws GameSessionException
+	 * 		- if there is no such session.
+	 */
+	public <R> R withSession(final long sessionId, final Function<? super IBoardGame<M, P>, R> function) {
+		final long start = System.nanoTime();
+		try {
+			final GameSession<M, P> session = this.getSession(sessionId);
+			synchronized (session) {
+				this.checkOpen(session);
+				session.touch(this.nanoClock.getAsLong());
+				return function.apply(session.getGame());
+			}
+		} finally {
+			this.record(Operation.LOOKUP, start);
+		}
+	}
+
+	/**
+	 * Gets the status of the game of the session.
+	 *
+	 * @param sessionId
+	 * 		- the id of the session.
+	 *
+	 * @return
+	 * 		- returns the status of the game.
+	 */
+	public GameStatus getGameStatus(final long sessionId) {
+		return this.withSession(sessionId, IBoardGame::getGameStatus);
+	}
+
+	/**
+	 * Checks if a session exists.
+	 *
+	 * @param sessionId
+	 * 		- the id of the session.
+	 *
+	 * @return
+	 * 		- returns true if the session exists (and has not expired).
+	 */
+	public boolean containsSession(final long sessionId) {
+		return this.sessions.containsKey(sessionId);
+	}
+
+	/**
+	 * Removes a session.
+	 *
+	 * @param sessionId
+	 * 		- the id of the session.
+	 *
+	 * @return
+	 * 		- returns true if the session was removed, or false if there was no such session.
+	 */
+	public boolean removeSession(final long sessionId) {
+		final long start = System.nanoTime();
+		final GameSession<M, P> session = this.sessions.get(sessionId);
+		final boolean removed = session != null && this.close(session, false, 0);
+		this.record(Operation.REMOVE, start);
+		return removed;
+	}
+
+	/**
+	 * Removes the sessions which were not accessed for longer than the idle timeout.
+	 *
+	 * @return
+	 * 		- returns the number of expired sessions.
+	 */
+	public int expireIdleSessions() {
+		final long start = System.nanoTime();
+		final long idleSince = this.nanoClock.getAsLong() - this.idleTimeoutNanos;
+		int expired = 0;
+		for (final GameSession<M, P> session : this.sessions.values()) {
+			if (session.getLastAccessNanos() - idleSince < 0 && this.close(session, true, idleSince)) {
+				expired++;
+			}
+		}
+		this.expiredSessions.add(expired);
+		this.record(Operation.EXPIRE, start);
+		return expired;
+	}
+
+	/**
+	 * Expires the idle sessions periodically.
+	 *
+	 * @param scheduler
+	 * 		- the scheduler running the expiry.
+	 * @param period
+	 * 		- the period of the expiry.
+	 * @param unit
+	 * 		- the time unit of the period.
+	 *
+	 * @return
+	 * 		- returns the scheduled expiry, which can be cancelled.
+	 */
+	public ScheduledFuture<?> scheduleExpiry(final ScheduledExecutorService scheduler, final long period, final TimeUnit unit) {
+		return scheduler.scheduleAtFixedRate(this::expireIdleSessions, period, period, unit);
+	}
+
+	/**
+	 * Gets the number of live sessions.
+	 *
+	 * @return
+	 * 		- returns the number of sessions.
+	 */
+	public int getSessionCount() {
+		return this.sessions.size();
+	}
+
+	/**
+	 * Gets the number of sessions expired so far.
+	 *
+	 * @return
+	 * 		- returns the number of expired sessions.
+	 */
+	public long getExpiredSessionCount() {
+		return this.expiredSessions.sum();
+	}
+
+	/**
+	 * Gets the latency of an operation, over all its calls so far.
+	 *
+	 * @param operation
+	 * 		- the operation.
+	 *
+	 * @return
+	 * 		- returns a snapshot of the latency of the operation.
+	 */
+	public OperationStats getOperationStats(final Operation operation) {
+		return this.latencies.get(operation).snapshot();
+	}
+
+	private GameSession<M, P> getSession(final long sessionId) {
+		final GameSession<M, P> session = this.sessions.get(sessionId);
+		if (session == null) {
+			throw new GameSessionException("There is no session with the id " + sessionId + ".");
+		}
+		return session;
+	}
+
+	private void checkOpen(final GameSession<M, P> session) {
+		if (session.isClosed()) {
+			throw new GameSessionException("The session with the id " + session.getId() + " was removed.");
+		}
+	}
+
+	/**
+	 * Closes and removes the session, unless it was closed already, or it is expired only if idle and was
+	 * accessed since the time provided as argument (checked again while holding the session).
+	 *
+	 * @return
+	 * 		- returns true if the session was closed by this call.
+	 */
+	private boolean close(final GameSession<M, P> session, final boolean onlyIfIdle, final long idleSince) {
+		synchronized (session) {
+			if (session.isClosed() || (onlyIfIdle && session.getLastAccessNanos() - idleSince >= 0)) {
+				return false;
+			}
+			session.close();
+		}
+		this.sessions.remove(session.getId(), session);
+		return true;
+	}
+
+	private void record(final Operation operation, final long startNanos) {
+		this.latencies.get(operation).record(System.nanoTime() - startNanos);
+	}
+
+	/**
+	 * LatencyRecorder accumulates the latency of an operation without locking.
+	 */
+	private static final class LatencyRecorder {
+
+		private final LongAdder count = new LongAdder();
+
+		private final LongAdder totalNanos = new LongAdder();
+
+		private final LongAccumulator maxNanos = new LongAccumulator(Math::max, 0);
+
+		void record(final long nanos) {
+			this.count.increment();
+			this.totalNanos.add(nanos);
+			this.maxNanos.accumulate(nanos);
+		}
+
+		OperationStats snapshot() {
+			return new OperationStats(this.count.sum(), this.totalNanos.sum(), this.maxNanos.get());
+		}
+	}
+}
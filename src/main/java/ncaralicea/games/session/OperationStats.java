@@ -0,0 +1,67 @@
+package ncaralicea.games.session;
+
+/**
+ * OperationStats is a snapshot of the latency of a GameSessionManager operation.
+ *
+ * @author Nicolae Caralicea
+ *
+ */
+public class OperationStats {
+
+	private final long count;
+
+	private final long totalNanos;
+
+	private final long maxNanos;
+
+	OperationStats(final long count, final long totalNanos, final long maxNanos) {
+		this.count = count;
+		this.totalNanos = totalNanos;
+		this.maxNanos = maxNanos;
+	}
+
+	/**
+	 * Gets the number of times the operation was called.
+	 *
+	 * @return
+	 * 		- returns the number of calls.
+	 */
+	public long getCount() {
+		return this.count;
+	}
+
+	/**
+	 * Gets the time spent in the operation by all the calls.
+	 *
+	 * @return
+	 * 		- returns the total time in nanoseconds.
+	 */
+	public long getTotalNanos() {
+		return this.totalNanos;
+	}
+
+	/**
+	 * Gets the average latency of the operation.
+	 *
+	 * @return
+	 * 		- returns the mean latency in nanoseconds, or 0 if the operation was never called.
+	 */
+	public double getMeanNanos() {
+		return this.count > 0 ? this.totalNanos / (double) this.count : 0;
+	}
+
+	/**
+	 * Gets the highest latency of the operation.
+	 *
+	 * @return
+	 * 		- returns the maximum latency in nanoseconds.
+	 */
+	public long getMaxNanos() {
+		return this.maxNanos;
+	}
+
+	@Override
+	public String toString() {
+		return String.format("OperationStats[count=%d, mean=%.0f ns, max=%d ns]", this.count, this.getMeanNanos(), this.maxNanos);
+	}
+}
@@ -0,0 +1,262 @@
+package ncaralicea.games.domain.mnk.integration;
+
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import ncaralicea.games.domain.IBoardView;
+import ncaralicea.games.domain.MoveResult;
+import ncaralicea.games.domain.mnk.MnkGame;
+import ncaralicea.games.domain.mnk.MnkMove;
+import ncaralicea.games.domain.mnk.MnkPlayer;
+import ncaralicea.games.domain.mnk.MnkPosition;
+import ncaralicea.games.domain.tictactoe.TestSupport;
+import ncaralicea.games.domain.tictactoe.TicTacToeGame;
+import ncaralicea.games.domain.tictactoe.TicTacToeMove;
+import ncaralicea.games.domain.tictactoe.TicTacToePlayer;
+import ncaralicea.games.domain.tictactoe.TicTacToePosition;
+import ncaralicea.games.engine.NegamaxEngine;
+
+/**
+ *
+ * TestIntMnkGame plays random games on the m,n,k game, checking it against the Tic-Tac-Toe game on the 3 X 3 board
+ * and against a plain scan of all the board lines on the larger boards.
+ *
+ * @author Nicolae Caralicea
+ *
+ */
+public class TestIntMnkGame extends TestSupport {
+
+	private static final int GAMES = 2000;
+
+	private final MnkPlayer playerI = new MnkPlayer("X");
+
+	private final MnkPlayer playerII = new MnkPlayer("O");
+
+	@Test
+	public void testTicTacToeEquivalence() {
+		this.displayUnitTestDescription("Integration Test the 3,3,3 game plays exactly like the Tic-Tac-Toe game");
+		final Random random = new Random(20150101L);
+		final MnkGame mnkGame = this.newGame(3, 3);
+		final TicTacToeGame ticTacToeGame = new TicTacToeGame();
+		ticTacToeGame.setGamePlayers(new TicTacToePlayer[]{new TicTacToePlayer("X"), new TicTacToePlayer("O")});
+
+		for (int game = 0; game < GAMES; game++) {
+			mnkGame.reset();
+			mnkGame.start();
+			ticTacToeGame.reset();
+			ticTacToeGame.start();
+			while (!mnkGame.isGameEnded()) {
+				final int cell = this.randomFreeCell(mnkGame, random);
+				mnkGame.makeMove(new MnkMove(cell / 3, cell % 3));
+				ticTacToeGame.makeMove(TicTacToeMove.ofCell(cell));
+
+				Assert.assertEquals(ticTacToeGame.getGameStatus(), mnkGame.getGameStatus());
+			}
+			if (mnkGame.existWinner()) {
+				Assert.assertEquals(ticTacToeGame.getWinner().getDisplayName(), mnkGame.getWinner().getDisplayName());
+			}
+		}
+	}
+
+	@Test
+	public void testRandomGamesAgainstLineScan() {
+		this.displayUnitTestDescription("Integration Test the incremental win detection against a scan of all the lines on 7 X 7 and 15 X 15 boards");
+		final Random random = new Random(20150102L);
+		final int[][] configurations = {{7, 5}, {15, 5}, {7, 4}, {5, 5}};
+
+		for (final int[] configuration : configurations) {
+			final int size = configuration[0];
+			final int winLength = configuration[1];
+			final MnkGame mnkGame = this.newGame(size, winLength);
+			for (int game = 0; game < GAMES / 10; game++) {
+				mnkGame.reset();
+				mnkGame.start();
+				while (!mnkGame.isGameEnded()) {
+					Assert.assertNull(scanForWinner(mnkGame.getPlayerInteractionSnapshotBoard(), winLength));
+					final int cell = this.randomFreeCell(mnkGame, random);
+					final MnkPlayer player = mnkGame.whoseTurnIs();
+					mnkGame.makeMove(new MnkMove(cell / size, cell % size));
+
+					final MnkPlayer expectedWinner = scanForWinner(mnkGame.getPlayerInteractionSnapshotBoard(), winLength);
+					Assert.assertEquals(expectedWinner != null, mnkGame.existWinner());
+					if (expectedWinner != null) {
+						Assert.assertEquals(player, expectedWinner);
+						Assert.assertEquals(player, mnkGame.getWinner());
+					}
+				}
+				Assert.assertEquals(!mnkGame.existWinner(), mnkGame.isGameDraw());
+			}
+		}
+	}
+
+	@Test
+	public void testBoardView() {
+		this.displayUnitTestDescription("Integration Test the board view shows the live 7 X 7 board of random games");
+		final Random random = new Random(20150103L);
+		final MnkGame mnkGame = this.startGame(7, 4);
+		final IBoardView<MnkPlayer> boardView = mnkGame.getBoardView();
+		Assert.assertEquals(6, boardView.getMaxPosition());
+		while (!mnkGame.isGameEnded()) {
+			final long version = boardView.getVersion();
+			final int cell = this.randomFreeCell(mnkGame, random);
+			mnkGame.makeMove(new MnkMove(cell / 7, cell % 7));
+			Assert.assertNotEquals(version, boardView.getVersion());
+			Assert.assertEquals(mnkGame.getStateSpace().getPlayerAt(cell / 7, cell % 7), boardView.cellAt(cell / 7, cell % 7));
+			final MnkPlayer[][] snapshot = mnkGame.getPlayerInteractionSnapshotBoard();
+			boardView.forEachCell((hPos, vPos, player) -> Assert.assertEquals(snapshot[hPos][vPos], player));
+		}
+		Assert.assertNull(boardView.cellAt(7, 0));
+	}
+
+	@Test
+	public void testTryMakeMove() {
+		this.displayUnitTestDescription("Integration Test the rejected moves on a 5 X 5 board are reported by their result");
+		final MnkGame mnkGame = this.newGame(5, 4);
+		Assert.assertEquals(MoveResult.NOT_STARTED, mnkGame.tryMakeMove(new MnkMove(0, 0)));
+		mnkGame.start();
+		Assert.assertEquals(MoveResult.ACCEPTED, mnkGame.tryMakeMove(new MnkMove(4, 4), this.playerI));
+		Assert.assertEquals(MoveResult.OCCUPIED, mnkGame.tryMakeMove(new MnkMove(4, 4)));
+		Assert.assertEquals(MoveResult.OUT_OF_BOUNDS, mnkGame.tryMakeMove(new MnkMove(5, 0)));
+		Assert.assertEquals(MoveResult.WRONG_TURN, mnkGame.tryMakeMove(new MnkMove(0, 0), this.playerI));
+		for (int i = 0; i < 4; i++) {
+			Assert.assertEquals(MoveResult.ACCEPTED, mnkGame.tryMakeMove(new MnkMove(0, i), this.playerII));
+			if (i < 3) {
+				Assert.assertEquals(MoveResult.ACCEPTED, mnkGame.tryMakeMove(new MnkMove(2, i), this.playerI));
+			}
+		}
+		Assert.assertEquals(this.playerII, mnkGame.getWinner());
+		Assert.assertEquals(MoveResult.GAME_OVER, mnkGame.tryMakeMove(new MnkMove(3, 3)));
+	}
+
+	@Test
+	public void testImmutablePositions() {
+		this.displayUnitTestDescription("Integration Test the immutable positions play like the game on 15 X 15 and 64 X 64 boards, and are never changed by the next moves");
+		final Random random = new Random(20150104L);
+		final int[][] configurations = {{15, 5}, {64, 5}, {64, 3}};
+
+		for (final int[] configuration : configurations) {
+			final int size = configuration[0];
+			final MnkGame mnkGame = this.startGame(size, configuration[1]);
+			final MnkPosition[] positions = new MnkPosition[size * size + 1];
+			positions[0] = MnkPosition.start(size, configuration[1], new MnkPlayer[]{this.playerI, this.playerII});
+			final int[] cells = new int[size * size];
+			int moves = 0;
+			while (!mnkGame.isGameEnded()) {
+				final int cell = this.randomFreeCell(mnkGame, random);
+				final MnkMove move = new MnkMove(cell / size, cell % size);
+				Assert.assertEquals(mnkGame.tryMakeMove(move, positions[moves].whoseTurnIs()), positions[moves].validateMove(move, null));
+				cells[moves] = cell;
+				positions[moves + 1] = positions[moves].play(move);
+				moves++;
+				Assert.assertEquals(mnkGame.getGameStatus(), positions[moves].getGameStatus());
+				Assert.assertEquals(mnkGame.whoseTurnIs(), positions[moves].whoseTurnIs());
+			}
+			Assert.assertEquals(mnkGame.existWinner() ? mnkGame.getWinner() : null, positions[moves].getWinner());
+			// every position still holds exactly the stones placed before it
+			for (int position = 0; position <= moves; position++) {
+				Assert.assertEquals(position, positions[position].getMovesCount());
+				for (int move = 0; move < moves; move++) {
+					final MnkPlayer expected = move < position ? (move % 2 == 0 ? this.playerI : this.playerII) : null;
+					Assert.assertEquals(expected, positions[position].cellAt(cells[move] / size, cells[move] % size));
+				}
+			}
+		}
+	}
+
+	@Test
+	public void testPositions() {
+		this.displayUnitTestDescription("Integration Test the positions enumerated on the 3 X 3 board match the Tic-Tac-Toe ones, and the parallel enumeration on the 4 X 4 board matches the sequential one");
+		final MnkPlayer[] players = new MnkPlayer[]{this.playerI, this.playerII};
+		final TicTacToePosition ticTacToeStart = TicTacToePosition.start(new TicTacToePlayer[]{new TicTacToePlayer("X"), new TicTacToePlayer("O")});
+		final MnkPosition start = MnkPosition.start(3, 3, players);
+		for (final boolean reduceSymmetries : new boolean[]{false, true}) {
+			final Map<Integer, Long> expected = ticTacToeStart.positions(reduceSymmetries, Integer.MAX_VALUE)
+					.collect(Collectors.groupingBy(TicTacToePosition::getMovesCount, Collectors.counting()));
+			Assert.assertEquals(expected, start.positions(reduceSymmetries, Integer.MAX_VALUE)
+					.collect(Collectors.groupingBy(MnkPosition::getMovesCount, Collectors.counting())));
+		}
+
+		final MnkPosition largerStart = MnkPosition.start(4, 3, players);
+		final Set<MnkPosition> positions = largerStart.positions(false, 5).collect(Collectors.toSet());
+		Assert.assertEquals(positions, largerStart.positions(false, 5).parallel().collect(Collectors.toSet()));
+		final Set<MnkPosition> canonicalPositions = largerStart.positions(true, 5).parallel().collect(Collectors.toSet());
+		Assert.assertEquals(positions.stream().map(MnkPosition::getCanonicalPosition).collect(Collectors.toSet()), canonicalPositions);
+		Assert.assertTrue(canonicalPositions.size() * 4 < positions.size());
+		// the versions tell the positions apart, and a canonical position has the version of the played one
+		final Map<Long, MnkPosition> versions = positions.stream().collect(Collectors.toMap(MnkPosition::getVersion, position -> position));
+		Assert.assertEquals(positions.size(), versions.size());
+		for (final MnkPosition canonicalPosition : canonicalPositions) {
+			Assert.assertEquals(canonicalPosition, versions.get(canonicalPosition.getVersion()));
+		}
+	}
+
+	@Test
+	public void testNegamaxEngine() {
+		this.displayUnitTestDescription("Integration Test the negamax engine solves the 3,3,3 game as a draw and the 4,4,3 game as a first player win");
+
+		Assert.assertEquals(0, new NegamaxEngine<MnkMove, MnkPlayer>(this.startGame(3, 3)).evaluate());
+		Assert.assertTrue(new NegamaxEngine<MnkMove, MnkPlayer>(this.startGame(4, 3)).search().isWin());
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testWinLengthLongerThanBoard() {
+		this.displayUnitTestDescription("Integration Test the game should throw an exception when the win length does not fit on the board");
+
+		new MnkGame(7, 8);
+	}
+
+	private MnkGame newGame(final int size, final int winLength) {
+		final MnkGame mnkGame = new MnkGame(size, winLength);
+		mnkGame.setGamePlayers(new MnkPlayer[]{this.playerI, this.playerII});
+		return mnkGame;
+	}
+
+	private MnkGame startGame(final int size, final int winLength) {
+		final MnkGame mnkGame = this.newGame(size, winLength);
+		mnkGame.start();
+		return mnkGame;
+	}
+
+	private int randomFreeCell(final MnkGame mnkGame, final Random random) {
+		int cell = mnkGame.getStateSpace().nextAvailableCell(0);
+		for (int skip = random.nextInt(mnkGame.getStateSpace().getAvailableMovesCount()); skip > 0; skip--) {
+			cell = mnkGame.getStateSpace().nextAvailableCell(cell + 1);
+		}
+		return cell;
+	}
+
+	/**
+	 * Scans every line of the board for winLength stones of the same player.
+	 */
+	private static MnkPlayer scanForWinner(final MnkPlayer[][] board, final int winLength) {
+		final int size = board.length;
+		final int[][] steps = {{0, 1}, {1, 0}, {1, 1}, {1, -1}};
+		for (int h = 0; h < size; h++) {
+			for (int v = 0; v < size; v++) {
+				if (board[h][v] == null) {
+					continue;
+				}
+				for (final int[] step : steps) {
+					final int lastH = h + step[0] * (winLength - 1);
+					final int lastV = v + step[1] * (winLength - 1);
+					if (lastH < 0 || lastH >= size || lastV < 0 || lastV >= size) {
+						continue;
+					}
+					int count = 1;
+					while (count < winLength && board[h][v].equals(board[h + step[0] * count][v + step[1] * count])) {
+						count++;
+					}
+					if (count == winLength) {
+						return board[h][v];
+					}
+				}
+			}
+		}
+		return null;
+	}
+}
@@ -0,0 +1,89 @@
+package ncaralicea.games.domain.mnk.performance;
+
+import java.util.Random;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import ncaralicea.games.domain.mnk.MnkGame;
+import ncaralicea.games.domain.mnk.MnkMove;
+import ncaralicea.games.domain.mnk.MnkPlayer;
+import ncaralicea.games.domain.tictactoe.TestSupport;
+
+/**
+ *
+ * TestPerfMnkGame reports the cost of a move (makeMove, including the win detection, paired with unmakeMove)
+ * on 3 X 3, 7 X 7, 15 X 15 and 19 X 19 boards, which should not grow with the area of the board.
+ *
+ * @author Nicolae Caralicea
+ *
+ */
+public class TestPerfMnkGame extends TestSupport {
+
+	private static final int GAMES = 200;
+
+	private static final int ROUNDS = 20;
+
+	@Test
+	public void testMoveCostByBoardSize() {
+		this.displayUnitTestDescription("Performance Test the cost of a move on 3 X 3, 7 X 7, 15 X 15 and 19 X 19 boards");
+		final int[][] configurations = {{3, 3}, {7, 5}, {15, 5}, {19, 5}};
+
+		for (final int[] configuration : configurations) {
+			final int size = configuration[0];
+			final MnkGame mnkGame = new MnkGame(size, configuration[1]);
+			mnkGame.setGamePlayers(new MnkPlayer[]{new MnkPlayer("X"), new MnkPlayer("O")});
+			mnkGame.start();
+			final MnkMove[][] games = randomGames(size, new Random(size));
+
+			this.play(mnkGame, games);
+			final long allocatedBytes = this.getAllocatedBytes();
+			final long nanos = System.nanoTime();
+			final long moves = this.play(mnkGame, games);
+			final double nanosPerMove = (System.nanoTime() - nanos) / (double) moves;
+			final long bytesPerMove = (this.getAllocatedBytes() - allocatedBytes) / moves;
+
+			System.out.println(String.format("%2d X %2d, K = %d: %d moves, %.1f ns/move, %d B/move",
+					size, size, configuration[1], moves, nanosPerMove, bytesPerMove));
+			Assert.assertEquals(0, bytesPerMove);
+		}
+	}
+
+	/**
+	 * Plays every game until it ends, taking back all its moves afterwards.
+	 *
+	 * @return
+	 * 		- returns the number of moves made.
+	 */
+	private long play(final MnkGame mnkGame, final MnkMove[][] games) {
+		long moves = 0;
+		for (int round = 0; round < ROUNDS; round++) {
+			for (final MnkMove[] game : games) {
+				int made = 0;
+				while (!mnkGame.isGameEnded()) {
+					mnkGame.makeMove(game[made++]);
+				}
+				moves += made;
+				while (made-- > 0) {
+					mnkGame.unmakeMove();
+				}
+			}
+		}
+		return moves;
+	}
+
+	/**
+	 * Builds the games as random permutations of the cells of the board.
+	 */
+	private static MnkMove[][] randomGames(final int size, final Random random) {
+		final MnkMove[][] games = new MnkMove[GAMES][size * size];
+		for (final MnkMove[] game : games) {
+			for (int cell = 0; cell < game.length; cell++) {
+				final int other = random.nextInt(cell + 1);
+				game[cell] = game[other];
+				game[other] = new MnkMove(cell / size, cell % size);
+			}
+		}
+		return games;
+	}
+}
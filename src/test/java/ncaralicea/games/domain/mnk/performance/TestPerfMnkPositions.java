@@ -0,0 +1,52 @@
+package ncaralicea.games.domain.mnk.performance;
+
+import java.util.concurrent.ForkJoinPool;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import ncaralicea.games.domain.mnk.MnkPlayer;
+import ncaralicea.games.domain.mnk.MnkPosition;
+import ncaralicea.games.domain.tictactoe.TestSupport;
+
+/**
+ *
+ * TestPerfMnkPositions compares the sequential and the parallel enumeration of the positions of a 4 X 4 board
+ * up to a number of moves.
+ *
+ * The number of moves can be set by the games.positions.moves system property.
+ *
+ * @author Nicolae Caralicea
+ *
+ */
+public class TestPerfMnkPositions extends TestSupport {
+
+	private static final int MAX_MOVES = Integer.getInteger("games.positions.moves", 6);
+
+	private static final int ROUNDS = 3;
+
+	@Test
+	public void testParallelEnumeration() {
+		this.displayUnitTestDescription("Performance Test the sequential versus the parallel enumeration of the 4 X 4 positions up to " + MAX_MOVES + " moves");
+		final MnkPosition start = MnkPosition.start(4, 4, new MnkPlayer[]{new MnkPlayer("X"), new MnkPlayer("O")});
+
+		long sequentialNanos = Long.MAX_VALUE;
+		long parallelNanos = Long.MAX_VALUE;
+		long positions = 0;
+		for (int round = 0; round < ROUNDS; round++) {
+			long nanos = System.nanoTime();
+			positions = start.positions(false, MAX_MOVES).count();
+			sequentialNanos = Math.min(sequentialNanos, System.nanoTime() - nanos);
+
+			nanos = System.nanoTime();
+			Assert.assertEquals(positions, start.positions(false, MAX_MOVES).parallel().count());
+			parallelNanos = Math.min(parallelNanos, System.nanoTime() - nanos);
+		}
+		final long canonicalPositions = start.positions(true, MAX_MOVES).parallel().count();
+		System.out.println(String.format("%d positions (%d up to the symmetries)", positions, canonicalPositions));
+		System.out.println(String.format("sequential: %.1f M positions/s", positions * 1000.0 / sequentialNanos));
+		System.out.println(String.format("parallel:   %.1f M positions/s (%d threads)", positions * 1000.0 / parallelNanos,
+				ForkJoinPool.commonPool().getParallelism()));
+		Assert.assertTrue(canonicalPositions < positions);
+	}
+}
@@ -0,0 +1,88 @@
+package ncaralicea.games.domain.mnk.unit;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import ncaralicea.games.domain.mnk.MnkMove;
+import ncaralicea.games.domain.mnk.MnkPlayer;
+import ncaralicea.games.domain.mnk.MnkStateSpace;
+import ncaralicea.games.domain.tictactoe.TestSupport;
+
+/**
+ *
+ * TestUnitMnkStateSpace checks the available cells cursor, the position hash and the board boundaries
+ * of the N X N state space.
+ *
+ * @author Nicolae Caralicea
+ *
+ */
+public class TestUnitMnkStateSpace extends TestSupport {
+
+	private final MnkPlayer playerI = new MnkPlayer("X");
+
+	private final MnkPlayer playerII = new MnkPlayer("O");
+
+	@Test
+	public void testAvailableCellsCursor() {
+		this.displayUnitTestDescription("Unit Test 'nextAvailableCell' method skips the occupied cells across the words of the bit set");
+		final MnkStateSpace stateSpace = new MnkStateSpace(9);
+		for (int cell = 0; cell < 81; cell++) {
+			if (cell != 0 && cell != 63 && cell != 64 && cell != 80) {
+				stateSpace.addMoveFor(new MnkMove(cell / 9, cell % 9), cell % 2 == 0 ? this.playerI : this.playerII);
+			}
+		}
+		final StringBuilder visitedCells = new StringBuilder();
+
+		stateSpace.forEachAvailableMove(cell -> visitedCells.append(cell).append(' '));
+
+		Assert.assertEquals("0 63 64 80 ", visitedCells.toString());
+		Assert.assertEquals(4, stateSpace.getAvailableMovesCount());
+		Assert.assertEquals(4, stateSpace.generateAvailableMoves().size());
+		Assert.assertEquals(-1, stateSpace.nextAvailableCell(81));
+		Assert.assertEquals(new MnkMove(7, 1), stateSpace.getMoveAt(64));
+	}
+
+	@Test
+	public void testPositionHash() {
+		this.displayUnitTestDescription("Unit Test 'positionHash' method is the same for transpositions and is restored by 'removeMove'");
+		final MnkStateSpace stateSpace = new MnkStateSpace(15);
+		final MnkStateSpace transposedStateSpace = new MnkStateSpace(15);
+		final long emptyHash = stateSpace.positionHash();
+
+		stateSpace.addMoveFor(new MnkMove(7, 7), this.playerI);
+		stateSpace.addMoveFor(new MnkMove(7, 8), this.playerII);
+		stateSpace.addMoveFor(new MnkMove(14, 14), this.playerI);
+		transposedStateSpace.addMoveFor(new MnkMove(14, 14), this.playerI);
+		transposedStateSpace.addMoveFor(new MnkMove(7, 8), this.playerII);
+		transposedStateSpace.addMoveFor(new MnkMove(7, 7), this.playerI);
+
+		Assert.assertEquals(stateSpace.positionHash(), transposedStateSpace.positionHash());
+		Assert.assertEquals(this.playerII, stateSpace.getPlayerAt(7, 8));
+		Assert.assertEquals(2, stateSpace.getExecutedMovesBy(this.playerI).size());
+		stateSpace.removeMove(new MnkMove(14, 14));
+		stateSpace.removeMove(new MnkMove(7, 8));
+		stateSpace.removeMove(new MnkMove(7, 7));
+		Assert.assertEquals(emptyHash, stateSpace.positionHash());
+		Assert.assertEquals(225, stateSpace.getAvailableMovesCount());
+	}
+
+	@Test
+	public void testOutOfBoundsQueries() {
+		this.displayUnitTestDescription("Unit Test the state space answers queries outside of the board");
+		final MnkStateSpace stateSpace = new MnkStateSpace(7);
+		stateSpace.addMoveFor(new MnkMove(6, 6), this.playerI);
+
+		Assert.assertEquals(6, stateSpace.getMaxPosition());
+		Assert.assertTrue(stateSpace.isMoveDefinedAt(6, 6));
+		Assert.assertFalse(stateSpace.isMoveDefinedAt(7, 0));
+		Assert.assertFalse(stateSpace.isMoveDefinedAt(0, -1));
+		Assert.assertNull(stateSpace.getPlayerAt(6, 7));
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testMoveOutOfBounds() {
+		this.displayUnitTestDescription("Unit Test the state space should throw an exception when a move is added outside of the board");
+
+		new MnkStateSpace(7).addMoveFor(new MnkMove(0, 7), this.playerI);
+	}
+}
@@ -0,0 +1,67 @@
+package ncaralicea.games.domain.mnk.unit;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import ncaralicea.games.domain.mnk.MnkWinDetector;
+import ncaralicea.games.domain.tictactoe.TestSupport;
+
+/**
+ *
+ * TestUnitMnkWinDetector checks the four line directions through the last stone, and that the lines
+ * do not wrap around the edges of the board.
+ *
+ * @author Nicolae Caralicea
+ *
+ */
+public class TestUnitMnkWinDetector extends TestSupport {
+
+	private static final int SIZE = 7;
+
+	@Test
+	public void testLineDirections() {
+		this.displayUnitTestDescription("Unit Test 'isWinningAt' method finds the horizontal, vertical and diagonal lines through the last stone");
+
+		Assert.assertTrue(this.isWinningAt(5, 24, 22, 23, 24, 25, 26));
+		Assert.assertTrue(this.isWinningAt(5, 24, 3, 10, 17, 24, 31));
+		Assert.assertTrue(this.isWinningAt(5, 24, 0, 8, 16, 24, 32));
+		Assert.assertTrue(this.isWinningAt(5, 24, 6, 12, 18, 24, 30));
+		Assert.assertTrue(this.isWinningAt(5, 22, 22, 23, 24, 25, 26));
+	}
+
+	@Test
+	public void testShortLines() {
+		this.displayUnitTestDescription("Unit Test 'isWinningAt' method does not count lines shorter than the win length, nor other players' stones");
+
+		Assert.assertFalse(this.isWinningAt(5, 24, 22, 23, 24, 25));
+		Assert.assertFalse(this.isWinningAt(5, 24, 0, 8, 16, 24, 33));
+		final byte[] stones = this.stonesAt(22, 23, 24, 25);
+		stones[26] = 2;
+		Assert.assertFalse(MnkWinDetector.isWinningAt(stones, SIZE, 24, 5));
+		Assert.assertFalse(MnkWinDetector.isWinningAt(stones, SIZE, 27, 1));
+		Assert.assertTrue(MnkWinDetector.isWinningAt(stones, SIZE, 26, 1));
+	}
+
+	@Test
+	public void testNoWrapAround() {
+		this.displayUnitTestDescription("Unit Test 'isWinningAt' method does not join stones across the edges of the board");
+
+		Assert.assertFalse(this.isWinningAt(3, 6, 5, 6, 7));
+		Assert.assertFalse(this.isWinningAt(3, 7, 5, 6, 7));
+		Assert.assertFalse(this.isWinningAt(3, 13, 1, 7, 13));
+		Assert.assertFalse(this.isWinningAt(3, 14, 0, 14, 22));
+		Assert.assertTrue(this.isWinningAt(3, 48, 32, 40, 48));
+	}
+
+	private boolean isWinningAt(final int winLength, final int cell, final int... cells) {
+		return MnkWinDetector.isWinningAt(this.stonesAt(cells), SIZE, cell, winLength);
+	}
+
+	private byte[] stonesAt(final int... cells) {
+		final byte[] stones = new byte[SIZE * SIZE];
+		for (final int cell : cells) {
+			stones[cell] = 1;
+		}
+		return stones;
+	}
+}
@@ -1,5 +1,7 @@
 package ncaralicea.games.domain.tictactoe;
 
+import java.lang.management.ManagementFactory;
+
 /**
  * TestSupport is used to provide additional support for the test classes.
  * 
@@ -26,4 +28,17 @@ public class TestSupport {
 		System.out.println(String.format("\n<< %s >>", description));
 	}
 	
+	/**
+	 * Gets the number of bytes allocated so far by the current thread.
+	 * 
+	 * It is used by the performance tests to report (and check) the allocations of the measured code.
+	 * 
+	 * @return
+	 * 		- the number of allocated bytes, as reported by the HotSpot thread management bean.
+	 */
+	protected long getAllocatedBytes() {
+		final com.sun.management.ThreadMXBean threadBean = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+		return threadBean.getThreadAllocatedBytes(Thread.currentThread().getId());
+	}
+	
 }
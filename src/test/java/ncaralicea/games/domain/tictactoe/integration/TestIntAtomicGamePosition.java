@@ -0,0 +1,185 @@
+package ncaralicea.games.domain.tictactoe.integration;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import ncaralicea.games.domain.AtomicGamePosition;
+import ncaralicea.games.domain.MoveResult;
+import ncaralicea.games.domain.mnk.MnkMove;
+import ncaralicea.games.domain.mnk.MnkPlayer;
+import ncaralicea.games.domain.mnk.MnkPosition;
+import ncaralicea.games.domain.tictactoe.TestSupport;
+import ncaralicea.games.domain.tictactoe.TicTacToeMove;
+import ncaralicea.games.domain.tictactoe.TicTacToePlayer;
+import ncaralicea.games.domain.tictactoe.TicTacToePosition;
+
+/**
+ *
+ * TestIntAtomicGamePosition races writers submitting moves against readers checking every position they see,
+ * on games published through AtomicGamePosition.
+ *
+ * @author Nicolae Caralicea
+ *
+ */
+public class TestIntAtomicGamePosition extends TestSupport {
+
+	private static final int GAMES = 2000;
+
+	private static final int WRITERS = 4;
+
+	private static final int READERS = 2;
+
+	private final TicTacToePlayer playerI = new TicTacToePlayer("X");
+
+	private final TicTacToePlayer playerII = new TicTacToePlayer("O");
+
+	@Test
+	public void testConcurrentWritersAndReaders() throws Exception {
+		this.displayUnitTestDescription("Integration Test every accepted move of racing writers lands exactly once, and the readers only see consistent positions");
+		final List<AtomicGamePosition<TicTacToeMove, TicTacToePlayer, TicTacToePosition>> games =
+				new ArrayList<AtomicGamePosition<TicTacToeMove, TicTacToePlayer, TicTacToePosition>>();
+		for (int game = 0; game < GAMES; game++) {
+			games.add(new AtomicGamePosition<TicTacToeMove, TicTacToePlayer, TicTacToePosition>(
+					TicTacToePosition.start(new TicTacToePlayer[]{this.playerI, this.playerII})));
+		}
+		final AtomicBoolean writing = new AtomicBoolean(true);
+		final ExecutorService executor = Executors.newFixedThreadPool(WRITERS + READERS);
+		try {
+			final List<Future<Long>> readers = new ArrayList<Future<Long>>();
+			for (int reader = 0; reader < READERS; reader++) {
+				readers.add(executor.submit(() -> this.readUntilDone(games, writing)));
+			}
+			final List<Future<Long>> writers = new ArrayList<Future<Long>>();
+			for (int writer = 0; writer < WRITERS; writer++) {
+				final long seed = writer;
+				writers.add(executor.submit(() -> this.playAll(games, seed)));
+			}
+			long accepted = 0;
+			for (final Future<Long> writer : writers) {
+				accepted += writer.get(60, TimeUnit.SECONDS);
+			}
+			writing.set(false);
+			for (final Future<Long> reader : readers) {
+				Assert.assertTrue(reader.get(60, TimeUnit.SECONDS) > 0);
+			}
+
+			long moves = 0;
+			for (final AtomicGamePosition<TicTacToeMove, TicTacToePlayer, TicTacToePosition> game : games) {
+				Assert.assertTrue(game.get().getGameStatus().isEnded());
+				moves += game.get().getMovesCount();
+			}
+			Assert.assertEquals(moves, accepted);
+		} finally {
+			executor.shutdownNow();
+		}
+	}
+
+	@Test
+	public void testPlayersTakingTurns() throws Exception {
+		this.displayUnitTestDescription("Integration Test two threads moving on behalf of their own player alternate on a shared 15 X 15 board");
+		final MnkPlayer[] players = {new MnkPlayer("X"), new MnkPlayer("O")};
+		final AtomicGamePosition<MnkMove, MnkPlayer, MnkPosition> game =
+				new AtomicGamePosition<MnkMove, MnkPlayer, MnkPosition>(MnkPosition.start(15, 5, players));
+		final ExecutorService executor = Executors.newFixedThreadPool(2);
+		try {
+			final List<Future<Integer>> results = new ArrayList<Future<Integer>>();
+			for (int index = 0; index < 2; index++) {
+				final MnkPlayer player = players[index];
+				final SplittableRandom random = new SplittableRandom(index);
+				results.add(executor.submit((Callable<Integer>) () -> {
+					int accepted = 0;
+					while (!game.get().getGameStatus().isEnded()) {
+						final int cell = random.nextInt(15 * 15);
+						final MoveResult result = game.tryMakeMove(new MnkMove(cell / 15, cell % 15), player);
+						if (result.isAccepted()) {
+							accepted++;
+						}
+					}
+					return accepted;
+				}));
+			}
+			final int first = results.get(0).get(60, TimeUnit.SECONDS);
+			final int second = results.get(1).get(60, TimeUnit.SECONDS);
+			final MnkPosition position = game.get();
+			Assert.assertEquals(position.getMovesCount(), first + second);
+			// the first player moved first, and the players alternated
+			Assert.assertEquals((position.getMovesCount() + 1) / 2, first);
+		} finally {
+			executor.shutdownNow();
+		}
+	}
+
+	@Test
+	public void testCompareAndMakeMove() {
+		this.displayUnitTestDescription("Integration Test a move computed from a position is not applied once the position changed");
+		final AtomicGamePosition<TicTacToeMove, TicTacToePlayer, TicTacToePosition> game =
+				new AtomicGamePosition<TicTacToeMove, TicTacToePlayer, TicTacToePosition>(
+						TicTacToePosition.start(new TicTacToePlayer[]{this.playerI, this.playerII}));
+		final TicTacToePosition advised = game.get();
+		Assert.assertEquals(MoveResult.ACCEPTED, game.tryMakeMove(TicTacToeMove.ofCell(4)));
+		Assert.assertFalse(game.compareAndMakeMove(advised, TicTacToeMove.ofCell(0)));
+		Assert.assertFalse(game.compareAndMakeMove(game.get(), TicTacToeMove.ofCell(4)));
+		Assert.assertTrue(game.compareAndMakeMove(game.get(), TicTacToeMove.ofCell(0)));
+		Assert.assertEquals(2, game.get().getMovesCount());
+		Assert.assertEquals(MoveResult.WRONG_TURN, game.tryMakeMove(TicTacToeMove.ofCell(1), this.playerII));
+		Assert.assertEquals(0, game.getConflictCount());
+	}
+
+	/**
+	 * Makes random moves in every game until all of them ended.
+	 *
+	 * @return
+	 * 		- returns the number of accepted moves.
+	 */
+	private long playAll(final List<AtomicGamePosition<TicTacToeMove, TicTacToePlayer, TicTacToePosition>> games, final long seed) {
+		final SplittableRandom random = new SplittableRandom(seed);
+		long accepted = 0;
+		for (final AtomicGamePosition<TicTacToeMove, TicTacToePlayer, TicTacToePosition> game : games) {
+			while (!game.get().getGameStatus().isEnded()) {
+				final MoveResult result = game.tryMakeMove(TicTacToeMove.ofCell(random.nextInt(9)));
+				Assert.assertTrue(result == MoveResult.ACCEPTED || result == MoveResult.OCCUPIED || result == MoveResult.GAME_OVER);
+				if (result.isAccepted()) {
+					accepted++;
+				}
+			}
+		}
+		return accepted;
+	}
+
+	/**
+	 * Reads the positions of the games until the writers are done, checking every position is consistent and
+	 * the positions of a game only move forward.
+	 *
+	 * @return
+	 * 		- returns the number of positions read.
+	 */
+	private long readUntilDone(final List<AtomicGamePosition<TicTacToeMove, TicTacToePlayer, TicTacToePosition>> games,
+			final AtomicBoolean writing) {
+		final int[] movesCounts = new int[games.size()];
+		long reads = 0;
+		do {
+			for (int index = 0; index < games.size(); index++) {
+				final TicTacToePosition position = games.get(index).get();
+				final int first = position.getOccupancyMask(0);
+				final int second = position.getOccupancyMask(1);
+				Assert.assertEquals(0, first & second);
+				final int difference = Integer.bitCount(first) - Integer.bitCount(second);
+				Assert.assertTrue(difference == 0 || difference == 1);
+				Assert.assertTrue(position.getMovesCount() >= movesCounts[index]);
+				movesCounts[index] = position.getMovesCount();
+				reads++;
+			}
+		} while (writing.get());
+		return reads;
+	}
+}
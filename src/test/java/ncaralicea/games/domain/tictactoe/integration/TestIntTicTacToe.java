@@ -1,27 +1,54 @@
 package ncaralicea.games.domain.tictactoe.integration;
 
+import java.util.Arrays;
+import java.util.Collection;
+
 import org.junit.Assert;
 import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+import org.junit.runners.Parameterized.Parameters;
 
 import ncaralicea.games.domain.IBoardGame;
+import ncaralicea.games.domain.IBoardView;
+import ncaralicea.games.domain.MoveResult;
 import ncaralicea.games.domain.tictactoe.TestSupport;
 import ncaralicea.games.domain.tictactoe.TicTacToeGame;
+import ncaralicea.games.domain.tictactoe.TicTacToeGame.TicTacToeGameException;
 import ncaralicea.games.domain.tictactoe.TicTacToeMove;
 import ncaralicea.games.domain.tictactoe.TicTacToePlayer;
+import ncaralicea.games.domain.tictactoe.TicTacToeStateSpaceType;
 
 /**
  * 
  * TestIntTicTacToe contains integration tests for almost all positive test cases.
  * 
+ * All the tests are run once for every state space implementation, so the implementations are checked side by side.
+ * 
  * @author Nicolae Caralicea
  *
  */
+@RunWith(Parameterized.class)
 public class TestIntTicTacToe extends TestSupport {
 
+	private final TicTacToeStateSpaceType stateSpaceType;
+	
+	public TestIntTicTacToe(final TicTacToeStateSpaceType stateSpaceType) {
+		this.stateSpaceType = stateSpaceType;
+	}
+	
+	@Parameters(name = "{0}")
+	public static Collection<Object[]> stateSpaceTypes() {
+		return Arrays.asList(new Object[][]{
+			{TicTacToeStateSpaceType.MAP_BASED},
+			{TicTacToeStateSpaceType.BITBOARD}
+		});
+	}
+
 	@Test
 	public void testWinnerPlayerIWithVerticalLine() {
 		this.displayUnitTestDescription("Integration Test for having player 'X' as winner on a vertical line use case");
-		final IBoardGame<TicTacToeMove, TicTacToePlayer> ticTacTocGame = new TicTacToeGame();
+		final IBoardGame<TicTacToeMove, TicTacToePlayer> ticTacTocGame = new TicTacToeGame(this.stateSpaceType);
 		final String playerIDisplayName = "X";
 		final String playerIIDisplayName = "O";
 		final TicTacToePlayer playerI = new TicTacToePlayer(playerIDisplayName);
@@ -55,7 +82,7 @@ public class TestIntTicTacToe extends TestSupport {
 	public void testWinnerPlayerIWithHorizontalLine() {
 		this.displayUnitTestDescription("Integration Test for having player 'X' as winner on a horizontal line use case");
 		
-		final IBoardGame<TicTacToeMove, TicTacToePlayer> ticTacTocGame = new TicTacToeGame();
+		final IBoardGame<TicTacToeMove, TicTacToePlayer> ticTacTocGame = new TicTacToeGame(this.stateSpaceType);
 		String playerIDisplayName = "X";
 		String playerIIDisplayName = "O";
 		final TicTacToePlayer playerI = new TicTacToePlayer(playerIDisplayName);
@@ -89,7 +116,7 @@ public class TestIntTicTacToe extends TestSupport {
 	public void testWinnerPlayerIWithDiagonalLine() {
 		this.displayUnitTestDescription("Integration Test for having player 'X' as winner on a diagonal line use case");
 		
-		final IBoardGame<TicTacToeMove, TicTacToePlayer> ticTacTocGame = new TicTacToeGame();
+		final IBoardGame<TicTacToeMove, TicTacToePlayer> ticTacTocGame = new TicTacToeGame(this.stateSpaceType);
 		String playerIDisplayName = "X";
 		String playerIIDisplayName = "O";
 		final TicTacToePlayer playerI = new TicTacToePlayer(playerIDisplayName);
@@ -121,7 +148,7 @@ public class TestIntTicTacToe extends TestSupport {
 	public void testDrawGame() {
 		this.displayUnitTestDescription("Integration Test for a game ended in a draw use case");
 		
-		final IBoardGame<TicTacToeMove, TicTacToePlayer> ticTacTocGame = new TicTacToeGame();
+		final IBoardGame<TicTacToeMove, TicTacToePlayer> ticTacTocGame = new TicTacToeGame(this.stateSpaceType);
 		String playerIDisplayName = "X";
 		String playerIIDisplayName = "O";
 		final TicTacToePlayer playerI = new TicTacToePlayer(playerIDisplayName);
@@ -156,7 +183,7 @@ public class TestIntTicTacToe extends TestSupport {
 	public void testWinnerPlayerIIWithHorizontalLine() {
 		this.displayUnitTestDescription("Integration Test for having player 'O' as winner on a horizontal line use case");
 		
-		final IBoardGame<TicTacToeMove, TicTacToePlayer> ticTacTocGame = new TicTacToeGame();
+		final IBoardGame<TicTacToeMove, TicTacToePlayer> ticTacTocGame = new TicTacToeGame(this.stateSpaceType);
 		String playerIDisplayName = "X";
 		String playerIIDisplayName = "O";
 		final TicTacToePlayer playerI = new TicTacToePlayer(playerIDisplayName);
@@ -189,7 +216,7 @@ public class TestIntTicTacToe extends TestSupport {
 	public void testForIncompleteGame() {
 		this.displayUnitTestDescription("Integration Test for an incomplete game use case");
 		
-		final IBoardGame<TicTacToeMove, TicTacToePlayer> ticTacTocGame = new TicTacToeGame();
+		final IBoardGame<TicTacToeMove, TicTacToePlayer> ticTacTocGame = new TicTacToeGame(this.stateSpaceType);
 		String playerIDisplayName = "X";
 		String playerIIDisplayName = "O";
 		final TicTacToePlayer playerI = new TicTacToePlayer(playerIDisplayName);
@@ -218,11 +245,106 @@ public class TestIntTicTacToe extends TestSupport {
 		Assert.assertArrayEquals(actualBoardInteractionSnapshot, expectedBoardInteractionSnapshot);
 	}
 	
+	@Test
+	public void testCopy() {
+		this.displayUnitTestDescription("Integration Test the copy of a game is in the same state and is played independently");
+		final IBoardGame<TicTacToeMove, TicTacToePlayer> ticTacTocGame = new TicTacToeGame(this.stateSpaceType);
+		ticTacTocGame.setGamePlayers(new TicTacToePlayer[]{new TicTacToePlayer("X"), new TicTacToePlayer("O")});
+		ticTacTocGame.start();
+		ticTacTocGame.makeMove(new TicTacToeMove(0, 0));
+		ticTacTocGame.makeMove(new TicTacToeMove(1, 0));
+
+		final IBoardGame<TicTacToeMove, TicTacToePlayer> copy = ticTacTocGame.copy();
+		Assert.assertArrayEquals(ticTacTocGame.getPlayerInteractionSnapshotBoard(), copy.getPlayerInteractionSnapshotBoard());
+		Assert.assertEquals(ticTacTocGame.getStateSpace().positionHash(), copy.getStateSpace().positionHash());
+		Assert.assertEquals(ticTacTocGame.whoseTurnIs(), copy.whoseTurnIs());
+
+		copy.makeMove(new TicTacToeMove(0, 1));
+		copy.unmakeMove();
+		copy.unmakeMove();
+		Assert.assertTrue(ticTacTocGame.getStateSpace().isMoveDefinedAt(1, 0));
+		Assert.assertFalse(copy.getStateSpace().isMoveDefinedAt(1, 0));
+		Assert.assertEquals("X", ticTacTocGame.whoseTurnIs().getDisplayName());
+	}
+
+	@Test
+	public void testBoardView() {
+		this.displayUnitTestDescription("Integration Test the board view shows the live board, and its version changes with the board only");
+		final IBoardGame<TicTacToeMove, TicTacToePlayer> ticTacTocGame = new TicTacToeGame(this.stateSpaceType);
+		final TicTacToePlayer playerI = new TicTacToePlayer("X");
+		final TicTacToePlayer playerII = new TicTacToePlayer("O");
+		ticTacTocGame.setGamePlayers(new TicTacToePlayer[]{playerI, playerII});
+		final IBoardView<TicTacToePlayer> boardView = ticTacTocGame.getBoardView();
+		ticTacTocGame.start();
+		ticTacTocGame.makeMove(new TicTacToeMove(0, 0));
+		ticTacTocGame.makeMove(new TicTacToeMove(1, 2));
+		
+		final long version = boardView.getVersion();
+		Assert.assertSame(boardView, ticTacTocGame.getBoardView());
+		Assert.assertEquals(playerI, boardView.cellAt(0, 0));
+		Assert.assertEquals(playerII, boardView.cellAt(1, 2));
+		Assert.assertNull(boardView.cellAt(2, 2));
+		Assert.assertNull(boardView.cellAt(3, 0));
+		final TicTacToePlayer[][] snapshot = ticTacTocGame.getPlayerInteractionSnapshotBoard();
+		final int[] cells = new int[1];
+		boardView.forEachCell((hPos, vPos, player) -> {
+			Assert.assertEquals(snapshot[hPos][vPos], player);
+			Assert.assertEquals(ticTacTocGame.getStateSpace().getPlayerAt(hPos, vPos), player);
+			cells[0]++;
+		});
+		Assert.assertEquals(9, cells[0]);
+		Assert.assertEquals(version, boardView.getVersion());
+		
+		ticTacTocGame.makeMove(new TicTacToeMove(2, 2));
+		Assert.assertNotEquals(version, boardView.getVersion());
+		Assert.assertEquals(playerI, boardView.cellAt(2, 2));
+		ticTacTocGame.unmakeMove();
+		Assert.assertNull(boardView.cellAt(2, 2));
+		final long unmadeVersion = boardView.getVersion();
+		ticTacTocGame.reset();
+		Assert.assertNotEquals(unmadeVersion, boardView.getVersion());
+		Assert.assertNull(boardView.cellAt(0, 0));
+	}
+
+	@Test
+	public void testTryMakeMove() {
+		this.displayUnitTestDescription("Integration Test the rejected moves are reported by their result and leave the game unchanged");
+		final IBoardGame<TicTacToeMove, TicTacToePlayer> ticTacTocGame = new TicTacToeGame(this.stateSpaceType);
+		final TicTacToePlayer playerI = new TicTacToePlayer("X");
+		final TicTacToePlayer playerII = new TicTacToePlayer("O");
+		ticTacTocGame.setGamePlayers(new TicTacToePlayer[]{playerI, playerII});
+		Assert.assertEquals(MoveResult.NOT_STARTED, ticTacTocGame.tryMakeMove(TicTacToeMove.of(0, 0)));
+		
+		ticTacTocGame.start();
+		Assert.assertEquals(MoveResult.ACCEPTED, ticTacTocGame.tryMakeMove(TicTacToeMove.of(0, 0), playerI));
+		final long version = ticTacTocGame.getBoardView().getVersion();
+		Assert.assertEquals(MoveResult.OCCUPIED, ticTacTocGame.tryMakeMove(TicTacToeMove.of(0, 0)));
+		Assert.assertEquals(MoveResult.OUT_OF_BOUNDS, ticTacTocGame.tryMakeMove(TicTacToeMove.of(3, 0)));
+		Assert.assertEquals(MoveResult.OUT_OF_BOUNDS, ticTacTocGame.tryMakeMove(TicTacToeMove.of(0, -1)));
+		Assert.assertEquals(MoveResult.WRONG_TURN, ticTacTocGame.tryMakeMove(TicTacToeMove.of(1, 1), playerI));
+		Assert.assertEquals(version, ticTacTocGame.getBoardView().getVersion());
+		Assert.assertEquals(playerII, ticTacTocGame.whoseTurnIs());
+		
+		Assert.assertEquals(MoveResult.ACCEPTED, ticTacTocGame.tryMakeMove(TicTacToeMove.of(1, 0), playerII));
+		Assert.assertEquals(MoveResult.ACCEPTED, ticTacTocGame.tryMakeMove(TicTacToeMove.of(0, 1)));
+		Assert.assertEquals(MoveResult.ACCEPTED, ticTacTocGame.tryMakeMove(TicTacToeMove.of(1, 1)));
+		Assert.assertEquals(MoveResult.ACCEPTED, ticTacTocGame.tryMakeMove(TicTacToeMove.of(0, 2)));
+		Assert.assertTrue(ticTacTocGame.existWinner());
+		Assert.assertEquals(MoveResult.GAME_OVER, ticTacTocGame.tryMakeMove(TicTacToeMove.of(2, 2)));
+		Assert.assertEquals(MoveResult.GAME_OVER, ticTacTocGame.tryMakeMove(TicTacToeMove.of(0, 0)));
+		try {
+			ticTacTocGame.makeMove(TicTacToeMove.of(2, 2));
+			Assert.fail("The move after the game ended should throw an exception.");
+		} catch (final TicTacToeGameException e) {
+			Assert.assertTrue(e.getMessage().contains(MoveResult.GAME_OVER.name()));
+		}
+	}
+
 	@Test
 	public void testForResetGame() {
 		this.displayUnitTestDescription("Integration Test for having player 'O' as winner after reset game use case");
 		
-		final IBoardGame<TicTacToeMove, TicTacToePlayer> ticTacTocGame = new TicTacToeGame();
+		final IBoardGame<TicTacToeMove, TicTacToePlayer> ticTacTocGame = new TicTacToeGame(this.stateSpaceType);
 		String playerIDisplayName = "X";
 		String playerIIDisplayName = "O";
 		final TicTacToePlayer playerI = new TicTacToePlayer(playerIDisplayName);
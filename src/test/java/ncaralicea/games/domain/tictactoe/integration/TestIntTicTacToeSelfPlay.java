@@ -0,0 +1,88 @@
+package ncaralicea.games.domain.tictactoe.integration;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import ncaralicea.games.domain.tictactoe.TestSupport;
+import ncaralicea.games.domain.tictactoe.TicTacToeMovePolicies;
+import ncaralicea.games.domain.tictactoe.TicTacToeSelfPlayResult;
+import ncaralicea.games.domain.tictactoe.TicTacToeSelfPlaySimulator;
+
+/**
+ * 
+ * TestIntTicTacToeSelfPlay checks the outcomes of the batches of games played by the self-play simulator
+ * against the known odds of the random and perfect players.
+ * 
+ * @author Nicolae Caralicea
+ *
+ */
+public class TestIntTicTacToeSelfPlay extends TestSupport {
+
+	private static final int GAMES = 1000000;
+	
+	@Test
+	public void testRandomPlayers() {
+		this.displayUnitTestDescription("Integration Test random players win, draw and lose at the known rates (58.5% / 12.7% / 28.8%)");
+		
+		try (TicTacToeSelfPlaySimulator simulator = new TicTacToeSelfPlaySimulator(2)) {
+			final TicTacToeSelfPlayResult result = simulator.simulate(GAMES, TicTacToeMovePolicies.RANDOM, TicTacToeMovePolicies.RANDOM, 1L);
+			final long[] lengthHistogram = result.getLengthHistogram();
+			
+			Assert.assertEquals(GAMES, result.getGames());
+			Assert.assertEquals(0.585, result.getWins() / (double) GAMES, 0.005);
+			Assert.assertEquals(0.127, result.getDraws() / (double) GAMES, 0.005);
+			Assert.assertEquals(0.288, result.getLosses() / (double) GAMES, 0.005);
+			Assert.assertEquals(0, result.getForfeits());
+			Assert.assertEquals(0, lengthHistogram[0] + lengthHistogram[1] + lengthHistogram[2] + lengthHistogram[3] + lengthHistogram[4]);
+			Assert.assertEquals(result.getLosses(), lengthHistogram[6] + lengthHistogram[8]);
+			Assert.assertEquals(result.getWins() + result.getDraws(), lengthHistogram[5] + lengthHistogram[7] + lengthHistogram[9]);
+		}
+	}
+	
+	@Test
+	public void testPerfectPlayers() {
+		this.displayUnitTestDescription("Integration Test perfect players always draw, and never lose against random players");
+		
+		try (TicTacToeSelfPlaySimulator simulator = new TicTacToeSelfPlaySimulator(2)) {
+			final TicTacToeSelfPlayResult perfectResult = simulator.simulate(GAMES / 10, TicTacToeMovePolicies.PERFECT, TicTacToeMovePolicies.PERFECT, 2L);
+			final TicTacToeSelfPlayResult firstResult = simulator.simulate(GAMES / 10, TicTacToeMovePolicies.PERFECT, TicTacToeMovePolicies.RANDOM, 3L);
+			final TicTacToeSelfPlayResult secondResult = simulator.simulate(GAMES / 10, TicTacToeMovePolicies.RANDOM, TicTacToeMovePolicies.PERFECT, 4L);
+			
+			Assert.assertEquals(GAMES / 10, perfectResult.getDraws());
+			Assert.assertEquals(GAMES / 10, perfectResult.getLengthHistogram()[9]);
+			Assert.assertEquals(0, firstResult.getLosses());
+			Assert.assertEquals(0, secondResult.getWins());
+		}
+	}
+	
+	@Test
+	public void testScriptedPlayersAndForfeits() {
+		this.displayUnitTestDescription("Integration Test scripted players play the same game every time, and an illegal move forfeits the game");
+		
+		try (TicTacToeSelfPlaySimulator simulator = new TicTacToeSelfPlaySimulator(3)) {
+			final TicTacToeSelfPlayResult scriptedResult = simulator.simulate(1000, TicTacToeMovePolicies.FIRST_FREE, TicTacToeMovePolicies.FIRST_FREE, 5L);
+			final TicTacToeSelfPlayResult forfeitResult = simulator.simulate(1000, TicTacToeMovePolicies.RANDOM, (moverMask, opponentMask, random) -> 9, 6L);
+			
+			Assert.assertEquals(1000, scriptedResult.getWins());
+			Assert.assertEquals(1000, scriptedResult.getLengthHistogram()[7]);
+			Assert.assertEquals(1000, forfeitResult.getForfeits());
+			Assert.assertEquals(1000, forfeitResult.getWins());
+			Assert.assertEquals(1000, forfeitResult.getLengthHistogram()[1]);
+			Assert.assertEquals(3, forfeitResult.getThreads());
+		}
+	}
+	
+	@Test
+	public void testReproducibility() {
+		this.displayUnitTestDescription("Integration Test a batch is reproducible for a given seed and number of threads");
+		
+		try (TicTacToeSelfPlaySimulator simulator = new TicTacToeSelfPlaySimulator(4)) {
+			final TicTacToeSelfPlayResult result = simulator.simulate(100001, TicTacToeMovePolicies.RANDOM, TicTacToeMovePolicies.RANDOM, 7L);
+			final TicTacToeSelfPlayResult sameResult = simulator.simulate(100001, TicTacToeMovePolicies.RANDOM, TicTacToeMovePolicies.RANDOM, 7L);
+			
+			Assert.assertEquals(100001, result.getGames());
+			Assert.assertArrayEquals(result.getLengthHistogram(), sameResult.getLengthHistogram());
+			Assert.assertEquals(result.getWins(), sameResult.getWins());
+		}
+	}
+}
@@ -0,0 +1,125 @@
+package ncaralicea.games.domain.tictactoe.integration;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import ncaralicea.games.domain.tictactoe.TestSupport;
+import ncaralicea.games.domain.tictactoe.TicTacToeGame;
+import ncaralicea.games.domain.tictactoe.TicTacToeMove;
+import ncaralicea.games.domain.tictactoe.TicTacToePlayer;
+import ncaralicea.games.domain.tictactoe.TicTacToeTablebase;
+import ncaralicea.games.domain.tictactoe.TicTacToeTablebaseGenerator;
+import ncaralicea.games.engine.NegamaxEngine;
+import ncaralicea.games.engine.SearchResult;
+
+/**
+ * 
+ * TestIntTicTacToeTablebase checks the shipped tablebase against the generator and the negamax engine.
+ * 
+ * @author Nicolae Caralicea
+ *
+ */
+public class TestIntTicTacToeTablebase extends TestSupport {
+
+	private final TicTacToePlayer playerI = new TicTacToePlayer("X");
+	
+	private final TicTacToePlayer playerII = new TicTacToePlayer("O");
+	
+	private int checkedPositions;
+	
+	@Test
+	public void testShippedResourceIsUpToDate() throws IOException {
+		this.displayUnitTestDescription("Integration Test the shipped tablebase resource is the one written by the generator");
+		final ByteArrayOutputStream expected = new ByteArrayOutputStream();
+		TicTacToeTablebaseGenerator.write(TicTacToeTablebaseGenerator.generate(), expected);
+		final ByteArrayOutputStream actual = new ByteArrayOutputStream();
+		try (final InputStream in = TicTacToeTablebase.class.getResourceAsStream("tictactoe.tb")) {
+			final byte[] chunk = new byte[4096];
+			for (int read = in.read(chunk); read >= 0; read = in.read(chunk)) {
+				actual.write(chunk, 0, read);
+			}
+		}
+		
+		Assert.assertArrayEquals(expected.toByteArray(), actual.toByteArray());
+	}
+	
+	@Test
+	public void testReachablePositions() {
+		this.displayUnitTestDescription("Integration Test the tablebase holds the 5478 reachable positions");
+		final TicTacToeTablebase tablebase = TicTacToeTablebase.getInstance();
+		int reachable = 0;
+		for (int moverMask = 0; moverMask < 512; moverMask++) {
+			for (int opponentMask = 0; opponentMask < 512; opponentMask++) {
+				if (TicTacToeTablebase.isReachable(tablebase.probe(moverMask, opponentMask))) {
+					reachable++;
+				}
+			}
+		}
+		
+		Assert.assertEquals(5478, reachable);
+	}
+	
+	@Test
+	public void testUnreachablePositions() {
+		this.displayUnitTestDescription("Integration Test the probes of the overlapping masks and of the cells outside of the board are unreachable");
+		final TicTacToeTablebase tablebase = TicTacToeTablebase.getInstance();
+		Assert.assertEquals(TicTacToeTablebase.UNREACHABLE_ENTRY, tablebase.probe(1, 1));
+		Assert.assertEquals(TicTacToeTablebase.UNREACHABLE_ENTRY, tablebase.probe(1 << 9, 0));
+		Assert.assertEquals(TicTacToeTablebase.UNREACHABLE_ENTRY, tablebase.probe(0, 1 << 9));
+		Assert.assertEquals(TicTacToeTablebase.UNREACHABLE_ENTRY, tablebase.probe(-1, 0));
+		Assert.assertEquals(TicTacToeTablebase.UNREACHABLE_ENTRY, tablebase.probe(0, Integer.MIN_VALUE));
+		Assert.assertFalse(TicTacToeTablebase.isReachable(TicTacToeTablebase.UNREACHABLE_ENTRY));
+		Assert.assertEquals(0, TicTacToeTablebase.getBestMovesMask(TicTacToeTablebase.UNREACHABLE_ENTRY));
+	}
+	
+	@Test
+	public void testAgainstEngine() {
+		this.displayUnitTestDescription("Integration Test the tablebase values, distances and best moves against the negamax engine");
+		final TicTacToeGame ticTacTocGame = new TicTacToeGame();
+		ticTacTocGame.setGamePlayers(new TicTacToePlayer[]{this.playerI, this.playerII});
+		ticTacTocGame.start();
+		
+		this.check(ticTacTocGame, new NegamaxEngine<TicTacToeMove, TicTacToePlayer>(ticTacTocGame), TicTacToeTablebase.getInstance());
+		
+		Assert.assertEquals(549946, this.checkedPositions);
+	}
+	
+	/**
+	 * Checks the current position and all the positions reachable from it.
+	 */
+	private void check(final TicTacToeGame ticTacTocGame, final NegamaxEngine<TicTacToeMove, TicTacToePlayer> engine,
+			final TicTacToeTablebase tablebase) {
+		final int entry = tablebase.probe(ticTacTocGame);
+		Assert.assertTrue(TicTacToeTablebase.isReachable(entry));
+		Assert.assertEquals(entry, tablebase.probe(ticTacTocGame.getStateSpace(), ticTacTocGame.whoseTurnIs()));
+		this.checkedPositions++;
+		if (ticTacTocGame.isGameEnded()) {
+			Assert.assertEquals(ticTacTocGame.existWinner() ? TicTacToeTablebase.LOSS : TicTacToeTablebase.DRAW, 
+					TicTacToeTablebase.getValue(entry));
+			Assert.assertEquals(0, TicTacToeTablebase.getDistanceToEnd(entry));
+			Assert.assertNull(tablebase.getBestMove(ticTacTocGame));
+			return;
+		}
+		
+		final SearchResult<TicTacToeMove> result = engine.search();
+		Assert.assertEquals(result.isWin() ? TicTacToeTablebase.WIN : result.isLoss() ? TicTacToeTablebase.LOSS : TicTacToeTablebase.DRAW, 
+				TicTacToeTablebase.getValue(entry));
+		if (result.isWin() || result.isLoss()) {
+			Assert.assertEquals(result.getPliesToEnd(), TicTacToeTablebase.getDistanceToEnd(entry));
+		}
+		Assert.assertTrue((TicTacToeTablebase.getBestMovesMask(entry) & (1 << result.getBestMove().getCellIndex())) != 0);
+		
+		for (int cell = 0; cell < 9; cell++) {
+			final TicTacToeMove move = TicTacToeMove.ofCell(cell);
+			if (!ticTacTocGame.getStateSpace().isMoveDefinedAt(move.getHorizontalPosition(), move.getVerticalPosition())) {
+				ticTacTocGame.makeMove(move);
+				this.check(ticTacTocGame, engine, tablebase);
+				ticTacTocGame.unmakeMove();
+			}
+		}
+	}
+}
@@ -0,0 +1,128 @@
+package ncaralicea.games.domain.tictactoe.integration;
+
+import java.util.Arrays;
+import java.util.Collection;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+import org.junit.runners.Parameterized.Parameters;
+
+import ncaralicea.games.domain.GameStatus;
+import ncaralicea.games.domain.tictactoe.TestSupport;
+import ncaralicea.games.domain.tictactoe.TicTacToeGame;
+import ncaralicea.games.domain.tictactoe.TicTacToeMove;
+import ncaralicea.games.domain.tictactoe.TicTacToePlayer;
+import ncaralicea.games.domain.tictactoe.TicTacToeStateSpaceType;
+
+/**
+ * 
+ * TestIntTicTacToeUnmakeMove walks the whole game tree on a single game instance, pairing every move
+ * with an unmakeMove, and checks the game is restored exactly after every take back.
+ * 
+ * @author Nicolae Caralicea
+ *
+ */
+@RunWith(Parameterized.class)
+public class TestIntTicTacToeUnmakeMove extends TestSupport {
+
+	private final TicTacToeStateSpaceType stateSpaceType;
+	
+	private final TicTacToePlayer playerI = new TicTacToePlayer("X");
+	
+	private final TicTacToePlayer playerII = new TicTacToePlayer("O");
+	
+	private int playerIWins;
+	
+	private int playerIIWins;
+	
+	private int draws;
+	
+	public TestIntTicTacToeUnmakeMove(final TicTacToeStateSpaceType stateSpaceType) {
+		this.stateSpaceType = stateSpaceType;
+	}
+	
+	@Parameters(name = "{0}")
+	public static Collection<Object[]> stateSpaceTypes() {
+		return Arrays.asList(new Object[][]{
+			{TicTacToeStateSpaceType.MAP_BASED},
+			{TicTacToeStateSpaceType.BITBOARD}
+		});
+	}
+	
+	@Test
+	public void testWholeGameTree() {
+		this.displayUnitTestDescription("Integration Test every game can be played and taken back on a single game instance");
+		final TicTacToeGame ticTacTocGame = this.startGame();
+		
+		this.walk(ticTacTocGame);
+		
+		Assert.assertEquals(131184, this.playerIWins);
+		Assert.assertEquals(77904, this.playerIIWins);
+		Assert.assertEquals(46080, this.draws);
+		Assert.assertArrayEquals(new TicTacToePlayer[3][3], ticTacTocGame.getPlayerInteractionSnapshotBoard());
+	}
+	
+	@Test
+	public void testUnmakeWinningMove() {
+		this.displayUnitTestDescription("Integration Test taking back the winning move lets the game continue with another move");
+		final TicTacToeGame ticTacTocGame = this.startGame();
+		ticTacTocGame.makeMove(TicTacToeMove.of(0, 0));
+		ticTacTocGame.makeMove(TicTacToeMove.of(1, 0));
+		ticTacTocGame.makeMove(TicTacToeMove.of(0, 1));
+		ticTacTocGame.makeMove(TicTacToeMove.of(1, 1));
+		ticTacTocGame.makeMove(TicTacToeMove.of(0, 2));
+		Assert.assertEquals(this.playerI, ticTacTocGame.getWinner());
+		
+		ticTacTocGame.unmakeMove();
+		
+		Assert.assertEquals(GameStatus.IN_PROGRESS, ticTacTocGame.getGameStatus());
+		Assert.assertEquals(this.playerI, ticTacTocGame.whoseTurnIs());
+		ticTacTocGame.makeMove(TicTacToeMove.of(2, 2));
+		ticTacTocGame.makeMove(TicTacToeMove.of(1, 2));
+		Assert.assertEquals(this.playerII, ticTacTocGame.getWinner());
+	}
+	
+	/**
+	 * Plays every available move, recursively, taking it back afterwards and checking the game is the same as before.
+	 * 
+	 * @param ticTacTocGame
+	 * 		- the game.
+	 */
+	private void walk(final TicTacToeGame ticTacTocGame) {
+		if (ticTacTocGame.existWinner()) {
+			if (ticTacTocGame.getWinner().equals(this.playerI)) {
+				this.playerIWins++;
+			} else {
+				this.playerIIWins++;
+			}
+			return;
+		} else if (ticTacTocGame.isGameDraw()) {
+			this.draws++;
+			return;
+		}
+		
+		final TicTacToePlayer[][] boardBefore = ticTacTocGame.getPlayerInteractionSnapshotBoard();
+		final TicTacToePlayer playerBefore = ticTacTocGame.whoseTurnIs();
+		for (int cell = 0; cell < 9; cell++) {
+			if (boardBefore[cell / 3][cell % 3] != null) {
+				continue;
+			}
+			ticTacTocGame.makeMove(TicTacToeMove.ofCell(cell));
+			this.walk(ticTacTocGame);
+			ticTacTocGame.unmakeMove();
+			
+			Assert.assertEquals(GameStatus.IN_PROGRESS, ticTacTocGame.getGameStatus());
+			Assert.assertEquals(playerBefore, ticTacTocGame.whoseTurnIs());
+			Assert.assertArrayEquals(boardBefore, ticTacTocGame.getPlayerInteractionSnapshotBoard());
+		}
+	}
+	
+	private TicTacToeGame startGame() {
+		final TicTacToeGame ticTacTocGame = new TicTacToeGame(this.stateSpaceType);
+		ticTacTocGame.setGamePlayers(new TicTacToePlayer[]{this.playerI, this.playerII});
+		ticTacTocGame.start();
+		return ticTacTocGame;
+	}
+}
@@ -0,0 +1,169 @@
+package ncaralicea.games.domain.tictactoe.integration;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import ncaralicea.games.domain.GameStatus;
+import ncaralicea.games.domain.tictactoe.TestSupport;
+import ncaralicea.games.domain.tictactoe.TicTacToeGame;
+import ncaralicea.games.domain.tictactoe.TicTacToeMove;
+import ncaralicea.games.domain.tictactoe.TicTacToePlayer;
+
+/**
+ * 
+ * TestIntTicTacToeWinDetection plays every reachable position of the game and checks the winner detected
+ * by the game against a plain scan of the board lines.
+ * 
+ * @author Nicolae Caralicea
+ *
+ */
+public class TestIntTicTacToeWinDetection extends TestSupport {
+
+	private final TicTacToePlayer playerI = new TicTacToePlayer("X");
+	
+	private final TicTacToePlayer playerII = new TicTacToePlayer("O");
+	
+	private final Set<String> visitedPositions = new HashSet<String>();
+	
+	private int playerIWins;
+	
+	private int playerIIWins;
+	
+	private int draws;
+	
+	@Test
+	public void testAllReachablePositions() {
+		this.displayUnitTestDescription("Integration Test the winner detection for every reachable position of the game");
+		
+		this.visit(new ArrayList<TicTacToeMove>());
+		
+		Assert.assertEquals(5478, this.visitedPositions.size());
+		Assert.assertEquals(626, this.playerIWins);
+		Assert.assertEquals(316, this.playerIIWins);
+		Assert.assertEquals(16, this.draws);
+	}
+	
+	@Test
+	public void testSecondaryDiagonal() {
+		this.displayUnitTestDescription("Integration Test for having player 'X' as winner on the secondary diagonal use case");
+		
+		final TicTacToeGame ticTacTocGame = this.startGame();
+		ticTacTocGame.makeMove(new TicTacToeMove(0, 2));
+		ticTacTocGame.makeMove(new TicTacToeMove(0, 0));
+		ticTacTocGame.makeMove(new TicTacToeMove(1, 1));
+		ticTacTocGame.makeMove(new TicTacToeMove(0, 1));
+		ticTacTocGame.makeMove(new TicTacToeMove(2, 0));
+		
+		Assert.assertTrue(ticTacTocGame.existWinner());
+		Assert.assertEquals(this.playerI, ticTacTocGame.getWinner());
+	}
+	
+	@Test
+	public void testNoFalseSecondaryDiagonal() {
+		this.displayUnitTestDescription("Integration Test the cells (0, 0), (1, 1), (2, 0) are not detected as a diagonal line");
+		
+		final TicTacToeGame ticTacTocGame = this.startGame();
+		ticTacTocGame.makeMove(new TicTacToeMove(0, 0));
+		ticTacTocGame.makeMove(new TicTacToeMove(0, 1));
+		ticTacTocGame.makeMove(new TicTacToeMove(1, 1));
+		ticTacTocGame.makeMove(new TicTacToeMove(2, 2));
+		ticTacTocGame.makeMove(new TicTacToeMove(2, 0));
+		
+		Assert.assertFalse(ticTacTocGame.existWinner());
+		Assert.assertFalse(ticTacTocGame.isGameEnded());
+	}
+	
+	/**
+	 * Replays the moves on a new game, checks the result of the game and continues with every
+	 * available move if the game has not ended.
+	 * 
+	 * @param moves
+	 * 		- the moves leading to the position to be checked.
+	 */
+	private void visit(final List<TicTacToeMove> moves) {
+		final TicTacToeGame ticTacTocGame = this.startGame();
+		for (final TicTacToeMove move : moves) {
+			ticTacTocGame.makeMove(move);
+		}
+		final TicTacToePlayer[][] board = ticTacTocGame.getPlayerInteractionSnapshotBoard();
+		if (!this.visitedPositions.add(this.toKey(board))) {
+			return;
+		}
+		
+		final TicTacToePlayer expectedWinner = this.scanWinner(board);
+		final boolean expectedDraw = expectedWinner == null && moves.size() == 9;
+		Assert.assertEquals(expectedWinner != null, ticTacTocGame.existWinner());
+		Assert.assertEquals(expectedDraw, ticTacTocGame.isGameDraw());
+		Assert.assertEquals(expectedWinner != null || expectedDraw, ticTacTocGame.isGameEnded());
+		Assert.assertEquals(expectedWinner != null ? GameStatus.WON : expectedDraw ? GameStatus.DRAW : GameStatus.IN_PROGRESS,
+				ticTacTocGame.getGameStatus());
+		if (expectedWinner != null) {
+			Assert.assertEquals(expectedWinner, ticTacTocGame.getWinner());
+			if (expectedWinner.equals(this.playerI)) {
+				this.playerIWins++;
+			} else {
+				this.playerIIWins++;
+			}
+		} else if (expectedDraw) {
+			this.draws++;
+		} else {
+			for (int i = 0; i <= 2; i++) {
+				for (int j = 0; j <= 2; j++) {
+					if (board[i][j] == null) {
+						final List<TicTacToeMove> nextMoves = new ArrayList<TicTacToeMove>(moves);
+						nextMoves.add(new TicTacToeMove(i, j));
+						this.visit(nextMoves);
+					}
+				}
+			}
+		}
+	}
+	
+	private TicTacToeGame startGame() {
+		final TicTacToeGame ticTacTocGame = new TicTacToeGame();
+		ticTacTocGame.setGamePlayers(new TicTacToePlayer[]{this.playerI, this.playerII});
+		ticTacTocGame.start();
+		return ticTacTocGame;
+	}
+	
+	private String toKey(final TicTacToePlayer[][] board) {
+		final StringBuilder key = new StringBuilder();
+		for (final TicTacToePlayer[] line : board) {
+			for (final TicTacToePlayer player : line) {
+				key.append(player != null ? player.getDisplayName() : "-");
+			}
+		}
+		return key.toString();
+	}
+	
+	/**
+	 * Scans all the lines of the board for a winner.
+	 * 
+	 * @param board
+	 * 		- the player interaction snapshot board.
+	 * @return
+	 * 		- returns the player owning a whole line, or null if there is no such player.
+	 */
+	private TicTacToePlayer scanWinner(final TicTacToePlayer[][] board) {
+		for (int i = 0; i <= 2; i++) {
+			if (board[i][0] != null && board[i][0].equals(board[i][1]) && board[i][0].equals(board[i][2])) {
+				return board[i][0];
+			}
+			if (board[0][i] != null && board[0][i].equals(board[1][i]) && board[0][i].equals(board[2][i])) {
+				return board[0][i];
+			}
+		}
+		if (board[1][1] != null && board[1][1].equals(board[0][0]) && board[1][1].equals(board[2][2])) {
+			return board[1][1];
+		}
+		if (board[1][1] != null && board[1][1].equals(board[0][2]) && board[1][1].equals(board[2][0])) {
+			return board[1][1];
+		}
+		return null;
+	}
+}
@@ -0,0 +1,78 @@
+package ncaralicea.games.domain.tictactoe.performance;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import ncaralicea.games.domain.IStateSpace;
+import ncaralicea.games.domain.tictactoe.TestSupport;
+import ncaralicea.games.domain.tictactoe.TicTacToeMove;
+import ncaralicea.games.domain.tictactoe.TicTacToePlayer;
+import ncaralicea.games.domain.tictactoe.TicTacToeStateSpaceType;
+
+/**
+ * 
+ * TestPerfAvailableMoves compares the allocations and the speed of walking the available moves through
+ * the generateAvailableMoves set against the nextAvailableCell cursor.
+ * 
+ * @author Nicolae Caralicea
+ *
+ */
+public class TestPerfAvailableMoves extends TestSupport {
+
+	private static final int ITERATIONS = 200000;
+	
+	@Test
+	public void testAvailableMovesAllocations() {
+		this.displayUnitTestDescription("Performance Test the allocations of the available moves set versus the available cells cursor");
+		
+		for (final TicTacToeStateSpaceType stateSpaceType : TicTacToeStateSpaceType.values()) {
+			final IStateSpace<TicTacToeMove, TicTacToePlayer> stateSpace = stateSpaceType.newStateSpace();
+			stateSpace.addMoveFor(TicTacToeMove.of(0, 0), new TicTacToePlayer("X"));
+			stateSpace.addMoveFor(TicTacToeMove.of(1, 1), new TicTacToePlayer("O"));
+			stateSpace.addMoveFor(TicTacToeMove.of(2, 1), new TicTacToePlayer("X"));
+			// warm up both paths before measuring
+			this.walkSet(stateSpace, ITERATIONS);
+			this.walkCursor(stateSpace, ITERATIONS);
+			
+			long bytes = this.getAllocatedBytes();
+			long nanos = System.nanoTime();
+			final long setChecksum = this.walkSet(stateSpace, ITERATIONS);
+			final long setNanos = System.nanoTime() - nanos;
+			final long setBytes = this.getAllocatedBytes() - bytes;
+			
+			bytes = this.getAllocatedBytes();
+			nanos = System.nanoTime();
+			final long cursorChecksum = this.walkCursor(stateSpace, ITERATIONS);
+			final long cursorNanos = System.nanoTime() - nanos;
+			final long cursorBytes = this.getAllocatedBytes() - bytes;
+			
+			System.out.println(String.format("%s generateAvailableMoves: %.1f bytes/call, %.1f ns/call", stateSpaceType,
+					(double) setBytes / ITERATIONS, (double) setNanos / ITERATIONS));
+			System.out.println(String.format("%s nextAvailableCell:      %.1f bytes/call, %.1f ns/call", stateSpaceType,
+					(double) cursorBytes / ITERATIONS, (double) cursorNanos / ITERATIONS));
+			
+			Assert.assertEquals(setChecksum, cursorChecksum);
+			Assert.assertTrue(cursorBytes * 100 < setBytes);
+		}
+	}
+	
+	private long walkSet(final IStateSpace<TicTacToeMove, TicTacToePlayer> stateSpace, final int iterations) {
+		long checksum = 0;
+		for (int i = 0; i < iterations; i++) {
+			for (final TicTacToeMove move : stateSpace.generateAvailableMoves()) {
+				checksum += move.getCellIndex();
+			}
+		}
+		return checksum;
+	}
+
+	private long walkCursor(final IStateSpace<TicTacToeMove, TicTacToePlayer> stateSpace, final int iterations) {
+		long checksum = 0;
+		for (int i = 0; i < iterations; i++) {
+			for (int cell = stateSpace.nextAvailableCell(0); cell >= 0; cell = stateSpace.nextAvailableCell(cell + 1)) {
+				checksum += cell;
+			}
+		}
+		return checksum;
+	}
+}
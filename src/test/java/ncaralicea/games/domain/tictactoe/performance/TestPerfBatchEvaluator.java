@@ -0,0 +1,109 @@
+package ncaralicea.games.domain.tictactoe.performance;
+
+import java.util.SplittableRandom;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import ncaralicea.games.domain.tictactoe.TestSupport;
+import ncaralicea.games.domain.tictactoe.TicTacToeBatchEvaluator;
+import ncaralicea.games.domain.tictactoe.TicTacToeSymmetry;
+import ncaralicea.games.domain.tictactoe.TicTacToeWinDetector;
+
+/**
+ *
+ * TestPerfBatchEvaluator compares classifying an array of boards one by one through the win detector against the
+ * sequential and the parallel batch evaluation.
+ *
+ * The number of boards can be set by the games.batch.boards system property.
+ *
+ * @author Nicolae Caralicea
+ *
+ */
+public class TestPerfBatchEvaluator extends TestSupport {
+
+	private static final int BOARDS = Integer.getInteger("games.batch.boards", 10000000);
+
+	private static final int ROUNDS = 5;
+
+	@Test
+	public void testBatchEvaluation() {
+		this.displayUnitTestDescription("Performance Test the classification of " + BOARDS + " boards one by one versus in batch");
+		final int[] boards = randomBoards();
+		final byte[] expectedOutcomes = new byte[BOARDS];
+		final byte[] expectedLegalMoves = new byte[BOARDS];
+		final byte[] outcomes = new byte[BOARDS];
+		final byte[] legalMoves = new byte[BOARDS];
+
+		long oneByOneNanos = Long.MAX_VALUE;
+		long batchNanos = Long.MAX_VALUE;
+		long parallelNanos = Long.MAX_VALUE;
+		for (int round = 0; round < ROUNDS; round++) {
+			long nanos = System.nanoTime();
+			evaluateOneByOne(boards, expectedOutcomes, expectedLegalMoves);
+			oneByOneNanos = Math.min(oneByOneNanos, System.nanoTime() - nanos);
+
+			nanos = System.nanoTime();
+			TicTacToeBatchEvaluator.evaluate(boards, 0, BOARDS, outcomes, legalMoves);
+			batchNanos = Math.min(batchNanos, System.nanoTime() - nanos);
+			Assert.assertArrayEquals(expectedOutcomes, outcomes);
+			Assert.assertArrayEquals(expectedLegalMoves, legalMoves);
+
+			nanos = System.nanoTime();
+			TicTacToeBatchEvaluator.evaluateParallel(boards, outcomes, legalMoves);
+			parallelNanos = Math.min(parallelNanos, System.nanoTime() - nanos);
+			Assert.assertArrayEquals(expectedOutcomes, outcomes);
+		}
+		System.out.println(String.format("one by one:       %.2f ns/board", (double) oneByOneNanos / BOARDS));
+		System.out.println(String.format("batch:            %.2f ns/board", (double) batchNanos / BOARDS));
+		System.out.println(String.format("parallel batch:   %.2f ns/board (%d processors)", (double) parallelNanos / BOARDS,
+				Runtime.getRuntime().availableProcessors()));
+	}
+
+	/**
+	 * Classifies the boards one by one, the way a game does it: checking the winning lines of each player, then
+	 * the free cells.
+	 */
+	private static void evaluateOneByOne(final int[] boards, final byte[] outcomes, final byte[] legalMoves) {
+		for (int i = 0; i < boards.length; i++) {
+			final int first = boards[i] & 0x1FF;
+			final int second = boards[i] >>> 9;
+			if (TicTacToeWinDetector.isWinning(first)) {
+				outcomes[i] = TicTacToeBatchEvaluator.FIRST_PLAYER_WON;
+				legalMoves[i] = 0;
+			} else if (TicTacToeWinDetector.isWinning(second)) {
+				outcomes[i] = TicTacToeBatchEvaluator.SECOND_PLAYER_WON;
+				legalMoves[i] = 0;
+			} else if ((first | second) == 0x1FF) {
+				outcomes[i] = TicTacToeBatchEvaluator.DRAW;
+				legalMoves[i] = 0;
+			} else {
+				outcomes[i] = TicTacToeBatchEvaluator.IN_PROGRESS;
+				legalMoves[i] = (byte) (9 - Integer.bitCount(first | second));
+			}
+		}
+	}
+
+	/**
+	 * Draws the boards at random from the ones with as many stones of the first player as of the second one,
+	 * or one more, so the outcomes are mixed as in real data.
+	 */
+	private static int[] randomBoards() {
+		final int[] candidates = new int[1 << 18];
+		int count = 0;
+		for (int first = 0; first < 512; first++) {
+			for (int second = 0; second < 512; second++) {
+				final int stonesAhead = Integer.bitCount(first) - Integer.bitCount(second);
+				if ((first & second) == 0 && (stonesAhead == 0 || stonesAhead == 1)) {
+					candidates[count++] = TicTacToeSymmetry.pack(first, second);
+				}
+			}
+		}
+		final SplittableRandom random = new SplittableRandom(20150101L);
+		final int[] boards = new int[BOARDS];
+		for (int i = 0; i < boards.length; i++) {
+			boards[i] = candidates[random.nextInt(count)];
+		}
+		return boards;
+	}
+}
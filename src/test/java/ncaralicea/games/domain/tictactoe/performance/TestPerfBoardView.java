@@ -0,0 +1,95 @@
+package ncaralicea.games.domain.tictactoe.performance;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import ncaralicea.games.domain.IBoardCellVisitor;
+import ncaralicea.games.domain.IBoardView;
+import ncaralicea.games.domain.tictactoe.TestSupport;
+import ncaralicea.games.domain.tictactoe.TicTacToeGame;
+import ncaralicea.games.domain.tictactoe.TicTacToeMove;
+import ncaralicea.games.domain.tictactoe.TicTacToePlayer;
+import ncaralicea.games.domain.tictactoe.TicTacToeStateSpaceType;
+
+/**
+ * 
+ * TestPerfBoardView compares the allocations and the speed of reading the board through the player interaction
+ * snapshot against the board view.
+ * 
+ * @author Nicolae Caralicea
+ *
+ */
+public class TestPerfBoardView extends TestSupport {
+
+	private static final int ITERATIONS = 200000;
+	
+	@Test
+	public void testBoardViewAllocations() {
+		this.displayUnitTestDescription("Performance Test the allocations of the board snapshot versus the board view");
+		
+		for (final TicTacToeStateSpaceType stateSpaceType : TicTacToeStateSpaceType.values()) {
+			final TicTacToeGame game = new TicTacToeGame(stateSpaceType);
+			game.setGamePlayers(new TicTacToePlayer[]{new TicTacToePlayer("X"), new TicTacToePlayer("O")});
+			game.start();
+			game.makeMove(TicTacToeMove.of(0, 0));
+			game.makeMove(TicTacToeMove.of(1, 1));
+			game.makeMove(TicTacToeMove.of(2, 1));
+			final CellCounter counter = new CellCounter();
+			// warm up both paths before measuring
+			this.readSnapshot(game, ITERATIONS);
+			this.readView(game.getBoardView(), counter, ITERATIONS);
+			
+			long bytes = this.getAllocatedBytes();
+			long nanos = System.nanoTime();
+			final long snapshotChecksum = this.readSnapshot(game, ITERATIONS);
+			final long snapshotNanos = System.nanoTime() - nanos;
+			final long snapshotBytes = this.getAllocatedBytes() - bytes;
+			
+			bytes = this.getAllocatedBytes();
+			nanos = System.nanoTime();
+			final long viewChecksum = this.readView(game.getBoardView(), counter, ITERATIONS);
+			final long viewNanos = System.nanoTime() - nanos;
+			final long viewBytes = this.getAllocatedBytes() - bytes;
+			
+			System.out.println(String.format("%s getPlayerInteractionSnapshotBoard: %.1f bytes/read, %.1f ns/read", stateSpaceType,
+					(double) snapshotBytes / ITERATIONS, (double) snapshotNanos / ITERATIONS));
+			System.out.println(String.format("%s getBoardView().forEachCell:        %.1f bytes/read, %.1f ns/read", stateSpaceType,
+					(double) viewBytes / ITERATIONS, (double) viewNanos / ITERATIONS));
+			
+			Assert.assertEquals(snapshotChecksum, viewChecksum);
+			Assert.assertTrue(viewBytes * 100 < snapshotBytes);
+		}
+	}
+	
+	private long readSnapshot(final TicTacToeGame game, final int iterations) {
+		long checksum = 0;
+		for (int i = 0; i < iterations; i++) {
+			for (final TicTacToePlayer[] row : game.getPlayerInteractionSnapshotBoard()) {
+				for (final TicTacToePlayer player : row) {
+					checksum += player != null ? 1 : 0;
+				}
+			}
+		}
+		return checksum;
+	}
+	
+	private long readView(final IBoardView<TicTacToePlayer> boardView, final CellCounter counter, final int iterations) {
+		counter.takenCells = 0;
+		for (int i = 0; i < iterations; i++) {
+			boardView.forEachCell(counter);
+		}
+		return counter.takenCells;
+	}
+	
+	/**
+	 * CellCounter counts the cells taken by any player.
+	 */
+	private static final class CellCounter implements IBoardCellVisitor<TicTacToePlayer> {
+		
+		private long takenCells;
+		
+		public void visit(final int hPos, final int vPos, final TicTacToePlayer player) {
+			this.takenCells += player != null ? 1 : 0;
+		}
+	}
+}
@@ -0,0 +1,85 @@
+package ncaralicea.games.domain.tictactoe.performance;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import ncaralicea.games.domain.MoveResult;
+import ncaralicea.games.domain.tictactoe.TestSupport;
+import ncaralicea.games.domain.tictactoe.TicTacToeGame;
+import ncaralicea.games.domain.tictactoe.TicTacToeGame.TicTacToeGameException;
+import ncaralicea.games.domain.tictactoe.TicTacToeMove;
+import ncaralicea.games.domain.tictactoe.TicTacToePlayer;
+import ncaralicea.games.domain.tictactoe.TicTacToeStateSpaceType;
+
+/**
+ * 
+ * TestPerfMoveRejection compares the allocations and the speed of rejecting a move on an occupied cell through
+ * the makeMove exception against the tryMakeMove result.
+ * 
+ * @author Nicolae Caralicea
+ *
+ */
+public class TestPerfMoveRejection extends TestSupport {
+
+	private static final int ITERATIONS = 200000;
+	
+	private static final TicTacToeMove OCCUPIED_MOVE = TicTacToeMove.of(1, 1);
+	
+	@Test
+	public void testRejectionAllocations() {
+		this.displayUnitTestDescription("Performance Test the allocations of rejecting a move by exception versus by result");
+		
+		for (final TicTacToeStateSpaceType stateSpaceType : TicTacToeStateSpaceType.values()) {
+			final TicTacToeGame game = new TicTacToeGame(stateSpaceType);
+			game.setGamePlayers(new TicTacToePlayer[]{new TicTacToePlayer("X"), new TicTacToePlayer("O")});
+			game.start();
+			game.makeMove(OCCUPIED_MOVE);
+			// warm up both paths before measuring
+			this.rejectByException(game, ITERATIONS);
+			this.rejectByResult(game, ITERATIONS);
+			
+			long bytes = this.getAllocatedBytes();
+			long nanos = System.nanoTime();
+			final int exceptionRejections = this.rejectByException(game, ITERATIONS);
+			final long exceptionNanos = System.nanoTime() - nanos;
+			final long exceptionBytes = this.getAllocatedBytes() - bytes;
+			
+			bytes = this.getAllocatedBytes();
+			nanos = System.nanoTime();
+			final int resultRejections = this.rejectByResult(game, ITERATIONS);
+			final long resultNanos = System.nanoTime() - nanos;
+			final long resultBytes = this.getAllocatedBytes() - bytes;
+			
+			System.out.println(String.format("%s makeMove exception: %.1f bytes/rejection, %.1f ns/rejection", stateSpaceType,
+					(double) exceptionBytes / ITERATIONS, (double) exceptionNanos / ITERATIONS));
+			System.out.println(String.format("%s tryMakeMove result: %.1f bytes/rejection, %.1f ns/rejection", stateSpaceType,
+					(double) resultBytes / ITERATIONS, (double) resultNanos / ITERATIONS));
+			
+			Assert.assertEquals(ITERATIONS, exceptionRejections);
+			Assert.assertEquals(ITERATIONS, resultRejections);
+			Assert.assertTrue(resultBytes * 100 < exceptionBytes);
+		}
+	}
+	
+	private int rejectByException(final TicTacToeGame game, final int iterations) {
+		int rejections = 0;
+		for (int i = 0; i < iterations; i++) {
+			try {
+				game.makeMove(OCCUPIED_MOVE);
+			} catch (final TicTacToeGameException e) {
+				rejections++;
+			}
+		}
+		return rejections;
+	}
+	
+	private int rejectByResult(final TicTacToeGame game, final int iterations) {
+		int rejections = 0;
+		for (int i = 0; i < iterations; i++) {
+			if (game.tryMakeMove(OCCUPIED_MOVE) == MoveResult.OCCUPIED) {
+				rejections++;
+			}
+		}
+		return rejections;
+	}
+}
@@ -0,0 +1,119 @@
+package ncaralicea.games.domain.tictactoe.performance;
+
+import java.util.SplittableRandom;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import ncaralicea.games.domain.tictactoe.TestSupport;
+import ncaralicea.games.domain.tictactoe.TicTacToeGame;
+import ncaralicea.games.domain.tictactoe.TicTacToeGameStore;
+import ncaralicea.games.domain.tictactoe.TicTacToeMove;
+import ncaralicea.games.domain.tictactoe.TicTacToePlayer;
+import ncaralicea.games.domain.tictactoe.TicTacToeStateSpaceType;
+
+/**
+ *
+ * TestPerfTicTacToeGameStore compares the memory footprint and the move throughput of many live games kept as
+ * TicTacToeGame objects on the heap versus records of the off heap TicTacToeGameStore.
+ *
+ * The number of games can be set by the games.store.games system property (the heap games are capped to
+ * HEAP_GAMES, their footprint being reported per game).
+ *
+ * @author Nicolae Caralicea
+ *
+ */
+public class TestPerfTicTacToeGameStore extends TestSupport {
+
+	private static final int GAMES = Integer.getInteger("games.store.games", 1000000);
+
+	private static final int HEAP_GAMES = Math.min(GAMES, 200000);
+
+	private final TicTacToePlayer[] players = new TicTacToePlayer[]{new TicTacToePlayer("X"), new TicTacToePlayer("O")};
+
+	@Test
+	public void testFootprintAndThroughput() {
+		this.displayUnitTestDescription("Performance Test the footprint and move throughput of " + GAMES + " off heap games versus heap games");
+
+		for (final TicTacToeStateSpaceType stateSpaceType : TicTacToeStateSpaceType.values()) {
+			final long heapBefore = usedHeap();
+			final TicTacToeGame[] games = new TicTacToeGame[HEAP_GAMES];
+			for (int i = 0; i < games.length; i++) {
+				games[i] = new TicTacToeGame(stateSpaceType);
+				games[i].setGamePlayers(this.players);
+				games[i].start();
+			}
+			final long heapBytes = usedHeap() - heapBefore;
+			final long[] heapMoves = this.playOnHeap(games);
+			System.out.println(String.format("%s heap games: %.0f bytes/game, %.1f M moves/s", stateSpaceType,
+					(double) heapBytes / HEAP_GAMES, movesPerMicrosecond(heapMoves)));
+			Assert.assertTrue(heapBytes > TicTacToeGameStore.RECORD_SIZE * 4L * HEAP_GAMES);
+		}
+
+		final long heapBefore = usedHeap();
+		final TicTacToeGameStore store = new TicTacToeGameStore(GAMES);
+		for (int i = 0; i < GAMES; i++) {
+			store.newGame();
+		}
+		final long heapBytes = usedHeap() - heapBefore;
+		final long[] storeMoves = this.playInStore(store);
+		System.out.println(String.format("store games: %.0f bytes/game off heap, %.1f bytes/game on heap, %.1f M moves/s",
+				(double) store.getOffHeapBytes() / GAMES, (double) heapBytes / GAMES, movesPerMicrosecond(storeMoves)));
+		Assert.assertEquals(GAMES, store.getLiveGames());
+		Assert.assertTrue(heapBytes < GAMES * 4L);
+	}
+
+	/**
+	 * Plays random games to their end on all the games, one move per game at a time, as a server would.
+	 *
+	 * @return
+	 * 		- returns the number of moves made and the elapsed time.
+	 */
+	private long[] playOnHeap(final TicTacToeGame[] games) {
+		final SplittableRandom random = new SplittableRandom(20150101L);
+		long moves = 0;
+		final long nanos = System.nanoTime();
+		for (int turn = 0; turn < 9; turn++) {
+			for (final TicTacToeGame game : games) {
+				if (!game.isGameEnded()) {
+					final int cell = game.getStateSpace().nextAvailableCell(random.nextInt(9));
+					game.makeMove(TicTacToeMove.ofCell(cell >= 0 ? cell : game.getStateSpace().nextAvailableCell(0)));
+					moves++;
+				}
+			}
+		}
+		return new long[]{moves, System.nanoTime() - nanos};
+	}
+
+	private long[] playInStore(final TicTacToeGameStore store) {
+		final SplittableRandom random = new SplittableRandom(20150101L);
+		long moves = 0;
+		final long nanos = System.nanoTime();
+		for (int turn = 0; turn < 9; turn++) {
+			for (int handle = 0; handle < store.getCapacity(); handle++) {
+				if (!store.getGameStatus(handle).isEnded()) {
+					final int occupied = store.getOccupancyMask(handle, 0) | store.getOccupancyMask(handle, 1);
+					int cell = random.nextInt(9);
+					while ((occupied & (1 << cell)) != 0) {
+						cell = (cell + 1) % 9;
+					}
+					store.makeMove(handle, TicTacToeMove.ofCell(cell));
+					moves++;
+				}
+			}
+		}
+		return new long[]{moves, System.nanoTime() - nanos};
+	}
+
+	private static double movesPerMicrosecond(final long[] movesAndNanos) {
+		return movesAndNanos[0] * 1000.0 / movesAndNanos[1];
+	}
+
+	private static long usedHeap() {
+		for (int i = 0; i < 3; i++) {
+			System.gc();
+		}
+		final Runtime runtime = Runtime.getRuntime();
+		return runtime.totalMemory() - runtime.freeMemory();
+	}
+}
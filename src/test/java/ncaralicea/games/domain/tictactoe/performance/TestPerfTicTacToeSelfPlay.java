@@ -0,0 +1,37 @@
+package ncaralicea.games.domain.tictactoe.performance;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import ncaralicea.games.domain.tictactoe.TestSupport;
+import ncaralicea.games.domain.tictactoe.TicTacToeMovePolicies;
+import ncaralicea.games.domain.tictactoe.TicTacToeSelfPlayResult;
+import ncaralicea.games.domain.tictactoe.TicTacToeSelfPlaySimulator;
+
+/**
+ * 
+ * TestPerfTicTacToeSelfPlay reports the number of random games per second played by the self-play simulator
+ * on all the available processors.
+ * 
+ * @author Nicolae Caralicea
+ *
+ */
+public class TestPerfTicTacToeSelfPlay extends TestSupport {
+
+	private static final long GAMES = 10000000L;
+	
+	@Test
+	public void testRandomGamesPerSecond() {
+		this.displayUnitTestDescription("Performance Test the number of random games per second played by the self-play simulator");
+		
+		try (TicTacToeSelfPlaySimulator simulator = new TicTacToeSelfPlaySimulator()) {
+			simulator.simulate(GAMES / 10, TicTacToeMovePolicies.RANDOM, TicTacToeMovePolicies.RANDOM, 1L);
+			final TicTacToeSelfPlayResult result = simulator.simulate(GAMES, TicTacToeMovePolicies.RANDOM, TicTacToeMovePolicies.RANDOM, 2L);
+			
+			System.out.println(result);
+			System.out.println(String.format("%.1f M games/s on %d threads, %.1f M games/s/thread", result.getGamesPerSecond() / 1e6, 
+					result.getThreads(), result.getGamesPerSecond() / 1e6 / result.getThreads()));
+			Assert.assertEquals(GAMES, result.getGames());
+		}
+	}
+}
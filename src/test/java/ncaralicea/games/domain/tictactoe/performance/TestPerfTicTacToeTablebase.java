@@ -0,0 +1,58 @@
+package ncaralicea.games.domain.tictactoe.performance;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import ncaralicea.games.domain.tictactoe.TestSupport;
+import ncaralicea.games.domain.tictactoe.TicTacToeGame;
+import ncaralicea.games.domain.tictactoe.TicTacToeMove;
+import ncaralicea.games.domain.tictactoe.TicTacToePlayer;
+import ncaralicea.games.domain.tictactoe.TicTacToeStateSpaceType;
+import ncaralicea.games.domain.tictactoe.TicTacToeTablebase;
+
+/**
+ * 
+ * TestPerfTicTacToeTablebase reports the time needed to load the tablebase resource and to select a move with it.
+ * 
+ * @author Nicolae Caralicea
+ *
+ */
+public class TestPerfTicTacToeTablebase extends TestSupport {
+
+	private static final int LOADS = 200;
+	
+	private static final int PROBES = 1000000;
+	
+	@Test
+	public void testLoadAndProbe() throws IOException {
+		this.displayUnitTestDescription("Performance Test loading the tablebase resource and probing it");
+		
+		long loadNanos = 0;
+		for (int i = 0; i < LOADS; i++) {
+			final long nanos = System.nanoTime();
+			try (final InputStream in = TicTacToeTablebase.class.getResourceAsStream("tictactoe.tb")) {
+				Assert.assertNotNull(TicTacToeTablebase.load(in));
+			}
+			loadNanos += System.nanoTime() - nanos;
+		}
+		
+		final TicTacToeGame ticTacTocGame = new TicTacToeGame(TicTacToeStateSpaceType.BITBOARD);
+		ticTacTocGame.setGamePlayers(new TicTacToePlayer[]{new TicTacToePlayer("X"), new TicTacToePlayer("O")});
+		ticTacTocGame.start();
+		ticTacTocGame.makeMove(TicTacToeMove.of(1, 1));
+		final TicTacToeTablebase tablebase = TicTacToeTablebase.getInstance();
+		long checksum = 0;
+		final long nanos = System.nanoTime();
+		for (int i = 0; i < PROBES; i++) {
+			checksum += tablebase.getBestMove(ticTacTocGame).getCellIndex();
+		}
+		final long probeNanos = System.nanoTime() - nanos;
+		
+		System.out.println(String.format("tablebase load: %.1f us (average of %d loads)", loadNanos / 1000.0 / LOADS, LOADS));
+		System.out.println(String.format("tablebase best move: %.1f ns", (double) probeNanos / PROBES));
+		Assert.assertEquals(0, checksum);
+	}
+}
@@ -1,7 +1,6 @@
 package ncaralicea.games.domain.tictactoe.unit;
 
-import java.util.Set;
-
+import ncaralicea.games.domain.GameStatus;
 import ncaralicea.games.domain.IStateSpace;
 import ncaralicea.games.domain.tictactoe.TestSupport;
 import ncaralicea.games.domain.tictactoe.TicTacToeGame;
@@ -49,23 +48,19 @@ public class TestUnitTicTacToe extends TestSupport {
 	public void testIsGameEnded1() {
 		this.displayUnitTestDescription("Unit Test 'isGameEnded' method when there is no winner and there are still available moves");
 		
-		Whitebox.setInternalState(ticTacToeGame, "isWinner", false);		// no winner
-		final Set<TicTacToeMove> movesSetMock = Mockito.mock(Set.class);
-		Mockito.when(movesSetMock.size()).thenReturn(1);					// available moves		
-		Mockito.when(stateSpace.generateAvailableMoves()).thenReturn(movesSetMock);
+		Whitebox.setInternalState(ticTacToeGame, "status", GameStatus.IN_PROGRESS);	// no winner, available moves
 		
 		final boolean actualRes = ticTacToeGame.isGameEnded();
 		
-		Mockito.verify(stateSpace).generateAvailableMoves();
 		Assert.assertFalse(actualRes);
-		Mockito.verifyNoMoreInteractions(this.stateSpace);
+		Mockito.verifyZeroInteractions(this.stateSpace);
 	}
 	
 	@Test
 	public void testIsGameEnded2() {
 		this.displayUnitTestDescription("Unit Test 'isGameEnded' method when there is a winner");
 		
-		Whitebox.setInternalState(ticTacToeGame, "isWinner", true);			// there is a winner
+		Whitebox.setInternalState(ticTacToeGame, "status", GameStatus.WON);			// there is a winner
 		
 		final boolean actualRes = ticTacToeGame.isGameEnded();
 		
@@ -76,16 +71,12 @@ public class TestUnitTicTacToe extends TestSupport {
 	public void testIsGameEnded3() {
 		this.displayUnitTestDescription("Unit Test 'isGameEnded' method when there is no winner and there are not any available moves");
 		
-		Whitebox.setInternalState(ticTacToeGame, "isWinner", false);		// no winner
-		final Set<TicTacToeMove> movesSetMock = Mockito.mock(Set.class);
-		Mockito.when(movesSetMock.size()).thenReturn(0);					// no available moves		
-		Mockito.when(stateSpace.generateAvailableMoves()).thenReturn(movesSetMock);
+		Whitebox.setInternalState(ticTacToeGame, "status", GameStatus.DRAW);		// no winner, no available moves
 		
 		final boolean actualRes = ticTacToeGame.isGameEnded();
 		
-		Mockito.verify(stateSpace).generateAvailableMoves();
 		Assert.assertTrue(actualRes);
-		Mockito.verifyNoMoreInteractions(this.stateSpace);
+		Mockito.verifyZeroInteractions(this.stateSpace);
 	}
 	
 	@Test(expected = TicTacToeGameException.class)
@@ -153,7 +144,7 @@ public class TestUnitTicTacToe extends TestSupport {
 	@Test(expected = TicTacToeGameException.class)
 	public void testGetWinner1() {
 		this.displayUnitTestDescription("Unit Test 'getWinner' method should throw an exception if there is no winner yet");
-		Whitebox.setInternalState(ticTacToeGame, "isWinner", false);
+		Whitebox.setInternalState(ticTacToeGame, "status", GameStatus.IN_PROGRESS);
 		
 		ticTacToeGame.getWinner();				
 	}
@@ -161,7 +152,7 @@ public class TestUnitTicTacToe extends TestSupport {
 	@Test
 	public void testGetWinner2() {
 		this.displayUnitTestDescription("Unit Test 'getWinner' method should throw no exception if there is already a winner");
-		Whitebox.setInternalState(ticTacToeGame, "isWinner", true);
+		Whitebox.setInternalState(ticTacToeGame, "status", GameStatus.WON);
 		
 		ticTacToeGame.getWinner();				
 	}
@@ -179,7 +170,7 @@ public class TestUnitTicTacToe extends TestSupport {
 	public void testMakeMove2() {
 		this.displayUnitTestDescription("Unit Test 'makeMove' method should throw an exception if attempting to make a move if the game has ended with a winner.");
 		Whitebox.setInternalState(ticTacToeGame, "isStarted", true);
-		Whitebox.setInternalState(ticTacToeGame, "isWinner", true);
+		Whitebox.setInternalState(ticTacToeGame, "status", GameStatus.WON);
 		final TicTacToeMove moveMock = Mockito.mock(TicTacToeMove.class);
 		
 		ticTacToeGame.makeMove(moveMock);				
@@ -189,12 +180,18 @@ public class TestUnitTicTacToe extends TestSupport {
 	public void testMakeMove3() {
 		this.displayUnitTestDescription("Unit Test 'makeMove' method should throw an exception if attempting to make a move if the game ended in a draw.");
 		Whitebox.setInternalState(ticTacToeGame, "isStarted", true);
-		Whitebox.setInternalState(ticTacToeGame, "isWinner", false);		// no winner
-		final Set<TicTacToeMove> movesSetMock = Mockito.mock(Set.class);
-		Mockito.when(movesSetMock.size()).thenReturn(0);					// no available moves		
-		Mockito.when(stateSpace.generateAvailableMoves()).thenReturn(movesSetMock);
+		Whitebox.setInternalState(ticTacToeGame, "status", GameStatus.DRAW);		// no winner, no available moves
 		final TicTacToeMove moveMock = Mockito.mock(TicTacToeMove.class);
 		
 		ticTacToeGame.makeMove(moveMock);				
 	}
+
+	@Test(expected = TicTacToeGameException.class)
+	public void testUnmakeMove() {
+		this.displayUnitTestDescription("Unit Test 'unmakeMove' method should throw an exception if there is no move to be taken back.");
+		Whitebox.setInternalState(ticTacToeGame, "isStarted", true);
+		Whitebox.setInternalState(ticTacToeGame, "movesCounter", 0);
+		
+		ticTacToeGame.unmakeMove();
+	}
 }
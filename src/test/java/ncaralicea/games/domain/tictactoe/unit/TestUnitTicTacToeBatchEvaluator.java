@@ -0,0 +1,109 @@
+package ncaralicea.games.domain.tictactoe.unit;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+
+import ncaralicea.games.domain.GameStatus;
+import ncaralicea.games.domain.tictactoe.TestSupport;
+import ncaralicea.games.domain.tictactoe.TicTacToeBatchEvaluator;
+import ncaralicea.games.domain.tictactoe.TicTacToeMove;
+import ncaralicea.games.domain.tictactoe.TicTacToePlayer;
+import ncaralicea.games.domain.tictactoe.TicTacToePosition;
+import ncaralicea.games.domain.tictactoe.TicTacToeSymmetry;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ *
+ * TestUnitTicTacToeBatchEvaluator checks the batch evaluation of every reachable board against the positions
+ * played move by move, and the parallel evaluation against the sequential one.
+ *
+ * @author Nicolae Caralicea
+ *
+ */
+public class TestUnitTicTacToeBatchEvaluator extends TestSupport {
+
+	private final TicTacToePlayer playerI = new TicTacToePlayer("X");
+
+	private final TicTacToePlayer playerII = new TicTacToePlayer("O");
+
+	@Test
+	public void testReachableBoards() {
+		this.displayUnitTestDescription("Unit Test the outcome and the legal moves count of every reachable board match the played positions");
+		final List<TicTacToePosition> positions = new ArrayList<TicTacToePosition>();
+		this.collect(TicTacToePosition.start(new TicTacToePlayer[]{this.playerI, this.playerII}), new HashSet<Long>(), positions);
+		Assert.assertEquals(5478, positions.size());
+
+		final int[] boards = new int[positions.size()];
+		for (int i = 0; i < boards.length; i++) {
+			boards[i] = TicTacToeSymmetry.pack(positions.get(i).getOccupancyMask(0), positions.get(i).getOccupancyMask(1));
+		}
+		final byte[] outcomes = new byte[boards.length];
+		final byte[] legalMoves = new byte[boards.length];
+		TicTacToeBatchEvaluator.evaluate(boards, 0, boards.length, outcomes, legalMoves);
+
+		for (int i = 0; i < boards.length; i++) {
+			final TicTacToePosition position = positions.get(i);
+			Assert.assertEquals(position.getGameStatus(), TicTacToeBatchEvaluator.toGameStatus(outcomes[i]));
+			if (position.getGameStatus() == GameStatus.WON) {
+				Assert.assertEquals(position.getWinner() == this.playerI ? TicTacToeBatchEvaluator.FIRST_PLAYER_WON
+						: TicTacToeBatchEvaluator.SECOND_PLAYER_WON, outcomes[i]);
+			}
+			final int expectedMoves = position.getGameStatus().isEnded() ? 0 : 9 - position.getMovesCount();
+			Assert.assertEquals(expectedMoves, legalMoves[i]);
+		}
+	}
+
+	@Test
+	public void testParallelEvaluation() {
+		this.displayUnitTestDescription("Unit Test the parallel evaluation over chunks gives the same results as the sequential one");
+		final SplittableRandom random = new SplittableRandom(20150101L);
+		final int[] boards = new int[10 * TicTacToeBatchEvaluator.CHUNK_SIZE + 7];
+		for (int i = 0; i < boards.length; i++) {
+			final int first = random.nextInt(512);
+			boards[i] = TicTacToeSymmetry.pack(first, random.nextInt(512) & ~first);
+		}
+		final byte[] outcomes = new byte[boards.length];
+		final byte[] legalMoves = new byte[boards.length];
+		TicTacToeBatchEvaluator.evaluate(boards, 0, boards.length, outcomes, legalMoves);
+
+		final byte[] parallelOutcomes = new byte[boards.length];
+		final byte[] parallelLegalMoves = new byte[boards.length];
+		final ForkJoinPool pool = new ForkJoinPool(4);
+		try {
+			TicTacToeBatchEvaluator.evaluateParallel(pool, boards, parallelOutcomes, parallelLegalMoves);
+		} finally {
+			pool.shutdown();
+		}
+		Assert.assertArrayEquals(outcomes, parallelOutcomes);
+		Assert.assertArrayEquals(legalMoves, parallelLegalMoves);
+
+		Arrays.fill(parallelOutcomes, (byte) -1);
+		TicTacToeBatchEvaluator.evaluateParallel(boards, parallelOutcomes, parallelLegalMoves);
+		Assert.assertArrayEquals(outcomes, parallelOutcomes);
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testShortResultArrays() {
+		this.displayUnitTestDescription("Unit Test the evaluation rejects result arrays shorter than the range");
+		TicTacToeBatchEvaluator.evaluate(new int[4], 0, 4, new byte[4], new byte[3]);
+	}
+
+	private void collect(final TicTacToePosition position, final Set<Long> visited, final List<TicTacToePosition> positions) {
+		if (!visited.add(position.toPackedLong())) {
+			return;
+		}
+		positions.add(position);
+		for (int cell = 0; cell < 9; cell++) {
+			if (position.validateMove(TicTacToeMove.ofCell(cell), null).isAccepted()) {
+				this.collect(position.play(TicTacToeMove.ofCell(cell)), visited, positions);
+			}
+		}
+	}
+}
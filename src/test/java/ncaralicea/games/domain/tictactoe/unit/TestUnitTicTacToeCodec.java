@@ -0,0 +1,149 @@
+package ncaralicea.games.domain.tictactoe.unit;
+
+import java.nio.ByteBuffer;
+
+import ncaralicea.games.domain.IStateSpace;
+import ncaralicea.games.domain.tictactoe.TestSupport;
+import ncaralicea.games.domain.tictactoe.TicTacToeCodec;
+import ncaralicea.games.domain.tictactoe.TicTacToeGame;
+import ncaralicea.games.domain.tictactoe.TicTacToeMove;
+import ncaralicea.games.domain.tictactoe.TicTacToePlayer;
+import ncaralicea.games.domain.tictactoe.TicTacToeStateSpaceType;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ *
+ * TestUnitTicTacToeCodec checks the moves and boards survive being encoded and decoded, for every reachable position.
+ *
+ * @author Nicolae Caralicea
+ *
+ */
+public class TestUnitTicTacToeCodec extends TestSupport {
+
+	private final TicTacToePlayer playerI = new TicTacToePlayer("X");
+
+	private final TicTacToePlayer playerII = new TicTacToePlayer("O");
+
+	private final boolean[] visitedBoards = new boolean[TicTacToeCodec.MAX_BOARD_CODE + 1];
+
+	private int reachableBoards;
+
+	@Test
+	public void testMoveCodes() {
+		this.displayUnitTestDescription("Unit Test every move is encoded into one byte and decoded back");
+		for (int cell = 0; cell < 9; cell++) {
+			final TicTacToeMove move = TicTacToeMove.ofCell(cell);
+			Assert.assertSame(move, TicTacToeCodec.decodeMove(TicTacToeCodec.encodeMove(move)));
+		}
+		try {
+			TicTacToeCodec.decodeMove((byte) 9);
+			Assert.fail("The move code 9 should be rejected.");
+		} catch (final IllegalArgumentException e) {
+			// expected
+		}
+	}
+
+	@Test
+	public void testMovesCodes() {
+		this.displayUnitTestDescription("Unit Test the moves of a game are encoded into a nibble each and replayed in the same order");
+		final TicTacToeGame game = this.newGame(TicTacToeStateSpaceType.BITBOARD);
+		final ByteBuffer buffer = ByteBuffer.allocate(2 * TicTacToeCodec.MAX_MOVES_LENGTH);
+		TicTacToeCodec.putMoves(buffer, game);
+		for (final int cell : new int[]{4, 0, 8, 2, 1, 7, 6}) {
+			game.makeMove(TicTacToeMove.ofCell(cell));
+		}
+		final byte[] code = TicTacToeCodec.encodeMoves(game);
+		TicTacToeCodec.putMoves(buffer, game);
+
+		Assert.assertEquals(1 + 4, code.length);
+		Assert.assertEquals(1 + code.length, buffer.position());
+		buffer.flip();
+		final TicTacToeGame decoded = this.newGame(TicTacToeStateSpaceType.MAP_BASED);
+		TicTacToeCodec.getMoves(buffer, decoded);
+		Assert.assertEquals(0, decoded.getStateSpace().getExecutedMoves().size());
+		TicTacToeCodec.getMoves(buffer, decoded);
+		Assert.assertFalse(buffer.hasRemaining());
+		Assert.assertEquals(game.getGameStatus(), decoded.getGameStatus());
+		Assert.assertArrayEquals(code, TicTacToeCodec.encodeMoves(decoded));
+		// the order of the moves is kept, so they are taken back in the same order
+		decoded.unmakeMove();
+		Assert.assertNull(decoded.getStateSpace().getPlayerAt(2, 0));
+		Assert.assertEquals(this.playerI, decoded.whoseTurnIs());
+	}
+
+	@Test
+	public void testBoardCodesOfReachablePositions() {
+		this.displayUnitTestDescription("Unit Test the board of every reachable position is encoded under 2^15 and decoded back");
+		this.checkReachable(this.newGame(TicTacToeStateSpaceType.BITBOARD));
+		Assert.assertEquals(5478, this.reachableBoards);
+	}
+
+	@Test
+	public void testUnreachableBoards() {
+		this.displayUnitTestDescription("Unit Test the boards which can not be reached by playing are rejected");
+		final TicTacToeGame game = this.newGame(TicTacToeStateSpaceType.BITBOARD);
+		// two stones of the first player, none of the second one
+		this.assertRejected(1 + 3, game);
+		// a line of the first player, and three stones of the second one
+		this.assertRejected(1 + 3 + 9 + 2 * (27 + 81 + 243), game);
+		// a line of the second player, the first player having moved last
+		this.assertRejected(27 + 81 + 2187 + 6561 + 2 * (1 + 3 + 9), game);
+		this.assertRejected(-1, game);
+		this.assertRejected(TicTacToeCodec.MAX_BOARD_CODE + 1, game);
+	}
+
+	private void checkReachable(final TicTacToeGame game) {
+		final int code = TicTacToeCodec.encodeBoard(game);
+		if (this.visitedBoards[code]) {
+			return;
+		}
+		this.visitedBoards[code] = true;
+		this.reachableBoards++;
+		Assert.assertTrue(code < 1 << 15);
+		Assert.assertEquals(code, TicTacToeCodec.encodeBoard(game.getStateSpace(), this.playerI));
+		Assert.assertEquals(code, TicTacToeCodec.fromPackedBoard(TicTacToeCodec.toPackedBoard(code)));
+		Assert.assertEquals(this.playerI.equals(game.whoseTurnIs()), TicTacToeCodec.isFirstPlayerToMove(code));
+
+		final ByteBuffer buffer = ByteBuffer.allocate(2);
+		TicTacToeCodec.putBoard(buffer, game);
+		buffer.flip();
+		final TicTacToeGame decoded = this.newGame(TicTacToeStateSpaceType.MAP_BASED);
+		TicTacToeCodec.getBoard(buffer, decoded);
+		Assert.assertEquals(code, TicTacToeCodec.encodeBoard(decoded));
+		Assert.assertEquals(game.getGameStatus(), decoded.getGameStatus());
+		Assert.assertEquals(game.whoseTurnIs(), decoded.whoseTurnIs());
+
+		final IStateSpace<TicTacToeMove, TicTacToePlayer> stateSpace = TicTacToeStateSpaceType.BITBOARD.newStateSpace();
+		TicTacToeCodec.decodeBoard(code, stateSpace, this.playerI, this.playerII);
+		Assert.assertEquals(game.getStateSpace().positionHash(), stateSpace.positionHash());
+
+		if (!game.isGameEnded()) {
+			for (int cell = 0; cell < 9; cell++) {
+				final TicTacToeMove move = TicTacToeMove.ofCell(cell);
+				if (game.getStateSpace().getPlayerAt(move.getHorizontalPosition(), move.getVerticalPosition()) == null) {
+					game.makeMove(move);
+					this.checkReachable(game);
+					game.unmakeMove();
+				}
+			}
+		}
+	}
+
+	private void assertRejected(final int code, final TicTacToeGame game) {
+		try {
+			TicTacToeCodec.decodeBoard(code, game);
+			Assert.fail("The board code " + code + " should be rejected.");
+		} catch (final IllegalArgumentException e) {
+			// expected
+		}
+	}
+
+	private TicTacToeGame newGame(final TicTacToeStateSpaceType stateSpaceType) {
+		final TicTacToeGame game = new TicTacToeGame(stateSpaceType);
+		game.setGamePlayers(new TicTacToePlayer[]{this.playerI, this.playerII});
+		game.start();
+		return game;
+	}
+}
@@ -0,0 +1,145 @@
+package ncaralicea.games.domain.tictactoe.unit;
+
+import java.util.SplittableRandom;
+
+import ncaralicea.games.domain.GameStatus;
+import ncaralicea.games.domain.MoveResult;
+import ncaralicea.games.domain.tictactoe.TestSupport;
+import ncaralicea.games.domain.tictactoe.TicTacToeGame;
+import ncaralicea.games.domain.tictactoe.TicTacToeGame.TicTacToeGameException;
+import ncaralicea.games.domain.tictactoe.TicTacToeGameStore;
+import ncaralicea.games.domain.tictactoe.TicTacToeMove;
+import ncaralicea.games.domain.tictactoe.TicTacToePlayer;
+import ncaralicea.games.domain.tictactoe.TicTacToeStateSpaceType;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ *
+ * TestUnitTicTacToeGameStore checks the games of the off heap store play like TicTacToeGame, and the life cycle
+ * of their handles.
+ *
+ * @author Nicolae Caralicea
+ *
+ */
+public class TestUnitTicTacToeGameStore extends TestSupport {
+
+	private final TicTacToePlayer[] players = new TicTacToePlayer[]{new TicTacToePlayer("X"), new TicTacToePlayer("O")};
+
+	@Test
+	public void testRandomGamesAgainstGame() {
+		this.displayUnitTestDescription("Unit Test random games played in the store and on TicTacToeGame reach the same positions, and are taken back the same way");
+		final SplittableRandom random = new SplittableRandom(20150101L);
+		final TicTacToeGameStore store = new TicTacToeGameStore(16);
+		final TicTacToeGame game = new TicTacToeGame(TicTacToeStateSpaceType.BITBOARD);
+		game.setGamePlayers(this.players);
+		for (int round = 0; round < 1000; round++) {
+			game.reset();
+			game.start();
+			final int handle = store.newGame();
+			while (!game.isGameEnded()) {
+				final TicTacToeMove move = TicTacToeMove.ofCell(random.nextInt(9));
+				final long version = store.getVersion(handle);
+				final MoveResult result = store.tryMakeMove(handle, move, store.whoseTurnIs(handle));
+				Assert.assertEquals(game.tryMakeMove(move), result);
+				Assert.assertEquals(result.isAccepted(), version != store.getVersion(handle));
+				this.assertSameGame(game, store, handle);
+			}
+			Assert.assertEquals(MoveResult.GAME_OVER, store.tryMakeMove(handle, TicTacToeMove.ofCell(0)));
+			for (int index = 0; index < store.getMovesCount(handle); index++) {
+				Assert.assertEquals(game.getBoardView().cellAt(store.getMove(handle, index).getHorizontalPosition(),
+						store.getMove(handle, index).getVerticalPosition()), this.players[index % 2]);
+			}
+			while (store.getMovesCount(handle) > 0) {
+				store.unmakeMove(handle);
+				game.unmakeMove();
+				this.assertSameGame(game, store, handle);
+			}
+			store.release(handle);
+		}
+		Assert.assertEquals(0, store.getLiveGames());
+	}
+
+	@Test
+	public void testRejectedMoves() {
+		this.displayUnitTestDescription("Unit Test the store reports the rejected moves by their result, like the game");
+		final TicTacToeGameStore store = new TicTacToeGameStore(1);
+		final int handle = store.newGame();
+		Assert.assertEquals(MoveResult.ACCEPTED, store.tryMakeMove(handle, TicTacToeMove.of(1, 1), 0));
+		Assert.assertEquals(MoveResult.WRONG_TURN, store.tryMakeMove(handle, TicTacToeMove.of(0, 0), 0));
+		Assert.assertEquals(MoveResult.OCCUPIED, store.tryMakeMove(handle, TicTacToeMove.of(1, 1)));
+		Assert.assertEquals(MoveResult.OUT_OF_BOUNDS, store.tryMakeMove(handle, TicTacToeMove.of(3, 1)));
+		Assert.assertEquals(0, store.cellAt(handle, 1, 1));
+		Assert.assertEquals(-1, store.cellAt(handle, 0, 1));
+		Assert.assertEquals(-1, store.cellAt(handle, 3, 1));
+		try {
+			store.makeMove(handle, TicTacToeMove.of(1, 1));
+			Assert.fail("The occupied cell should be rejected.");
+		} catch (final TicTacToeGameException e) {
+			// expected
+		}
+		store.reset(handle);
+		Assert.assertEquals(0, store.getMovesCount(handle));
+		try {
+			store.unmakeMove(handle);
+			Assert.fail("There is no move to be taken back.");
+		} catch (final TicTacToeGameException e) {
+			// expected
+		}
+	}
+
+	@Test
+	public void testHandles() {
+		this.displayUnitTestDescription("Unit Test the released records are reused, and the released or unknown handles are rejected");
+		final TicTacToeGameStore store = new TicTacToeGameStore(3);
+		Assert.assertEquals(3 * TicTacToeGameStore.RECORD_SIZE, store.getOffHeapBytes());
+		final int first = store.newGame();
+		final int second = store.newGame();
+		final int third = store.newGame();
+		try {
+			store.newGame();
+			Assert.fail("The store should be full.");
+		} catch (final IllegalStateException e) {
+			// expected
+		}
+		store.makeMove(second, TicTacToeMove.of(0, 0));
+		final long version = store.getVersion(second);
+		store.release(second);
+		store.release(first);
+		this.assertRejected(store, second);
+		Assert.assertEquals(1, store.getLiveGames());
+
+		Assert.assertEquals(first, store.newGame());
+		Assert.assertEquals(second, store.newGame());
+		Assert.assertEquals(0, store.getMovesCount(second));
+		Assert.assertTrue(store.getVersion(second) > version);
+		store.release(third);
+		this.assertRejected(store, third);
+		this.assertRejected(store, -1);
+		this.assertRejected(store, 3);
+	}
+
+	private void assertSameGame(final TicTacToeGame game, final TicTacToeGameStore store, final int handle) {
+		Assert.assertEquals(game.getGameStatus(), store.getGameStatus(handle));
+		Assert.assertEquals(game.whoseTurnIs(), this.players[store.whoseTurnIs(handle)]);
+		if (store.getGameStatus(handle) == GameStatus.WON) {
+			Assert.assertEquals(game.getWinner(), this.players[store.getWinner(handle)]);
+		} else {
+			Assert.assertEquals(-1, store.getWinner(handle));
+		}
+		game.getBoardView().forEachCell((hPos, vPos, player) -> {
+			final int playerIndex = store.cellAt(handle, hPos, vPos);
+			Assert.assertEquals(player, playerIndex >= 0 ? this.players[playerIndex] : null);
+		});
+	}
+
+	private void assertRejected(final TicTacToeGameStore store, final int handle) {
+		try {
+			store.getGameStatus(handle);
+			Assert.fail("The handle " + handle + " should be rejected.");
+		} catch (final IllegalArgumentException e) {
+			// expected
+		}
+	}
+}
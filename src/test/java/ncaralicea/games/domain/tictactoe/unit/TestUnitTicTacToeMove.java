@@ -0,0 +1,46 @@
+package ncaralicea.games.domain.tictactoe.unit;
+
+import ncaralicea.games.domain.tictactoe.TestSupport;
+import ncaralicea.games.domain.tictactoe.TicTacToeMove;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * 
+ * TestUnitTicTacToeMove contains unit tests for the shared move instances.
+ * 
+ * @author Nicolae Caralicea
+ *
+ */
+public class TestUnitTicTacToeMove extends TestSupport {
+
+	@Test
+	public void testOfReturnsSharedMoves() {
+		this.displayUnitTestDescription("Unit Test 'of' method returns the same shared instance for every position on the board");
+		
+		for (int i = 0; i <= 2; i++) {
+			for (int j = 0; j <= 2; j++) {
+				final TicTacToeMove move = TicTacToeMove.of(i, j);
+				
+				Assert.assertSame(move, TicTacToeMove.of(i, j));
+				Assert.assertSame(move, TicTacToeMove.ofCell(i * 3 + j));
+				Assert.assertEquals(new TicTacToeMove(i, j), move);
+				Assert.assertEquals(new TicTacToeMove(i, j).hashCode(), move.hashCode());
+				Assert.assertEquals(i * 3 + j, move.getCellIndex());
+			}
+		}
+	}
+	
+	@Test
+	public void testOfOutOfBounds() {
+		this.displayUnitTestDescription("Unit Test 'of' method creates a move with no cell index for a position outside of the board");
+		
+		final TicTacToeMove move = TicTacToeMove.of(3, 1);
+		
+		Assert.assertEquals(3, move.getHorizontalPosition());
+		Assert.assertEquals(1, move.getVerticalPosition());
+		Assert.assertEquals(-1, move.getCellIndex());
+		Assert.assertEquals(-1, new TicTacToeMove(0, -1).getCellIndex());
+	}
+}
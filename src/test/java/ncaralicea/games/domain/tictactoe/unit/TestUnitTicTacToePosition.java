@@ -0,0 +1,120 @@
+package ncaralicea.games.domain.tictactoe.unit;
+
+import ncaralicea.games.domain.GameStatus;
+import ncaralicea.games.domain.MoveResult;
+import ncaralicea.games.domain.tictactoe.TestSupport;
+import ncaralicea.games.domain.tictactoe.TicTacToeGame;
+import ncaralicea.games.domain.tictactoe.TicTacToeMove;
+import ncaralicea.games.domain.tictactoe.TicTacToePlayer;
+import ncaralicea.games.domain.tictactoe.TicTacToePosition;
+import ncaralicea.games.domain.tictactoe.TicTacToeStateSpaceType;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ *
+ * TestUnitTicTacToePosition checks the immutable positions play like the game, without changing the positions they
+ * were played from.
+ *
+ * @author Nicolae Caralicea
+ *
+ */
+public class TestUnitTicTacToePosition extends TestSupport {
+
+	private final TicTacToePlayer playerI = new TicTacToePlayer("X");
+
+	private final TicTacToePlayer playerII = new TicTacToePlayer("O");
+
+	@Test
+	public void testPlayLeavesPositionUnchanged() {
+		this.displayUnitTestDescription("Unit Test 'play' method returns a new position and leaves the played one unchanged");
+		final TicTacToePosition start = TicTacToePosition.start(new TicTacToePlayer[]{this.playerI, this.playerII});
+		final TicTacToePosition next = start.play(TicTacToeMove.of(1, 1));
+
+		Assert.assertEquals(0, start.getMovesCount());
+		Assert.assertNull(start.cellAt(1, 1));
+		Assert.assertEquals(this.playerI, start.whoseTurnIs());
+		Assert.assertEquals(1, next.getMovesCount());
+		Assert.assertNotEquals(start.getVersion(), next.getVersion());
+		Assert.assertNotEquals(next.getVersion(), start.play(TicTacToeMove.of(0, 0)).getVersion());
+		Assert.assertEquals(next.getVersion(), start.play(TicTacToeMove.of(1, 1)).getVersion());
+		Assert.assertEquals(this.playerI, next.cellAt(1, 1));
+		Assert.assertEquals(this.playerII, next.whoseTurnIs());
+		Assert.assertEquals(next, start.play(TicTacToeMove.of(1, 1)));
+		Assert.assertEquals(".../.X./... IN_PROGRESS", next.toString());
+	}
+
+	@Test
+	public void testValidateMove() {
+		this.displayUnitTestDescription("Unit Test 'validateMove' method reports the same results as the game");
+		final TicTacToePosition position = TicTacToePosition.start(new TicTacToePlayer[]{this.playerI, this.playerII})
+				.play(TicTacToeMove.of(0, 0));
+
+		Assert.assertEquals(MoveResult.ACCEPTED, position.validateMove(TicTacToeMove.of(0, 1), null));
+		Assert.assertEquals(MoveResult.ACCEPTED, position.validateMove(TicTacToeMove.of(0, 1), this.playerII));
+		Assert.assertEquals(MoveResult.WRONG_TURN, position.validateMove(TicTacToeMove.of(0, 1), this.playerI));
+		Assert.assertEquals(MoveResult.OUT_OF_BOUNDS, position.validateMove(TicTacToeMove.of(3, 0), null));
+		Assert.assertEquals(MoveResult.OUT_OF_BOUNDS, position.validateMove(null, null));
+		Assert.assertEquals(MoveResult.OCCUPIED, position.validateMove(TicTacToeMove.of(0, 0), null));
+		try {
+			position.play(TicTacToeMove.of(0, 0));
+			Assert.fail("The occupied cell should be rejected.");
+		} catch (final IllegalArgumentException e) {
+			// expected
+		}
+	}
+
+	@Test
+	public void testWinAndDraw() {
+		this.displayUnitTestDescription("Unit Test the positions detect the winner and the draw, and reject the moves after the game ended");
+		final TicTacToePosition won = this.playAll(0, 1, 4, 2, 8);
+		Assert.assertEquals(GameStatus.WON, won.getGameStatus());
+		Assert.assertEquals(this.playerI, won.getWinner());
+		Assert.assertEquals(MoveResult.GAME_OVER, won.validateMove(TicTacToeMove.ofCell(3), null));
+
+		final TicTacToePosition draw = this.playAll(0, 4, 8, 1, 7, 6, 2, 5, 3);
+		Assert.assertEquals(GameStatus.DRAW, draw.getGameStatus());
+		Assert.assertNull(draw.getWinner());
+		Assert.assertEquals(9, draw.getMovesCount());
+	}
+
+	@Test
+	public void testSnapshotOfGame() {
+		this.displayUnitTestDescription("Unit Test 'of' method takes a snapshot equal to the position reached by the same moves");
+		final TicTacToeGame game = new TicTacToeGame(TicTacToeStateSpaceType.BITBOARD);
+		game.setGamePlayers(new TicTacToePlayer[]{this.playerI, this.playerII});
+		game.start();
+		TicTacToePosition position = TicTacToePosition.start(new TicTacToePlayer[]{this.playerI, this.playerII});
+		for (final int cell : new int[]{4, 0, 8, 2, 1, 7, 6}) {
+			game.makeMove(TicTacToeMove.ofCell(cell));
+			position = position.play(TicTacToeMove.ofCell(cell));
+			final TicTacToePosition snapshot = TicTacToePosition.of(game);
+			Assert.assertEquals(position, snapshot);
+			Assert.assertEquals(position.hashCode(), snapshot.hashCode());
+			Assert.assertEquals(game.getGameStatus(), snapshot.getGameStatus());
+			Assert.assertEquals(game.whoseTurnIs(), snapshot.whoseTurnIs());
+		}
+		// the snapshot is not changed by the game
+		final TicTacToePosition snapshot = TicTacToePosition.of(game);
+		final GameStatus status = game.getGameStatus();
+		game.unmakeMove();
+		Assert.assertNull(TicTacToePosition.of(game).cellAt(2, 0));
+		Assert.assertEquals(this.playerI, snapshot.cellAt(2, 0));
+		Assert.assertEquals(status, snapshot.getGameStatus());
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testInvalidPlayers() {
+		this.displayUnitTestDescription("Unit Test 'start' method rejects players with the same display name");
+		TicTacToePosition.start(new TicTacToePlayer[]{this.playerI, new TicTacToePlayer("X")});
+	}
+
+	private TicTacToePosition playAll(final int... cells) {
+		TicTacToePosition position = TicTacToePosition.start(new TicTacToePlayer[]{this.playerI, this.playerII});
+		for (final int cell : cells) {
+			position = position.play(TicTacToeMove.ofCell(cell));
+		}
+		return position;
+	}
+}
@@ -0,0 +1,82 @@
+package ncaralicea.games.domain.tictactoe.unit;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Collectors;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import ncaralicea.games.domain.GameStatus;
+import ncaralicea.games.domain.tictactoe.TestSupport;
+import ncaralicea.games.domain.tictactoe.TicTacToeMove;
+import ncaralicea.games.domain.tictactoe.TicTacToePlayer;
+import ncaralicea.games.domain.tictactoe.TicTacToePosition;
+import ncaralicea.games.domain.tictactoe.TicTacToeSymmetry;
+
+/**
+ *
+ * TestUnitTicTacToePositions checks the enumeration of the reachable positions against the well known counts of
+ * the game, with and without the symmetries, sequential and parallel.
+ *
+ * @author Nicolae Caralicea
+ *
+ */
+public class TestUnitTicTacToePositions extends TestSupport {
+
+	private final TicTacToePosition start = TicTacToePosition.start(new TicTacToePlayer[]{new TicTacToePlayer("X"), new TicTacToePlayer("O")});
+
+	@Test
+	public void testReachablePositions() {
+		this.displayUnitTestDescription("Unit Test the enumeration finds the 5478 reachable positions, 958 of them ended, once each");
+		final Set<TicTacToePosition> positions = new HashSet<TicTacToePosition>();
+		this.start.positions().forEach(position -> Assert.assertTrue(positions.add(position)));
+		Assert.assertEquals(5478, positions.size());
+		Assert.assertEquals(958, positions.stream().filter(position -> position.getGameStatus().isEnded()).count());
+		Assert.assertEquals(16, positions.stream().filter(position -> position.getGameStatus() == GameStatus.DRAW).count());
+		Assert.assertTrue(positions.contains(this.start));
+	}
+
+	@Test
+	public void testSymmetryReduction() {
+		this.displayUnitTestDescription("Unit Test the enumeration reduced by the symmetries finds the 765 canonical positions");
+		final Set<TicTacToePosition> positions = this.start.positions(true, Integer.MAX_VALUE).collect(Collectors.toSet());
+		Assert.assertEquals(765, positions.size());
+		for (final TicTacToePosition position : positions) {
+			Assert.assertSame(position, position.getCanonicalPosition());
+			final int board = TicTacToeSymmetry.pack(position.getOccupancyMask(0), position.getOccupancyMask(1));
+			Assert.assertEquals(board, TicTacToeSymmetry.getCanonicalBoard(TicTacToeSymmetry.canonicalize(board)));
+		}
+
+		final TicTacToePosition corner = this.start.play(TicTacToeMove.of(2, 2));
+		Assert.assertEquals(this.start.play(TicTacToeMove.of(0, 0)), corner.getCanonicalPosition());
+		Assert.assertEquals(corner.getGameStatus(), corner.getCanonicalPosition().getGameStatus());
+	}
+
+	@Test
+	public void testMaxMoves() {
+		this.displayUnitTestDescription("Unit Test the enumeration stops at the number of moves provided as argument");
+		Assert.assertEquals(1 + 9 + 9 * 8, this.start.positions(false, 2).count());
+		Assert.assertEquals(1 + 3 + 12, this.start.positions(true, 2).count());
+		Assert.assertEquals(1, this.start.positions(true, 0).count());
+		Assert.assertEquals(0, this.start.play(TicTacToeMove.of(1, 1)).positions(false, 0).count());
+	}
+
+	@Test
+	public void testParallelEnumeration() throws Exception {
+		this.displayUnitTestDescription("Unit Test the parallel enumeration finds the same positions as the sequential one, once each");
+		final Set<TicTacToePosition> sequential = this.start.positions().collect(Collectors.toSet());
+		final ForkJoinPool pool = new ForkJoinPool(4);
+		try {
+			for (int round = 0; round < 20; round++) {
+				final boolean reduceSymmetries = round % 2 == 1;
+				final long count = pool.submit(() -> this.start.positions(reduceSymmetries, Integer.MAX_VALUE).parallel().count()).get();
+				Assert.assertEquals(reduceSymmetries ? 765 : 5478, count);
+			}
+			Assert.assertEquals(sequential, pool.submit(() -> this.start.positions().parallel().collect(Collectors.toSet())).get());
+		} finally {
+			pool.shutdown();
+		}
+	}
+}
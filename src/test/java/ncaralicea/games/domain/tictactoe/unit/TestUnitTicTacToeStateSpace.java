@@ -0,0 +1,182 @@
+package ncaralicea.games.domain.tictactoe.unit;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+
+import ncaralicea.games.domain.IStateSpace;
+import ncaralicea.games.domain.tictactoe.TestSupport;
+import ncaralicea.games.domain.tictactoe.TicTacToeBitboardStateSpace;
+import ncaralicea.games.domain.tictactoe.TicTacToeMove;
+import ncaralicea.games.domain.tictactoe.TicTacToePlayer;
+import ncaralicea.games.domain.tictactoe.TicTacToeStateSpace;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ *
+ * TestUnitTicTacToeStateSpace checks the bitboard state space side by side against the map based one.
+ *
+ * @author Nicolae Caralicea
+ *
+ */
+public class TestUnitTicTacToeStateSpace extends TestSupport {
+
+	private final TicTacToePlayer playerI = new TicTacToePlayer("X");
+
+	private final TicTacToePlayer playerII = new TicTacToePlayer("O");
+
+	@Test
+	public void testEmptyStateSpaces() {
+		this.displayUnitTestDescription("Unit Test the empty bitboard and map based state spaces have the same observable state");
+
+		this.assertSameState(new TicTacToeStateSpace(), new TicTacToeBitboardStateSpace());
+	}
+
+	@Test
+	public void testRandomMoveSequences() {
+		this.displayUnitTestDescription("Unit Test the bitboard and map based state spaces stay identical while random moves are added");
+		final Random random = new Random(20150101L);
+
+		for (int game = 0; game < 1000; game++) {
+			final IStateSpace<TicTacToeMove, TicTacToePlayer> mapStateSpace = new TicTacToeStateSpace();
+			final IStateSpace<TicTacToeMove, TicTacToePlayer> bitboardStateSpace = new TicTacToeBitboardStateSpace();
+			for (int moves = 0; moves < 9; moves++) {
+				final TicTacToeMove move = new TicTacToeMove(random.nextInt(3), random.nextInt(3));
+				final TicTacToePlayer player = random.nextBoolean() ? this.playerI : this.playerII;
+				mapStateSpace.addMoveFor(move, player);
+				bitboardStateSpace.addMoveFor(move, player);
+
+				this.assertSameState(mapStateSpace, bitboardStateSpace);
+			}
+		}
+	}
+
+	@Test
+	public void testOutOfBoundsQueries() {
+		this.displayUnitTestDescription("Unit Test the bitboard state space answers queries outside of the board like the map based one");
+		final TicTacToeBitboardStateSpace bitboardStateSpace = new TicTacToeBitboardStateSpace();
+		bitboardStateSpace.addMoveFor(new TicTacToeMove(2, 2), this.playerI);
+
+		Assert.assertFalse(bitboardStateSpace.isMoveDefinedAt(3, 2));
+		Assert.assertFalse(bitboardStateSpace.isMoveDefinedAt(-1, 0));
+		Assert.assertNull(bitboardStateSpace.getPlayerAt(2, 3));
+	}
+
+	@Test
+	public void testRejectedMoves() {
+		this.displayUnitTestDescription("Unit Test the bitboard and map based state spaces both reject a move outside of the board and a third player, unchanged");
+		final IStateSpace<TicTacToeMove, TicTacToePlayer> mapStateSpace = new TicTacToeStateSpace();
+		final IStateSpace<TicTacToeMove, TicTacToePlayer> bitboardStateSpace = new TicTacToeBitboardStateSpace();
+		for (final IStateSpace<TicTacToeMove, TicTacToePlayer> stateSpace : Arrays.asList(mapStateSpace, bitboardStateSpace)) {
+			stateSpace.addMoveFor(new TicTacToeMove(0, 0), this.playerI);
+			stateSpace.addMoveFor(new TicTacToeMove(0, 1), this.playerII);
+			this.assertRejected(stateSpace, new TicTacToeMove(3, 0), this.playerI);
+			this.assertRejected(stateSpace, new TicTacToeMove(0, -1), this.playerII);
+			this.assertRejected(stateSpace, new TicTacToeMove(0, 2), new TicTacToePlayer("Z"));
+		}
+
+		this.assertSameState(mapStateSpace, bitboardStateSpace);
+		Assert.assertEquals(2, mapStateSpace.getExecutedMoves().size());
+	}
+
+	@Test
+	public void testForEachAvailableMove() {
+		this.displayUnitTestDescription("Unit Test 'forEachAvailableMove' method visits the free cells in ascending order");
+		final TicTacToeBitboardStateSpace bitboardStateSpace = new TicTacToeBitboardStateSpace();
+		bitboardStateSpace.addMoveFor(TicTacToeMove.of(0, 1), this.playerI);
+		bitboardStateSpace.addMoveFor(TicTacToeMove.of(2, 2), this.playerII);
+		final StringBuilder visitedCells = new StringBuilder();
+		
+		bitboardStateSpace.forEachAvailableMove(cell -> visitedCells.append(cell));
+		
+		Assert.assertEquals("0234567", visitedCells.toString());
+		Assert.assertEquals(-1, bitboardStateSpace.nextAvailableCell(8));
+		Assert.assertEquals(-1, bitboardStateSpace.nextAvailableCell(9));
+	}
+
+	@Test
+	public void testPositionHash() {
+		this.displayUnitTestDescription("Unit Test 'positionHash' method depends only on the position and the side to move, and is restored by 'removeMove'");
+		final TicTacToeBitboardStateSpace stateSpace = new TicTacToeBitboardStateSpace();
+		final TicTacToeBitboardStateSpace transposedStateSpace = new TicTacToeBitboardStateSpace();
+		final long emptyHash = stateSpace.positionHash();
+
+		stateSpace.addMoveFor(TicTacToeMove.of(0, 0), this.playerI);
+		final long oneMoveHash = stateSpace.positionHash();
+		stateSpace.addMoveFor(TicTacToeMove.of(1, 1), this.playerII);
+		stateSpace.addMoveFor(TicTacToeMove.of(2, 2), this.playerI);
+		transposedStateSpace.addMoveFor(TicTacToeMove.of(2, 2), this.playerI);
+		transposedStateSpace.addMoveFor(TicTacToeMove.of(1, 1), this.playerII);
+		transposedStateSpace.addMoveFor(TicTacToeMove.of(0, 0), this.playerI);
+
+		Assert.assertEquals(stateSpace.positionHash(), transposedStateSpace.positionHash());
+		Assert.assertNotEquals(emptyHash, oneMoveHash);
+		stateSpace.removeMove(TicTacToeMove.of(2, 2));
+		stateSpace.removeMove(TicTacToeMove.of(1, 1));
+		Assert.assertEquals(oneMoveHash, stateSpace.positionHash());
+		stateSpace.removeMove(TicTacToeMove.of(0, 0));
+		Assert.assertEquals(emptyHash, stateSpace.positionHash());
+		stateSpace.removeMove(TicTacToeMove.of(0, 0));
+		Assert.assertEquals(emptyHash, stateSpace.positionHash());
+	}
+
+	@Test
+	public void testPositionHashSideToMove() {
+		this.displayUnitTestDescription("Unit Test 'positionHash' method distinguishes the same stones with a different side to move");
+		final TicTacToeStateSpace stateSpace = new TicTacToeStateSpace();
+		final TicTacToeStateSpace otherStateSpace = new TicTacToeStateSpace();
+		stateSpace.addMoveFor(TicTacToeMove.of(0, 0), this.playerI);
+		otherStateSpace.addMoveFor(TicTacToeMove.of(0, 0), this.playerI);
+		otherStateSpace.addMoveFor(TicTacToeMove.of(0, 1), this.playerII);
+		otherStateSpace.addMoveFor(TicTacToeMove.of(0, 1), this.playerI);
+		otherStateSpace.removeMove(TicTacToeMove.of(0, 1));
+		otherStateSpace.addMoveFor(TicTacToeMove.of(0, 1), this.playerII);
+		otherStateSpace.removeMove(TicTacToeMove.of(0, 1));
+
+		Assert.assertNotEquals(stateSpace.positionHash(), otherStateSpace.positionHash());
+	}
+
+	private void assertRejected(final IStateSpace<TicTacToeMove, TicTacToePlayer> stateSpace, final TicTacToeMove move,
+			final TicTacToePlayer player) {
+		try {
+			stateSpace.addMoveFor(move, player);
+			Assert.fail("The move " + move + " was accepted by " + stateSpace.getClass().getSimpleName() + ".");
+		} catch (final IllegalArgumentException e) {
+			// expected
+		}
+	}
+
+	/**
+	 * Collects the available moves through the cell cursor.
+	 */
+	private Set<TicTacToeMove> collectAvailableMoves(final IStateSpace<TicTacToeMove, TicTacToePlayer> stateSpace) {
+		final Set<TicTacToeMove> moves = new HashSet<TicTacToeMove>();
+		for (int cell = stateSpace.nextAvailableCell(0); cell >= 0; cell = stateSpace.nextAvailableCell(cell + 1)) {
+			Assert.assertTrue(moves.add(stateSpace.getMoveAt(cell)));
+		}
+		return moves;
+	}
+
+	private void assertSameState(final IStateSpace<TicTacToeMove, TicTacToePlayer> expected,
+			final IStateSpace<TicTacToeMove, TicTacToePlayer> actual) {
+		Assert.assertEquals(expected.getMinPosition(), actual.getMinPosition());
+		Assert.assertEquals(expected.getMaxPosition(), actual.getMaxPosition());
+		Assert.assertEquals(expected.getExecutedMoves(), actual.getExecutedMoves());
+		Assert.assertEquals(expected.positionHash(), actual.positionHash());
+		Assert.assertEquals(expected.getExecutedMovesBy(this.playerI), actual.getExecutedMovesBy(this.playerI));
+		Assert.assertEquals(expected.getExecutedMovesBy(this.playerII), actual.getExecutedMovesBy(this.playerII));
+		Assert.assertEquals(expected.generateAvailableMoves(), actual.generateAvailableMoves());
+		Assert.assertEquals(expected.generateAvailableMoves().size(), actual.getAvailableMovesCount());
+		Assert.assertEquals(expected.generateAvailableMoves(), this.collectAvailableMoves(actual));
+		Assert.assertEquals(expected.generateAvailableMoves(), this.collectAvailableMoves(expected));
+		for (int i = expected.getMinPosition(); i <= expected.getMaxPosition(); i++) {
+			for (int j = expected.getMinPosition(); j <= expected.getMaxPosition(); j++) {
+				Assert.assertEquals(expected.isMoveDefinedAt(i, j), actual.isMoveDefinedAt(i, j));
+				Assert.assertEquals(expected.getPlayerAt(i, j), actual.getPlayerAt(i, j));
+			}
+		}
+	}
+}
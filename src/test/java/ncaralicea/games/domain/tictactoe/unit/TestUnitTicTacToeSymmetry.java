@@ -0,0 +1,101 @@
+package ncaralicea.games.domain.tictactoe.unit;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import ncaralicea.games.domain.tictactoe.TestSupport;
+import ncaralicea.games.domain.tictactoe.TicTacToeSymmetry;
+import ncaralicea.games.domain.tictactoe.TicTacToeWinDetector;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * 
+ * TestUnitTicTacToeSymmetry checks the canonical keys are stable across the 8 transforms of every reachable position.
+ * 
+ * @author Nicolae Caralicea
+ *
+ */
+public class TestUnitTicTacToeSymmetry extends TestSupport {
+
+	private final Set<Integer> reachableBoards = new HashSet<Integer>();
+	
+	@Test
+	public void testTransformsAreSquareSymmetries() {
+		this.displayUnitTestDescription("Unit Test the transforms are the 8 distinct symmetries of the square board");
+		final Set<String> cellMaps = new HashSet<String>();
+		for (int transform = 0; transform < TicTacToeSymmetry.TRANSFORMS; transform++) {
+			final StringBuilder cellMap = new StringBuilder();
+			for (int cell = 0; cell < 9; cell++) {
+				cellMap.append(TicTacToeSymmetry.transformCell(cell, transform));
+				Assert.assertEquals(cell, TicTacToeSymmetry.transformCell(TicTacToeSymmetry.transformCell(cell, transform), 
+						TicTacToeSymmetry.inverse(transform)));
+			}
+			cellMaps.add(cellMap.toString());
+			// the center stays, and the winning lines are mapped to winning lines
+			Assert.assertEquals(4, TicTacToeSymmetry.transformCell(4, transform));
+			for (int line = 0; line < TicTacToeWinDetector.getWinMasksCount(); line++) {
+				Assert.assertTrue(TicTacToeWinDetector.isWinning(TicTacToeSymmetry.transformMask(TicTacToeWinDetector.getWinMask(line), transform)));
+			}
+		}
+		
+		Assert.assertEquals(8, cellMaps.size());
+		Assert.assertEquals("012345678", this.cellMapOf(TicTacToeSymmetry.IDENTITY));
+		Assert.assertEquals("258147036", this.cellMapOf(1));
+	}
+	
+	@Test
+	public void testCanonicalKeysOfReachablePositions() {
+		this.displayUnitTestDescription("Unit Test the canonical key of every reachable position is the same for all its 8 transforms");
+		this.collectReachable(0, 0);
+		final Set<Integer> canonicalBoards = new HashSet<Integer>();
+		
+		for (final int board : this.reachableBoards) {
+			final int canonical = TicTacToeSymmetry.canonicalize(board);
+			final int canonicalBoard = TicTacToeSymmetry.getCanonicalBoard(canonical);
+			final int transform = TicTacToeSymmetry.getTransform(canonical);
+			canonicalBoards.add(canonicalBoard);
+			
+			Assert.assertEquals(canonicalBoard, TicTacToeSymmetry.transformBoard(board, transform));
+			Assert.assertEquals(board, TicTacToeSymmetry.transformBoard(canonicalBoard, TicTacToeSymmetry.inverse(transform)));
+			for (int other = 0; other < TicTacToeSymmetry.TRANSFORMS; other++) {
+				final int transformedBoard = TicTacToeSymmetry.transformBoard(board, other);
+				Assert.assertTrue(this.reachableBoards.contains(transformedBoard));
+				Assert.assertEquals(canonicalBoard, TicTacToeSymmetry.getCanonicalBoard(TicTacToeSymmetry.canonicalize(transformedBoard)));
+			}
+		}
+		
+		Assert.assertEquals(5478, this.reachableBoards.size());
+		Assert.assertEquals(765, canonicalBoards.size());
+	}
+	
+	private String cellMapOf(final int transform) {
+		final StringBuilder cellMap = new StringBuilder();
+		for (int cell = 0; cell < 9; cell++) {
+			cellMap.append(TicTacToeSymmetry.transformCell(cell, transform));
+		}
+		return cellMap.toString();
+	}
+	
+	/**
+	 * Collects the packed boards reachable from the position, the first player being the one to move
+	 * when both players have the same number of moves.
+	 */
+	private void collectReachable(final int firstMask, final int secondMask) {
+		if (!this.reachableBoards.add(TicTacToeSymmetry.pack(firstMask, secondMask))
+				|| TicTacToeWinDetector.isWinning(firstMask) || TicTacToeWinDetector.isWinning(secondMask)) {
+			return;
+		}
+		final boolean isFirstToMove = Integer.bitCount(firstMask) == Integer.bitCount(secondMask);
+		for (int cell = 0; cell < 9; cell++) {
+			if (((firstMask | secondMask) & (1 << cell)) == 0) {
+				if (isFirstToMove) {
+					this.collectReachable(firstMask | 1 << cell, secondMask);
+				} else {
+					this.collectReachable(firstMask, secondMask | 1 << cell);
+				}
+			}
+		}
+	}
+}
@@ -0,0 +1,80 @@
+package ncaralicea.games.domain.tictactoe.unit;
+
+import ncaralicea.games.domain.tictactoe.TestSupport;
+import ncaralicea.games.domain.tictactoe.TicTacToeWinDetector;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * 
+ * TestUnitTicTacToeWinDetector checks the precomputed winning line masks against every possible occupancy mask.
+ * 
+ * @author Nicolae Caralicea
+ *
+ */
+public class TestUnitTicTacToeWinDetector extends TestSupport {
+
+	private static final int[][] LINES = new int[][]{
+		{0, 1, 2}, {3, 4, 5}, {6, 7, 8},
+		{0, 3, 6}, {1, 4, 7}, {2, 5, 8},
+		{0, 4, 8}, {2, 4, 6}
+	};
+	
+	@Test
+	public void testIsWinning() {
+		this.displayUnitTestDescription("Unit Test 'isWinning' method for every possible occupancy mask");
+		
+		for (int occupancy = 0; occupancy < 1 << TicTacToeWinDetector.CELLS; occupancy++) {
+			Assert.assertEquals(this.hasLineThrough(occupancy, -1), TicTacToeWinDetector.isWinning(occupancy));
+		}
+	}
+
+	@Test
+	public void testIsWinningAt() {
+		this.displayUnitTestDescription("Unit Test 'isWinningAt' method for every possible occupancy mask and occupied cell");
+		
+		for (int occupancy = 0; occupancy < 1 << TicTacToeWinDetector.CELLS; occupancy++) {
+			for (int cell = 0; cell < TicTacToeWinDetector.CELLS; cell++) {
+				if ((occupancy & (1 << cell)) != 0) {
+					Assert.assertEquals(this.hasLineThrough(occupancy, cell), TicTacToeWinDetector.isWinningAt(occupancy, cell));
+				}
+			}
+		}
+	}
+	
+	@Test
+	public void testCellIndexOf() {
+		this.displayUnitTestDescription("Unit Test 'cellIndexOf' method maps the board positions in row major order");
+		
+		Assert.assertEquals(0, TicTacToeWinDetector.cellIndexOf(0, 0));
+		Assert.assertEquals(2, TicTacToeWinDetector.cellIndexOf(0, 2));
+		Assert.assertEquals(6, TicTacToeWinDetector.cellIndexOf(2, 0));
+		Assert.assertEquals(8, TicTacToeWinDetector.cellIndexOf(2, 2));
+	}
+	
+	/**
+	 * Checks if the occupancy mask holds a whole line passing through the cell.
+	 * 
+	 * @param occupancy
+	 * 		- the occupancy mask.
+	 * @param cell
+	 * 		- the cell or -1 for any cell.
+	 * @return
+	 * 		- returns true if there is such a line.
+	 */
+	private boolean hasLineThrough(final int occupancy, final int cell) {
+		for (final int[] line : LINES) {
+			boolean isLine = true;
+			boolean isThroughCell = cell < 0;
+			for (final int lineCell : line) {
+				isLine = isLine && (occupancy & (1 << lineCell)) != 0;
+				isThroughCell = isThroughCell || lineCell == cell;
+			}
+			if (isLine && isThroughCell) {
+				return true;
+			}
+		}
+		return false;
+	}
+}
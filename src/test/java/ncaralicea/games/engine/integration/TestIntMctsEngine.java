@@ -0,0 +1,125 @@
+package ncaralicea.games.engine.integration;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import ncaralicea.games.domain.GameStatus;
+import ncaralicea.games.domain.mnk.MnkGame;
+import ncaralicea.games.domain.mnk.MnkMove;
+import ncaralicea.games.domain.mnk.MnkPlayer;
+import ncaralicea.games.domain.tictactoe.TestSupport;
+import ncaralicea.games.domain.tictactoe.TicTacToeGame;
+import ncaralicea.games.domain.tictactoe.TicTacToeMove;
+import ncaralicea.games.domain.tictactoe.TicTacToePlayer;
+import ncaralicea.games.engine.MctsEngine;
+import ncaralicea.games.engine.MctsMode;
+import ncaralicea.games.engine.MctsResult;
+
+/**
+ *
+ * TestIntMctsEngine checks the Monte Carlo tree search engine finds the winning and the blocking moves,
+ * in both parallel modes, and leaves the game unchanged.
+ *
+ * @author Nicolae Caralicea
+ *
+ */
+public class TestIntMctsEngine extends TestSupport {
+
+	private static final int PLAYOUTS = 20000;
+
+	@Test
+	public void testWinningMove() {
+		this.displayUnitTestDescription("Integration Test the engine plays the winning move, in both parallel modes");
+
+		for (final MctsMode mode : MctsMode.values()) {
+			final TicTacToeGame ticTacTocGame = this.startGame(0, 0, 1, 0, 0, 1, 1, 1);
+			try (MctsEngine<TicTacToeMove, TicTacToePlayer> engine = this.newEngine(ticTacTocGame, mode)) {
+				final MctsResult<TicTacToeMove> result = engine.search();
+
+				Assert.assertEquals(TicTacToeMove.of(0, 2), result.getBestMove());
+				Assert.assertEquals(PLAYOUTS, result.getPlayouts());
+				Assert.assertEquals(2, result.getThreads());
+				Assert.assertTrue(result.getBestMoveValue() > 0.9);
+			}
+		}
+	}
+
+	@Test
+	public void testBlockingMove() {
+		this.displayUnitTestDescription("Integration Test the engine blocks the line of the opponent, in both parallel modes");
+
+		for (final MctsMode mode : MctsMode.values()) {
+			final TicTacToeGame ticTacTocGame = this.startGame(0, 0, 1, 1, 0, 1);
+			final TicTacToePlayer[][] boardBefore = ticTacTocGame.getPlayerInteractionSnapshotBoard();
+			try (MctsEngine<TicTacToeMove, TicTacToePlayer> engine = this.newEngine(ticTacTocGame, mode)) {
+				Assert.assertEquals(TicTacToeMove.of(0, 2), engine.findBestMove());
+			}
+
+			Assert.assertArrayEquals(boardBefore, ticTacTocGame.getPlayerInteractionSnapshotBoard());
+			Assert.assertEquals(GameStatus.IN_PROGRESS, ticTacTocGame.getGameStatus());
+			Assert.assertEquals("O", ticTacTocGame.whoseTurnIs().getDisplayName());
+		}
+	}
+
+	@Test
+	public void testLargerBoardWithExecutor() {
+		this.displayUnitTestDescription("Integration Test the engine completes an open four on a 9 X 9 board, on an executor provided by the caller");
+		final MnkGame mnkGame = new MnkGame(9, 5);
+		mnkGame.setGamePlayers(new MnkPlayer[]{new MnkPlayer("X"), new MnkPlayer("O")});
+		mnkGame.start();
+		final int[] cells = {40, 0, 41, 8, 42, 72, 43, 80};
+		for (final int cell : cells) {
+			mnkGame.makeMove(new MnkMove(cell / 9, cell % 9));
+		}
+		final ExecutorService executor = Executors.newFixedThreadPool(4);
+		try (MctsEngine<MnkMove, MnkPlayer> engine = new MctsEngine<MnkMove, MnkPlayer>(mnkGame)) {
+			engine.setExecutor(executor);
+			engine.setParallelism(4);
+			engine.setSeed(7L);
+			engine.setTimeBudget(5, TimeUnit.SECONDS);
+			engine.setPlayoutBudget(PLAYOUTS);
+			final MnkMove bestMove = engine.findBestMove();
+
+			Assert.assertTrue(new MnkMove(4, 3).equals(bestMove) || new MnkMove(4, 8).equals(bestMove));
+		} finally {
+			executor.shutdown();
+		}
+	}
+
+	@Test
+	public void testEndedGame() {
+		this.displayUnitTestDescription("Integration Test the engine returns no move when the game already ended");
+		final TicTacToeGame ticTacTocGame = this.startGame(0, 0, 1, 0, 0, 1, 1, 1, 0, 2);
+
+		try (MctsEngine<TicTacToeMove, TicTacToePlayer> engine = this.newEngine(ticTacTocGame, MctsMode.TREE_PARALLEL)) {
+			final MctsResult<TicTacToeMove> result = engine.search();
+
+			Assert.assertNull(result.getBestMove());
+			Assert.assertEquals(0, result.getPlayouts());
+		}
+	}
+
+	private MctsEngine<TicTacToeMove, TicTacToePlayer> newEngine(final TicTacToeGame ticTacTocGame, final MctsMode mode) {
+		final MctsEngine<TicTacToeMove, TicTacToePlayer> engine = new MctsEngine<TicTacToeMove, TicTacToePlayer>(ticTacTocGame);
+		engine.setMode(mode);
+		engine.setParallelism(2);
+		engine.setSeed(20150101L);
+		engine.setTimeBudget(10, TimeUnit.SECONDS);
+		engine.setPlayoutBudget(PLAYOUTS);
+		return engine;
+	}
+
+	private TicTacToeGame startGame(final int... positions) {
+		final TicTacToeGame ticTacTocGame = new TicTacToeGame();
+		ticTacTocGame.setGamePlayers(new TicTacToePlayer[]{new TicTacToePlayer("X"), new TicTacToePlayer("O")});
+		ticTacTocGame.start();
+		for (int i = 0; i < positions.length; i += 2) {
+			ticTacTocGame.makeMove(TicTacToeMove.of(positions[i], positions[i + 1]));
+		}
+		return ticTacTocGame;
+	}
+}
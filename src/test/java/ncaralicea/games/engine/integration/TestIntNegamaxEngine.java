@@ -0,0 +1,163 @@
+package ncaralicea.games.engine.integration;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import ncaralicea.games.domain.tictactoe.TestSupport;
+import ncaralicea.games.domain.tictactoe.TicTacToeGame;
+import ncaralicea.games.domain.tictactoe.TicTacToeMove;
+import ncaralicea.games.domain.tictactoe.TicTacToePlayer;
+import ncaralicea.games.domain.tictactoe.TicTacToeStateSpaceType;
+import ncaralicea.games.engine.NegamaxEngine;
+import ncaralicea.games.engine.SearchResult;
+
+/**
+ * 
+ * TestIntNegamaxEngine checks the engine values and moves against a plain minimax (with no pruning) for every
+ * reachable Tic-Tac-Toe position.
+ * 
+ * @author Nicolae Caralicea
+ *
+ */
+public class TestIntNegamaxEngine extends TestSupport {
+
+	private final TicTacToePlayer playerI = new TicTacToePlayer("X");
+	
+	private final TicTacToePlayer playerII = new TicTacToePlayer("O");
+	
+	private final Map<String, Integer> minimaxValues = new HashMap<String, Integer>();
+	
+	private final Set<String> visitedPositions = new HashSet<String>();
+
+	@Test
+	public void testEmptyBoardIsDraw() {
+		this.displayUnitTestDescription("Integration Test the engine solves the empty board as a draw");
+		final TicTacToeGame ticTacTocGame = this.startGame();
+		
+		final SearchResult<TicTacToeMove> result = new NegamaxEngine<TicTacToeMove, TicTacToePlayer>(ticTacTocGame).search();
+		
+		Assert.assertEquals(0, result.getScore());
+		Assert.assertNotNull(result.getBestMove());
+		Assert.assertTrue(result.getNodes() > 0);
+		Assert.assertArrayEquals(new TicTacToePlayer[3][3], ticTacTocGame.getPlayerInteractionSnapshotBoard());
+	}
+	
+	@Test
+	public void testAllReachablePositions() {
+		this.displayUnitTestDescription("Integration Test the engine value and best move of every reachable position against plain minimax");
+		final TicTacToeGame ticTacTocGame = this.startGame();
+		final NegamaxEngine<TicTacToeMove, TicTacToePlayer> engine = new NegamaxEngine<TicTacToeMove, TicTacToePlayer>(ticTacTocGame);
+		
+		this.checkAll(ticTacTocGame, engine);
+		
+		Assert.assertEquals(4520, this.visitedPositions.size());
+	}
+	
+	@Test
+	public void testSelfPlayIsDraw() {
+		this.displayUnitTestDescription("Integration Test the engine playing against itself ends in a draw");
+		final TicTacToeGame ticTacTocGame = this.startGame();
+		final NegamaxEngine<TicTacToeMove, TicTacToePlayer> engine = new NegamaxEngine<TicTacToeMove, TicTacToePlayer>(ticTacTocGame);
+		
+		while (!ticTacTocGame.isGameEnded()) {
+			ticTacTocGame.makeMove(engine.findBestMove());
+		}
+		
+		Assert.assertTrue(ticTacTocGame.isGameDraw());
+	}
+	
+	@Test
+	public void testWinInOne() {
+		this.displayUnitTestDescription("Integration Test the engine finds the immediate win");
+		final TicTacToeGame ticTacTocGame = this.startGame();
+		ticTacTocGame.makeMove(TicTacToeMove.of(0, 0));
+		ticTacTocGame.makeMove(TicTacToeMove.of(1, 0));
+		ticTacTocGame.makeMove(TicTacToeMove.of(0, 1));
+		ticTacTocGame.makeMove(TicTacToeMove.of(1, 1));
+		
+		final SearchResult<TicTacToeMove> result = new NegamaxEngine<TicTacToeMove, TicTacToePlayer>(ticTacTocGame).search();
+		
+		Assert.assertEquals(TicTacToeMove.of(0, 2), result.getBestMove());
+		Assert.assertTrue(result.isWin());
+		Assert.assertEquals(1, result.getPliesToEnd());
+	}
+	
+	/**
+	 * Checks every in progress position reachable from the current one.
+	 */
+	private void checkAll(final TicTacToeGame ticTacTocGame, final NegamaxEngine<TicTacToeMove, TicTacToePlayer> engine) {
+		if (ticTacTocGame.isGameEnded() || !this.visitedPositions.add(this.toKey(ticTacTocGame))) {
+			return;
+		}
+		final SearchResult<TicTacToeMove> result = engine.search();
+		final int expectedScore = this.minimax(ticTacTocGame);
+		Assert.assertEquals(expectedScore, result.getScore());
+		
+		ticTacTocGame.makeMove(result.getBestMove());
+		final int bestMoveScore = ticTacTocGame.existWinner() ? SearchResult.WIN_SCORE - 1 
+				: ticTacTocGame.isGameDraw() ? 0 : -fromChild(this.minimax(ticTacTocGame));
+		ticTacTocGame.unmakeMove();
+		Assert.assertEquals(expectedScore, bestMoveScore);
+		
+		for (int cell = 0; cell < 9; cell++) {
+			if (!ticTacTocGame.getStateSpace().isMoveDefinedAt(cell / 3, cell % 3)) {
+				ticTacTocGame.makeMove(TicTacToeMove.ofCell(cell));
+				this.checkAll(ticTacTocGame, engine);
+				ticTacTocGame.unmakeMove();
+			}
+		}
+	}
+	
+	/**
+	 * Computes the score of the position for the player to move with a plain minimax, a win in n plies
+	 * scoring WIN_SCORE - n.
+	 */
+	private int minimax(final TicTacToeGame ticTacTocGame) {
+		final String key = this.toKey(ticTacTocGame);
+		final Integer knownValue = this.minimaxValues.get(key);
+		if (knownValue != null) {
+			return knownValue;
+		}
+		int best = Integer.MIN_VALUE;
+		for (int cell = 0; cell < 9; cell++) {
+			if (!ticTacTocGame.getStateSpace().isMoveDefinedAt(cell / 3, cell % 3)) {
+				ticTacTocGame.makeMove(TicTacToeMove.ofCell(cell));
+				final int score = ticTacTocGame.existWinner() ? SearchResult.WIN_SCORE - 1 
+						: ticTacTocGame.isGameDraw() ? 0 : -fromChild(this.minimax(ticTacTocGame));
+				ticTacTocGame.unmakeMove();
+				best = Math.max(best, score);
+			}
+		}
+		this.minimaxValues.put(key, best);
+		return best;
+	}
+	
+	/**
+	 * Moves a child score one ply further away from the end of the game.
+	 */
+	private static int fromChild(final int score) {
+		return score > 0 ? score - 1 : score < 0 ? score + 1 : 0;
+	}
+	
+	private String toKey(final TicTacToeGame ticTacTocGame) {
+		final StringBuilder key = new StringBuilder();
+		for (final TicTacToePlayer[] line : ticTacTocGame.getPlayerInteractionSnapshotBoard()) {
+			for (final TicTacToePlayer player : line) {
+				key.append(player != null ? player.getDisplayName() : "-");
+			}
+		}
+		return key.toString();
+	}
+	
+	private TicTacToeGame startGame() {
+		final TicTacToeGame ticTacTocGame = new TicTacToeGame(TicTacToeStateSpaceType.BITBOARD);
+		ticTacTocGame.setGamePlayers(new TicTacToePlayer[]{this.playerI, this.playerII});
+		ticTacTocGame.start();
+		return ticTacTocGame;
+	}
+}
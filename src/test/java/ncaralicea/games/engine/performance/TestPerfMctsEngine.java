@@ -0,0 +1,54 @@
+package ncaralicea.games.engine.performance;
+
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import ncaralicea.games.domain.mnk.MnkGame;
+import ncaralicea.games.domain.mnk.MnkMove;
+import ncaralicea.games.domain.mnk.MnkPlayer;
+import ncaralicea.games.domain.tictactoe.TestSupport;
+import ncaralicea.games.engine.MctsEngine;
+import ncaralicea.games.engine.MctsMode;
+import ncaralicea.games.engine.MctsResult;
+
+/**
+ * 
+ * TestPerfMctsEngine reports the playouts per second per thread of the Monte Carlo tree search on a 15 X 15 board,
+ * from 1 thread up to the number of available processors, in both parallel modes.
+ * 
+ * @author Nicolae Caralicea
+ *
+ */
+public class TestPerfMctsEngine extends TestSupport {
+
+	private static final long TIME_BUDGET_MILLIS = 250;
+	
+	@Test
+	public void testScalingWithThreads() {
+		this.displayUnitTestDescription("Performance Test the playouts per second per thread from 1 thread to the number of available processors");
+		final MnkGame mnkGame = new MnkGame(15, 5);
+		mnkGame.setGamePlayers(new MnkPlayer[]{new MnkPlayer("X"), new MnkPlayer("O")});
+		mnkGame.start();
+		mnkGame.makeMove(new MnkMove(7, 7));
+		final int processors = Runtime.getRuntime().availableProcessors();
+		
+		for (final MctsMode mode : MctsMode.values()) {
+			for (int threads = 1; threads <= processors; threads = threads < processors ? Math.min(threads * 2, processors) : threads + 1) {
+				try (MctsEngine<MnkMove, MnkPlayer> engine = new MctsEngine<MnkMove, MnkPlayer>(mnkGame)) {
+					engine.setMode(mode);
+					engine.setParallelism(threads);
+					engine.setSeed(threads);
+					engine.setTimeBudget(TIME_BUDGET_MILLIS, TimeUnit.MILLISECONDS);
+					final MctsResult<MnkMove> result = engine.search();
+					
+					System.out.println(String.format("%s, %2d threads: %d playouts, %.0f playouts/s, %.0f playouts/s/thread", 
+							mode, threads, result.getPlayouts(), result.getPlayoutsPerSecond(), result.getPlayoutsPerSecondPerThread()));
+					Assert.assertNotNull(result.getBestMove());
+					Assert.assertEquals(threads, result.getThreads());
+				}
+			}
+		}
+	}
+}
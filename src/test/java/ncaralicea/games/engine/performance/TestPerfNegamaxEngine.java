@@ -0,0 +1,55 @@
+package ncaralicea.games.engine.performance;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import ncaralicea.games.domain.tictactoe.TestSupport;
+import ncaralicea.games.domain.tictactoe.TicTacToeGame;
+import ncaralicea.games.domain.tictactoe.TicTacToeMove;
+import ncaralicea.games.domain.tictactoe.TicTacToePlayer;
+import ncaralicea.games.domain.tictactoe.TicTacToeStateSpaceType;
+import ncaralicea.games.engine.NegamaxEngine;
+import ncaralicea.games.engine.SearchResult;
+
+/**
+ * 
+ * TestPerfNegamaxEngine reports the time and the number of nodes needed to solve the empty board, 
+ * with a cold and a warm transposition table.
+ * 
+ * @author Nicolae Caralicea
+ *
+ */
+public class TestPerfNegamaxEngine extends TestSupport {
+
+	private static final int WARM_SEARCHES = 100000;
+	
+	@Test
+	public void testSolveEmptyBoard() {
+		this.displayUnitTestDescription("Performance Test solving the empty board with a cold and a warm transposition table");
+		
+		for (final TicTacToeStateSpaceType stateSpaceType : TicTacToeStateSpaceType.values()) {
+			final TicTacToeGame ticTacTocGame = new TicTacToeGame(stateSpaceType);
+			ticTacTocGame.setGamePlayers(new TicTacToePlayer[]{new TicTacToePlayer("X"), new TicTacToePlayer("O")});
+			ticTacTocGame.start();
+			final NegamaxEngine<TicTacToeMove, TicTacToePlayer> engine = new NegamaxEngine<TicTacToeMove, TicTacToePlayer>(ticTacTocGame);
+			
+			long nanos = System.nanoTime();
+			final SearchResult<TicTacToeMove> coldResult = engine.search();
+			final long coldNanos = System.nanoTime() - nanos;
+			
+			nanos = System.nanoTime();
+			SearchResult<TicTacToeMove> warmResult = null;
+			for (int i = 0; i < WARM_SEARCHES; i++) {
+				warmResult = engine.search();
+			}
+			final long warmNanos = (System.nanoTime() - nanos) / WARM_SEARCHES;
+			
+			System.out.println(String.format("%s cold solve: %d nodes, %.1f us", stateSpaceType, coldResult.getNodes(), coldNanos / 1000.0));
+			System.out.println(String.format("%s warm solve: %d nodes, %.3f us", stateSpaceType, warmResult.getNodes(), warmNanos / 1000.0));
+			
+			Assert.assertEquals(0, coldResult.getScore());
+			Assert.assertEquals(coldResult.getScore(), warmResult.getScore());
+			Assert.assertEquals(coldResult.getBestMove(), warmResult.getBestMove());
+		}
+	}
+}
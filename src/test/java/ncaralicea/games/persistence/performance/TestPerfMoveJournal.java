@@ -0,0 +1,97 @@
+package ncaralicea.games.persistence.performance;
+
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import ncaralicea.games.domain.tictactoe.TestSupport;
+import ncaralicea.games.domain.tictactoe.TicTacToeGame;
+import ncaralicea.games.domain.tictactoe.TicTacToeMovePolicies;
+import ncaralicea.games.domain.tictactoe.TicTacToePlayer;
+import ncaralicea.games.domain.tictactoe.TicTacToeStateSpaceType;
+import ncaralicea.games.domain.tictactoe.TicTacToeWinDetector;
+import ncaralicea.games.persistence.MoveJournal;
+
+/**
+ * 
+ * TestPerfMoveJournal reports the number of moves appended per second to the journal, and the time it takes to
+ * rebuild the games from it.
+ * 
+ * The games are random games, their moves being appended game after game. The number of games is 1M by default,
+ * and can be raised with -Dgames.journal.games=10000000 (the journal takes about 120 bytes per game on the disk,
+ * and the rebuilt games a few hundred bytes each on the heap).
+ * 
+ * @author Nicolae Caralicea
+ *
+ */
+public class TestPerfMoveJournal extends TestSupport {
+
+	private static final int GAMES = Integer.getInteger("games.journal.games", 1000000);
+	
+	private static final int SYNC_BATCH_SIZE = 64 * 1024;
+	
+	@Test
+	public void testAppendAndRecover() throws IOException {
+		this.displayUnitTestDescription("Performance Test appending the moves of " + GAMES + " games to the journal, and rebuilding the games");
+		final Path directory = Files.createTempDirectory("move-journal");
+		try {
+			final long moves;
+			final long syncs;
+			long nanos = System.nanoTime();
+			try (MoveJournal journal = new MoveJournal(directory)) {
+				journal.setSyncBatchSize(SYNC_BATCH_SIZE);
+				appendRandomGames(journal);
+				moves = journal.getAppendedRecords();
+				syncs = journal.getSyncCount();
+			}
+			final long appendNanos = System.nanoTime() - nanos;
+			System.out.println(String.format("appended %d moves of %d games in %.0f ms (%d syncs): %.1f M moves/s", moves, GAMES, 
+					appendNanos / 1e6, syncs, moves * 1e3 / appendNanos));
+			
+			nanos = System.nanoTime();
+			Assert.assertEquals(moves, MoveJournal.replay(directory, (gameId, moveIndex, cell) -> { }));
+			final long replayNanos = System.nanoTime() - nanos;
+			System.out.println(String.format("read back %d moves in %.0f ms: %.1f M moves/s", moves, replayNanos / 1e6, moves * 1e3 / replayNanos));
+			
+			nanos = System.nanoTime();
+			final Map<Long, TicTacToeGame> games = MoveJournal.recoverGames(directory, () -> new TicTacToeGame(TicTacToeStateSpaceType.BITBOARD), 
+					new TicTacToePlayer[]{new TicTacToePlayer("X"), new TicTacToePlayer("O")});
+			final long recoverNanos = System.nanoTime() - nanos;
+			System.out.println(String.format("rebuilt %d games in %.0f ms: %.1f M moves/s", games.size(), recoverNanos / 1e6, moves * 1e3 / recoverNanos));
+			Assert.assertEquals(GAMES, games.size());
+			Assert.assertTrue(games.get(1L).isGameEnded());
+		} finally {
+			try (DirectoryStream<Path> segments = Files.newDirectoryStream(directory)) {
+				for (final Path segment : segments) {
+					Files.delete(segment);
+				}
+			}
+			Files.delete(directory);
+		}
+	}
+	
+	private static void appendRandomGames(final MoveJournal journal) {
+		final SplittableRandom random = new SplittableRandom(1L);
+		for (int gameId = 1; gameId <= GAMES; gameId++) {
+			int moverMask = 0;
+			int opponentMask = 0;
+			for (int moveIndex = 0; moveIndex < TicTacToeWinDetector.CELLS; moveIndex++) {
+				final int cell = TicTacToeMovePolicies.RANDOM.chooseCell(moverMask, opponentMask, random);
+				journal.append(gameId, moveIndex, cell);
+				moverMask |= 1 << cell;
+				if (TicTacToeWinDetector.isWinningAt(moverMask, cell)) {
+					break;
+				}
+				final int swap = moverMask;
+				moverMask = opponentMask;
+				opponentMask = swap;
+			}
+		}
+	}
+}
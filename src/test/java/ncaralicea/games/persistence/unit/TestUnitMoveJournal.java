@@ -0,0 +1,172 @@
+package ncaralicea.games.persistence.unit;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import ncaralicea.games.domain.GameStatus;
+import ncaralicea.games.domain.tictactoe.TestSupport;
+import ncaralicea.games.domain.tictactoe.TicTacToeCodec;
+import ncaralicea.games.domain.tictactoe.TicTacToeGame;
+import ncaralicea.games.domain.tictactoe.TicTacToeMove;
+import ncaralicea.games.domain.tictactoe.TicTacToePlayer;
+import ncaralicea.games.persistence.MoveJournal;
+
+/**
+ * 
+ * TestUnitMoveJournal checks the move records are read back in order across segments and restarts, that a torn
+ * record ends the journal, and that the games are rebuilt from their moves.
+ * 
+ * @author Nicolae Caralicea
+ *
+ */
+public class TestUnitMoveJournal extends TestSupport {
+
+	private final TicTacToePlayer[] players = new TicTacToePlayer[]{new TicTacToePlayer("X"), new TicTacToePlayer("O")};
+	
+	private Path directory;
+	
+	@Before
+	public void setUp() throws IOException {
+		this.directory = Files.createTempDirectory("move-journal");
+	}
+	
+	@After
+	public void tearDown() throws IOException {
+		for (final Path segment : this.listSegments()) {
+			Files.delete(segment);
+		}
+		Files.delete(this.directory);
+	}
+	
+	@Test
+	public void testSegmentsAndRestart() throws IOException {
+		this.displayUnitTestDescription("Unit Test the records are read back in order across segments and after reopening the journal");
+		try (MoveJournal journal = new MoveJournal(this.directory, 10 * MoveJournal.RECORD_SIZE + 5)) {
+			for (int i = 0; i < 25; i++) {
+				Assert.assertEquals(i + 1, journal.append(i / 5, i % 5, i % 9));
+			}
+		}
+		Assert.assertEquals(3, this.listSegments().size());
+		try (MoveJournal journal = new MoveJournal(this.directory, 10 * MoveJournal.RECORD_SIZE)) {
+			for (int i = 25; i < 30; i++) {
+				journal.append(i / 5, i % 5, i % 9);
+			}
+			Assert.assertEquals(5, journal.getAppendedRecords());
+		}
+		Assert.assertEquals(3, this.listSegments().size());
+		
+		final List<long[]> records = new ArrayList<long[]>();
+		Assert.assertEquals(30, MoveJournal.replay(this.directory, (gameId, moveIndex, cell) -> records.add(new long[]{gameId, moveIndex, cell})));
+		for (int i = 0; i < 30; i++) {
+			Assert.assertArrayEquals(new long[]{i / 5, i % 5, i % 9}, records.get(i));
+		}
+	}
+	
+	@Test
+	public void testTornRecord() throws IOException {
+		this.displayUnitTestDescription("Unit Test a torn record ends the journal, and is overwritten when appending again");
+		try (MoveJournal journal = new MoveJournal(this.directory, 1024)) {
+			journal.append(1, 0, 4);
+			journal.append(1, 1, 0);
+		}
+		try (FileChannel segment = FileChannel.open(this.listSegments().get(0), StandardOpenOption.WRITE)) {
+			// the game id of a third record, without the rest of it
+			segment.write(ByteBuffer.wrap(new byte[]{0, 0, 0, 0, 0, 0, 0, 1}), 2 * MoveJournal.RECORD_SIZE);
+		}
+		Assert.assertEquals(2, MoveJournal.replay(this.directory, (gameId, moveIndex, cell) -> { }));
+		
+		try (MoveJournal journal = new MoveJournal(this.directory, 1024)) {
+			journal.append(1, 2, 8);
+		}
+		Assert.assertEquals(3, MoveJournal.replay(this.directory, (gameId, moveIndex, cell) -> { }));
+	}
+	
+	@Test
+	public void testSyncBatches() throws IOException {
+		this.displayUnitTestDescription("Unit Test the journal is synced once per batch of appended records");
+		final MoveJournal journal = new MoveJournal(this.directory, 1024);
+		try {
+			journal.setSyncBatchSize(4);
+			for (int i = 0; i < 10; i++) {
+				journal.append(1, i, 0);
+			}
+			Assert.assertEquals(2, journal.getSyncCount());
+		} finally {
+			journal.close();
+		}
+		Assert.assertEquals(3, journal.getSyncCount());
+	}
+	
+	@Test
+	public void testRecoverGames() throws IOException {
+		this.displayUnitTestDescription("Unit Test the games are rebuilt by replaying their moves");
+		final TicTacToeGame won = this.newGame();
+		final TicTacToeGame inProgress = this.newGame();
+		try (MoveJournal journal = new MoveJournal(this.directory, 1024)) {
+			final int[] wonCells = {0, 3, 1, 4, 2};
+			final int[] inProgressCells = {4, 0, 8};
+			for (int i = 0; i < wonCells.length; i++) {
+				this.makeMove(journal, 7, won, wonCells[i]);
+				if (i < inProgressCells.length) {
+					this.makeMove(journal, 8, inProgress, inProgressCells[i]);
+				}
+			}
+			// the last move appended twice, as after a restart
+			journal.append(8, 2, 8);
+		}
+		
+		final Map<Long, TicTacToeGame> games = MoveJournal.recoverGames(this.directory, TicTacToeGame::new, this.players);
+		Assert.assertEquals(2, games.size());
+		Assert.assertEquals(GameStatus.WON, games.get(7L).getGameStatus());
+		Assert.assertArrayEquals(TicTacToeCodec.encodeMoves(won), TicTacToeCodec.encodeMoves(games.get(7L)));
+		Assert.assertArrayEquals(TicTacToeCodec.encodeMoves(inProgress), TicTacToeCodec.encodeMoves(games.get(8L)));
+		
+		try (MoveJournal journal = new MoveJournal(this.directory, 1024)) {
+			journal.append(8, 4, 1);
+		}
+		try {
+			MoveJournal.recoverGames(this.directory, TicTacToeGame::new, this.players);
+			Assert.fail("The missing move 3 of the game 8 should be reported.");
+		} catch (final IllegalStateException e) {
+			// expected
+		}
+	}
+	
+	private void makeMove(final MoveJournal journal, final long gameId, final TicTacToeGame game, final int cell) {
+		final int moveIndex = 9 - game.getStateSpace().getAvailableMovesCount();
+		game.makeMove(TicTacToeMove.ofCell(cell));
+		journal.append(gameId, moveIndex, cell);
+	}
+	
+	private TicTacToeGame newGame() {
+		final TicTacToeGame game = new TicTacToeGame();
+		game.setGamePlayers(this.players);
+		game.start();
+		return game;
+	}
+	
+	private List<Path> listSegments() throws IOException {
+		final List<Path> segments = new ArrayList<Path>();
+		try (DirectoryStream<Path> stream = Files.newDirectoryStream(this.directory)) {
+			for (final Path segment : stream) {
+				segments.add(segment);
+			}
+		}
+		Collections.sort(segments);
+		return segments;
+	}
+}
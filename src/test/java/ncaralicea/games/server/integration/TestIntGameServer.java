@@ -0,0 +1,131 @@
+package ncaralicea.games.server.integration;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.Socket;
+import java.net.SocketException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import ncaralicea.games.domain.tictactoe.TestSupport;
+import ncaralicea.games.domain.tictactoe.TicTacToeGame;
+import ncaralicea.games.domain.tictactoe.TicTacToeMove;
+import ncaralicea.games.domain.tictactoe.TicTacToePlayer;
+import ncaralicea.games.server.GameProtocol;
+import ncaralicea.games.server.GameServer;
+import ncaralicea.games.server.GameServerMode;
+import ncaralicea.games.session.GameSessionManager;
+
+/**
+ * 
+ * TestIntGameServer plays games over TCP against both server modes, sending pipelined requests.
+ * 
+ * @author Nicolae Caralicea
+ *
+ */
+public class TestIntGameServer extends TestSupport {
+
+	private static final String[] REQUESTS = {
+		"NEW", "MOVE 1 0 0", "MOVE 1 1 0", "MOVE 1 1 0", "MOVE 1 0 1", "STATUS 1", "MOVE 1 1 1", "MOVE 1 0 2", 
+		"BOARD 1", "HELLO", "END 1", "STATUS 1"
+	};
+	
+	private static final String[] RESPONSES = {
+		"OK 1", "OK IN_PROGRESS", "OK IN_PROGRESS", "ERR", "OK IN_PROGRESS", "OK IN_PROGRESS", "OK IN_PROGRESS", "OK WON", 
+		"OK XXX/OO./...", "ERR", "OK", "ERR"
+	};
+	
+	@Test
+	public void testPipelinedRequestsThreadPerConnection() throws IOException {
+		this.displayUnitTestDescription("Integration Test pipelined requests are answered in order by the thread per connection server");
+		this.testPipelinedRequests(GameServerMode.THREAD_PER_CONNECTION);
+	}
+	
+	@Test
+	public void testPipelinedRequestsSelector() throws IOException {
+		this.displayUnitTestDescription("Integration Test pipelined requests are answered in order by the selector server");
+		this.testPipelinedRequests(GameServerMode.NIO_SELECTOR);
+	}
+	
+	@Test
+	public void testManyConnections() throws IOException {
+		this.displayUnitTestDescription("Integration Test both servers play a game on each of many open connections");
+		for (final GameServerMode mode : GameServerMode.values()) {
+			try (GameServer server = GameServer.start(mode, newProtocol(), 0)) {
+				final Socket[] sockets = new Socket[100];
+				final BufferedReader[] readers = new BufferedReader[sockets.length];
+				for (int i = 0; i < sockets.length; i++) {
+					sockets[i] = new Socket(InetAddress.getLoopbackAddress(), server.getPort());
+					readers[i] = new BufferedReader(new InputStreamReader(sockets[i].getInputStream(), StandardCharsets.US_ASCII));
+					send(sockets[i], "NEW\n");
+				}
+				for (int i = 0; i < sockets.length; i++) {
+					final String id = readers[i].readLine().substring(3);
+					send(sockets[i], "MOVE " + id + " 0 0\nMOVE " + id + " 1 1\nMOVE " + id + " 2 2\nBOARD " + id + "\n");
+				}
+				for (int i = 0; i < sockets.length; i++) {
+					for (int move = 0; move < 3; move++) {
+						Assert.assertEquals("OK IN_PROGRESS", readers[i].readLine());
+					}
+					Assert.assertEquals("OK X../.O./..X", readers[i].readLine());
+					sockets[i].close();
+				}
+			}
+		}
+	}
+	
+	@Test
+	public void testTooLongRequest() throws IOException {
+		this.displayUnitTestDescription("Integration Test both servers close a connection sending a request longer than the limit, even without a line terminator");
+		final char[] request = new char[64 * 1024];
+		Arrays.fill(request, 'A');
+		for (final GameServerMode mode : GameServerMode.values()) {
+			try (GameServer server = GameServer.start(mode, newProtocol(), 0);
+					Socket socket = new Socket(InetAddress.getLoopbackAddress(), server.getPort())) {
+				socket.setSoTimeout(10000);
+				final BufferedReader reader = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.US_ASCII));
+				send(socket, "NEW\n");
+				Assert.assertEquals("OK 1", reader.readLine());
+				try {
+					send(socket, new String(request));
+					// the server closes the connection, resetting it if the request was not read to its end
+					Assert.assertNull(reader.readLine());
+				} catch (final SocketException e) {
+					// expected
+				}
+				Assert.assertEquals(0, server.getErrorCount());
+			}
+		}
+	}
+	
+	private void testPipelinedRequests(final GameServerMode mode) throws IOException {
+		try (GameServer server = GameServer.start(mode, newProtocol(), 0);
+				Socket socket = new Socket(InetAddress.getLoopbackAddress(), server.getPort())) {
+			Assert.assertEquals(mode, server.getMode());
+			send(socket, String.join("\n", REQUESTS) + "\n");
+			final BufferedReader reader = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.US_ASCII));
+			for (final String expected : RESPONSES) {
+				final String response = reader.readLine();
+				Assert.assertTrue(expected + " expected, but got " + response, response.equals(expected) || response.startsWith(expected + " "));
+			}
+		}
+	}
+	
+	private static void send(final Socket socket, final String requests) throws IOException {
+		final OutputStream out = socket.getOutputStream();
+		out.write(requests.getBytes(StandardCharsets.US_ASCII));
+		out.flush();
+	}
+	
+	private static GameProtocol newProtocol() {
+		return new GameProtocol(new GameSessionManager<TicTacToeMove, TicTacToePlayer>(TicTacToeGame::new, 1, TimeUnit.MINUTES), 
+				new TicTacToePlayer[]{new TicTacToePlayer("X"), new TicTacToePlayer("O")});
+	}
+}
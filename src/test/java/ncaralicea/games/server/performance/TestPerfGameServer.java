@@ -0,0 +1,171 @@
+package ncaralicea.games.server.performance;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import ncaralicea.games.domain.tictactoe.TestSupport;
+import ncaralicea.games.domain.tictactoe.TicTacToeGame;
+import ncaralicea.games.domain.tictactoe.TicTacToeMove;
+import ncaralicea.games.domain.tictactoe.TicTacToePlayer;
+import ncaralicea.games.server.GameProtocol;
+import ncaralicea.games.server.GameServer;
+import ncaralicea.games.server.GameServerMode;
+import ncaralicea.games.session.GameSessionManager;
+
+/**
+ * 
+ * TestPerfGameServer drives many concurrent connections against both server modes and reports the p50 / p99
+ * latency of the moves.
+ * 
+ * Every connection creates a game, plays it to the end one move at a time, each move being sent as soon as the
+ * previous one is answered, and ends it. All the connections are open (and playing) at the same time, driven
+ * by a single client thread with a selector.
+ * 
+ * The number of connections is 1000 by default, and can be raised with -Dgames.server.connections=10000 (every
+ * connection takes two file descriptors in this process, so raise ulimit -n accordingly).
+ * 
+ * @author Nicolae Caralicea
+ *
+ */
+public class TestPerfGameServer extends TestSupport {
+
+	private static final int CONNECTIONS = Integer.getInteger("games.server.connections", 1000);
+	
+	/**
+	 * the moves of a game won by X on the main diagonal, after 7 moves.
+	 */
+	private static final String[] MOVES = {"0 0", "0 1", "1 1", "0 2", "2 0", "1 0", "2 2"};
+	
+	@Test
+	public void testMoveLatency() throws IOException {
+		this.displayUnitTestDescription("Performance Test the move latency of both server modes with " + CONNECTIONS + " concurrent connections");
+		for (final GameServerMode mode : GameServerMode.values()) {
+			try (GameServer server = GameServer.start(mode, newProtocol(), 0)) {
+				this.drive(server, CONNECTIONS / 10);
+				final long nanos = System.nanoTime();
+				final long[] latencies = this.drive(server, CONNECTIONS);
+				final long elapsedNanos = System.nanoTime() - nanos;
+				
+				Arrays.sort(latencies);
+				System.out.println(String.format("%-21s %d connections, %d moves in %.0f ms: p50 %.1f us, p99 %.1f us, max %.1f us", 
+						mode, CONNECTIONS, latencies.length, elapsedNanos / 1e6, percentile(latencies, 50) / 1e3, 
+						percentile(latencies, 99) / 1e3, latencies[latencies.length - 1] / 1e3));
+				Assert.assertEquals(CONNECTIONS * MOVES.length, latencies.length);
+			}
+		}
+	}
+	
+	/**
+	 * Plays a game on each of the connections, all of them open at the same time.
+	 * 
+	 * @return
+	 * 		- returns the latencies of the moves, in nanoseconds.
+	 */
+	private long[] drive(final GameServer server, final int connections) throws IOException {
+		final long[] latencies = new long[connections * MOVES.length];
+		final InetSocketAddress address = new InetSocketAddress(InetAddress.getLoopbackAddress(), server.getPort());
+		try (Selector selector = Selector.open()) {
+			for (int i = 0; i < connections; i++) {
+				final SocketChannel channel = SocketChannel.open(address);
+				channel.configureBlocking(false);
+				channel.register(selector, SelectionKey.OP_READ, new Client(i, latencies));
+			}
+			for (final SelectionKey key : selector.keys()) {
+				((Client) key.attachment()).send((SocketChannel) key.channel(), "NEW");
+			}
+			int open = connections;
+			while (open > 0) {
+				selector.select();
+				for (final SelectionKey key : selector.selectedKeys()) {
+					if (!((Client) key.attachment()).receive((SocketChannel) key.channel())) {
+						key.channel().close();
+						open--;
+					}
+				}
+				selector.selectedKeys().clear();
+			}
+		}
+		return latencies;
+	}
+	
+	private static long percentile(final long[] sorted, final int percentile) {
+		return sorted[Math.min(sorted.length - 1, (int) ((long) sorted.length * percentile / 100))];
+	}
+	
+	private static GameProtocol newProtocol() {
+		return new GameProtocol(new GameSessionManager<TicTacToeMove, TicTacToePlayer>(TicTacToeGame::new, 1, TimeUnit.MINUTES), 
+				new TicTacToePlayer[]{new TicTacToePlayer("X"), new TicTacToePlayer("O")});
+	}
+	
+	/**
+	 * Client plays the scripted game on a connection, recording the latency of every move.
+	 */
+	private static final class Client {
+		
+		private final ByteBuffer responses = ByteBuffer.allocate(256);
+		
+		private final long[] latencies;
+		
+		private final int firstLatency;
+		
+		private String sessionId;
+		
+		private int moves;
+		
+		private long sentNanos;
+		
+		private Client(final int index, final long[] latencies) {
+			this.latencies = latencies;
+			this.firstLatency = index * MOVES.length;
+		}
+		
+		private void send(final SocketChannel channel, final String request) throws IOException {
+			final ByteBuffer buffer = ByteBuffer.wrap((request + "\n").getBytes(StandardCharsets.US_ASCII));
+			this.sentNanos = System.nanoTime();
+			while (buffer.hasRemaining()) {
+				channel.write(buffer);
+			}
+		}
+		
+		/**
+		 * Reads the response and sends the next request.
+		 * 
+		 * @return
+		 * 		- returns false once the game was ended.
+		 */
+		private boolean receive(final SocketChannel channel) throws IOException {
+			if (channel.read(this.responses) < 0) {
+				throw new IOException("The server closed the connection.");
+			}
+			final int end = this.responses.position() - 1;
+			if (end < 0 || this.responses.get(end) != '\n') {
+				return true;
+			}
+			final String response = new String(this.responses.array(), 0, end, StandardCharsets.US_ASCII);
+			this.responses.clear();
+			if (!response.startsWith("OK")) {
+				throw new IOException("The request was rejected: " + response);
+			}
+			if (this.sessionId == null) {
+				this.sessionId = response.substring(3);
+			} else if (this.moves < MOVES.length) {
+				this.latencies[this.firstLatency + this.moves++] = System.nanoTime() - this.sentNanos;
+			} else {
+				return false;
+			}
+			this.send(channel, this.moves < MOVES.length ? "MOVE " + this.sessionId + " " + MOVES[this.moves] : "END " + this.sessionId);
+			return true;
+		}
+	}
+}
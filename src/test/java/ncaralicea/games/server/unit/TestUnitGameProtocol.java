@@ -0,0 +1,85 @@
+package ncaralicea.games.server.unit;
+
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import ncaralicea.games.domain.tictactoe.TestSupport;
+import ncaralicea.games.domain.tictactoe.TicTacToeGame;
+import ncaralicea.games.domain.tictactoe.TicTacToeMove;
+import ncaralicea.games.domain.tictactoe.TicTacToePlayer;
+import ncaralicea.games.server.GameProtocol;
+import ncaralicea.games.session.GameSessionManager;
+import ncaralicea.games.session.GameSessionManager.Operation;
+
+/**
+ * 
+ * TestUnitGameProtocol checks the responses of the game server protocol, including the malformed requests.
+ * 
+ * @author Nicolae Caralicea
+ *
+ */
+public class TestUnitGameProtocol extends TestSupport {
+
+	@Test
+	public void testPlayGame() {
+		this.displayUnitTestDescription("Unit Test a game is played through the protocol until player 'X' wins");
+		final GameProtocol protocol = newProtocol();
+		
+		Assert.assertEquals("OK 1", protocol.handle("NEW"));
+		Assert.assertEquals("OK IN_PROGRESS", protocol.handle("MOVE 1 0 0"));
+		Assert.assertEquals("OK IN_PROGRESS", protocol.handle("MOVE 1 1 0"));
+		Assert.assertEquals("OK IN_PROGRESS", protocol.handle("MOVE 1 0 1"));
+		Assert.assertEquals("OK IN_PROGRESS", protocol.handle("MOVE 1 1 1"));
+		Assert.assertEquals("OK XX./OO./...", protocol.handle("BOARD 1"));
+		Assert.assertEquals("OK WON", protocol.handle("MOVE 1 0 2"));
+		Assert.assertEquals("OK WON", protocol.handle("STATUS 1"));
+		Assert.assertEquals("OK XXX/OO./...", protocol.handle("BOARD 1"));
+		Assert.assertEquals("OK", protocol.handle("END 1"));
+		Assert.assertTrue(protocol.handle("STATUS 1").startsWith("ERR "));
+	}
+	
+	@Test
+	public void testMalformedRequests() {
+		this.displayUnitTestDescription("Unit Test the malformed and rejected requests are answered with ERR");
+		final GameProtocol protocol = newProtocol();
+		protocol.handle("NEW");
+		protocol.handle("MOVE 1 1 1");
+		
+		Assert.assertEquals("ERR OCCUPIED", protocol.handle("MOVE 1 1 1"));
+		Assert.assertEquals("ERR OUT_OF_BOUNDS", protocol.handle("MOVE 1 3 3"));
+		Assert.assertTrue(protocol.handle("MOVE 1 a 0").startsWith("ERR "));
+		Assert.assertTrue(protocol.handle("MOVE 1 0").startsWith("ERR "));
+		Assert.assertTrue(protocol.handle("MOVE 2 0 0").startsWith("ERR "));
+		Assert.assertTrue(protocol.handle("END 2").startsWith("ERR "));
+		Assert.assertTrue(protocol.handle("JUMP").startsWith("ERR "));
+		Assert.assertTrue(protocol.handle("").startsWith("ERR "));
+		Assert.assertEquals("OK .../.X./...", protocol.handle("BOARD 1"));
+	}
+	
+	@Test
+	public void testMoveIsOneOperation() {
+		this.displayUnitTestDescription("Unit Test a move is answered by a single operation of the session manager");
+		final GameSessionManager<TicTacToeMove, TicTacToePlayer> manager = newManager();
+		final GameProtocol protocol = newProtocol(manager);
+		protocol.handle("NEW");
+		protocol.handle("MOVE 1 1 1");
+		protocol.handle("MOVE 1 1 1");
+		
+		Assert.assertEquals(2, manager.getOperationStats(Operation.MOVE).getCount());
+		Assert.assertEquals(0, manager.getOperationStats(Operation.LOOKUP).getCount());
+	}
+	
+	private static GameProtocol newProtocol() {
+		return newProtocol(newManager());
+	}
+	
+	private static GameProtocol newProtocol(final GameSessionManager<TicTacToeMove, TicTacToePlayer> manager) {
+		return new GameProtocol(manager, new TicTacToePlayer[]{new TicTacToePlayer("X"), new TicTacToePlayer("O")});
+	}
+	
+	private static GameSessionManager<TicTacToeMove, TicTacToePlayer> newManager() {
+		return new GameSessionManager<TicTacToeMove, TicTacToePlayer>(TicTacToeGame::new, 1, TimeUnit.MINUTES);
+	}
+}
@@ -0,0 +1,160 @@
+package ncaralicea.games.session.integration;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import ncaralicea.games.domain.GameStatus;
+import ncaralicea.games.domain.IBoardGame;
+import ncaralicea.games.domain.IStateSpace;
+import ncaralicea.games.domain.tictactoe.TestSupport;
+import ncaralicea.games.domain.tictactoe.TicTacToeGame;
+import ncaralicea.games.domain.tictactoe.TicTacToeMove;
+import ncaralicea.games.domain.tictactoe.TicTacToePlayer;
+import ncaralicea.games.domain.tictactoe.TicTacToeStateSpaceType;
+import ncaralicea.games.session.GameSessionManager;
+import ncaralicea.games.session.GameSessionManager.Operation;
+
+/**
+ * 
+ * TestIntGameSessionManagerStress plays thousands of games concurrently through the session manager, first with
+ * every thread playing its own sessions, then with all the threads playing the same few sessions, while the idle
+ * sessions are expired in the background.
+ * 
+ * @author Nicolae Caralicea
+ *
+ */
+public class TestIntGameSessionManagerStress extends TestSupport {
+
+	private static final int THREADS = 8;
+	
+	private static final int SESSIONS_PER_THREAD = 1000;
+	
+	private static final int SHARED_SESSIONS = 16;
+	
+	private static final int SHARED_MOVES_PER_THREAD = 50000;
+	
+	private final TicTacToePlayer[] players = new TicTacToePlayer[]{new TicTacToePlayer("X"), new TicTacToePlayer("O")};
+	
+	@Test
+	public void testConcurrentSessions() throws Exception {
+		this.displayUnitTestDescription("Integration Test " + THREADS + " threads playing " + SESSIONS_PER_THREAD + " sessions each to the end");
+		final GameSessionManager<TicTacToeMove, TicTacToePlayer> manager = newManager();
+		final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor();
+		manager.scheduleExpiry(scheduler, 10, TimeUnit.MILLISECONDS);
+		final LongAdder moves = new LongAdder();
+		final List<Callable<Integer>> players = new ArrayList<Callable<Integer>>();
+		for (int thread = 0; thread < THREADS; thread++) {
+			final SplittableRandom random = new SplittableRandom(thread);
+			players.add(() -> {
+				final long[] sessionIds = new long[SESSIONS_PER_THREAD];
+				for (int i = 0; i < sessionIds.length; i++) {
+					sessionIds[i] = manager.createSession(this.players);
+				}
+				int ended = 0;
+				for (int round = 0; ended < sessionIds.length; round++) {
+					for (final long sessionId : sessionIds) {
+						if (manager.getGameStatus(sessionId) == GameStatus.IN_PROGRESS) {
+							final TicTacToeMove move = manager.withSession(sessionId, game -> randomMove(game, random));
+							moves.increment();
+							if (manager.makeMove(sessionId, move).isEnded()) {
+								ended++;
+							}
+						}
+					}
+				}
+				return ended;
+			});
+		}
+		
+		final long nanos = System.nanoTime();
+		final int ended = sum(players);
+		final long elapsedNanos = System.nanoTime() - nanos;
+		scheduler.shutdownNow();
+		
+		System.out.println(String.format("%d games, %d moves in %.1f ms", ended, moves.sum(), elapsedNanos / 1e6));
+		System.out.println("MOVE   " + manager.getOperationStats(Operation.MOVE));
+		System.out.println("LOOKUP " + manager.getOperationStats(Operation.LOOKUP));
+		System.out.println("CREATE " + manager.getOperationStats(Operation.CREATE));
+		System.out.println("EXPIRE " + manager.getOperationStats(Operation.EXPIRE));
+		Assert.assertEquals(THREADS * SESSIONS_PER_THREAD, ended);
+		Assert.assertEquals(THREADS * SESSIONS_PER_THREAD, manager.getSessionCount());
+		Assert.assertEquals(0, manager.getExpiredSessionCount());
+		Assert.assertEquals(moves.sum(), manager.getOperationStats(Operation.MOVE).getCount());
+	}
+	
+	@Test
+	public void testContendedSessions() throws Exception {
+		this.displayUnitTestDescription("Integration Test " + THREADS + " threads playing the same " + SHARED_SESSIONS + " sessions without losing a move");
+		final GameSessionManager<TicTacToeMove, TicTacToePlayer> manager = newManager();
+		final long[] sessionIds = new long[SHARED_SESSIONS];
+		for (int i = 0; i < sessionIds.length; i++) {
+			sessionIds[i] = manager.createSession(this.players);
+		}
+		final LongAdder finishedGameMoves = new LongAdder();
+		final List<Callable<Integer>> players = new ArrayList<Callable<Integer>>();
+		for (int thread = 0; thread < THREADS; thread++) {
+			final SplittableRandom random = new SplittableRandom(thread);
+			players.add(() -> {
+				for (int i = 0; i < SHARED_MOVES_PER_THREAD; i++) {
+					manager.withSession(sessionIds[random.nextInt(SHARED_SESSIONS)], game -> {
+						if (game.isGameEnded()) {
+							finishedGameMoves.add(game.getStateSpace().getExecutedMoves().size());
+							game.reset();
+							game.start();
+						}
+						game.makeMove(randomMove(game, random));
+						return null;
+					});
+				}
+				return SHARED_MOVES_PER_THREAD;
+			});
+		}
+		
+		final int moves = sum(players);
+		
+		long movesOnBoards = 0;
+		for (final long sessionId : sessionIds) {
+			movesOnBoards += manager.withSession(sessionId, game -> game.getStateSpace().getExecutedMoves().size());
+		}
+		Assert.assertEquals(THREADS * SHARED_MOVES_PER_THREAD, moves);
+		Assert.assertEquals(moves, finishedGameMoves.sum() + movesOnBoards);
+	}
+	
+	private static TicTacToeMove randomMove(final IBoardGame<TicTacToeMove, TicTacToePlayer> game, final SplittableRandom random) {
+		final IStateSpace<TicTacToeMove, TicTacToePlayer> stateSpace = game.getStateSpace();
+		int cell = stateSpace.nextAvailableCell(0);
+		for (int skip = random.nextInt(stateSpace.getAvailableMovesCount()); skip > 0; skip--) {
+			cell = stateSpace.nextAvailableCell(cell + 1);
+		}
+		return stateSpace.getMoveAt(cell);
+	}
+	
+	private static int sum(final List<Callable<Integer>> tasks) throws Exception {
+		final ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+		try {
+			int sum = 0;
+			for (final Future<Integer> future : executor.invokeAll(tasks)) {
+				sum += future.get();
+			}
+			return sum;
+		} finally {
+			executor.shutdown();
+		}
+	}
+	
+	private static GameSessionManager<TicTacToeMove, TicTacToePlayer> newManager() {
+		return new GameSessionManager<TicTacToeMove, TicTacToePlayer>(() -> new TicTacToeGame(TicTacToeStateSpaceType.BITBOARD), 
+				1, TimeUnit.MINUTES);
+	}
+}
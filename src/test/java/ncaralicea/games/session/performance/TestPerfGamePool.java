@@ -0,0 +1,113 @@
+package ncaralicea.games.session.performance;
+
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.util.SplittableRandom;
+import java.util.function.Supplier;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import ncaralicea.games.domain.IStateSpace;
+import ncaralicea.games.domain.tictactoe.TestSupport;
+import ncaralicea.games.domain.tictactoe.TicTacToeGame;
+import ncaralicea.games.domain.tictactoe.TicTacToeMove;
+import ncaralicea.games.domain.tictactoe.TicTacToePlayer;
+import ncaralicea.games.domain.tictactoe.TicTacToeStateSpaceType;
+import ncaralicea.games.session.GamePool;
+
+/**
+ *
+ * TestPerfGamePool runs a sustained start/play/finish load, with a new game for every match versus games reused
+ * from a GamePool, and reports the bytes allocated and the garbage collections per run.
+ *
+ * The number of games can be set by the games.pool.games system property.
+ *
+ * @author Nicolae Caralicea
+ *
+ */
+public class TestPerfGamePool extends TestSupport {
+
+	private static final int GAMES = Integer.getInteger("games.pool.games", 500000);
+
+	private final TicTacToePlayer[] players = new TicTacToePlayer[]{new TicTacToePlayer("X"), new TicTacToePlayer("O")};
+
+	@Test
+	public void testPooledGamesGarbage() {
+		this.displayUnitTestDescription("Performance Test the garbage of " + GAMES + " games played on new games versus pooled games");
+
+		for (final TicTacToeStateSpaceType stateSpaceType : TicTacToeStateSpaceType.values()) {
+			final GamePool<TicTacToeGame> pool = new GamePool<TicTacToeGame>(() -> new TicTacToeGame(stateSpaceType), 64);
+			final Supplier<TicTacToeGame> newGames = () -> new TicTacToeGame(stateSpaceType);
+			// warm up both paths before measuring
+			this.playGames(newGames, null, GAMES / 10);
+			this.playGames(pool::acquire, pool, GAMES / 10);
+
+			final long[] newGamesCost = this.measure(newGames, null);
+			final long[] pooledGamesCost = this.measure(pool::acquire, pool);
+
+			System.out.println(String.format("%s new games:    %.1f bytes/game, %d collections, %.0f ns/game", stateSpaceType,
+					(double) newGamesCost[0] / GAMES, newGamesCost[1], (double) newGamesCost[2] / GAMES));
+			System.out.println(String.format("%s pooled games: %.1f bytes/game, %d collections, %.0f ns/game, %s", stateSpaceType,
+					(double) pooledGamesCost[0] / GAMES, pooledGamesCost[1], (double) pooledGamesCost[2] / GAMES, pool));
+
+			Assert.assertTrue(pooledGamesCost[0] * 2 < newGamesCost[0]);
+			Assert.assertTrue(pool.getMissCount() <= 1);
+			if (stateSpaceType == TicTacToeStateSpaceType.BITBOARD) {
+				// reset in place, and the bitboard moves allocate nothing
+				Assert.assertTrue(pooledGamesCost[0] < GAMES);
+			}
+		}
+	}
+
+	/**
+	 * Plays the games, measuring the allocated bytes, the garbage collections and the elapsed time.
+	 */
+	private long[] measure(final Supplier<TicTacToeGame> games, final GamePool<TicTacToeGame> pool) {
+		final long collections = getCollectionCount();
+		final long bytes = this.getAllocatedBytes();
+		final long nanos = System.nanoTime();
+		final long winners = this.playGames(games, pool, GAMES);
+		final long elapsedNanos = System.nanoTime() - nanos;
+		final long allocatedBytes = this.getAllocatedBytes() - bytes;
+		Assert.assertTrue(winners > 0);
+		return new long[]{allocatedBytes, getCollectionCount() - collections, elapsedNanos};
+	}
+
+	/**
+	 * Plays random games to their end, each one on a game given by the supplier (and released to the pool, if any).
+	 *
+	 * @return
+	 * 		- returns the number of games won.
+	 */
+	private long playGames(final Supplier<TicTacToeGame> games, final GamePool<TicTacToeGame> pool, final int count) {
+		final SplittableRandom random = new SplittableRandom(20150101L);
+		long winners = 0;
+		for (int i = 0; i < count; i++) {
+			final TicTacToeGame game = games.get();
+			game.setGamePlayers(this.players);
+			game.start();
+			final IStateSpace<TicTacToeMove, TicTacToePlayer> stateSpace = game.getStateSpace();
+			while (!game.isGameEnded()) {
+				int cell = stateSpace.nextAvailableCell(0);
+				for (int skip = random.nextInt(stateSpace.getAvailableMovesCount()); skip > 0; skip--) {
+					cell = stateSpace.nextAvailableCell(cell + 1);
+				}
+				game.makeMove(stateSpace.getMoveAt(cell));
+			}
+			winners += game.existWinner() ? 1 : 0;
+			if (pool != null) {
+				pool.release(game);
+			}
+		}
+		return winners;
+	}
+
+	private static long getCollectionCount() {
+		long collections = 0;
+		for (final GarbageCollectorMXBean collector : ManagementFactory.getGarbageCollectorMXBeans()) {
+			collections += Math.max(0, collector.getCollectionCount());
+		}
+		return collections;
+	}
+}
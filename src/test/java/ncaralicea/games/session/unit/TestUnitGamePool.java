@@ -0,0 +1,106 @@
+package ncaralicea.games.session.unit;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import ncaralicea.games.domain.IStateSpace;
+import ncaralicea.games.domain.mnk.MnkGame;
+import ncaralicea.games.domain.mnk.MnkMove;
+import ncaralicea.games.domain.mnk.MnkPlayer;
+import ncaralicea.games.domain.tictactoe.TestSupport;
+import ncaralicea.games.domain.tictactoe.TicTacToeGame;
+import ncaralicea.games.domain.tictactoe.TicTacToeMove;
+import ncaralicea.games.domain.tictactoe.TicTacToePlayer;
+import ncaralicea.games.domain.tictactoe.TicTacToeStateSpaceType;
+import ncaralicea.games.session.GamePool;
+
+/**
+ *
+ * TestUnitGamePool checks the games are reused from the thread cache first and from the shared pool next,
+ * and that a reused game is reset in place.
+ *
+ * @author Nicolae Caralicea
+ *
+ */
+public class TestUnitGamePool extends TestSupport {
+
+	private final TicTacToePlayer[] players = new TicTacToePlayer[]{new TicTacToePlayer("X"), new TicTacToePlayer("O")};
+
+	@Test
+	public void testReuseResetGame() {
+		this.displayUnitTestDescription("Unit Test a released game is handed out again, reset in place on the same state space");
+		for (final TicTacToeStateSpaceType stateSpaceType : TicTacToeStateSpaceType.values()) {
+			final GamePool<TicTacToeGame> pool = new GamePool<TicTacToeGame>(() -> new TicTacToeGame(stateSpaceType), 4);
+			final TicTacToeGame game = pool.acquire();
+			game.setGamePlayers(this.players);
+			game.start();
+			final IStateSpace<TicTacToeMove, TicTacToePlayer> stateSpace = game.getStateSpace();
+			final long emptyHash = stateSpace.positionHash();
+			game.makeMove(TicTacToeMove.of(0, 0));
+			game.makeMove(TicTacToeMove.of(1, 1));
+			pool.release(game);
+
+			final TicTacToeGame reused = pool.acquire();
+			Assert.assertSame(game, reused);
+			Assert.assertSame(stateSpace, reused.getStateSpace());
+			Assert.assertEquals(0, stateSpace.getExecutedMoves().size());
+			Assert.assertEquals(9, stateSpace.getAvailableMovesCount());
+			Assert.assertEquals(emptyHash, stateSpace.positionHash());
+			Assert.assertNull(reused.getBoardView().cellAt(0, 0));
+			// the players are kept, so the game can be started right away
+			reused.start();
+			reused.makeMove(TicTacToeMove.of(1, 1));
+			Assert.assertEquals(this.players[0], stateSpace.getPlayerAt(1, 1));
+			Assert.assertEquals(1, pool.getHitCount());
+			Assert.assertEquals(1, pool.getMissCount());
+		}
+	}
+
+	@Test
+	public void testSharedPoolAndDiscards() {
+		this.displayUnitTestDescription("Unit Test the games overflow from the thread cache to the bounded shared pool, and are discarded when both are full");
+		final GamePool<TicTacToeGame> pool = new GamePool<TicTacToeGame>(TicTacToeGame::new, 2, 1);
+		final TicTacToeGame[] games = new TicTacToeGame[4];
+		for (int i = 0; i < games.length; i++) {
+			games[i] = pool.acquire();
+		}
+		for (final TicTacToeGame game : games) {
+			pool.release(game);
+		}
+		Assert.assertEquals(4, pool.getMissCount());
+		Assert.assertEquals(2, pool.getSharedCount());
+		Assert.assertEquals(1, pool.getDiscardCount());
+
+		Assert.assertSame(games[0], pool.acquire());
+		Assert.assertEquals(1, pool.getThreadHitCount());
+		Assert.assertSame(games[1], pool.acquire());
+		Assert.assertSame(games[2], pool.acquire());
+		Assert.assertEquals(2, pool.getSharedHitCount());
+		Assert.assertNotSame(games[3], pool.acquire());
+		Assert.assertEquals(5, pool.getMissCount());
+	}
+
+	@Test
+	public void testGamesReleasedByOtherThread() throws Exception {
+		this.displayUnitTestDescription("Unit Test the games released by a thread with a full cache are reused by the other threads through the shared pool");
+		final GamePool<MnkGame> pool = new GamePool<MnkGame>(() -> new MnkGame(15, 5), 8, 0);
+		final MnkGame game = pool.acquire();
+		game.setGamePlayers(new MnkPlayer[]{new MnkPlayer("X"), new MnkPlayer("O")});
+		game.start();
+		game.makeMove(new MnkMove(7, 7));
+		final ExecutorService executor = Executors.newSingleThreadExecutor();
+		try {
+			executor.submit(() -> pool.release(game)).get(10, TimeUnit.SECONDS);
+		} finally {
+			executor.shutdownNow();
+		}
+		final MnkGame reused = pool.acquire();
+		Assert.assertSame(game, reused);
+		Assert.assertEquals(0, reused.getStateSpace().getExecutedMoves().size());
+		Assert.assertEquals(1, pool.getSharedHitCount());
+	}
+}
@@ -0,0 +1,118 @@
+package ncaralicea.games.session.unit;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import ncaralicea.games.domain.GameStatus;
+import ncaralicea.games.domain.MoveResult;
+import ncaralicea.games.domain.tictactoe.TestSupport;
+import ncaralicea.games.domain.tictactoe.TicTacToeGame;
+import ncaralicea.games.domain.tictactoe.TicTacToeGame.TicTacToeGameException;
+import ncaralicea.games.domain.tictactoe.TicTacToeMove;
+import ncaralicea.games.domain.tictactoe.TicTacToePlayer;
+import ncaralicea.games.session.GameSessionException;
+import ncaralicea.games.session.GameSessionManager;
+import ncaralicea.games.session.GameSessionManager.Operation;
+
+/**
+ * 
+ * TestUnitGameSessionManager checks the life cycle of the sessions: creation, moves, lookups, removal and expiry.
+ * 
+ * @author Nicolae Caralicea
+ *
+ */
+public class TestUnitGameSessionManager extends TestSupport {
+
+	private final TicTacToePlayer[] players = new TicTacToePlayer[]{new TicTacToePlayer("X"), new TicTacToePlayer("O")};
+	
+	@Test
+	public void testPlaySession() {
+		this.displayUnitTestDescription("Unit Test a game is played through its session until player 'X' wins");
+		final GameSessionManager<TicTacToeMove, TicTacToePlayer> manager = newManager(TimeUnit.MINUTES.toMillis(1));
+		final long sessionId = manager.createSession(this.players);
+		final long otherSessionId = manager.createSession(this.players);
+		
+		Assert.assertEquals(GameStatus.IN_PROGRESS, manager.makeMove(sessionId, TicTacToeMove.of(0, 0)));
+		manager.makeMove(sessionId, TicTacToeMove.of(1, 0));
+		manager.makeMove(sessionId, TicTacToeMove.of(0, 1));
+		manager.makeMove(otherSessionId, TicTacToeMove.of(0, 2));
+		manager.makeMove(sessionId, TicTacToeMove.of(1, 1));
+		
+		Assert.assertEquals(GameStatus.WON, manager.makeMove(sessionId, TicTacToeMove.of(0, 2)));
+		Assert.assertEquals(MoveResult.GAME_OVER, manager.tryMakeMove(sessionId, TicTacToeMove.of(2, 2)));
+		Assert.assertEquals(MoveResult.OCCUPIED, manager.tryMakeMove(otherSessionId, TicTacToeMove.of(0, 2)));
+		Assert.assertEquals("X", manager.withSession(sessionId, game -> game.getWinner().getDisplayName()));
+		Assert.assertEquals(GameStatus.IN_PROGRESS, manager.getGameStatus(otherSessionId));
+		Assert.assertEquals(2, manager.getSessionCount());
+		Assert.assertEquals(8, manager.getOperationStats(Operation.MOVE).getCount());
+		Assert.assertEquals(2, manager.getOperationStats(Operation.CREATE).getCount());
+	}
+	
+	@Test
+	public void testRemoveSession() {
+		this.displayUnitTestDescription("Unit Test a removed session can not be used anymore");
+		final GameSessionManager<TicTacToeMove, TicTacToePlayer> manager = newManager(TimeUnit.MINUTES.toMillis(1));
+		final long sessionId = manager.createSession(this.players);
+		
+		Assert.assertTrue(manager.removeSession(sessionId));
+		Assert.assertFalse(manager.removeSession(sessionId));
+		Assert.assertFalse(manager.containsSession(sessionId));
+		Assert.assertEquals(0, manager.getSessionCount());
+		try {
+			manager.makeMove(sessionId, TicTacToeMove.of(0, 0));
+			Assert.fail("A move was accepted by a removed session.");
+		} catch (final GameSessionException e) {
+			Assert.assertEquals(1, manager.getOperationStats(Operation.MOVE).getCount());
+		}
+	}
+	
+	@Test
+	public void testExpireIdleSessions() {
+		this.displayUnitTestDescription("Unit Test only the sessions idle for longer than the timeout expire");
+		final AtomicLong clock = new AtomicLong();
+		final GameSessionManager<TicTacToeMove, TicTacToePlayer> manager = new GameSessionManager<TicTacToeMove, TicTacToePlayer>(
+				TicTacToeGame::new, 200, TimeUnit.MILLISECONDS, clock::get);
+		final long idleSessionId = manager.createSession(this.players);
+		final long activeSessionId = manager.createSession(this.players);
+		
+		clock.addAndGet(TimeUnit.MILLISECONDS.toNanos(150));
+		manager.makeMove(activeSessionId, TicTacToeMove.of(1, 1));
+		clock.addAndGet(TimeUnit.MILLISECONDS.toNanos(50));
+		Assert.assertEquals(0, manager.expireIdleSessions());
+		clock.addAndGet(TimeUnit.MILLISECONDS.toNanos(50));
+		
+		Assert.assertEquals(1, manager.expireIdleSessions());
+		Assert.assertFalse(manager.containsSession(idleSessionId));
+		Assert.assertTrue(manager.containsSession(activeSessionId));
+		Assert.assertEquals(1, manager.getExpiredSessionCount());
+	}
+	
+	@Test
+	public void testRejectedMoveKeepsSessionAlive() {
+		this.displayUnitTestDescription("Unit Test a rejected move keeps the session alive, as an accepted one");
+		final AtomicLong clock = new AtomicLong();
+		final GameSessionManager<TicTacToeMove, TicTacToePlayer> manager = new GameSessionManager<TicTacToeMove, TicTacToePlayer>(
+				TicTacToeGame::new, 200, TimeUnit.MILLISECONDS, clock::get);
+		final long sessionId = manager.createSession(this.players);
+		manager.makeMove(sessionId, TicTacToeMove.of(1, 1));
+		
+		clock.addAndGet(TimeUnit.MILLISECONDS.toNanos(150));
+		try {
+			manager.makeMove(sessionId, TicTacToeMove.of(1, 1));
+			Assert.fail("A move on an occupied cell was accepted.");
+		} catch (final TicTacToeGameException e) {
+			// the activity counts all the same
+		}
+		clock.addAndGet(TimeUnit.MILLISECONDS.toNanos(150));
+		
+		Assert.assertEquals(0, manager.expireIdleSessions());
+		Assert.assertTrue(manager.containsSession(sessionId));
+	}
+	
+	private static GameSessionManager<TicTacToeMove, TicTacToePlayer> newManager(final long idleTimeoutMillis) {
+		return new GameSessionManager<TicTacToeMove, TicTacToePlayer>(TicTacToeGame::new, idleTimeoutMillis, TimeUnit.MILLISECONDS);
+	}
+}